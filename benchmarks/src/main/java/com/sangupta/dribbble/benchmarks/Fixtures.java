@@ -0,0 +1,155 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangupta.dribbble.api.model.Comment;
+import com.sangupta.dribbble.api.model.CommentList;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.PlayerList;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+
+/**
+ * Synthetic API responses, shaped like those of Dribbble.com, for the benchmarks.
+ * 
+ * @author sangupta
+ *
+ */
+public class Fixtures {
+	
+	/**
+	 * Configured the way the client configures its own
+	 */
+	public static final Gson GSON = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).create();
+	
+	private Fixtures() {
+		// utility class
+	}
+	
+	public static Player player(long id) {
+		Player player = new Player();
+		player.setId(id);
+		player.setName("Player " + id);
+		player.setUsername("player" + id);
+		player.setUrl("http://dribbble.com/player" + id);
+		player.setAvatarUrl("http://dribbble.com/system/users/" + id + "/avatars/original/avatar.png");
+		player.setLocation("Salem, MA");
+		player.setTwitterScreenName("player" + id);
+		player.setShotsCount(192);
+		player.setDrafteesCount(12);
+		player.setFollowersCount(2898);
+		player.setFollowingCount(108);
+		player.setCommentsCount(1054);
+		player.setCommentsReceivedCount(2286);
+		player.setLikesCount(1173);
+		player.setLikesReceivedCount(8425);
+		player.setReboundsCount(12);
+		player.setReboundsReceivedCount(48);
+		player.setCreatedAt("2009/07/07 21:51:22 -0400");
+		return player;
+	}
+	
+	public static Shot shot(long id) {
+		Shot shot = new Shot();
+		shot.setId(id);
+		shot.setTitle("Shot " + id);
+		shot.setUrl("http://dribbble.com/shots/" + id + "-shot-" + id);
+		shot.setShortUrl("http://drbl.in/" + Long.toString(id, 36));
+		shot.setImageUrl("http://dribbble.com/system/users/1/screenshots/" + id + "/shot.png");
+		shot.setImageTeaserUrl("http://dribbble.com/system/users/1/screenshots/" + id + "/shot_teaser.png");
+		shot.setWidth(400);
+		shot.setHeight(300);
+		shot.setViewsCount(1693);
+		shot.setLikesCount(15);
+		shot.setCommentsCount(4);
+		shot.setReboundsCount(1);
+		shot.setCreatedAt("2010/05/21 16:53:18 -0400");
+		shot.setPlayer(player(id % 97 + 1));
+		return shot;
+	}
+	
+	public static Comment comment(long id) {
+		Comment comment = new Comment();
+		comment.setId(id);
+		comment.setBody("Looks great, love the colours and the type on comment " + id + ".");
+		comment.setLikesCount(2);
+		comment.setCreatedAt("2010/05/21 17:02:10 -0400");
+		comment.setPlayer(player(id % 97 + 1));
+		return comment;
+	}
+	
+	public static String shotJson() {
+		return GSON.toJson(shot(21603));
+	}
+	
+	public static String shotListJson(int perPage) {
+		List<Shot> shots = new ArrayList<Shot>(perPage);
+		for(int index = 1; index <= perPage; index++) {
+			shots.add(shot(index));
+		}
+		
+		ShotList list = new ShotList();
+		list.setPage(1);
+		list.setPages(50);
+		list.setPerPage(perPage);
+		list.setTotal(50 * perPage);
+		list.setShots(shots);
+		return GSON.toJson(list);
+	}
+	
+	public static String playerListJson(int perPage) {
+		List<Player> players = new ArrayList<Player>(perPage);
+		for(int index = 1; index <= perPage; index++) {
+			players.add(player(index));
+		}
+		
+		PlayerList list = new PlayerList();
+		list.setPage(1);
+		list.setPages(50);
+		list.setPerPage(perPage);
+		list.setTotal(50 * perPage);
+		list.setPlayers(players);
+		return GSON.toJson(list);
+	}
+	
+	public static String commentListJson(int perPage) {
+		List<Comment> comments = new ArrayList<Comment>(perPage);
+		for(int index = 1; index <= perPage; index++) {
+			comments.add(comment(index));
+		}
+		
+		CommentList list = new CommentList();
+		list.setPage(1);
+		list.setPages(50);
+		list.setPerPage(perPage);
+		list.setTotal(50 * perPage);
+		list.setComments(comments);
+		return GSON.toJson(list);
+	}
+	
+}
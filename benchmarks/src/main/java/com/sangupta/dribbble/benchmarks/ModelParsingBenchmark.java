@@ -0,0 +1,111 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sangupta.dribbble.api.GsonResponseParser;
+import com.sangupta.dribbble.api.ResponseParser;
+import com.sangupta.dribbble.api.io.PooledStreamReader;
+import com.sangupta.dribbble.api.model.CommentList;
+import com.sangupta.dribbble.api.model.PlayerList;
+import com.sangupta.dribbble.api.model.ShotList;
+
+/**
+ * Deserialization of list responses at various page sizes, both from a string
+ * as with <code>GSON.fromJson</code>, and streamed off the response bytes the
+ * way the invoker reads them.
+ * 
+ * @author sangupta
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelParsingBenchmark {
+	
+	@Param({ "1", "15", "30", "100" })
+	private int perPage;
+	
+	private String shotList;
+	
+	private String playerList;
+	
+	private String commentList;
+	
+	private byte[] shotListBytes;
+	
+	private final ResponseParser<ShotList> shotListParser = new GsonResponseParser<ShotList>(Fixtures.GSON, ShotList.class);
+	
+	@Setup
+	public void setUp() {
+		this.shotList = Fixtures.shotListJson(this.perPage);
+		this.playerList = Fixtures.playerListJson(this.perPage);
+		this.commentList = Fixtures.commentListJson(this.perPage);
+		this.shotListBytes = this.shotList.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	@Benchmark
+	public ShotList shotList() {
+		return Fixtures.GSON.fromJson(this.shotList, ShotList.class);
+	}
+	
+	@Benchmark
+	public PlayerList playerList() {
+		return Fixtures.GSON.fromJson(this.playerList, PlayerList.class);
+	}
+	
+	@Benchmark
+	public CommentList commentList() {
+		return Fixtures.GSON.fromJson(this.commentList, CommentList.class);
+	}
+	
+	@Benchmark
+	public ShotList shotListStreamed() throws IOException {
+		Reader reader = new PooledStreamReader(new ByteArrayInputStream(this.shotListBytes), StandardCharsets.UTF_8);
+		try {
+			return this.shotListParser.parse(reader);
+		} finally {
+			reader.close();
+		}
+	}
+	
+}
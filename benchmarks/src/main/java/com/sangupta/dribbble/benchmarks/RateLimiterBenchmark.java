@@ -0,0 +1,111 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.ratelimit.RateLimiter;
+import com.sangupta.dribbble.api.ratelimit.SharedFileRateLimiter;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+
+/**
+ * The rate-limit check made before every request, alone and under contention.
+ * With an <code>open</code> limit every check hands out a permit; with the
+ * Dribbble limit nearly every check is refused, as happens when a crawler runs
+ * at the quota.
+ * 
+ * @author sangupta
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+	
+	@Param({ "token-bucket", "shared-file" })
+	private String limiterType;
+	
+	@Param({ "open", "dribbble" })
+	private String limit;
+	
+	private RateLimiter limiter;
+	
+	private File file;
+	
+	@Setup
+	public void setUp() throws IOException {
+		int permits = "open".equals(this.limit) ? 1000000000 : DribbbleInvoker.MAX_REQUESTS_PER_MINUTE;
+		int burst = "open".equals(this.limit) ? 1000000 : DribbbleInvoker.MAX_BURST;
+		TimeUnit unit = "open".equals(this.limit) ? TimeUnit.SECONDS : TimeUnit.MINUTES;
+		
+		if("shared-file".equals(this.limiterType)) {
+			this.file = File.createTempFile("dribbble-", ".limit");
+			this.limiter = new SharedFileRateLimiter(this.file, permits, 1, unit, burst);
+		} else {
+			this.limiter = new TokenBucketRateLimiter(permits, 1, unit, burst);
+		}
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		if(this.limiter instanceof SharedFileRateLimiter) {
+			((SharedFileRateLimiter) this.limiter).close();
+		}
+		
+		if(this.file != null) {
+			this.file.delete();
+		}
+	}
+	
+	@Benchmark
+	@Threads(1)
+	public boolean tryAcquire() {
+		return this.limiter.tryAcquire();
+	}
+	
+	@Benchmark
+	@Threads(8)
+	public boolean tryAcquireContended() {
+		return this.limiter.tryAcquire();
+	}
+	
+}
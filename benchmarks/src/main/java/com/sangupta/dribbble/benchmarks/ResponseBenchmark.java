@@ -0,0 +1,146 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The request hot path end to end: a client call going through the rate limiter,
+ * the pooled transport, decompression and streaming parse, against an in-process
+ * HTTP server on the loopback interface. The rate limit is set high enough never
+ * to be hit.
+ * 
+ * @author sangupta
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+	
+	@Param({ "15", "30" })
+	private int perPage;
+	
+	@Param({ "false", "true" })
+	private boolean gzip;
+	
+	private HttpServer server;
+	
+	private DribbbleClient client;
+	
+	@Setup
+	public void setUp() throws IOException {
+		final byte[] shotList = encode(Fixtures.shotListJson(this.perPage));
+		final byte[] shot = encode(Fixtures.shotJson());
+		
+		// without this the server waits for delayed ACKs, and every request takes 40ms
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		this.server.setExecutor(Executors.newFixedThreadPool(4));
+		this.server.createContext("/shots/", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				byte[] body = exchange.getRequestURI().getPath().startsWith("/shots/popular") ? shotList : shot;
+				
+				exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+				if(gzip) {
+					exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+				}
+				
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream stream = exchange.getResponseBody();
+				stream.write(body);
+				stream.close();
+			}
+			
+		});
+		this.server.start();
+		
+		String baseUrl = "http://127.0.0.1:" + this.server.getAddress().getPort() + "/";
+		this.client = new DribbbleClient(new DribbbleInvoker(baseUrl, new TokenBucketRateLimiter(1000000000, 1, TimeUnit.SECONDS, 1000000)));
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		this.client.getInvoker().close();
+		this.server.stop(0);
+	}
+	
+	@Benchmark
+	public ShotList shotsList() {
+		return this.client.getShotsList(ShotListType.POPULAR, 1, this.perPage);
+	}
+	
+	@Benchmark
+	public Shot shot() {
+		return this.client.getShot(21603);
+	}
+	
+	private byte[] encode(String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		if(!this.gzip) {
+			return bytes;
+		}
+		
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		OutputStream stream = new GZIPOutputStream(compressed);
+		stream.write(bytes);
+		stream.close();
+		return compressed.toByteArray();
+	}
+	
+}
@@ -0,0 +1,115 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sangupta.dribbble.api.columnar.ShotColumn;
+import com.sangupta.dribbble.api.index.ShotIndex;
+import com.sangupta.dribbble.api.model.Shot;
+
+/**
+ * Querying many shots by likes and by player: scanning the shot objects, and
+ * using a {@link ShotIndex} holding the same shots.
+ * 
+ * @author sangupta
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShotIndexBenchmark {
+	
+	@Param({ "1000000" })
+	private int shotCount;
+	
+	private List<Shot> shots;
+	
+	private ShotIndex index;
+	
+	@Setup
+	public void setUp() {
+		this.shots = new ArrayList<Shot>(this.shotCount);
+		for(int id = 1; id <= this.shotCount; id++) {
+			Shot shot = Fixtures.shot(id);
+			shot.setLikesCount((int) (id * 104729L % 100000));
+			this.shots.add(shot);
+		}
+		
+		this.index = new ShotIndex(ShotColumn.LIKES);
+		for(int from = 0; from < this.shotCount; from += 10000) {
+			this.index.addAll(this.shots.subList(from, Math.min(from + 10000, this.shotCount)));
+		}
+	}
+	
+	@Benchmark
+	public int topLikedObjects() {
+		int count = 0;
+		for(Shot shot : this.shots) {
+			if(shot.getLikesCount() >= 99900) {
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	@Benchmark
+	public int topLikedIndex() {
+		return this.index.getShotsInRange(ShotColumn.LIKES, 99900, Integer.MAX_VALUE).size();
+	}
+	
+	@Benchmark
+	public int shotsOfPlayerObjects() {
+		int count = 0;
+		for(Shot shot : this.shots) {
+			if(shot.getPlayer().getId() == 42) {
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	@Benchmark
+	public int shotsOfPlayerIndex() {
+		return this.index.getShotsOfPlayer(42).size();
+	}
+	
+}
@@ -0,0 +1,109 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sangupta.dribbble.api.columnar.ShotColumn;
+import com.sangupta.dribbble.api.columnar.ShotColumns;
+import com.sangupta.dribbble.api.model.Shot;
+
+/**
+ * Scanning the counts of many shots: over the shot objects, and over the columns
+ * of a {@link ShotColumns} holding the same shots.
+ * 
+ * @author sangupta
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShotScanBenchmark {
+	
+	@Param({ "50000" })
+	private int shotCount;
+	
+	private List<Shot> shots;
+	
+	private ShotColumns columns;
+	
+	@Setup
+	public void setUp() {
+		this.shots = new ArrayList<Shot>(this.shotCount);
+		for(int index = 1; index <= this.shotCount; index++) {
+			this.shots.add(Fixtures.shot(index));
+		}
+		
+		this.columns = ShotColumns.of(this.shots);
+		this.columns.trimToSize();
+	}
+	
+	@Benchmark
+	public long sumViewsObjects() {
+		long sum = 0;
+		for(Shot shot : this.shots) {
+			sum += shot.getViewsCount();
+		}
+		
+		return sum;
+	}
+	
+	@Benchmark
+	public long sumViewsColumns() {
+		return this.columns.sum(ShotColumn.VIEWS);
+	}
+	
+	@Benchmark
+	public int countPopularObjects() {
+		int count = 0;
+		for(Shot shot : this.shots) {
+			if(shot.getLikesCount() >= 100 && shot.getLikesCount() <= 500) {
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	@Benchmark
+	public int countPopularColumns() {
+		return this.columns.count(ShotColumn.LIKES, 100, 500);
+	}
+	
+}
@@ -0,0 +1,453 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * A circuit breaker guarding the calls a {@link DribbbleInvoker} makes to the API.
+ * It keeps the outcome of the last calls in a sliding window, and opens once the
+ * share of them that failed, or that were slow, reaches its threshold. While open,
+ * calls are not made at all. After a while it turns half-open and lets a few trial
+ * calls through: should they all succeed in time, it closes again, else it opens
+ * for another while.
+ * 
+ * A call fails when it gets no response or a <code>5xx</code> status. The outcome
+ * of a call counts only in the state it was permitted in: a call made before
+ * the breaker opened, or turned half-open, is not taken for a trial call.
+ * 
+ * @author sangupta
+ *
+ */
+public class CircuitBreaker {
+	
+	/**
+	 * States of a circuit breaker
+	 */
+	public static enum State {
+		
+		/**
+		 * Calls are made, and their outcome recorded
+		 */
+		CLOSED,
+		
+		/**
+		 * Calls are not made
+		 */
+		OPEN,
+		
+		/**
+		 * A few trial calls are made to tell if the API has recovered
+		 */
+		HALF_OPEN;
+		
+	}
+	
+	/**
+	 * My private logger
+	 */
+	private static final Logger logger = Logger.getLogger("com.sangupta.dribbble.api.CircuitBreaker");
+	
+	/**
+	 * Returned by {@link #tryAcquire()} when no call may be made
+	 */
+	public static final long NO_PERMIT = -1;
+	
+	private static final byte FAILED = 1;
+	
+	private static final byte SLOW = 2;
+	
+	/**
+	 * Outcomes of the last calls, as a ring
+	 */
+	private final byte[] window;
+	
+	/**
+	 * Number of calls in the window that must have been made before the breaker
+	 * may open
+	 */
+	private int minimumCalls = 10;
+	
+	/**
+	 * Share of failed calls in the window, between 0 and 1, at which the breaker
+	 * opens
+	 */
+	private double failureRateThreshold = 0.5;
+	
+	/**
+	 * Share of slow calls in the window, between 0 and 1, at which the breaker
+	 * opens
+	 */
+	private double slowCallRateThreshold = 0.8;
+	
+	/**
+	 * Duration from which a call counts as slow
+	 */
+	private long slowCallMillis = 5000;
+	
+	/**
+	 * How long the breaker stays open before letting trial calls through
+	 */
+	private long openMillis = 30000;
+	
+	/**
+	 * Number of trial calls made when half-open
+	 */
+	private int halfOpenCalls = 3;
+	
+	private State state = State.CLOSED;
+	
+	/**
+	 * Bumped on every change of state, and handed out as the permit for a call
+	 */
+	private long generation = 0;
+	
+	/**
+	 * Slot of the window the next outcome goes into
+	 */
+	private int position = 0;
+	
+	private int calls = 0;
+	
+	private int failedCalls = 0;
+	
+	private int slowCalls = 0;
+	
+	/**
+	 * When the breaker last opened, in nanos
+	 */
+	private long openedAt = 0;
+	
+	/**
+	 * Trial calls let through since turning half-open
+	 */
+	private int trialCalls = 0;
+	
+	/**
+	 * Trial calls that succeeded in time since turning half-open
+	 */
+	private int trialSuccesses = 0;
+	
+	/**
+	 * Number of calls not made as the breaker was open
+	 */
+	private final LongAdder rejectedCalls = new LongAdder();
+	
+	/**
+	 * Number of times the breaker opened
+	 */
+	private final LongAdder openings = new LongAdder();
+	
+	/**
+	 * Create a breaker over a sliding window of the last 50 calls.
+	 */
+	public CircuitBreaker() {
+		this(50);
+	}
+	
+	/**
+	 * Create a breaker over a sliding window of the given number of calls.
+	 * 
+	 * @param windowSize
+	 */
+	public CircuitBreaker(int windowSize) {
+		if(windowSize < 1) {
+			throw new IllegalArgumentException("Window size must be greater than zero.");
+		}
+		
+		this.window = new byte[windowSize];
+	}
+	
+	/**
+	 * Ask whether a call may be made now. Every call permitted must be followed
+	 * by a call to {@link #record(long, long, boolean)} with its permit once it is
+	 * done.
+	 * 
+	 * @return the permit for the call, or {@link #NO_PERMIT} if none may be made
+	 */
+	public synchronized long tryAcquire() {
+		if(this.state == State.CLOSED) {
+			return this.generation;
+		}
+		
+		if(this.state == State.OPEN) {
+			if(System.nanoTime() - this.openedAt < TimeUnit.MILLISECONDS.toNanos(this.openMillis)) {
+				this.rejectedCalls.increment();
+				return NO_PERMIT;
+			}
+			
+			this.state = State.HALF_OPEN;
+			this.generation++;
+			this.trialCalls = 0;
+			this.trialSuccesses = 0;
+		}
+		
+		if(this.trialCalls < this.halfOpenCalls) {
+			this.trialCalls++;
+			return this.generation;
+		}
+		
+		this.rejectedCalls.increment();
+		return NO_PERMIT;
+	}
+	
+	/**
+	 * Record the outcome of a call.
+	 * 
+	 * @param permit
+	 *            the permit the call was made with
+	 * 
+	 * @param durationNanos
+	 *            how long the call took
+	 * 
+	 * @param failed
+	 *            whether the call failed
+	 */
+	public synchronized void record(long permit, long durationNanos, boolean failed) {
+		if(permit != this.generation) {
+			// a call permitted before the breaker last changed state
+			return;
+		}
+		
+		boolean slow = durationNanos >= TimeUnit.MILLISECONDS.toNanos(this.slowCallMillis);
+		
+		if(this.state == State.HALF_OPEN) {
+			if(failed || slow) {
+				open();
+				return;
+			}
+			
+			this.trialSuccesses++;
+			if(this.trialSuccesses >= this.halfOpenCalls) {
+				close();
+			}
+			
+			return;
+		}
+		
+		byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+		
+		if(this.calls == this.window.length) {
+			byte evicted = this.window[this.position];
+			this.failedCalls -= evicted & FAILED;
+			this.slowCalls -= (evicted & SLOW) >> 1;
+		} else {
+			this.calls++;
+		}
+		
+		this.window[this.position] = outcome;
+		this.position = (this.position + 1) % this.window.length;
+		this.failedCalls += outcome & FAILED;
+		this.slowCalls += (outcome & SLOW) >> 1;
+		
+		if(this.calls < this.minimumCalls) {
+			return;
+		}
+		
+		if(this.failedCalls >= this.failureRateThreshold * this.calls || this.slowCalls >= this.slowCallRateThreshold * this.calls) {
+			open();
+		}
+	}
+	
+	/**
+	 * Return the share of failed calls in the window.
+	 * 
+	 * @return
+	 */
+	public synchronized double getFailureRate() {
+		return this.calls == 0 ? 0 : (double) this.failedCalls / this.calls;
+	}
+	
+	/**
+	 * Return the share of slow calls in the window.
+	 * 
+	 * @return
+	 */
+	public synchronized double getSlowCallRate() {
+		return this.calls == 0 ? 0 : (double) this.slowCalls / this.calls;
+	}
+	
+	private void open() {
+		if(this.state != State.OPEN) {
+			logger.warning("Opening circuit to the Dribbble API: failure rate " + getFailureRate() + ", slow call rate " + getSlowCallRate());
+		}
+		
+		this.state = State.OPEN;
+		this.generation++;
+		this.openedAt = System.nanoTime();
+		this.openings.increment();
+	}
+	
+	private void close() {
+		logger.info("Closing circuit to the Dribbble API");
+		
+		this.state = State.CLOSED;
+		this.generation++;
+		Arrays.fill(this.window, (byte) 0);
+		this.position = 0;
+		this.calls = 0;
+		this.failedCalls = 0;
+		this.slowCalls = 0;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the state
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+	
+	/**
+	 * @return the number of calls not made as the breaker was open
+	 */
+	public long getRejectedCalls() {
+		return rejectedCalls.sum();
+	}
+	
+	/**
+	 * @return the number of times the breaker opened
+	 */
+	public long getOpenings() {
+		return openings.sum();
+	}
+	
+	/**
+	 * @return the windowSize
+	 */
+	public int getWindowSize() {
+		return window.length;
+	}
+	
+	/**
+	 * @return the minimumCalls
+	 */
+	public int getMinimumCalls() {
+		return minimumCalls;
+	}
+	
+	/**
+	 * @param minimumCalls the minimumCalls to set
+	 */
+	public synchronized void setMinimumCalls(int minimumCalls) {
+		if(minimumCalls < 1) {
+			throw new IllegalArgumentException("Minimum calls must be greater than zero.");
+		}
+		
+		this.minimumCalls = minimumCalls;
+	}
+	
+	/**
+	 * @return the failureRateThreshold
+	 */
+	public double getFailureRateThreshold() {
+		return failureRateThreshold;
+	}
+	
+	/**
+	 * @param failureRateThreshold the failureRateThreshold to set
+	 */
+	public synchronized void setFailureRateThreshold(double failureRateThreshold) {
+		if(failureRateThreshold <= 0 || failureRateThreshold > 1) {
+			throw new IllegalArgumentException("Failure rate threshold must be greater than 0, and at most 1.");
+		}
+		
+		this.failureRateThreshold = failureRateThreshold;
+	}
+	
+	/**
+	 * @return the slowCallRateThreshold
+	 */
+	public double getSlowCallRateThreshold() {
+		return slowCallRateThreshold;
+	}
+	
+	/**
+	 * @param slowCallRateThreshold the slowCallRateThreshold to set
+	 */
+	public synchronized void setSlowCallRateThreshold(double slowCallRateThreshold) {
+		if(slowCallRateThreshold <= 0 || slowCallRateThreshold > 1) {
+			throw new IllegalArgumentException("Slow call rate threshold must be greater than 0, and at most 1.");
+		}
+		
+		this.slowCallRateThreshold = slowCallRateThreshold;
+	}
+	
+	/**
+	 * @return the slowCallMillis
+	 */
+	public long getSlowCallMillis() {
+		return slowCallMillis;
+	}
+	
+	/**
+	 * @param slowCallMillis the slowCallMillis to set
+	 */
+	public synchronized void setSlowCallMillis(long slowCallMillis) {
+		if(slowCallMillis < 1) {
+			throw new IllegalArgumentException("Slow call duration must be greater than zero.");
+		}
+		
+		this.slowCallMillis = slowCallMillis;
+	}
+	
+	/**
+	 * @return the openMillis
+	 */
+	public long getOpenMillis() {
+		return openMillis;
+	}
+	
+	/**
+	 * @param openMillis the openMillis to set
+	 */
+	public synchronized void setOpenMillis(long openMillis) {
+		if(openMillis < 0) {
+			throw new IllegalArgumentException("Open duration cannot be negative.");
+		}
+		
+		this.openMillis = openMillis;
+	}
+	
+	/**
+	 * @return the halfOpenCalls
+	 */
+	public int getHalfOpenCalls() {
+		return halfOpenCalls;
+	}
+	
+	/**
+	 * @param halfOpenCalls the halfOpenCalls to set
+	 */
+	public synchronized void setHalfOpenCalls(int halfOpenCalls) {
+		if(halfOpenCalls < 1) {
+			throw new IllegalArgumentException("Half-open calls must be greater than zero.");
+		}
+		
+		this.halfOpenCalls = halfOpenCalls;
+	}
+	
+}
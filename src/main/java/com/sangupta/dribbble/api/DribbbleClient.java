@@ -21,15 +21,33 @@
 
 package com.sangupta.dribbble.api;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.sangupta.dribbble.api.batch.BatchFetcher;
+import com.sangupta.dribbble.api.batch.BatchResult;
+import com.sangupta.dribbble.api.cache.EntityCache;
+import com.sangupta.dribbble.api.metrics.DribbbleMetrics;
+import com.sangupta.dribbble.api.model.Comment;
 import com.sangupta.dribbble.api.model.CommentList;
 import com.sangupta.dribbble.api.model.Player;
 import com.sangupta.dribbble.api.model.PlayerList;
 import com.sangupta.dribbble.api.model.Shot;
 import com.sangupta.dribbble.api.model.ShotList;
 import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.paging.PageFanOut;
+import com.sangupta.dribbble.api.paging.PageIterator;
+import com.sangupta.dribbble.api.ratelimit.RateLimiter;
 
 /**
  * Client to access Dribbble APIs from Java. The client supports all available
@@ -44,15 +62,19 @@ import com.sangupta.dribbble.api.model.ShotListType;
  * get added in future and this library looses track). The invoker is rate-limit
  * safe.
  * 
+ * A client created with an invoker of its own, such as one for a base URL or a
+ * transport configuration, should be closed once done with, to release its
+ * pooled connections. Closing a client leaves an invoker it was given open.
+ * 
  * @author sangupta
  *
  */
-public class DribbbleClient {
+public class DribbbleClient implements Closeable {
 	
 	/**
 	 * Internal final reference to Google GSON library for unmarshalling responses.
 	 */
-	private static final Gson GSON = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).create();
+	private static final Gson GSON = newGsonBuilder().create();
 	
 	/**
 	 * Keeps track whether to throw a runtime exception, {@link DribbbleApiRateLimitException}, when
@@ -60,6 +82,62 @@ public class DribbbleClient {
 	 */
 	private boolean throwException = true;
 	
+	/**
+	 * How long, in milliseconds, a request waits for a rate-limit permit before
+	 * giving up. Zero never waits, and {@link DribbbleInvoker#WAIT_FOREVER} waits
+	 * until a permit frees up.
+	 */
+	private long rateLimitWaitMillis = DribbbleInvoker.DEFAULT_WAIT_MILLIS;
+	
+	/**
+	 * Cache of shots by their ID, if any
+	 */
+	private volatile EntityCache<Long, Shot> shotCache = null;
+	
+	/**
+	 * Cache of players by their ID
+	 */
+	private volatile EntityCache<Long, Player> playerCache = null;
+	
+	/**
+	 * IDs of the players in the player cache, by their usernames and any other
+	 * <code>:id</code> they were looked up with
+	 */
+	private final ConcurrentHashMap<String, Long> playerIdsByUsername = new ConcurrentHashMap<String, Long>();
+	
+	/**
+	 * Max number of requests in flight at once when fetching all pages of a
+	 * list, or a batch of shots or players
+	 */
+	private int bulkParallelism = 4;
+	
+	/**
+	 * Policy by which requests that failed for a transient reason are retried,
+	 * if any
+	 */
+	private volatile RetryPolicy retryPolicy = null;
+	
+	/**
+	 * Canonicalizer deduplicating the players read, if any
+	 */
+	private volatile PlayerCanonicalizer playerCanonicalizer = null;
+	
+	/**
+	 * GSON instance responses are read with, which has the canonicalizer
+	 * registered, if any
+	 */
+	private volatile Gson gson = GSON;
+	
+	/**
+	 * The invoker used to hit the Dribbble end points
+	 */
+	private final DribbbleInvoker invoker;
+	
+	/**
+	 * Whether the invoker was created by this client, and is closed along with it
+	 */
+	private final boolean ownsInvoker;
+	
 	private static final int DEFAULT_PAGE = 1;
 	
 	private static final int DEFAULT_PER_PAGE = 15;
@@ -69,8 +147,8 @@ public class DribbbleClient {
 	 * 
 	 */
 	public DribbbleClient() {
-		// do nothing for now
 		// there is no provision for picking API keys :)
+		this(DribbbleInvoker.getDefault(), false);
 	}
 	
 	/**
@@ -80,9 +158,101 @@ public class DribbbleClient {
 	 * @param throwException
 	 */
 	public DribbbleClient(boolean throwException) {
+		this();
 		this.throwException = throwException;
 	}
 	
+	/**
+	 * Convenience constructor that also sets how long a request waits for a rate-limit
+	 * permit before giving up, using {@link DribbbleInvoker#WAIT_FOREVER} to wait until
+	 * one frees up.
+	 * 
+	 * @param throwException
+	 * @param rateLimitWaitMillis
+	 */
+	public DribbbleClient(boolean throwException, long rateLimitWaitMillis) {
+		this();
+		this.throwException = throwException;
+		this.rateLimitWaitMillis = rateLimitWaitMillis;
+	}
+	
+	/**
+	 * Create a new client for Dribbble that draws its permits from the given
+	 * rate limiter, rather than the one shared by all default clients in this
+	 * JVM. Use a {@link com.sangupta.dribbble.api.ratelimit.SharedFileRateLimiter}
+	 * to share the quota between several processes on a host. Close the client
+	 * once done with it to release its pooled connections.
+	 * 
+	 * @param rateLimiter
+	 */
+	public DribbbleClient(RateLimiter rateLimiter) {
+		this(new DribbbleInvoker(rateLimiter), true);
+	}
+	
+	/**
+	 * Create a new client for Dribbble with a connection pool and timeouts of its
+	 * own, drawing its permits from the rate limiter shared by all default clients
+	 * in this JVM. Close the client once done with it to release the pooled
+	 * connections.
+	 *
+	 * @param transportConfig
+	 */
+	public DribbbleClient(DribbbleTransportConfig transportConfig) {
+		this(new DribbbleInvoker(DribbbleInvoker.getDefaultBaseUrl(), DribbbleInvoker.getDefault().getRateLimiter(), transportConfig), true);
+	}
+	
+	/**
+	 * Create a new client for the Dribbble API served at the given base URL, say
+	 * that of a {@link com.sangupta.dribbble.api.stub.DribbbleStubServer},
+	 * drawing its permits from the rate limiter shared by all default clients in
+	 * this JVM. Close the client once done with it to release the pooled
+	 * connections.
+	 * 
+	 * @param baseUrl
+	 */
+	public DribbbleClient(String baseUrl) {
+		this(new DribbbleInvoker(baseUrl, DribbbleInvoker.getDefault().getRateLimiter()), true);
+	}
+
+	/**
+	 * Create a new client for Dribbble that uses the given invoker. The invoker
+	 * is left open when the client is closed.
+	 * 
+	 * @param invoker
+	 */
+	public DribbbleClient(DribbbleInvoker invoker) {
+		this(invoker, false);
+	}
+	
+	/**
+	 * Create a new client for Dribbble that uses the given invoker, closing it
+	 * along with the client if owned.
+	 * 
+	 * @param invoker
+	 * @param ownsInvoker
+	 */
+	private DribbbleClient(DribbbleInvoker invoker, boolean ownsInvoker) {
+		if(invoker == null) {
+			throw new IllegalArgumentException("Invoker cannot be null.");
+		}
+		
+		this.invoker = invoker;
+		this.ownsInvoker = ownsInvoker;
+	}
+	
+	/**
+	 * Close the invoker of this client if the client created it, releasing its
+	 * pooled connections. An invoker the client was given, including the default
+	 * one, is left open.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() throws IOException {
+		if(this.ownsInvoker) {
+			this.invoker.close();
+		}
+	}
+	
 	/**
 	 * Returns details for a shot specified by :id.
 	 * 
@@ -94,7 +264,12 @@ public class DribbbleClient {
 			throw new IllegalArgumentException("Shot ID must be greater than zero.");
 		}
 		
-		return response("shots/" + String.valueOf(shotID), Shot.class);
+		Shot shot = cachedShot(shotID);
+		if(shot != null) {
+			return shot;
+		}
+		
+		return cacheShot(response("shots/" + String.valueOf(shotID), Shot.class));
 	}
 	
 	/**
@@ -513,7 +688,12 @@ public class DribbbleClient {
 			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
 		}
 		
-		return response("players/" + String.valueOf(playerID), Player.class);
+		Player player = cachedPlayer(playerID);
+		if(player != null) {
+			return player;
+		}
+		
+		return cachePlayer(null, response("players/" + String.valueOf(playerID), Player.class));
 	}
 	
 	/**
@@ -527,7 +707,12 @@ public class DribbbleClient {
 			throw new IllegalArgumentException("Player username cannot be null/empty.");
 		}
 		
-		return response("players/" + playerUsername, Player.class);
+		Player player = cachedPlayer(playerUsername);
+		if(player != null) {
+			return player;
+		}
+		
+		return cachePlayer(playerUsername, response("players/" + playerUsername, Player.class));
 	}
 	
 	/**
@@ -801,47 +986,2075 @@ public class DribbbleClient {
 	}
 	
 	//---------------------------------------------------
-	// Utility methods start
+	// Asynchronous methods start
 	//---------------------------------------------------
 	
 	/**
-	 * Utility method to hit a given end point and return the results back.
+	 * Returns details for a shot specified by :id. The request is issued
+	 * without blocking the calling thread.
 	 * 
-	 * @param endPoint the end point to hit in Dribbble
-	 * @param clazz to cast result object to
+	 * @param shotID
 	 * @return
 	 */
-	private <T> T response(String endPoint, Class<T> clazz) {
-		String response = DribbbleInvoker.invokeEndPoint(endPoint, null, throwException);
-		if(response != null) {
-			return GSON.fromJson(response, clazz);
+	public CompletableFuture<Shot> getShotAsync(long shotID) {
+		if(shotID < 1) {
+			throw new IllegalArgumentException("Shot ID must be greater than zero.");
+		}
+		
+		Shot shot = cachedShot(shotID);
+		if(shot != null) {
+			return CompletableFuture.completedFuture(shot);
 		}
 		
-		return null;
+		return responseAsync("shots/" + String.valueOf(shotID), Shot.class).thenApply(this::cacheShot);
 	}
 	
 	/**
-	 * Utility method to hit a given end point and return the results back.
+	 * Returns profile details for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
 	 * 
-	 * @param endPoint the end point to hit in Dribbble
-	 * @param clazz to cast result object to
-	 * @param page fetch given page of paginated API
-	 * @param perPage fetch these many results for this page
+	 * @param playerID
 	 * @return
 	 */
-	private <T> T response(String endPoint, Class<T> clazz, int page, int perPage) {
-		StringBuilder builder = new StringBuilder();
-		builder.append("page=");
-		builder.append(page);
-		builder.append("&per_page=");
-		builder.append(perPage);
+	public CompletableFuture<Player> getPlayerAsync(long playerID) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		Player player = cachedPlayer(playerID);
+		if(player != null) {
+			return CompletableFuture.completedFuture(player);
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID), Player.class).thenApply(fetched -> cachePlayer(null, fetched));
+	}
+	
+	/**
+	 * Returns profile details for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<Player> getPlayerAsync(String playerUsername) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		Player player = cachedPlayer(playerUsername);
+		if(player != null) {
+			return CompletableFuture.completedFuture(player);
+		}
+		
+		return responseAsync("players/" + playerUsername, Player.class).thenApply(fetched -> cachePlayer(playerUsername, fetched));
+	}
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotReboundsAsync(long shotID) {
+		return getShotReboundsAsync(shotID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param shotID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotReboundsAsync(long shotID, int page, int perPage) {
+		return getShotReboundsAsync(shotID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param shotID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotReboundsAsync(long shotID, int page, int perPage, long maxWaitMillis) {
+		if(shotID < 1) {
+			throw new IllegalArgumentException("Shot ID must be greater than zero.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("shots/" + String.valueOf(shotID) + "/rebounds", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	public CompletableFuture<CommentList> getShotCommentsAsync(long shotID) {
+		return getShotCommentsAsync(shotID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param shotID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<CommentList> getShotCommentsAsync(long shotID, int page, int perPage) {
+		return getShotCommentsAsync(shotID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param shotID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<CommentList> getShotCommentsAsync(long shotID, int page, int perPage, long maxWaitMillis) {
+		if(shotID < 1) {
+			throw new IllegalArgumentException("Shot ID must be greater than zero.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("shots/" + String.valueOf(shotID) + "/comments", CommentList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param shotListType
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsListAsync(ShotListType shotListType) {
+		return getShotsListAsync(shotListType, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param shotListType
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsListAsync(ShotListType shotListType, int page, int perPage) {
+		return getShotsListAsync(shotListType, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param shotListType
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsListAsync(ShotListType shotListType, int page, int perPage, long maxWaitMillis) {
+		if(shotListType == null) {
+			throw new IllegalArgumentException("Shot type cannot be null.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
 		
-		String response = DribbbleInvoker.invokeEndPoint(endPoint, builder.toString(), throwException);
-		if(response != null) {
-			return GSON.fromJson(response, clazz);
+		return responseAsync("shots/" + shotListType.toString().toLowerCase(), ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsForPlayerAsync(long playerID) {
+		return getShotsForPlayerAsync(playerID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsForPlayerAsync(long playerID, int page, int perPage) {
+		return getShotsForPlayerAsync(playerID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsForPlayerAsync(long playerID, int page, int perPage, long maxWaitMillis) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID) + "/shots", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsForPlayerAsync(String playerUsername) {
+		return getShotsForPlayerAsync(playerUsername, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsForPlayerAsync(String playerUsername, int page, int perPage) {
+		return getShotsForPlayerAsync(playerUsername, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsForPlayerAsync(String playerUsername, int page, int perPage, long maxWaitMillis) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + playerUsername + "/shots", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsOfPlayerFollowedAsync(long playerID) {
+		return getShotsOfPlayerFollowedAsync(playerID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsOfPlayerFollowedAsync(long playerID, int page, int perPage) {
+		return getShotsOfPlayerFollowedAsync(playerID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsOfPlayerFollowedAsync(long playerID, int page, int perPage, long maxWaitMillis) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID) + "/shots/following", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsOfPlayerFollowedAsync(String playerUsername) {
+		return getShotsOfPlayerFollowedAsync(playerUsername, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsOfPlayerFollowedAsync(String playerUsername, int page, int perPage) {
+		return getShotsOfPlayerFollowedAsync(playerUsername, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getShotsOfPlayerFollowedAsync(String playerUsername, int page, int perPage, long maxWaitMillis) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + playerUsername + "/shots/following", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getPlayerLikedShotsAsync(long playerID) {
+		return getPlayerLikedShotsAsync(playerID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getPlayerLikedShotsAsync(long playerID, int page, int perPage) {
+		return getPlayerLikedShotsAsync(playerID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getPlayerLikedShotsAsync(long playerID, int page, int perPage, long maxWaitMillis) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID) + "/shots/likes", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getPlayerLikedShotsAsync(String playerUsername) {
+		return getPlayerLikedShotsAsync(playerUsername, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getPlayerLikedShotsAsync(String playerUsername, int page, int perPage) {
+		return getPlayerLikedShotsAsync(playerUsername, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<ShotList> getPlayerLikedShotsAsync(String playerUsername, int page, int perPage, long maxWaitMillis) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + playerUsername + "/shots/likes", ShotList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowersAsync(long playerID) {
+		return getPlayerFollowersAsync(playerID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowersAsync(long playerID, int page, int perPage) {
+		return getPlayerFollowersAsync(playerID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowersAsync(long playerID, int page, int perPage, long maxWaitMillis) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID) + "/followers", PlayerList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowersAsync(String playerUsername) {
+		return getPlayerFollowersAsync(playerUsername, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowersAsync(String playerUsername, int page, int perPage) {
+		return getPlayerFollowersAsync(playerUsername, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowersAsync(String playerUsername, int page, int perPage, long maxWaitMillis) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + playerUsername + "/followers", PlayerList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowedAsync(long playerID) {
+		return getPlayerFollowedAsync(playerID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowedAsync(long playerID, int page, int perPage) {
+		return getPlayerFollowedAsync(playerID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowedAsync(long playerID, int page, int perPage, long maxWaitMillis) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID) + "/following", PlayerList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowedAsync(String playerUsername) {
+		return getPlayerFollowedAsync(playerUsername, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowedAsync(String playerUsername, int page, int perPage) {
+		return getPlayerFollowedAsync(playerUsername, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerFollowedAsync(String playerUsername, int page, int perPage, long maxWaitMillis) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + playerUsername + "/following", PlayerList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerDrafteesAsync(long playerID) {
+		return getPlayerDrafteesAsync(playerID, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerDrafteesAsync(long playerID, int page, int perPage) {
+		return getPlayerDrafteesAsync(playerID, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerID
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerDrafteesAsync(long playerID, int page, int perPage, long maxWaitMillis) {
+		if(playerID < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than ZERO.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + String.valueOf(playerID) + "/draftees", PlayerList.class, page, perPage, maxWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerDrafteesAsync(String playerUsername) {
+		return getPlayerDrafteesAsync(playerUsername, DEFAULT_PAGE, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerDrafteesAsync(String playerUsername, int page, int perPage) {
+		return getPlayerDrafteesAsync(playerUsername, page, perPage, rateLimitWaitMillis);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id. The request is issued
+	 * without blocking the calling thread.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within <code>maxWaitMillis</code>, or at all for
+	 * {@link DribbbleInvoker#WAIT_FOREVER}.
+	 * 
+	 * @param playerUsername
+	 * @param page
+	 * @param perPage
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public CompletableFuture<PlayerList> getPlayerDrafteesAsync(String playerUsername, int page, int perPage, long maxWaitMillis) {
+		if(playerUsername == null || playerUsername.trim().length() == 0) {
+			throw new IllegalArgumentException("Player username cannot be null/empty.");
+		}
+		
+		if(page < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		if(perPage < 1) {
+			throw new IllegalArgumentException("Per-page number must be greater than zero.");
+		}
+		
+		return responseAsync("players/" + playerUsername + "/draftees", PlayerList.class, page, perPage, maxWaitMillis);
+	}
+	
+	//---------------------------------------------------
+	// Streaming methods start
+	//---------------------------------------------------
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	public Stream<Shot> streamShotRebounds(long shotID) {
+		return streamShotRebounds(shotID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param shotID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamShotRebounds(final long shotID, final int perPage) {
+		return PageIterator.stream(page -> getShotReboundsAsync(shotID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	public Stream<Comment> streamShotComments(long shotID) {
+		return streamShotComments(shotID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param shotID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Comment> streamShotComments(final long shotID, final int perPage) {
+		return PageIterator.stream(page -> getShotCommentsAsync(shotID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param shotListType
+	 * @return
+	 */
+	public Stream<Shot> streamShotsList(ShotListType shotListType) {
+		return streamShotsList(shotListType, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param shotListType
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamShotsList(final ShotListType shotListType, final int perPage) {
+		return PageIterator.stream(page -> getShotsListAsync(shotListType, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public Stream<Shot> streamShotsForPlayer(long playerID) {
+		return streamShotsForPlayer(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamShotsForPlayer(final long playerID, final int perPage) {
+		return PageIterator.stream(page -> getShotsForPlayerAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public Stream<Shot> streamShotsForPlayer(String playerUsername) {
+		return streamShotsForPlayer(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamShotsForPlayer(final String playerUsername, final int perPage) {
+		return PageIterator.stream(page -> getShotsForPlayerAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public Stream<Shot> streamShotsOfPlayerFollowed(long playerID) {
+		return streamShotsOfPlayerFollowed(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamShotsOfPlayerFollowed(final long playerID, final int perPage) {
+		return PageIterator.stream(page -> getShotsOfPlayerFollowedAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public Stream<Shot> streamShotsOfPlayerFollowed(String playerUsername) {
+		return streamShotsOfPlayerFollowed(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamShotsOfPlayerFollowed(final String playerUsername, final int perPage) {
+		return PageIterator.stream(page -> getShotsOfPlayerFollowedAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public Stream<Shot> streamPlayerLikedShots(long playerID) {
+		return streamPlayerLikedShots(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamPlayerLikedShots(final long playerID, final int perPage) {
+		return PageIterator.stream(page -> getPlayerLikedShotsAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public Stream<Shot> streamPlayerLikedShots(String playerUsername) {
+		return streamPlayerLikedShots(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Shot> streamPlayerLikedShots(final String playerUsername, final int perPage) {
+		return PageIterator.stream(page -> getPlayerLikedShotsAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowers(long playerID) {
+		return streamPlayerFollowers(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowers(final long playerID, final int perPage) {
+		return PageIterator.stream(page -> getPlayerFollowersAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowers(String playerUsername) {
+		return streamPlayerFollowers(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowers(final String playerUsername, final int perPage) {
+		return PageIterator.stream(page -> getPlayerFollowersAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowed(long playerID) {
+		return streamPlayerFollowed(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowed(final long playerID, final int perPage) {
+		return PageIterator.stream(page -> getPlayerFollowedAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowed(String playerUsername) {
+		return streamPlayerFollowed(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Player> streamPlayerFollowed(final String playerUsername, final int perPage) {
+		return PageIterator.stream(page -> getPlayerFollowedAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public Stream<Player> streamPlayerDraftees(long playerID) {
+		return streamPlayerDraftees(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Player> streamPlayerDraftees(final long playerID, final int perPage) {
+		return PageIterator.stream(page -> getPlayerDrafteesAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public Stream<Player> streamPlayerDraftees(String playerUsername) {
+		return streamPlayerDraftees(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are returned as one stream, the next page being fetched in the
+	 * background, as soon as a rate-limit permit frees up, while the current one
+	 * is consumed.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public Stream<Player> streamPlayerDraftees(final String playerUsername, final int perPage) {
+		return PageIterator.stream(page -> getPlayerDrafteesAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), DEFAULT_PAGE);
+	}
+	
+	//---------------------------------------------------
+	// Bulk methods start
+	//---------------------------------------------------
+	
+	/**
+	 * Returns details for each of the shots specified by their :id. Duplicate IDs
+	 * are looked up once, shots in the shot cache are served from it, and the rest
+	 * are fetched up to {@link #getBulkParallelism()} at a time.
+	 * 
+	 * @param shotIDs
+	 * @return
+	 */
+	public BatchResult<Long, Shot> getShots(long... shotIDs) {
+		if(shotIDs == null) {
+			throw new IllegalArgumentException("Shot IDs cannot be null.");
+		}
+		
+		List<Long> ids = new ArrayList<Long>(shotIDs.length);
+		for(long shotID : shotIDs) {
+			ids.add(shotID);
+		}
+		
+		return getShots(ids);
+	}
+	
+	/**
+	 * Returns details for each of the shots specified by their :id. Duplicate IDs
+	 * are looked up once, shots in the shot cache are served from it, and the rest
+	 * are fetched up to {@link #getBulkParallelism()} at a time.
+	 * 
+	 * @param shotIDs
+	 * @return
+	 */
+	public BatchResult<Long, Shot> getShots(Collection<Long> shotIDs) {
+		return getShotsAsync(shotIDs).join();
+	}
+	
+	/**
+	 * Returns details for each of the shots specified by their :id. The requests are
+	 * issued without blocking the calling thread.
+	 * 
+	 * @param shotIDs
+	 * @return
+	 */
+	public CompletableFuture<BatchResult<Long, Shot>> getShotsAsync(Collection<Long> shotIDs) {
+		if(shotIDs == null) {
+			throw new IllegalArgumentException("Shot IDs cannot be null.");
+		}
+		
+		for(Long shotID : shotIDs) {
+			if(shotID == null || shotID < 1) {
+				throw new IllegalArgumentException("Shot ID must be greater than zero.");
+			}
+		}
+		
+		return BatchFetcher.fetch(shotIDs, shotID -> getShotAsync(shotID), bulkParallelism);
+	}
+	
+	/**
+	 * Returns details for each of the players specified by their username. Duplicate
+	 * usernames are looked up once, players in the player cache are served from it,
+	 * and the rest are fetched up to {@link #getBulkParallelism()} at a time.
+	 * 
+	 * @param playerUsernames
+	 * @return
+	 */
+	public BatchResult<String, Player> getPlayers(String... playerUsernames) {
+		if(playerUsernames == null) {
+			throw new IllegalArgumentException("Player usernames cannot be null.");
+		}
+		
+		return getPlayers(Arrays.asList(playerUsernames));
+	}
+	
+	/**
+	 * Returns details for each of the players specified by their username. Duplicate
+	 * usernames are looked up once, players in the player cache are served from it,
+	 * and the rest are fetched up to {@link #getBulkParallelism()} at a time.
+	 * 
+	 * @param playerUsernames
+	 * @return
+	 */
+	public BatchResult<String, Player> getPlayers(Collection<String> playerUsernames) {
+		return getPlayersAsync(playerUsernames).join();
+	}
+	
+	/**
+	 * Returns details for each of the players specified by their username. The requests
+	 * are issued without blocking the calling thread.
+	 * 
+	 * @param playerUsernames
+	 * @return
+	 */
+	public CompletableFuture<BatchResult<String, Player>> getPlayersAsync(Collection<String> playerUsernames) {
+		if(playerUsernames == null) {
+			throw new IllegalArgumentException("Player usernames cannot be null.");
+		}
+		
+		for(String playerUsername : playerUsernames) {
+			if(playerUsername == null || playerUsername.trim().length() == 0) {
+				throw new IllegalArgumentException("Player username cannot be null/empty.");
+			}
+		}
+		
+		return BatchFetcher.fetch(playerUsernames, playerUsername -> getPlayerAsync(playerUsername), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	public List<Shot> getAllShotRebounds(long shotID) {
+		return getAllShotRebounds(shotID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the set of rebounds (shots in response to a shot) for the shot specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param shotID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllShotRebounds(final long shotID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotReboundsAsync(shotID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	public List<Comment> getAllShotComments(long shotID) {
+		return getAllShotComments(shotID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the set of comments for the shot specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param shotID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Comment> getAllShotComments(final long shotID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotCommentsAsync(shotID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param shotListType
+	 * @return
+	 */
+	public List<Shot> getAllShotsList(ShotListType shotListType) {
+		return getAllShotsList(shotListType, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the specified list of shots where :list has one of the following values: debuts, everyone, popular
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param shotListType
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllShotsList(final ShotListType shotListType, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotsListAsync(shotListType, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public List<Shot> getAllShotsForPlayer(long playerID) {
+		return getAllShotsForPlayer(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllShotsForPlayer(final long playerID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotsForPlayerAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public List<Shot> getAllShotsForPlayer(String playerUsername) {
+		return getAllShotsForPlayer(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots for the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllShotsForPlayer(final String playerUsername, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotsForPlayerAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public List<Shot> getAllShotsOfPlayerFollowed(long playerID) {
+		return getAllShotsOfPlayerFollowed(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllShotsOfPlayerFollowed(final long playerID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotsOfPlayerFollowedAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public List<Shot> getAllShotsOfPlayerFollowed(String playerUsername) {
+		return getAllShotsOfPlayerFollowed(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the most recent shots published by those the player specified by :id is following.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllShotsOfPlayerFollowed(final String playerUsername, final int perPage) {
+		return PageFanOut.fetchAll(page -> getShotsOfPlayerFollowedAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public List<Shot> getAllPlayerLikedShots(long playerID) {
+		return getAllPlayerLikedShots(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllPlayerLikedShots(final long playerID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerLikedShotsAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public List<Shot> getAllPlayerLikedShots(String playerUsername) {
+		return getAllPlayerLikedShots(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns shots liked by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public List<Shot> getAllPlayerLikedShots(final String playerUsername, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerLikedShotsAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowers(long playerID) {
+		return getAllPlayerFollowers(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowers(final long playerID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerFollowersAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowers(String playerUsername) {
+		return getAllPlayerFollowers(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of followers for a player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowers(final String playerUsername, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerFollowersAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowed(long playerID) {
+		return getAllPlayerFollowed(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowed(final long playerID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerFollowedAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowed(String playerUsername) {
+		return getAllPlayerFollowed(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players followed by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public List<Player> getAllPlayerFollowed(final String playerUsername, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerFollowedAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	public List<Player> getAllPlayerDraftees(long playerID) {
+		return getAllPlayerDraftees(playerID, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerID
+	 * @param perPage
+	 * @return
+	 */
+	public List<Player> getAllPlayerDraftees(final long playerID, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerDrafteesAsync(playerID, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	public List<Player> getAllPlayerDraftees(String playerUsername) {
+		return getAllPlayerDraftees(playerUsername, DEFAULT_PER_PAGE);
+	}
+	
+	/**
+	 * Returns the list of players drafted by the player specified by :id.
+	 * All pages are fetched, up to {@link #getBulkParallelism()} at a time, each
+	 * as soon as a rate-limit permit frees up, and merged in page order.
+	 * 
+	 * @param playerUsername
+	 * @param perPage
+	 * @return
+	 */
+	public List<Player> getAllPlayerDraftees(final String playerUsername, final int perPage) {
+		return PageFanOut.fetchAll(page -> getPlayerDrafteesAsync(playerUsername, page, perPage, DribbbleInvoker.WAIT_FOREVER), bulkParallelism);
+	}
+	
+	//---------------------------------------------------
+	// Utility methods start
+	//---------------------------------------------------
+	
+	/**
+	 * Utility method to hit a given end point and return the results back.
+	 * 
+	 * @param endPoint the end point to hit in Dribbble
+	 * @param clazz to cast result object to
+	 * @return
+	 */
+	private <T> T response(String endPoint, Class<T> clazz) {
+		return invoker.invoke(endPoint, null, throwException, rateLimitWaitMillis, parser(clazz), retryPolicy);
+	}
+	
+	/**
+	 * Utility method to hit a given end point and return the results back.
+	 * 
+	 * @param endPoint the end point to hit in Dribbble
+	 * @param clazz to cast result object to
+	 * @param page fetch given page of paginated API
+	 * @param perPage fetch these many results for this page
+	 * @return
+	 */
+	private <T> T response(String endPoint, Class<T> clazz, int page, int perPage) {
+		return invoker.invoke(endPoint, pageParams(page, perPage), throwException, rateLimitWaitMillis, parser(clazz), retryPolicy);
+	}
+	
+	/**
+	 * Utility method to hit a given end point asynchronously and return the results back.
+	 * 
+	 * @param endPoint the end point to hit in Dribbble
+	 * @param clazz to cast result object to
+	 * @return
+	 */
+	private <T> CompletableFuture<T> responseAsync(String endPoint, Class<T> clazz) {
+		return invoker.invokeAsync(endPoint, null, throwException, rateLimitWaitMillis, parser(clazz), retryPolicy);
+	}
+	
+	/**
+	 * Utility method to hit a given end point asynchronously and return the results back.
+	 * 
+	 * @param endPoint the end point to hit in Dribbble
+	 * @param clazz to cast result object to
+	 * @param page fetch given page of paginated API
+	 * @param perPage fetch these many results for this page
+	 * @param maxWaitMillis how long to wait for a rate-limit permit
+	 * @return
+	 */
+	private <T> CompletableFuture<T> responseAsync(String endPoint, Class<T> clazz, int page, int perPage, long maxWaitMillis) {
+		return invoker.invokeAsync(endPoint, pageParams(page, perPage), throwException, maxWaitMillis, parser(clazz), retryPolicy);
+	}
+	
+	/**
+	 * Create a parser that reads the given class straight off the response stream.
+	 * 
+	 * @param clazz to cast result object to
+	 * @return
+	 */
+	private <T> ResponseParser<T> parser(Class<T> clazz) {
+		return new GsonResponseParser<T>(this.gson, clazz, this.playerCanonicalizer);
+	}
+	
+	/**
+	 * Create a GSON builder set up for reading API responses.
+	 * 
+	 * @return
+	 */
+	private static GsonBuilder newGsonBuilder() {
+		return new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
+	}
+	
+	/**
+	 * Return the shot from the shot cache, if any.
+	 * 
+	 * @param shotID
+	 * @return
+	 */
+	private Shot cachedShot(long shotID) {
+		EntityCache<Long, Shot> cache = this.shotCache;
+		if(cache == null) {
+			return null;
+		}
+		
+		return cache.get(shotID);
+	}
+	
+	/**
+	 * Put the fetched shot into the shot cache, if any.
+	 * 
+	 * @param shot
+	 * @return the shot
+	 */
+	private Shot cacheShot(Shot shot) {
+		EntityCache<Long, Shot> cache = this.shotCache;
+		if(cache != null && shot != null) {
+			cache.put(shot.getId(), shot);
+		}
+		
+		return shot;
+	}
+	
+	/**
+	 * Return the player from the player cache, if any.
+	 * 
+	 * @param playerID
+	 * @return
+	 */
+	private Player cachedPlayer(long playerID) {
+		EntityCache<Long, Player> cache = this.playerCache;
+		if(cache == null) {
+			return null;
+		}
+		
+		return cache.get(playerID);
+	}
+	
+	/**
+	 * Return the player from the player cache, if any, by the username or other
+	 * <code>:id</code> it was looked up with.
+	 * 
+	 * @param playerUsername
+	 * @return
+	 */
+	private Player cachedPlayer(String playerUsername) {
+		EntityCache<Long, Player> cache = this.playerCache;
+		if(cache == null) {
+			return null;
+		}
+		
+		Long playerID = this.playerIdsByUsername.get(playerUsername);
+		if(playerID == null) {
+			return null;
+		}
+		
+		Player player = cache.get(playerID);
+		if(player == null) {
+			// evicted or expired
+			this.playerIdsByUsername.remove(playerUsername, playerID);
+		}
+		
+		return player;
+	}
+	
+	/**
+	 * Put the fetched player into the player cache, if any, as a single entry
+	 * against its ID, and remember its ID by its username and the username it was
+	 * looked up with.
+	 * 
+	 * @param lookupKey the username the player was looked up with, if any
+	 * @param player
+	 * @return the player
+	 */
+	private Player cachePlayer(String lookupKey, Player player) {
+		final EntityCache<Long, Player> cache = this.playerCache;
+		if(cache != null && player != null) {
+			cache.put(player.getId(), player);
+			
+			if(player.getUsername() != null) {
+				this.playerIdsByUsername.put(player.getUsername(), player.getId());
+			}
+			
+			if(lookupKey != null) {
+				this.playerIdsByUsername.put(lookupKey, player.getId());
+			}
+			
+			// drop the usernames of players no longer cached, once they pile up
+			if(this.playerIdsByUsername.size() > 2 * cache.size() + 16) {
+				this.playerIdsByUsername.values().removeIf(playerID -> !cache.contains(playerID));
+			}
+		}
+		
+		return player;
+	}
+	
+	/**
+	 * Build the query string for the given page of a paginated API.
+	 * 
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	private static String pageParams(int page, int perPage) {
+		StringBuilder builder = new StringBuilder();
+		builder.append("page=");
+		builder.append(page);
+		builder.append("&per_page=");
+		builder.append(perPage);
+		
+		return builder.toString();
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * Return the metrics kept by the invoker of this client.
+	 * 
+	 * @return
+	 */
+	public DribbbleMetrics getMetrics() {
+		return invoker.getMetrics();
+	}
+	
+	/**
+	 * @return the invoker
+	 */
+	public DribbbleInvoker getInvoker() {
+		return invoker;
+	}
+	
+	/**
+	 * @return the shotCache
+	 */
+	public EntityCache<Long, Shot> getShotCache() {
+		return shotCache;
+	}
+	
+	/**
+	 * @param shotCache the shotCache to set, or <code>null</code> to disable caching of shots
+	 */
+	public void setShotCache(EntityCache<Long, Shot> shotCache) {
+		this.shotCache = shotCache;
+	}
+	
+	/**
+	 * @return the playerCache
+	 */
+	public EntityCache<Long, Player> getPlayerCache() {
+		return playerCache;
+	}
+	
+	/**
+	 * @param playerCache the playerCache to set, or <code>null</code> to disable
+	 *            caching of players. Each player takes a single entry, keyed
+	 *            by its ID, whether it was looked up by ID or by username.
+	 */
+	public void setPlayerCache(EntityCache<Long, Player> playerCache) {
+		this.playerCache = playerCache;
+		this.playerIdsByUsername.clear();
+	}
+	
+	/**
+	 * @return the rateLimitWaitMillis
+	 */
+	public long getRateLimitWaitMillis() {
+		return rateLimitWaitMillis;
+	}
+	
+	/**
+	 * @param rateLimitWaitMillis the rateLimitWaitMillis to set
+	 */
+	public void setRateLimitWaitMillis(long rateLimitWaitMillis) {
+		this.rateLimitWaitMillis = rateLimitWaitMillis;
+	}
+	
+	/**
+	 * @return the playerCanonicalizer
+	 */
+	public PlayerCanonicalizer getPlayerCanonicalizer() {
+		return playerCanonicalizer;
+	}
+	
+	/**
+	 * Deduplicate the players embedded in shots and comments as responses are
+	 * read, using the given canonicalizer.
+	 * 
+	 * @param playerCanonicalizer the playerCanonicalizer to set, or
+	 *            <code>null</code> to keep every player read
+	 */
+	public synchronized void setPlayerCanonicalizer(PlayerCanonicalizer playerCanonicalizer) {
+		this.gson = playerCanonicalizer == null ? GSON : newGsonBuilder().registerTypeAdapterFactory(playerCanonicalizer).create();
+		this.playerCanonicalizer = playerCanonicalizer;
+	}
+	
+	/**
+	 * @return the retryPolicy
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+	
+	/**
+	 * @param retryPolicy the retryPolicy to set, or <code>null</code> to not
+	 *            retry failed requests
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+	
+	/**
+	 * @return the bulkParallelism
+	 */
+	public int getBulkParallelism() {
+		return bulkParallelism;
+	}
+	
+	/**
+	 * @param bulkParallelism the bulkParallelism to set
+	 */
+	public void setBulkParallelism(int bulkParallelism) {
+		if(bulkParallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be greater than zero.");
 		}
 		
-		return null;
+		this.bulkParallelism = bulkParallelism;
 	}
 	
 }
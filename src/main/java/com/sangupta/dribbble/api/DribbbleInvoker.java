@@ -21,27 +21,85 @@
 
 package com.sangupta.dribbble.api;
 
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
 import org.apache.http.util.EntityUtils;
 
+import com.sangupta.dribbble.api.cache.DiskResponseCache;
+import com.sangupta.dribbble.api.cache.ResponseCache;
+import com.sangupta.dribbble.api.io.CapturingInputStream;
+import com.sangupta.dribbble.api.io.ContentDecoding;
+import com.sangupta.dribbble.api.io.CountingInputStream;
+import com.sangupta.dribbble.api.io.PooledStreamReader;
+import com.sangupta.dribbble.api.metrics.DribbbleMetrics;
+import com.sangupta.dribbble.api.metrics.EndpointFamily;
+import com.sangupta.dribbble.api.metrics.EndpointMetrics;
+import com.sangupta.dribbble.api.ratelimit.RateLimiter;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.replay.ArchivedResponse;
+import com.sangupta.dribbble.api.replay.ResponseRecorder;
+import com.sangupta.dribbble.api.replay.ResponseReplayer;
+import com.sangupta.dribbble.api.util.DaemonThreadFactory;
+import com.sangupta.dribbble.api.util.DribbbleExecutors;
+
 /**
  * Utility class to invoke the end point at Dribbble.com and
  * return the HTTP response back as String.
+ * 
+ * Each invoker draws its permits from a {@link RateLimiter}. The static
+ * <code>invokeEndPoint</code> methods use a default invoker whose limiter
+ * is shared by all requests made from this JVM; create an invoker with
+ * a {@link RateLimiter} of your own to share a quota differently, say
+ * between several processes.
+ * 
+ * When given a {@link ResponseCache}, the invoker makes conditional requests
+ * for URLs it has cached and serves the already parsed object again when the
+ * server answers with <code>304 Not Modified</code>.
+ * 
+ * Each invoker owns a {@link DribbbleTransport} with its own connection pool,
+ * which is released when the invoker is closed. Responses are asked for with
+ * <code>gzip</code> or <code>deflate</code> compression and decompressed as
+ * they are parsed.
+ * 
+ * Callers asking for a URL that is already being fetched attach to that request
+ * and share its parsed result, without using up a permit of their own. Objects
+ * handed out this way are shared between callers and should be treated as
+ * read-only.
  *  
  * @author sangupta
  *
  */
-public class DribbbleInvoker {
+public class DribbbleInvoker implements Closeable {
 	
 	/**
 	 * My private logger
@@ -51,138 +109,1799 @@ public class DribbbleInvoker {
 	/**
 	 * Host name for Dribbble API end points
 	 */
-	private static final String DRIBBBLE_END_POINT = "http://api.dribbble.com/";
+	public static final String DRIBBBLE_END_POINT = "http://api.dribbble.com/";
+	
+	/**
+	 * System property that, when set, overrides {@link #DRIBBBLE_END_POINT} as the
+	 * base URL of the default invoker and of clients not given one, say to point a
+	 * test run at a local stand-in server
+	 */
+	public static final String BASE_URL_PROPERTY = "dribbble.api.url";
 	
-	/** 
-	 * Create an HttpClient with the ThreadSafeClientConnManager.
-     * This connection manager must be used if more than one thread will
-     * be using the HttpClient.
-     */
-	private static final ThreadSafeClientConnManager HTTP_CONNECTION_MANAGER;
+	/**
+	 * Scheduler used to delay asynchronous requests that have reserved a rate-limit
+	 * permit in the future. Created lazily on first use.
+	 */
+	private static volatile ScheduledExecutorService scheduler = null;
 	
 	/**
-	 * Our reference to initialized {@link HttpClient}.
+	 * Executor that responses of the non-blocking client are parsed, and stored,
+	 * on, away from its I/O reactor. Created lazily on first use.
 	 */
-	private static HttpClient httpClient = null;
+	private static volatile ExecutorService responseHandler = null;
 	
 	/**
 	 * Max rate limited requests for Dribbble.com
 	 */
-	private static final int MAX_REQUESTS_PER_MINUTE = 60;
+	public static final int MAX_REQUESTS_PER_MINUTE = 60;
+	
+	/**
+	 * Number of requests out of {@link #MAX_REQUESTS_PER_MINUTE} that may be made
+	 * back to back before the limiter starts spacing them out
+	 */
+	public static final int MAX_BURST = 10;
+	
+	/**
+	 * Value for the rate-limit wait that blocks until a permit is available
+	 */
+	public static final long WAIT_FOREVER = -1;
+	
+	/**
+	 * How long, in milliseconds, requests wait for a rate-limit permit unless told
+	 * otherwise. Within a minute of waiting, every request the fixed per-minute
+	 * window of earlier versions would have let through gets a permit, even once
+	 * the burst of {@link #MAX_BURST} is used up.
+	 */
+	public static final long DEFAULT_WAIT_MILLIS = 60000;
+	
+	/**
+	 * The invoker used by the static methods, whose rate limiter is shared by
+	 * all requests made from this JVM
+	 */
+	private static final DribbbleInvoker DEFAULT_INVOKER = new DribbbleInvoker(newRateLimiter());
+	
+	/**
+	 * Outcome of a request in flight that got no rate-limit permit, upon which the
+	 * callers attached to it try and get permits of their own
+	 */
+	private static final Object NO_PERMIT = new Object();
+	
+	/**
+	 * Parser that returns the response body as a {@link String}
+	 */
+	private static final ResponseParser<String> STRING_PARSER = new ResponseParser<String>() {
+		
+		public String parse(Reader reader) throws IOException {
+			StringBuilder builder = new StringBuilder();
+			char[] chars = new char[1024];
+			
+			int read;
+			while((read = reader.read(chars)) != -1) {
+				builder.append(chars, 0, read);
+			}
+			
+			return builder.toString();
+		}
+		
+	};
+	
+	/**
+	 * The base URL all end points are resolved against
+	 */
+	private final String baseUrl;
+	
+	/**
+	 * The rate limiter this invoker draws its permits from
+	 */
+	private final RateLimiter rateLimiter;
+	
+	/**
+	 * The HTTP transport requests are made over
+	 */
+	private final DribbbleTransport transport;
+	
+	/**
+	 * Cache of parsed responses used for conditional requests, if any
+	 */
+	private volatile ResponseCache responseCache = null;
+	
+	/**
+	 * Persistent cache of raw response bodies, served without making a request
+	 * while fresh, if any
+	 */
+	private volatile DiskResponseCache diskCache = null;
+	
+	/**
+	 * Whether to give the permit back to the rate limiter when the server
+	 * answers a conditional request with <code>304 Not Modified</code>. Only
+	 * set this if the API does not count such responses against the quota.
+	 */
+	private volatile boolean refundNotModified = false;
+	
+	/**
+	 * Executor that asynchronous requests are made on with the blocking client,
+	 * if any, rather than with the non-blocking one
+	 */
+	private volatile Executor blockingExecutor = null;
+	
+	/**
+	 * Circuit breaker guarding the calls made to the API, if any
+	 */
+	private volatile CircuitBreaker circuitBreaker = null;
+	
+	/**
+	 * Recorder every response received is written to, if any
+	 */
+	private volatile ResponseRecorder recorder = null;
+	
+	/**
+	 * Replayer that serves recorded responses in place of making requests, if any
+	 */
+	private volatile ResponseReplayer replayer = null;
 	
 	/**
-	 * Holds the minute identifier
+	 * Metrics kept by end point family
 	 */
-	private static long currentRunningMinute = 0;
+	private final DribbbleMetrics metrics = new DribbbleMetrics();
 	
 	/**
-	 * Holds the number of hits that we have made in this minute
+	 * Whether callers asking for a URL that is already being fetched attach to
+	 * that request instead of making their own
 	 */
-	private static int currentMinuteHitCount = 0;
+	private volatile boolean coalesceRequests = true;
 	
 	/**
-	 * Initialize the connection manager and create the client
+	 * Requests in flight, by URL and parser
 	 */
-	static {
-		HTTP_CONNECTION_MANAGER = new ThreadSafeClientConnManager();
-    	httpClient = new DefaultHttpClient(HTTP_CONNECTION_MANAGER);
+	private final ConcurrentHashMap<FlightKey, Flight> inFlight = new ConcurrentHashMap<FlightKey, Flight>();
+	
+	/**
+	 * Number of requests that attached to one already in flight
+	 */
+	private final LongAdder coalescedRequests = new LongAdder();
+	
+	/**
+	 * Create an invoker that draws its permits from the given rate limiter.
+	 * 
+	 * @param rateLimiter
+	 */
+	public DribbbleInvoker(RateLimiter rateLimiter) {
+		this(getDefaultBaseUrl(), rateLimiter);
+	}
+	
+	/**
+	 * Create an invoker that resolves end points against the given base URL,
+	 * say that of a local stand-in server, and draws its permits from the given
+	 * rate limiter.
+	 * 
+	 * @param baseUrl
+	 * @param rateLimiter
+	 */
+	public DribbbleInvoker(String baseUrl, RateLimiter rateLimiter) {
+		this(baseUrl, rateLimiter, new DribbbleTransportConfig());
+	}
+	
+	/**
+	 * Create an invoker that resolves end points against the given base URL,
+	 * draws its permits from the given rate limiter, and makes its requests over
+	 * a transport set up from the given configuration.
+	 * 
+	 * @param baseUrl
+	 * @param rateLimiter
+	 * @param transportConfig
+	 */
+	public DribbbleInvoker(String baseUrl, RateLimiter rateLimiter, DribbbleTransportConfig transportConfig) {
+		if(baseUrl == null || baseUrl.trim().length() == 0) {
+			throw new IllegalArgumentException("Base URL cannot be null/empty.");
+		}
+		
+		if(rateLimiter == null) {
+			throw new IllegalArgumentException("Rate limiter cannot be null.");
+		}
+		
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+		this.rateLimiter = rateLimiter;
+		this.transport = new DribbbleTransport(transportConfig);
+	}
+	
+	/**
+	 * Return the base URL used when none is given: the value of the
+	 * {@link #BASE_URL_PROPERTY} system property if set, else
+	 * {@link #DRIBBBLE_END_POINT}.
+	 * 
+	 * @return
+	 */
+	public static String getDefaultBaseUrl() {
+		String baseUrl = System.getProperty(BASE_URL_PROPERTY);
+		if(baseUrl == null || baseUrl.trim().length() == 0) {
+			return DRIBBBLE_END_POINT;
+		}
+		
+		return baseUrl.trim();
+	}
+	
+	/**
+	 * Return the invoker used by the static methods, whose rate limiter is shared by
+	 * all requests made from this JVM.
+	 * 
+	 * @return
+	 */
+	public static DribbbleInvoker getDefault() {
+		return DEFAULT_INVOKER;
+	}
+	
+	/**
+	 * Create a new in-memory rate limiter for the Dribbble quota of
+	 * {@link #MAX_REQUESTS_PER_MINUTE}, allowing a burst of {@link #MAX_BURST}.
+	 * 
+	 * @return
+	 */
+	public static RateLimiter newRateLimiter() {
+		return new TokenBucketRateLimiter(MAX_REQUESTS_PER_MINUTE, 1, TimeUnit.MINUTES, MAX_BURST);
 	}
 
 	/**
 	 * Invoke the final end-point for Dribbble maintaining rate-limiting connections.
+	 * When no rate-limit permit is available, the calling thread waits up to
+	 * {@link #DEFAULT_WAIT_MILLIS} for one.
 	 * 
 	 * @param endPoint
 	 * @param params
 	 * @return
 	 */
 	public static String invokeEndPoint(String endPoint, String params, boolean throwException) {
+		return DEFAULT_INVOKER.invoke(endPoint, params, throwException, DEFAULT_WAIT_MILLIS);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble maintaining rate-limiting connections.
+	 * When no rate-limit permit is available, the calling thread waits up to
+	 * <code>maxWaitMillis</code> for one, or indefinitely if the value is
+	 * {@link #WAIT_FOREVER}. A value of zero never waits.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public static String invokeEndPoint(String endPoint, String params, boolean throwException, long maxWaitMillis) {
+		return DEFAULT_INVOKER.invoke(endPoint, params, throwException, maxWaitMillis);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble maintaining rate-limiting connections,
+	 * without blocking the calling thread for the HTTP round trip. The returned future
+	 * completes with the response body, or <code>null</code> in all cases where
+	 * {@link #invokeEndPoint(String, String, boolean)} would have returned <code>null</code>.
+	 * 
+	 * When no rate-limit permit is available, the request is scheduled for when one
+	 * frees up, provided that is within {@link #DEFAULT_WAIT_MILLIS}. Otherwise, if
+	 * <code>throwException</code> is set, the returned future completes exceptionally
+	 * with a {@link DribbbleApiRateLimitException}.
+	 * 
+	 * Dependent stages attached without an executor run on the I/O reactor thread and
+	 * thus must not block.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @return
+	 */
+	public static CompletableFuture<String> invokeEndPointAsync(String endPoint, String params, boolean throwException) {
+		return DEFAULT_INVOKER.invokeAsync(endPoint, params, throwException, DEFAULT_WAIT_MILLIS);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble asynchronously. When no rate-limit permit
+	 * is available, the request is scheduled for the moment a permit frees up, provided
+	 * that is within <code>maxWaitMillis</code> (or at all, for {@link #WAIT_FOREVER}).
+	 * The calling thread never waits.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @return
+	 */
+	public static CompletableFuture<String> invokeEndPointAsync(String endPoint, String params, boolean throwException, long maxWaitMillis) {
+		return DEFAULT_INVOKER.invokeAsync(endPoint, params, throwException, maxWaitMillis);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble using the rate limiter of this invoker.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @return
+	 * 
+	 * @see #invokeEndPoint(String, String, boolean, long)
+	 */
+	public String invoke(String endPoint, String params, boolean throwException, long maxWaitMillis) {
+		return invoke(endPoint, params, throwException, maxWaitMillis, STRING_PARSER);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble using the rate limiter of this invoker,
+	 * and convert the response body using the given parser as it streams in.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @param parser
+	 * @return
+	 * 
+	 * @see #invokeEndPoint(String, String, boolean, long)
+	 */
+	public <T> T invoke(String endPoint, String params, boolean throwException, long maxWaitMillis, ResponseParser<T> parser) {
+		return invoke(endPoint, params, throwException, maxWaitMillis, parser, null);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble using the rate limiter of this invoker,
+	 * convert the response body using the given parser as it streams in, and retry
+	 * transient failures as the given policy says. Callers attaching to a request
+	 * already in flight share the retries of that request, and wait no longer than
+	 * <code>maxWaitMillis</code> for it to get a permit.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @param parser
+	 * @param retryPolicy
+	 *            the policy to retry by, or <code>null</code> to not retry
+	 * 
+	 * @return
+	 * 
+	 * @see #invokeEndPoint(String, String, boolean, long)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T invoke(String endPoint, String params, boolean throwException, long maxWaitMillis, ResponseParser<T> parser, RetryPolicy retryPolicy) {
 		// build the final URL to hit upon
-		if(endPoint == null || endPoint.trim().length() == 0) {
-			throw new IllegalArgumentException("Dribbble endpoint cannot be null.");
-		}
+		String url = buildUrl(endPoint, params);
+		EndpointMetrics endpointMetrics = this.metrics.forEndpoint(endPoint);
 		
-		String url = DRIBBBLE_END_POINT + endPoint;
-		if(params != null && params.trim().length() > 0) {
-			url += "?" + params;
+		// serve a fresh body from disk, if we hold one
+		T stored = fromDisk(url, parser, false, endpointMetrics);
+		if(stored != null) {
+			return stored;
 		}
 		
-		// check for rate limiting now
-		// calculations are kept out to make the critical
-		// block faster
-		long millis = System.currentTimeMillis();
-		long seconds = millis / 1000;
-		long minute = seconds / 60;
-		
-		boolean proceed = checkRateLimit(minute, throwException);
-		
-		if(!proceed) {
-			return null;
+		if(!this.coalesceRequests) {
+			// check for rate limiting now
+			boolean proceed = acquirePermit(maxWaitMillis, throwException, endpointMetrics);
+			
+			if(!proceed) {
+				return null;
+			}
+			
+			// go ahead and hit the URL
+			return hitWithRetries(url, parser, maxWaitMillis, retryPolicy, endpointMetrics);
 		}
 		
-		// go ahead and hit the URL
-		String response = hit(url);
-		
-		// return back the response
-		return response;
-	}
-	
-	/**
-	 * Method that checks for rate-limit quota for Dribbble.com currently
-	 * set as 60 per minute.
-	 */
-	private static synchronized boolean checkRateLimit(long minute, boolean throwException) {
-		if(minute == currentRunningMinute) {
-			// we are for the same minute
-			currentMinuteHitCount++;
-			if(currentMinuteHitCount > MAX_REQUESTS_PER_MINUTE) {
+		// attach to an identical request in flight, if any
+		FlightKey key = new FlightKey(url, parser);
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+		while(true) {
+			Flight flight = new Flight(maxWaitMillis);
+			Flight existing = this.inFlight.putIfAbsent(key, flight);
+			if(existing == null) {
+				return lead(key, flight, url, parser, throwException, maxWaitMillis, retryPolicy, endpointMetrics);
+			}
+			
+			this.coalescedRequests.increment();
+			
+			Object value;
+			try {
+				value = await(existing, maxWaitMillis, deadline);
+			} catch(TimeoutException e) {
+				// the leader got no permit in as long as we may wait for one
+				endpointMetrics.recordRejection();
 				if(throwException) {
-					throw new DribbbleApiRateLimitException("Over the limit of 60 requests/minute... slow dow.");
+					throw rateLimitExceeded();
 				}
 				
-				return false;
+				return null;
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} catch(ExecutionException e) {
+				Throwable cause = e.getCause();
+				if(cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				
+				throw new IllegalStateException(cause);
+			}
+			
+			if(value != NO_PERMIT) {
+				return (T) value;
 			}
 			
-			return true;
+			// the leader got no permit; try and get one of our own
 		}
-		
-		// we are on switchover minute
-		currentRunningMinute = minute;
-		currentMinuteHitCount = 1;
-		
-		return true;
 	}
-
+	
 	/**
-	 * Hit the URL endpoint and return the response body if the status code is HTTP 200.
+	 * Invoke the final end-point for Dribbble asynchronously using the rate limiter of
+	 * this invoker.
 	 * 
-	 * @param url
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
 	 * @return
+	 * 
+	 * @see #invokeEndPointAsync(String, String, boolean, long)
 	 */
-	private static String hit(final String url) {
-		HttpGet httpGet = new HttpGet(url);
-		try {
-			HttpResponse httpResponse = httpClient.execute(httpGet);
-			final HttpEntity entity = httpResponse.getEntity();
-
-			// check for success code of HTTP 200
-			int responseCode = httpResponse.getStatusLine().getStatusCode();
-			if(responseCode != 200) {
-				// consume the entity to release connection
-				EntityUtils.consume(entity);
-				
-				// return null response
-				return null;
+	public CompletableFuture<String> invokeAsync(String endPoint, String params, boolean throwException, long maxWaitMillis) {
+		return invokeAsync(endPoint, params, throwException, maxWaitMillis, STRING_PARSER);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble asynchronously using the rate limiter of
+	 * this invoker, and convert the response body using the given parser.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @param parser
+	 * @return
+	 * 
+	 * @see #invokeEndPointAsync(String, String, boolean, long)
+	 */
+	public <T> CompletableFuture<T> invokeAsync(String endPoint, String params, boolean throwException, long maxWaitMillis, ResponseParser<T> parser) {
+		return invokeAsync(endPoint, params, throwException, maxWaitMillis, parser, null);
+	}
+	
+	/**
+	 * Invoke the final end-point for Dribbble asynchronously using the rate limiter of
+	 * this invoker, convert the response body using the given parser, and retry
+	 * transient failures as the given policy says. Retries are scheduled, and never
+	 * block a thread while backing off.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @param parser
+	 * @param retryPolicy
+	 *            the policy to retry by, or <code>null</code> to not retry
+	 * 
+	 * @return
+	 * 
+	 * @see #invokeEndPointAsync(String, String, boolean, long)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> invokeAsync(final String endPoint, final String params, final boolean throwException, final long maxWaitMillis, final ResponseParser<T> parser, final RetryPolicy retryPolicy) {
+		// build the final URL to hit upon
+		final String url = buildUrl(endPoint, params);
+		final EndpointMetrics endpointMetrics = this.metrics.forEndpoint(endPoint);
+		
+		// serve a fresh body from disk, if we hold one
+		T stored = fromDisk(url, parser, false, endpointMetrics);
+		if(stored != null) {
+			return CompletableFuture.completedFuture(stored);
+		}
+		
+		Executor executor = this.blockingExecutor;
+		if(executor != null) {
+			return CompletableFuture.supplyAsync(() -> invoke(endPoint, params, throwException, maxWaitMillis, parser, retryPolicy), executor);
+		}
+		
+		if(!this.coalesceRequests) {
+			long waitNanos = reserve(maxWaitMillis, endpointMetrics);
+			if(waitNanos < 0) {
+				return noPermit(throwException);
 			}
 			
-			// consume the entity
-			String response = EntityUtils.toString(entity);
-			return response;
-		} catch (ClientProtocolException e) {
-			logger.log(Level.WARNING, "Unable to hit dribbble endpoint: " + url, e);
-		} catch (IOException e) {
-			logger.log(Level.WARNING, "Unable to hit dribbble endpoint: " + url, e);
+			return hitWhenPermitted(url, parser, waitNanos, maxWaitMillis, retryPolicy, endpointMetrics);
+		}
+		
+		// attach to an identical request in flight, if any
+		final FlightKey key = new FlightKey(url, parser);
+		final Flight flight = new Flight(maxWaitMillis);
+		Flight existing = this.inFlight.putIfAbsent(key, flight);
+		if(existing != null) {
+			this.coalescedRequests.increment();
+			
+			return existing.thenCompose(value -> {
+				if(value == NO_PERMIT) {
+					// the leader got no permit; try and get one of our own
+					return invokeAsync(endPoint, params, throwException, maxWaitMillis, parser, retryPolicy);
+				}
+				
+				return CompletableFuture.completedFuture((T) value);
+			});
+		}
+		
+		long waitNanos = reserve(maxWaitMillis, endpointMetrics);
+		if(waitNanos < 0) {
+			land(key, flight, NO_PERMIT, null);
+			return noPermit(throwException);
+		}
+		
+		flight.permitted = true;
+		
+		// hand out a future of our own, so that cancelling it leaves the flight alone
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		CompletableFuture<T> hit;
+		try {
+			hit = hitWhenPermitted(url, parser, waitNanos, maxWaitMillis, retryPolicy, endpointMetrics);
+		} catch(RuntimeException e) {
+			// land the flight all the same, else later callers attach to it forever
+			land(key, flight, null, e);
+			future.completeExceptionally(e);
+			return future;
 		}
 		
-		return null;
+		hit.whenComplete((response, error) -> {
+			land(key, flight, response, error);
+			
+			if(error != null) {
+				future.completeExceptionally(error);
+			} else {
+				future.complete(response);
+			}
+		});
+		
+		return future;
+	}
+	
+	/**
+	 * Close the transport of this invoker, releasing its pooled connections.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() throws IOException {
+		this.transport.close();
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the baseUrl
+	 */
+	public String getBaseUrl() {
+		return baseUrl;
 	}
+	
+	/**
+	 * @return the rateLimiter
+	 */
+	public RateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+	
+	/**
+	 * @return the transport
+	 */
+	public DribbbleTransport getTransport() {
+		return transport;
+	}
+	
+	/**
+	 * Return the number of response body bytes received so far, as sent
+	 * over the wire.
+	 * 
+	 * @return
+	 */
+	public long getCompressedBytes() {
+		return metrics.getCompressedBytes();
+	}
+	
+	/**
+	 * Return the number of response body bytes parsed so far, once
+	 * decompressed. Equals {@link #getCompressedBytes()} if no server
+	 * compressed its responses.
+	 * 
+	 * @return
+	 */
+	public long getUncompressedBytes() {
+		return metrics.getUncompressedBytes();
+	}
+	
+	/**
+	 * @return the metrics
+	 */
+	public DribbbleMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * @return the coalesceRequests
+	 */
+	public boolean isCoalesceRequests() {
+		return coalesceRequests;
+	}
+	
+	/**
+	 * @param coalesceRequests the coalesceRequests to set
+	 */
+	public void setCoalesceRequests(boolean coalesceRequests) {
+		this.coalesceRequests = coalesceRequests;
+	}
+	
+	/**
+	 * Return the number of requests that were served by attaching to an identical
+	 * request already in flight.
+	 * 
+	 * @return
+	 */
+	public long getCoalescedRequests() {
+		return coalescedRequests.sum();
+	}
+	
+	/**
+	 * @return the responseCache
+	 */
+	public ResponseCache getResponseCache() {
+		return responseCache;
+	}
+	
+	/**
+	 * @param responseCache the responseCache to set, or <code>null</code> to
+	 *            stop making conditional requests
+	 */
+	public void setResponseCache(ResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+	
+	/**
+	 * @return the diskCache
+	 */
+	public DiskResponseCache getDiskCache() {
+		return diskCache;
+	}
+	
+	/**
+	 * Set the persistent cache that fresh response bodies are served from without
+	 * making a request, and that every successful response is stored in. Pass
+	 * <code>null</code> to stop using one.
+	 * 
+	 * Only single shots and players are kept on disk. Lists, such as the pages of
+	 * <code>shots/everyone</code>, change from one poll to the next, and are always
+	 * requested.
+	 * 
+	 * @param diskCache the diskCache to set
+	 */
+	public void setDiskCache(DiskResponseCache diskCache) {
+		this.diskCache = diskCache;
+	}
+	
+	/**
+	 * @return the recorder
+	 */
+	public ResponseRecorder getRecorder() {
+		return recorder;
+	}
+	
+	/**
+	 * Set the recorder that every response received is written to, so it may be
+	 * replayed later. Pass <code>null</code> to stop recording. The recorder is
+	 * not closed with the invoker.
+	 * 
+	 * @param recorder the recorder to set
+	 */
+	public void setRecorder(ResponseRecorder recorder) {
+		this.recorder = recorder;
+	}
+	
+	/**
+	 * @return the replayer
+	 */
+	public ResponseReplayer getReplayer() {
+		return replayer;
+	}
+	
+	/**
+	 * Set the replayer that serves recorded responses in place of making requests,
+	 * which then never touch the network. Requests with no recorded response fail
+	 * as an I/O error would. Permits are still drawn from the rate limiter, so
+	 * give the invoker a generous one to replay at full speed. Pass
+	 * <code>null</code> to stop replaying.
+	 * 
+	 * Responses are replayed in the order they were recorded, one each time the
+	 * same request reaches the transport. Requests served by the
+	 * {@link com.sangupta.dribbble.api.cache.EntityCache} of a client or by the
+	 * disk cache never do, and so use up no response, and recorded HTTP 304
+	 * responses are answered from the response cache. For the replay to line up
+	 * with the recording, give it the same caches holding the same entries as
+	 * when recording started, which for the disk cache is usually none.
+	 * 
+	 * @param replayer the replayer to set
+	 */
+	public void setReplayer(ResponseReplayer replayer) {
+		this.replayer = replayer;
+	}
+	
+	/**
+	 * @return the blockingExecutor
+	 */
+	public Executor getBlockingExecutor() {
+		return blockingExecutor;
+	}
+	
+	/**
+	 * Make asynchronous requests with the blocking client on the given executor,
+	 * one task per request, rather than with the non-blocking client. Each task
+	 * may block while it waits for a permit, backs off before a retry, and reads
+	 * the response. Meant for executors with a thread per task, such as those
+	 * from {@link com.sangupta.dribbble.api.util.DribbbleExecutors}, which use
+	 * virtual threads on Java 21 and later. The executor is not shut down when
+	 * the invoker is closed.
+	 * 
+	 * @param blockingExecutor the executor to use, or <code>null</code> to use
+	 *            the non-blocking client
+	 */
+	public void setBlockingExecutor(Executor blockingExecutor) {
+		this.blockingExecutor = blockingExecutor;
+	}
+	
+	/**
+	 * @return the circuitBreaker
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+	
+	/**
+	 * @param circuitBreaker the circuitBreaker to set, or <code>null</code> to
+	 *            always make calls
+	 */
+	public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+	
+	/**
+	 * @return the refundNotModified
+	 */
+	public boolean isRefundNotModified() {
+		return refundNotModified;
+	}
+	
+	/**
+	 * @param refundNotModified the refundNotModified to set
+	 */
+	public void setRefundNotModified(boolean refundNotModified) {
+		this.refundNotModified = refundNotModified;
+	}
+	
+	/**
+	 * Build the final URL for the given end point and query parameters.
+	 * 
+	 * @param endPoint
+	 * @param params
+	 * @return
+	 */
+	private String buildUrl(String endPoint, String params) {
+		if(endPoint == null || endPoint.trim().length() == 0) {
+			throw new IllegalArgumentException("Dribbble endpoint cannot be null.");
+		}
+		
+		String url = this.baseUrl + endPoint;
+		if(params != null && params.trim().length() > 0) {
+			url += "?" + params;
+		}
+		
+		return url;
+	}
+	
+	/**
+	 * Method that acquires a permit from the rate-limit quota for Dribbble.com,
+	 * waiting for it as asked.
+	 * 
+	 * @param maxWaitMillis
+	 * @param throwException
+	 * @param endpointMetrics
+	 * @return <code>true</code> if the permit was acquired
+	 */
+	private boolean acquirePermit(long maxWaitMillis, boolean throwException, EndpointMetrics endpointMetrics) {
+		long start = System.nanoTime();
+		
+		boolean acquired;
+		try {
+			if(maxWaitMillis < 0) {
+				this.rateLimiter.acquire();
+				acquired = true;
+			} else if(maxWaitMillis > 0) {
+				acquired = this.rateLimiter.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+			} else {
+				acquired = this.rateLimiter.tryAcquire();
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		}
+		
+		endpointMetrics.recordPermitWait(System.nanoTime() - start);
+		if(!acquired) {
+			endpointMetrics.recordRejection();
+			
+			if(throwException) {
+				throw rateLimitExceeded();
+			}
+		}
+		
+		return acquired;
+	}
+	
+	/**
+	 * Make the request on behalf of all callers attaching to the flight, and land
+	 * the flight with its outcome.
+	 * 
+	 * @param key
+	 * @param flight
+	 * @param url
+	 * @param parser
+	 * @param throwException
+	 * @param maxWaitMillis
+	 * @param retryPolicy
+	 * @param endpointMetrics
+	 * @return
+	 */
+	private <T> T lead(FlightKey key, Flight flight, String url, ResponseParser<T> parser, boolean throwException, long maxWaitMillis, RetryPolicy retryPolicy, EndpointMetrics endpointMetrics) {
+		boolean proceed;
+		try {
+			proceed = acquirePermit(maxWaitMillis, throwException, endpointMetrics);
+		} catch(RuntimeException e) {
+			land(key, flight, NO_PERMIT, null);
+			throw e;
+		}
+		
+		if(!proceed) {
+			land(key, flight, NO_PERMIT, null);
+			return null;
+		}
+		
+		flight.permitted = true;
+		
+		T response;
+		try {
+			response = hitWithRetries(url, parser, maxWaitMillis, retryPolicy, endpointMetrics);
+		} catch(RuntimeException e) {
+			land(key, flight, null, e);
+			throw e;
+		}
+		
+		land(key, flight, response, null);
+		return response;
+	}
+	
+	/**
+	 * Remove the flight, so that later callers make a fresh request, and hand its
+	 * outcome to the callers that attached to it.
+	 * 
+	 * @param key
+	 * @param flight
+	 * @param value
+	 * @param error
+	 */
+	private void land(FlightKey key, Flight flight, Object value, Throwable error) {
+		this.inFlight.remove(key, flight);
+		
+		if(error != null) {
+			flight.completeExceptionally(error);
+		} else {
+			flight.complete(value);
+		}
+	}
+	
+	/**
+	 * Wait for the outcome of the flight. A caller that may wait for a permit for
+	 * less time than the leader of the flight waits only that long for the leader
+	 * to get one, and then, as for any other caller, for as long as the request
+	 * takes.
+	 * 
+	 * @param flight
+	 * @param maxWaitMillis
+	 *            how long the caller may wait for a permit
+	 * @param deadline
+	 *            {@link System#nanoTime()} at which that wait is over
+	 * @return
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 * @throws TimeoutException
+	 *             if the leader got no permit before the deadline
+	 */
+	private static Object await(Flight flight, long maxWaitMillis, long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+		boolean outwaited = maxWaitMillis >= 0 && (flight.maxWaitMillis < 0 || flight.maxWaitMillis > maxWaitMillis);
+		if(outwaited && !flight.permitted) {
+			try {
+				return flight.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch(TimeoutException e) {
+				if(!flight.permitted) {
+					throw e;
+				}
+			}
+		}
+		
+		return flight.get();
+	}
+	
+	/**
+	 * Reserve a permit from the rate limiter for an asynchronous request.
+	 * 
+	 * @param maxWaitMillis
+	 * @param endpointMetrics
+	 * @return nanoseconds until the permit may be used, or <code>-1</code> if
+	 *         that is longer than the wait allowed
+	 */
+	private long reserve(long maxWaitMillis, EndpointMetrics endpointMetrics) {
+		long maxWaitNanos = maxWaitMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+		long waitNanos = this.rateLimiter.reserve(maxWaitNanos);
+		
+		if(waitNanos < 0) {
+			endpointMetrics.recordRejection();
+		} else {
+			endpointMetrics.recordPermitWait(waitNanos);
+		}
+		
+		return waitNanos;
+	}
+	
+	/**
+	 * Return the future for an asynchronous request that got no permit.
+	 * 
+	 * @param throwException
+	 * @return
+	 */
+	private static <T> CompletableFuture<T> noPermit(boolean throwException) {
+		if(throwException) {
+			CompletableFuture<T> future = new CompletableFuture<T>();
+			future.completeExceptionally(rateLimitExceeded());
+			return future;
+		}
+		
+		return CompletableFuture.completedFuture(null);
+	}
+	
+	/**
+	 * Hit the URL endpoint asynchronously once the reserved permit becomes usable,
+	 * retrying as the policy says.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param waitNanos
+	 * @param maxWaitMillis
+	 * @param retryPolicy
+	 * @param endpointMetrics
+	 * @return
+	 */
+	private <T> CompletableFuture<T> hitWhenPermitted(String url, ResponseParser<T> parser, long waitNanos, long maxWaitMillis, RetryPolicy retryPolicy, EndpointMetrics endpointMetrics) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		attemptWhenPermitted(url, parser, this.responseCache, waitNanos, maxWaitMillis, retryPolicy, endpointMetrics, 1, future);
+		return future;
+	}
+	
+	/**
+	 * Make one attempt at the request once its permit becomes usable. Should it fail
+	 * for a transient reason, back off, reserve a permit for the next attempt, and
+	 * make that too; else complete the future with the outcome.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param cache
+	 * @param waitNanos
+	 * @param maxWaitMillis
+	 * @param retryPolicy
+	 * @param endpointMetrics
+	 * @param attempt
+	 * @param future
+	 */
+	private <T> void attemptWhenPermitted(final String url, final ResponseParser<T> parser, final ResponseCache cache, long waitNanos, final long maxWaitMillis,
+			final RetryPolicy retryPolicy, final EndpointMetrics endpointMetrics, final int attempt, final CompletableFuture<T> future) {
+		
+		schedule(() -> {
+			try {
+				hitAsync(url, parser, cache, endpointMetrics).whenComplete((outcome, error) -> {
+					if(error != null) {
+						future.completeExceptionally(error);
+						return;
+					}
+					
+					long backoffMillis = retryBackoff(outcome, attempt, retryPolicy);
+					if(backoffMillis < 0 || future.isDone()) {
+						future.complete(outcome.getValue());
+						return;
+					}
+					
+					schedule(() -> {
+						// the retry counts against the quota like any other request
+						long permitNanos = reserve(maxWaitMillis, endpointMetrics);
+						if(permitNanos < 0) {
+							future.complete(outcome.getValue());
+							return;
+						}
+						
+						endpointMetrics.recordRetry();
+						attemptWhenPermitted(url, parser, cache, permitNanos, maxWaitMillis, retryPolicy, endpointMetrics, attempt + 1, future);
+					}, TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+				});
+			} catch(Throwable t) {
+				// a task on the scheduler would swallow this, and leave the future pending
+				future.completeExceptionally(t);
+			}
+		}, waitNanos);
+	}
+	
+	/**
+	 * Run the task after the given delay on the scheduler, or right away on the
+	 * calling thread if there is no delay.
+	 * 
+	 * @param task
+	 * @param delayNanos
+	 */
+	private static void schedule(Runnable task, long delayNanos) {
+		if(delayNanos <= 0) {
+			task.run();
+			return;
+		}
+		
+		getScheduler().schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Hit the URL endpoint, retrying as the policy says, each retry waiting for a
+	 * permit of its own.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param maxWaitMillis
+	 * @param retryPolicy
+	 * @param endpointMetrics
+	 * @return the parsed response of the last attempt, if any
+	 */
+	private <T> T hitWithRetries(String url, ResponseParser<T> parser, long maxWaitMillis, RetryPolicy retryPolicy, EndpointMetrics endpointMetrics) {
+		for(int attempt = 1; ; attempt++) {
+			Outcome<T> outcome = hit(url, parser, this.responseCache, endpointMetrics);
+			
+			long backoffMillis = retryBackoff(outcome, attempt, retryPolicy);
+			if(backoffMillis < 0) {
+				return outcome.getValue();
+			}
+			
+			try {
+				Thread.sleep(backoffMillis);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return outcome.getValue();
+			}
+			
+			// the retry counts against the quota like any other request
+			if(!acquirePermit(maxWaitMillis, false, endpointMetrics)) {
+				return outcome.getValue();
+			}
+			
+			endpointMetrics.recordRetry();
+		}
+	}
+	
+	/**
+	 * Return how long to back off before retrying the attempt, or <code>-1</code>
+	 * if it should not be retried.
+	 * 
+	 * @param outcome
+	 * @param attempt
+	 * @param retryPolicy
+	 * @return
+	 */
+	private static long retryBackoff(Outcome<?> outcome, int attempt, RetryPolicy retryPolicy) {
+		if(retryPolicy == null || !retryPolicy.shouldRetry(attempt, outcome.getStatusCode())) {
+			return -1;
+		}
+		
+		return retryPolicy.backoffMillis(attempt, outcome.getRetryAfterMillis());
+	}
+	
+	/**
+	 * Create the exception signalling that we are over the rate limit.
+	 * 
+	 * @return
+	 */
+	private static DribbbleApiRateLimitException rateLimitExceeded() {
+		return new DribbbleApiRateLimitException("Over the Dribbble API rate limit... slow down.");
+	}
+
+	/**
+	 * Hit the URL endpoint and return the outcome, holding the parsed response body if the
+	 * status code is HTTP 200, or the cached one if it is HTTP 304 or the circuit breaker
+	 * is open.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param cache
+	 * @param endpointMetrics
+	 * @return
+	 */
+	private <T> Outcome<T> hit(final String url, ResponseParser<T> parser, ResponseCache cache, EndpointMetrics endpointMetrics) {
+		ResponseCache.Entry cached = cache != null ? cache.get(url, parser) : null;
+		
+		// build the request first, so that a permit taken is always recorded
+		HttpGet httpGet = newRequest(url, cached);
+		
+		CircuitBreaker breaker = this.circuitBreaker;
+		long permit = breaker != null ? breaker.tryAcquire() : 0;
+		if(permit == CircuitBreaker.NO_PERMIT) {
+			return shortCircuit(url, parser, cached, endpointMetrics);
+		}
+		
+		long start = System.nanoTime();
+		int statusCode = 0;
+		try {
+			HttpResponse httpResponse = execute(url, httpGet);
+			Outcome<T> outcome = handleResponse(url, parser, cache, cached, httpResponse, endpointMetrics);
+			endpointMetrics.recordLatency(System.nanoTime() - start);
+			statusCode = outcome.getStatusCode();
+			return outcome;
+		} catch (ClientProtocolException e) {
+			logger.log(Level.WARNING, "Unable to hit dribbble endpoint: " + url, e);
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Unable to hit dribbble endpoint: " + url, e);
+		} finally {
+			recordCall(breaker, permit, start, statusCode);
+		}
+		
+		endpointMetrics.recordError();
+		return Outcome.failed();
+	}
+	
+	/**
+	 * Hit the URL endpoint using the non-blocking client and complete the returned
+	 * future with the outcome, holding the parsed response body if the status code
+	 * is HTTP 200, or the cached one if it is HTTP 304 or the circuit breaker is
+	 * open.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param cache
+	 * @param endpointMetrics
+	 * @return
+	 */
+	private <T> CompletableFuture<Outcome<T>> hitAsync(final String url, final ResponseParser<T> parser, final ResponseCache cache, final EndpointMetrics endpointMetrics) {
+		final CompletableFuture<Outcome<T>> future = new CompletableFuture<Outcome<T>>();
+		final ResponseCache.Entry cached = cache != null ? cache.get(url, parser) : null;
+		
+		// build the request first, so that a permit taken is always recorded
+		final HttpGet httpGet;
+		try {
+			httpGet = newRequest(url, cached);
+		} catch(RuntimeException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		
+		final CircuitBreaker breaker = this.circuitBreaker;
+		final long permit = breaker != null ? breaker.tryAcquire() : 0;
+		if(permit == CircuitBreaker.NO_PERMIT) {
+			future.complete(shortCircuit(url, parser, cached, endpointMetrics));
+			return future;
+		}
+		
+		final long startedAt = System.currentTimeMillis();
+		final long start = System.nanoTime();
+		FutureCallback<HttpResponse> callback = new FutureCallback<HttpResponse>() {
+			
+			public void completed(final HttpResponse httpResponse) {
+				// parsing, and storing to disk, would hold up the I/O reactor and every other connection
+				getResponseHandler().execute(() -> handle(httpResponse));
+			}
+			
+			private void handle(HttpResponse httpResponse) {
+				int statusCode = 0;
+				try {
+					httpResponse = record(url, startedAt, start, httpResponse);
+					Outcome<T> outcome = handleResponse(url, parser, cache, cached, httpResponse, endpointMetrics);
+					endpointMetrics.recordLatency(System.nanoTime() - start);
+					statusCode = outcome.getStatusCode();
+					future.complete(outcome);
+				} catch (IOException e) {
+					logger.log(Level.WARNING, "Unable to hit dribbble endpoint: " + url, e);
+					endpointMetrics.recordError();
+					future.complete(Outcome.<T>failed());
+				} catch (RuntimeException e) {
+					future.completeExceptionally(e);
+				} finally {
+					recordCall(breaker, permit, start, statusCode);
+				}
+			}
+			
+			public void failed(Exception e) {
+				logger.log(Level.WARNING, "Unable to hit dribbble endpoint: " + url, e);
+				recordCall(breaker, permit, start, 0);
+				endpointMetrics.recordError();
+				future.complete(Outcome.<T>failed());
+			}
+			
+			public void cancelled() {
+				recordCall(breaker, permit, start, 0);
+				future.cancel(false);
+			}
+			
+		};
+		
+		ResponseReplayer replayer = this.replayer;
+		if(replayer != null) {
+			replayAsync(replayer, url, callback);
+			return future;
+		}
+		
+		try {
+			this.transport.execute(httpGet, callback);
+		} catch(RuntimeException e) {
+			// the callback will never run, so give back the permit here
+			recordCall(breaker, permit, start, 0);
+			future.completeExceptionally(e);
+		}
+		
+		return future;
+	}
+	
+	/**
+	 * Execute the request using the blocking client, or serve the recorded response
+	 * for it when replaying, and record the response when recording.
+	 * 
+	 * @param url
+	 * @param httpGet
+	 * @return
+	 * @throws IOException
+	 *             if the request fails, or has no recorded response to replay
+	 */
+	private HttpResponse execute(String url, HttpGet httpGet) throws IOException {
+		ResponseReplayer replayer = this.replayer;
+		if(replayer != null) {
+			ArchivedResponse archived = replay(replayer, url);
+			long delayNanos = replayer.delayNanos(archived);
+			if(delayNanos > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(delayNanos);
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while replaying: " + url);
+				}
+			}
+			
+			return archived.toHttpResponse();
+		}
+		
+		long startedAt = System.currentTimeMillis();
+		long start = System.nanoTime();
+		return record(url, startedAt, start, this.transport.execute(httpGet));
+	}
+	
+	/**
+	 * Complete the callback with the recorded response for the URL, after the
+	 * recorded latency if the replayer keeps the original timing.
+	 * 
+	 * @param replayer
+	 * @param url
+	 * @param callback
+	 */
+	private void replayAsync(ResponseReplayer replayer, String url, final FutureCallback<HttpResponse> callback) {
+		final ArchivedResponse archived;
+		try {
+			archived = replay(replayer, url);
+		} catch(IOException e) {
+			callback.failed(e);
+			return;
+		}
+		
+		schedule(() -> callback.completed(archived.toHttpResponse()), replayer.delayNanos(archived));
+	}
+	
+	/**
+	 * Return the next recorded response for the URL.
+	 * 
+	 * @param replayer
+	 * @param url
+	 * @return
+	 * @throws IOException
+	 *             if no response was recorded for it
+	 */
+	private ArchivedResponse replay(ResponseReplayer replayer, String url) throws IOException {
+		ArchivedResponse archived = replayer.replay(url.substring(this.baseUrl.length()));
+		if(archived == null) {
+			throw new IOException("No recorded response to replay for: " + url);
+		}
+		
+		return archived;
+	}
+	
+	/**
+	 * Hand the response to the recorder, if any, and return a copy of it to be
+	 * handled in its place, as the body of the original has been read. Only the
+	 * body is read here, which the non-blocking client already holds in memory;
+	 * the recorder compresses and writes it on a thread of its own. A response
+	 * that cannot be recorded is handled all the same.
+	 * 
+	 * @param url
+	 * @param startedAt
+	 *            wall-clock time the request was made at
+	 * @param start
+	 *            {@link System#nanoTime()} when the request was made
+	 * @param httpResponse
+	 * @return
+	 * @throws IOException
+	 *             if the body cannot be read
+	 */
+	private HttpResponse record(String url, long startedAt, long start, HttpResponse httpResponse) throws IOException {
+		ResponseRecorder recorder = this.recorder;
+		if(recorder == null) {
+			return httpResponse;
+		}
+		
+		HttpEntity entity = httpResponse.getEntity();
+		byte[] body = entity != null ? EntityUtils.toByteArray(entity) : null;
+		ArchivedResponse archived = ArchivedResponse.of(url.substring(this.baseUrl.length()), startedAt, System.nanoTime() - start, httpResponse, body);
+		
+		try {
+			recorder.record(archived);
+		} catch(IOException e) {
+			logger.log(Level.WARNING, "Unable to record response for: " + url, e);
+		}
+		
+		return archived.toHttpResponse();
+	}
+	
+	/**
+	 * Return the outcome of a call not made as the circuit breaker is open: the
+	 * cached response for the URL, if any, then the body stored on disk even if it
+	 * has expired, and else nothing. The permit taken for the call is given back,
+	 * as no request was made.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param cached
+	 * @param endpointMetrics
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Outcome<T> shortCircuit(String url, ResponseParser<T> parser, ResponseCache.Entry cached, EndpointMetrics endpointMetrics) {
+		endpointMetrics.recordShortCircuit();
+		this.rateLimiter.refund();
+		
+		T value = cached != null ? (T) cached.getValue() : fromDisk(url, parser, true, endpointMetrics);
+		return new Outcome<T>(value, Outcome.SHORT_CIRCUITED, -1);
+	}
+	
+	/**
+	 * Parse the body stored on disk for the URL, if there is a disk cache and it
+	 * holds one. A body that cannot be parsed is dropped from the cache.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param includeExpired
+	 * @param endpointMetrics
+	 * @return the parsed body, or <code>null</code> if none is stored
+	 */
+	private <T> T fromDisk(String url, ResponseParser<T> parser, boolean includeExpired, EndpointMetrics endpointMetrics) {
+		DiskResponseCache diskCache = this.diskCache;
+		if(diskCache == null || !isDiskCached(endpointMetrics.getFamily())) {
+			return null;
+		}
+		
+		DiskResponseCache.Entry entry;
+		try {
+			entry = diskCache.get(url, includeExpired);
+		} catch(IllegalStateException e) {
+			// the cache has been closed
+			return null;
+		}
+		
+		if(entry == null) {
+			return null;
+		}
+		
+		Reader reader = new PooledStreamReader(new ByteArrayInputStream(entry.getBody()), entry.getCharset());
+		long start = System.nanoTime();
+		try {
+			return parser.parse(reader);
+		} catch(IOException | RuntimeException e) {
+			logger.log(Level.WARNING, "Unable to parse body stored on disk for: " + url, e);
+			
+			try {
+				diskCache.invalidate(url);
+			} catch(IOException | IllegalStateException ex) {
+				logger.log(Level.WARNING, "Unable to drop body stored on disk for: " + url, ex);
+			}
+			
+			return null;
+		} finally {
+			endpointMetrics.recordParseTime(System.nanoTime() - start);
+			try {
+				reader.close();
+			} catch(IOException e) {
+				// nothing to release for an in-memory stream
+			}
+		}
+	}
+	
+	/**
+	 * Record the outcome of a call made to the API with the circuit breaker, if any.
+	 * The call failed if it got no response or a <code>5xx</code> status.
+	 * 
+	 * @param breaker
+	 * @param permit
+	 * @param start
+	 * @param statusCode
+	 */
+	private static void recordCall(CircuitBreaker breaker, long permit, long start, int statusCode) {
+		if(breaker != null) {
+			breaker.record(permit, System.nanoTime() - start, statusCode == 0 || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR);
+		}
+	}
+	
+	/**
+	 * Create the GET request for the URL, made conditional if we hold a cached
+	 * response for it.
+	 * 
+	 * @param url
+	 * @param cached
+	 * @return
+	 */
+	private static HttpGet newRequest(String url, ResponseCache.Entry cached) {
+		HttpGet httpGet = new HttpGet(url);
+		httpGet.addHeader(HttpHeaders.ACCEPT_ENCODING, ContentDecoding.ACCEPT_ENCODING);
+		
+		if(cached != null) {
+			if(cached.getEtag() != null) {
+				httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+			}
+			
+			if(cached.getLastModified() != null) {
+				httpGet.addHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+			}
+		}
+		
+		return httpGet;
+	}
+	
+	/**
+	 * Convert the response into an outcome holding the parsed body: the freshly
+	 * parsed one for an HTTP 200, the cached one for an HTTP 304, and
+	 * <code>null</code> otherwise.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param cache
+	 * @param cached
+	 * @param httpResponse
+	 * @param endpointMetrics
+	 * @return
+	 * @throws IOException
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Outcome<T> handleResponse(String url, ResponseParser<T> parser, ResponseCache cache, ResponseCache.Entry cached, HttpResponse httpResponse, EndpointMetrics endpointMetrics) throws IOException {
+		final HttpEntity entity = httpResponse.getEntity();
+		
+		int responseCode = httpResponse.getStatusLine().getStatusCode();
+		endpointMetrics.recordStatus(responseCode);
+		
+		if(responseCode == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+			EntityUtils.consume(entity);
+			
+			cache.notModified();
+			if(this.refundNotModified) {
+				this.rateLimiter.refund();
+			}
+			
+			return new Outcome<T>((T) cached.getValue(), responseCode, -1);
+		}
+		
+		// check for success code of HTTP 200
+		if(responseCode != HttpStatus.SC_OK) {
+			// consume the entity to release connection
+			EntityUtils.consume(entity);
+			
+			// return null response
+			return new Outcome<T>(null, responseCode, retryAfterMillis(httpResponse));
+		}
+		
+		// consume the entity
+		T response = parse(url, entity, parser, endpointMetrics);
+		
+		if(cache != null) {
+			cache.put(url, parser, headerValue(httpResponse, HttpHeaders.ETAG), headerValue(httpResponse, HttpHeaders.LAST_MODIFIED), response);
+		}
+		
+		return new Outcome<T>(response, responseCode, -1);
+	}
+	
+	/**
+	 * Return the value of the first header with the given name, if any.
+	 * 
+	 * @param httpResponse
+	 * @param name
+	 * @return
+	 */
+	private static String headerValue(HttpResponse httpResponse, String name) {
+		Header header = httpResponse.getFirstHeader(name);
+		if(header == null) {
+			return null;
+		}
+		
+		return header.getValue();
+	}
+	
+	/**
+	 * Return the wait asked for by the <code>Retry-After</code> header of the
+	 * response, given either in seconds or as a date.
+	 * 
+	 * @param httpResponse
+	 * @return the wait in milliseconds, or <code>-1</code> if there is no valid
+	 *         header
+	 */
+	private static long retryAfterMillis(HttpResponse httpResponse) {
+		String value = headerValue(httpResponse, HttpHeaders.RETRY_AFTER);
+		if(value == null) {
+			return -1;
+		}
+		
+		value = value.trim();
+		try {
+			long seconds = Long.parseLong(value);
+			return seconds < 0 ? -1 : TimeUnit.SECONDS.toMillis(seconds);
+		} catch(NumberFormatException e) {
+			// not in seconds, try a date
+		}
+		
+		Date date = DateUtils.parseDate(value);
+		if(date == null) {
+			return -1;
+		}
+		
+		return Math.max(0, date.getTime() - System.currentTimeMillis());
+	}
+	
+	/**
+	 * Parse the entity as it streams in, decompressing it if need be and decoding
+	 * it with a pooled buffer. If there is a disk cache, the decompressed body is
+	 * captured as it is parsed and stored once it has been read in full.
+	 * 
+	 * @param url
+	 * @param entity
+	 * @param parser
+	 * @param endpointMetrics
+	 * @return
+	 * @throws IOException
+	 */
+	private <T> T parse(String url, HttpEntity entity, ResponseParser<T> parser, EndpointMetrics endpointMetrics) throws IOException {
+		if(entity == null) {
+			return null;
+		}
+		
+		Charset charset = StandardCharsets.UTF_8;
+		ContentType contentType = ContentType.get(entity);
+		if(contentType != null && contentType.getCharset() != null) {
+			charset = contentType.getCharset();
+		}
+		
+		CountingInputStream compressed = new CountingInputStream(entity.getContent());
+		InputStream stream;
+		try {
+			Header encoding = entity.getContentEncoding();
+			stream = ContentDecoding.decode(compressed, encoding != null ? encoding.getValue() : null);
+		} catch(IOException e) {
+			compressed.close();
+			throw e;
+		}
+		
+		CountingInputStream uncompressed = new CountingInputStream(stream);
+		stream = uncompressed;
+		
+		DiskResponseCache diskCache = this.diskCache;
+		CapturingInputStream capture = null;
+		if(diskCache != null && isDiskCached(endpointMetrics.getFamily())) {
+			capture = new CapturingInputStream(stream);
+			stream = capture;
+		}
+		
+		Reader reader = new PooledStreamReader(stream, charset);
+		long start = System.nanoTime();
+		try {
+			T response = parser.parse(reader);
+			
+			if(capture != null) {
+				capture.drain();
+				store(diskCache, url, capture.toByteArray(), charset);
+			}
+			
+			return response;
+		} finally {
+			endpointMetrics.recordParseTime(System.nanoTime() - start);
+			reader.close();
+			endpointMetrics.recordBytes(compressed.getCount(), uncompressed.getCount());
+		}
+	}
+	
+	/**
+	 * Tell whether responses of the end point family are kept in the disk cache.
+	 * 
+	 * @param family
+	 * @return
+	 */
+	private static boolean isDiskCached(EndpointFamily family) {
+		return family == EndpointFamily.SHOT || family == EndpointFamily.PLAYER;
+	}
+	
+	/**
+	 * Store the body in the disk cache, logging rather than failing the request if
+	 * it cannot be written.
+	 * 
+	 * @param diskCache
+	 * @param url
+	 * @param body
+	 * @param charset
+	 */
+	private static void store(DiskResponseCache diskCache, String url, byte[] body, Charset charset) {
+		try {
+			diskCache.put(url, body, charset);
+		} catch(IOException | IllegalStateException e) {
+			logger.log(Level.WARNING, "Unable to store body on disk for: " + url, e);
+		}
+	}
+	
+	/**
+	 * Return the executor that responses of the non-blocking client are handled
+	 * on, creating it on first use.
+	 * 
+	 * @return
+	 */
+	private static Executor getResponseHandler() {
+		ExecutorService service = responseHandler;
+		if(service != null) {
+			return service;
+		}
+		
+		synchronized(DribbbleInvoker.class) {
+			if(responseHandler == null) {
+				responseHandler = DribbbleExecutors.newRequestExecutor("dribbble-response-");
+			}
+			
+			return responseHandler;
+		}
+	}
+	
+	/**
+	 * Return the scheduler for delayed asynchronous requests, creating it on first use.
+	 * 
+	 * @return
+	 */
+	private static ScheduledExecutorService getScheduler() {
+		ScheduledExecutorService service = scheduler;
+		if(service != null) {
+			return service;
+		}
+		
+		synchronized(DribbbleInvoker.class) {
+			if(scheduler == null) {
+				scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("dribbble-scheduler-"));
+			}
+			
+			return scheduler;
+		}
+	}
+	
+	/**
+	 * The outcome of a single attempt at a request.
+	 */
+	private static final class Outcome<T> {
+		
+		/**
+		 * The outcome of an attempt that got no response
+		 */
+		private static final Outcome<Object> FAILED = new Outcome<Object>(null, 0, -1);
+		
+		/**
+		 * Status code of a call not made as the circuit breaker was open
+		 */
+		static final int SHORT_CIRCUITED = -1;
+		
+		/**
+		 * The parsed response body, if any
+		 */
+		private final T value;
+		
+		/**
+		 * The status code of the response, 0 if there was none, or
+		 * {@link #SHORT_CIRCUITED}
+		 */
+		private final int statusCode;
+		
+		/**
+		 * The wait asked for by the server before trying again, or <code>-1</code>
+		 */
+		private final long retryAfterMillis;
+		
+		Outcome(T value, int statusCode, long retryAfterMillis) {
+			this.value = value;
+			this.statusCode = statusCode;
+			this.retryAfterMillis = retryAfterMillis;
+		}
+		
+		@SuppressWarnings("unchecked")
+		static <T> Outcome<T> failed() {
+			return (Outcome<T>) FAILED;
+		}
+		
+		T getValue() {
+			return value;
+		}
+		
+		int getStatusCode() {
+			return statusCode;
+		}
+		
+		long getRetryAfterMillis() {
+			return retryAfterMillis;
+		}
+		
+	}
+	
+	/**
+	 * A request in flight, completed with its outcome for the callers attached to
+	 * it.
+	 */
+	private static final class Flight extends CompletableFuture<Object> {
+		
+		/**
+		 * How long the leader of the flight may wait for a permit
+		 */
+		final long maxWaitMillis;
+		
+		/**
+		 * Whether the leader has got its permit
+		 */
+		volatile boolean permitted = false;
+		
+		Flight(long maxWaitMillis) {
+			this.maxWaitMillis = maxWaitMillis;
+		}
+		
+	}
+	
+	/**
+	 * Identifies a request in flight: callers attach to one only if they ask for
+	 * the same URL and parse it the same way.
+	 */
+	private static final class FlightKey {
+		
+		private final String url;
+		
+		private final ResponseParser<?> parser;
+		
+		private final int hash;
+		
+		FlightKey(String url, ResponseParser<?> parser) {
+			this.url = url;
+			this.parser = parser;
+			this.hash = 31 * url.hashCode() + parser.hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			
+			if(!(obj instanceof FlightKey)) {
+				return false;
+			}
+			
+			FlightKey other = (FlightKey) obj;
+			return this.url.equals(other.url) && this.parser.equals(other.parser);
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		
+	}
+	
 }
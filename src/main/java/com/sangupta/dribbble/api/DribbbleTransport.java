@@ -0,0 +1,314 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
+
+import com.sangupta.dribbble.api.util.DaemonThreadFactory;
+
+/**
+ * The HTTP transport of a {@link DribbbleInvoker}: a pooled blocking client and
+ * a pooled non-blocking client, both set up from a {@link DribbbleTransportConfig}.
+ * 
+ * Connections are kept alive for as long as the server allows, capped by the
+ * configured keep-alive, and are closed by a background reaper once they expire
+ * or sit idle for too long. The non-blocking client is created and started on
+ * first use, so that callers sticking to the blocking API never spawn its I/O
+ * reactor. All background threads are daemon threads.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleTransport implements Closeable {
+	
+	/**
+	 * The configuration this transport was built from
+	 */
+	private final DribbbleTransportConfig config;
+	
+	/**
+	 * Strategy deciding how long a connection may be kept alive
+	 */
+	private final ConnectionKeepAliveStrategy keepAliveStrategy;
+	
+	/**
+	 * Timeouts applied to every request
+	 */
+	private final RequestConfig requestConfig;
+	
+	/**
+	 * The pooled blocking client
+	 */
+	private final CloseableHttpClient httpClient;
+	
+	/**
+	 * The pooled non-blocking client, created on first use
+	 */
+	private volatile CloseableHttpAsyncClient asyncHttpClient = null;
+	
+	/**
+	 * Reaper of expired and idle connections of the non-blocking client
+	 */
+	private volatile ScheduledExecutorService asyncReaper = null;
+	
+	/**
+	 * Whether this transport has been closed
+	 */
+	private volatile boolean closed = false;
+	
+	/**
+	 * Create a transport with the default configuration.
+	 */
+	public DribbbleTransport() {
+		this(new DribbbleTransportConfig());
+	}
+	
+	/**
+	 * Create a transport with the given configuration.
+	 * 
+	 * @param config
+	 */
+	public DribbbleTransport(DribbbleTransportConfig config) {
+		if(config == null) {
+			throw new IllegalArgumentException("Transport configuration cannot be null.");
+		}
+		
+		if(config.getMaxConnections() < 1 || config.getMaxConnectionsPerRoute() < 1) {
+			throw new IllegalArgumentException("Connection pool must allow at least one connection.");
+		}
+		
+		if(config.getIoThreads() < 1) {
+			throw new IllegalArgumentException("Transport needs at least one I/O thread.");
+		}
+		
+		this.config = config;
+		this.keepAliveStrategy = newKeepAliveStrategy(config.getKeepAliveMillis());
+		this.requestConfig = RequestConfig.custom()
+				.setConnectTimeout(config.getConnectTimeoutMillis())
+				.setSocketTimeout(config.getSocketTimeoutMillis())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis())
+				.build();
+		
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(config.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity(config.getValidateAfterInactivityMillis());
+		connectionManager.setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(config.getSocketTimeoutMillis()).setTcpNoDelay(true).build());
+		
+		this.httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(this.keepAliveStrategy)
+				.setDefaultRequestConfig(this.requestConfig)
+				.evictExpiredConnections()
+				.evictIdleConnections(config.getIdleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)
+				.disableContentCompression()
+				// retries are left to the retry policy, which draws permits for them
+				.disableAutomaticRetries()
+				.build();
+	}
+	
+	/**
+	 * Execute the request on the blocking client. The caller must consume the
+	 * entity of the response to release the connection back to the pool.
+	 * 
+	 * @param request
+	 * @return
+	 * @throws IOException
+	 */
+	public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+		return this.httpClient.execute(request);
+	}
+	
+	/**
+	 * Execute the request on the non-blocking client, notifying the callback on
+	 * the I/O reactor thread when done.
+	 * 
+	 * @param request
+	 * @param callback
+	 * @return
+	 */
+	public Future<HttpResponse> execute(HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+		return getAsyncHttpClient().execute(request, callback);
+	}
+	
+	/**
+	 * Close both clients, along with their pooled connections and background threads.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() throws IOException {
+		CloseableHttpAsyncClient client;
+		ScheduledExecutorService reaper;
+		synchronized(this) {
+			if(this.closed) {
+				return;
+			}
+			
+			this.closed = true;
+			client = this.asyncHttpClient;
+			reaper = this.asyncReaper;
+		}
+		
+		if(reaper != null) {
+			reaper.shutdownNow();
+		}
+		
+		try {
+			this.httpClient.close();
+		} finally {
+			if(client != null) {
+				client.close();
+			}
+		}
+	}
+	
+	/**
+	 * Return the started non-blocking client, creating it on first use.
+	 * 
+	 * @return
+	 */
+	private CloseableHttpAsyncClient getAsyncHttpClient() {
+		CloseableHttpAsyncClient client = this.asyncHttpClient;
+		if(client != null) {
+			return client;
+		}
+		
+		synchronized(this) {
+			if(this.closed) {
+				throw new IllegalStateException("Transport has already been closed.");
+			}
+			
+			if(this.asyncHttpClient == null) {
+				final PoolingNHttpClientConnectionManager connectionManager = newAsyncConnectionManager();
+				
+				client = HttpAsyncClients.custom()
+						.setConnectionManager(connectionManager)
+						.setKeepAliveStrategy(this.keepAliveStrategy)
+						.setDefaultRequestConfig(this.requestConfig)
+						.setThreadFactory(new DaemonThreadFactory("dribbble-async-dispatch-"))
+						.build();
+				client.start();
+				
+				final long idleMillis = this.config.getIdleConnectionTimeoutMillis();
+				long period = Math.max(1000, Math.min(idleMillis, 10000));
+				
+				ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("dribbble-async-reaper-"));
+				reaper.scheduleWithFixedDelay(new Runnable() {
+					
+					public void run() {
+						connectionManager.closeExpiredConnections();
+						connectionManager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+					}
+					
+				}, period, period, TimeUnit.MILLISECONDS);
+				
+				this.asyncReaper = reaper;
+				this.asyncHttpClient = client;
+			}
+			
+			return this.asyncHttpClient;
+		}
+	}
+	
+	/**
+	 * Create the connection manager of the non-blocking client, running its I/O
+	 * reactor on daemon threads.
+	 * 
+	 * @return
+	 */
+	private PoolingNHttpClientConnectionManager newAsyncConnectionManager() {
+		IOReactorConfig reactorConfig = IOReactorConfig.custom()
+				.setIoThreadCount(this.config.getIoThreads())
+				.setConnectTimeout(this.config.getConnectTimeoutMillis())
+				.setSoTimeout(this.config.getSocketTimeoutMillis())
+				.setTcpNoDelay(true)
+				.build();
+		
+		DefaultConnectingIOReactor reactor;
+		try {
+			reactor = new DefaultConnectingIOReactor(reactorConfig, new DaemonThreadFactory("dribbble-async-io-"));
+		} catch (IOReactorException e) {
+			throw new IllegalStateException("Unable to start the asynchronous transport.", e);
+		}
+		
+		PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(reactor);
+		connectionManager.setMaxTotal(this.config.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(this.config.getMaxConnectionsPerRoute());
+		return connectionManager;
+	}
+	
+	/**
+	 * Create a strategy that honours the keep-alive asked for by the server, capped
+	 * at the given value, which is also used when the server does not ask for any.
+	 * 
+	 * @param keepAliveMillis
+	 * @return
+	 */
+	private static ConnectionKeepAliveStrategy newKeepAliveStrategy(final long keepAliveMillis) {
+		return new ConnectionKeepAliveStrategy() {
+			
+			public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+				if(duration < 0 || duration > keepAliveMillis) {
+					return keepAliveMillis;
+				}
+				
+				return duration;
+			}
+			
+		};
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the config
+	 */
+	public DribbbleTransportConfig getConfig() {
+		return config;
+	}
+	
+}
@@ -0,0 +1,211 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+/**
+ * Configuration of the HTTP transport used by a {@link DribbbleInvoker}: the size
+ * of its connection pool, how long connections are kept alive and idle, and the
+ * timeouts applied to each request. All durations are in milliseconds.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleTransportConfig {
+	
+	/**
+	 * Max number of pooled connections
+	 */
+	private int maxConnections = 20;
+	
+	/**
+	 * Max number of pooled connections to one host
+	 */
+	private int maxConnectionsPerRoute = 10;
+	
+	/**
+	 * How long a connection is kept alive when the server does not say, and the
+	 * upper bound on what the server may ask for
+	 */
+	private long keepAliveMillis = 30000;
+	
+	/**
+	 * How long a connection may sit idle in the pool before it is closed
+	 */
+	private long idleConnectionTimeoutMillis = 30000;
+	
+	/**
+	 * How long a pooled connection may go unused before it is checked, ahead of
+	 * being reused, for having been closed by the server. Requests are not sent
+	 * again upon an I/O error unless a retry policy says so, so it takes the check
+	 * to keep them off connections the server dropped.
+	 */
+	private int validateAfterInactivityMillis = 1000;
+	
+	/**
+	 * How long to wait to establish a connection
+	 */
+	private int connectTimeoutMillis = 5000;
+	
+	/**
+	 * How long to wait for data on an established connection
+	 */
+	private int socketTimeoutMillis = 15000;
+	
+	/**
+	 * How long to wait to lease a connection from the pool
+	 */
+	private int connectionRequestTimeoutMillis = 5000;
+	
+	/**
+	 * Number of I/O threads used by the asynchronous transport
+	 */
+	private int ioThreads = 2;
+	
+	// Usual accessors follow
+
+	/**
+	 * @return the maxConnections
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * @param maxConnections the maxConnections to set
+	 */
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	/**
+	 * @return the maxConnectionsPerRoute
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * @param maxConnectionsPerRoute the maxConnectionsPerRoute to set
+	 */
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	/**
+	 * @return the keepAliveMillis
+	 */
+	public long getKeepAliveMillis() {
+		return keepAliveMillis;
+	}
+
+	/**
+	 * @param keepAliveMillis the keepAliveMillis to set
+	 */
+	public void setKeepAliveMillis(long keepAliveMillis) {
+		this.keepAliveMillis = keepAliveMillis;
+	}
+
+	/**
+	 * @return the idleConnectionTimeoutMillis
+	 */
+	public long getIdleConnectionTimeoutMillis() {
+		return idleConnectionTimeoutMillis;
+	}
+
+	/**
+	 * @param idleConnectionTimeoutMillis the idleConnectionTimeoutMillis to set
+	 */
+	public void setIdleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+		this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+	}
+
+	/**
+	 * @return the validateAfterInactivityMillis
+	 */
+	public int getValidateAfterInactivityMillis() {
+		return validateAfterInactivityMillis;
+	}
+
+	/**
+	 * @param validateAfterInactivityMillis the validateAfterInactivityMillis to set
+	 */
+	public void setValidateAfterInactivityMillis(int validateAfterInactivityMillis) {
+		this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+	}
+
+	/**
+	 * @return the connectTimeoutMillis
+	 */
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	/**
+	 * @param connectTimeoutMillis the connectTimeoutMillis to set
+	 */
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	/**
+	 * @return the socketTimeoutMillis
+	 */
+	public int getSocketTimeoutMillis() {
+		return socketTimeoutMillis;
+	}
+
+	/**
+	 * @param socketTimeoutMillis the socketTimeoutMillis to set
+	 */
+	public void setSocketTimeoutMillis(int socketTimeoutMillis) {
+		this.socketTimeoutMillis = socketTimeoutMillis;
+	}
+
+	/**
+	 * @return the connectionRequestTimeoutMillis
+	 */
+	public int getConnectionRequestTimeoutMillis() {
+		return connectionRequestTimeoutMillis;
+	}
+
+	/**
+	 * @param connectionRequestTimeoutMillis the connectionRequestTimeoutMillis to set
+	 */
+	public void setConnectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+		this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+	}
+
+	/**
+	 * @return the ioThreads
+	 */
+	public int getIoThreads() {
+		return ioThreads;
+	}
+
+	/**
+	 * @param ioThreads the ioThreads to set
+	 */
+	public void setIoThreads(int ioThreads) {
+		this.ioThreads = ioThreads;
+	}
+
+}
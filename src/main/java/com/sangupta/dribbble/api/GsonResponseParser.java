@@ -0,0 +1,129 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * A {@link ResponseParser} that reads an object of the given class straight
+ * off the response stream using Google GSON. Two parsers are equal when they
+ * use the same {@link Gson} instance to produce the same class, which allows
+ * a cached response to be served to any caller asking for the same type.
+ * 
+ * @author sangupta
+ *
+ * @param <T> the type of object produced
+ */
+public class GsonResponseParser<T> implements ResponseParser<T> {
+	
+	private final Gson gson;
+	
+	private final Class<T> clazz;
+	
+	/**
+	 * Canonicalizer registered with the GSON instance, if any
+	 */
+	private final PlayerCanonicalizer canonicalizer;
+	
+	public GsonResponseParser(Gson gson, Class<T> clazz) {
+		this(gson, clazz, null);
+	}
+	
+	/**
+	 * Create a parser whose GSON instance has the given canonicalizer registered,
+	 * so that the players within each response are deduplicated.
+	 * 
+	 * @param gson
+	 * @param clazz
+	 * @param canonicalizer
+	 */
+	public GsonResponseParser(Gson gson, Class<T> clazz, PlayerCanonicalizer canonicalizer) {
+		if(gson == null) {
+			throw new IllegalArgumentException("Gson cannot be null.");
+		}
+		
+		if(clazz == null) {
+			throw new IllegalArgumentException("Class cannot be null.");
+		}
+		
+		this.gson = gson;
+		this.clazz = clazz;
+		this.canonicalizer = canonicalizer;
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ResponseParser#parse(java.io.Reader)
+	 */
+	public T parse(Reader reader) throws IOException {
+		try {
+			if(this.canonicalizer != null) {
+				return this.canonicalizer.parse(this.gson, new JsonReader(reader), this.clazz);
+			}
+			
+			return this.gson.fromJson(new JsonReader(reader), this.clazz);
+		} catch(JsonParseException e) {
+			if(e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			
+			throw e;
+		}
+	}
+	
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		
+		if(obj instanceof GsonResponseParser) {
+			GsonResponseParser<?> other = (GsonResponseParser<?>) obj;
+			return this.gson == other.gson && this.clazz == other.clazz;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * System.identityHashCode(this.gson) + this.clazz.hashCode();
+	}
+	
+	/**
+	 * @return the clazz
+	 */
+	public Class<T> getClazz() {
+		return clazz;
+	}
+	
+}
@@ -0,0 +1,253 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sangupta.dribbble.api.model.Player;
+
+/**
+ * A GSON {@link TypeAdapterFactory} that deduplicates {@link Player} instances by
+ * their ID as they are read, so that the shots or comments of a list by the same
+ * player all share one instance rather than holding a copy each.
+ * 
+ * Within one response, as read by {@link #parse(Gson, JsonReader, Class)}, the
+ * first instance read for a player is kept. When shared across responses, players
+ * are also interned in a canonical map holding them weakly, so that a player is
+ * kept only as long as some shot or comment refers to it. A player embedded in a
+ * shot or comment is resolved to the canonical instance, along with its counts at
+ * the time, so interned players should be treated as read-only. A player read as
+ * the whole response, such as that of {@link DribbbleClient#getPlayer(String)},
+ * is fresh and replaces the canonical instance instead.
+ * 
+ * @author sangupta
+ *
+ */
+public class PlayerCanonicalizer implements TypeAdapterFactory {
+	
+	/**
+	 * Whether players are interned across responses
+	 */
+	private final boolean shared;
+	
+	/**
+	 * Canonical players, when shared across responses
+	 */
+	private final Map<Player, WeakReference<Player>> canonical = new WeakHashMap<Player, WeakReference<Player>>();
+	
+	/**
+	 * Players read so far in the response being parsed on this thread
+	 */
+	private final ThreadLocal<Map<Long, Player>> response = new ThreadLocal<Map<Long, Player>>();
+	
+	/**
+	 * Number of player instances read and dropped in favour of an existing one
+	 */
+	private final LongAdder deduplicated = new LongAdder();
+	
+	/**
+	 * Create a canonicalizer that deduplicates players within each response.
+	 */
+	public PlayerCanonicalizer() {
+		this(false);
+	}
+	
+	/**
+	 * Create a canonicalizer that deduplicates players within each response, and
+	 * optionally across all responses it reads.
+	 * 
+	 * @param shared
+	 */
+	public PlayerCanonicalizer(boolean shared) {
+		this.shared = shared;
+	}
+	
+	/**
+	 * @see com.google.gson.TypeAdapterFactory#create(com.google.gson.Gson, com.google.gson.reflect.TypeToken)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+		if(type.getRawType() != Player.class) {
+			return null;
+		}
+		
+		final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+		return new TypeAdapter<T>() {
+			
+			@Override
+			public void write(JsonWriter out, T value) throws IOException {
+				delegate.write(out, value);
+			}
+			
+			@Override
+			public T read(JsonReader in) throws IOException {
+				// the path is still at the document root only for a top-level player
+				boolean root = "$".equals(in.getPath());
+				return (T) canonicalize((Player) delegate.read(in), root);
+			}
+			
+		};
+	}
+	
+	/**
+	 * Read one response with the given GSON instance, which must have this factory
+	 * registered, deduplicating the players within it.
+	 * 
+	 * @param gson
+	 * @param reader
+	 * @param clazz
+	 * @return
+	 */
+	public <T> T parse(Gson gson, JsonReader reader, Class<T> clazz) {
+		Map<Long, Player> previous = this.response.get();
+		this.response.set(new HashMap<Long, Player>());
+		try {
+			return gson.fromJson(reader, clazz);
+		} finally {
+			if(previous == null) {
+				this.response.remove();
+			} else {
+				this.response.set(previous);
+			}
+		}
+	}
+	
+	/**
+	 * Return the instance to keep for the given player: the one already read for
+	 * the same ID, if any, else the given one.
+	 * 
+	 * @param player
+	 * @return
+	 */
+	public Player canonicalize(Player player) {
+		return canonicalize(player, false);
+	}
+	
+	/**
+	 * Return the instance to keep for the given player. A root player, read as the
+	 * whole response, is kept as is and becomes the canonical one.
+	 * 
+	 * @param player
+	 * @param root
+	 * @return
+	 */
+	private Player canonicalize(Player player, boolean root) {
+		if(player == null) {
+			return null;
+		}
+		
+		Map<Long, Player> seen = this.response.get();
+		if(seen != null) {
+			Player existing = seen.get(player.getId());
+			if(existing != null) {
+				this.deduplicated.increment();
+				return existing;
+			}
+		}
+		
+		Player kept = player;
+		if(this.shared) {
+			kept = root ? replace(player) : intern(player);
+		}
+		if(seen != null) {
+			seen.put(player.getId(), kept);
+		}
+		
+		return kept;
+	}
+	
+	/**
+	 * Return the canonical instance for the player, making it the canonical one if
+	 * there is none.
+	 * 
+	 * @param player
+	 * @return
+	 */
+	private Player intern(Player player) {
+		synchronized(this.canonical) {
+			WeakReference<Player> reference = this.canonical.get(player);
+			Player existing = reference != null ? reference.get() : null;
+			if(existing != null) {
+				this.deduplicated.increment();
+				return existing;
+			}
+			
+			this.canonical.put(player, new WeakReference<Player>(player));
+			return player;
+		}
+	}
+	
+	/**
+	 * Make the given player the canonical one, replacing any older instance.
+	 * 
+	 * @param player
+	 * @return
+	 */
+	private Player replace(Player player) {
+		synchronized(this.canonical) {
+			// remove first, as put keeps the existing key, which is the older instance
+			this.canonical.remove(player);
+			this.canonical.put(player, new WeakReference<Player>(player));
+			return player;
+		}
+	}
+	
+	/**
+	 * Return the number of canonical players held, when shared across responses.
+	 * 
+	 * @return
+	 */
+	public int getCanonicalCount() {
+		synchronized(this.canonical) {
+			return this.canonical.size();
+		}
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the shared
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+	
+	/**
+	 * @return the number of player instances read and dropped in favour of an
+	 *         existing one
+	 */
+	public long getDeduplicated() {
+		return deduplicated.sum();
+	}
+	
+}
@@ -0,0 +1,53 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Contract to convert the body of a successful Dribbble API response into
+ * an object. The body is handed over as a {@link Reader} decoding the HTTP
+ * entity stream, so that implementations can parse it without first copying
+ * it into a {@link String}.
+ * 
+ * Parsers are compared using <code>equals</code> to decide whether a response
+ * cached by {@link com.sangupta.dribbble.api.cache.ResponseCache} may be served
+ * to a caller, so implementations producing the same type from the same body
+ * should be equal.
+ * 
+ * @author sangupta
+ *
+ * @param <T> the type of object produced
+ */
+public interface ResponseParser<T> {
+	
+	/**
+	 * Parse the response body. The reader is closed by the caller.
+	 * 
+	 * @param reader
+	 * @return
+	 * @throws IOException
+	 */
+	public T parse(Reader reader) throws IOException;
+	
+}
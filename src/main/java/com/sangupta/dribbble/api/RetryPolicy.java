@@ -0,0 +1,299 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a {@link DribbbleInvoker} retries requests that failed for a transient
+ * reason: an I/O error, or one of the retryable status codes. Retries back off
+ * exponentially, with jitter so that callers failing together do not retry
+ * together, and wait at least as long as the server asks for in a
+ * <code>Retry-After</code> header. Every retry draws a permit from the rate limiter
+ * like any other request. All durations are in milliseconds.
+ * 
+ * @author sangupta
+ *
+ */
+public class RetryPolicy {
+	
+	/**
+	 * Max number of times a request is made, the first one included
+	 */
+	private int maxAttempts = 3;
+	
+	/**
+	 * Backoff before the first retry
+	 */
+	private long initialBackoffMillis = 250;
+	
+	/**
+	 * Upper bound of the backoff before any retry
+	 */
+	private long maxBackoffMillis = 10000;
+	
+	/**
+	 * Factor the backoff grows by with each retry
+	 */
+	private double multiplier = 2;
+	
+	/**
+	 * Share of the backoff, between 0 and 1, that is randomized: 0 always waits
+	 * the full backoff, 1 waits anything between none and all of it
+	 */
+	private double jitter = 0.5;
+	
+	/**
+	 * Status codes upon which the request is retried
+	 */
+	private Set<Integer> retryableStatuses = new HashSet<Integer>(Arrays.asList(429, 500, 502, 503, 504));
+	
+	/**
+	 * Whether requests that failed without a response are retried
+	 */
+	private boolean retryOnIOException = true;
+	
+	/**
+	 * Whether to wait for as long as a <code>Retry-After</code> header asks
+	 */
+	private boolean honorRetryAfter = true;
+	
+	/**
+	 * Longest <code>Retry-After</code> waited for; the request is given up on if the
+	 * server asks for longer
+	 */
+	private long maxRetryAfterMillis = 60000;
+	
+	/**
+	 * Tell whether a request should be made again.
+	 * 
+	 * @param attempt
+	 *            the attempt that just failed, the first being 1
+	 * 
+	 * @param statusCode
+	 *            the status code of its response, or 0 if it got none
+	 * 
+	 * @return
+	 */
+	public boolean shouldRetry(int attempt, int statusCode) {
+		if(attempt >= this.maxAttempts) {
+			return false;
+		}
+		
+		if(statusCode == 0) {
+			return this.retryOnIOException;
+		}
+		
+		return this.retryableStatuses.contains(statusCode);
+	}
+	
+	/**
+	 * Return how long to back off before the next attempt.
+	 * 
+	 * @param attempt
+	 *            the attempt that just failed, the first being 1
+	 * 
+	 * @param retryAfterMillis
+	 *            the wait asked for by the server, or <code>-1</code> if it did
+	 *            not ask
+	 * 
+	 * @return the backoff in milliseconds, or <code>-1</code> if the server asked
+	 *         to wait longer than {@link #getMaxRetryAfterMillis()}
+	 */
+	public long backoffMillis(int attempt, long retryAfterMillis) {
+		double backoff = this.initialBackoffMillis * Math.pow(this.multiplier, attempt - 1);
+		backoff = Math.min(backoff, this.maxBackoffMillis);
+		
+		long delay = (long) (backoff * (1 - this.jitter * ThreadLocalRandom.current().nextDouble()));
+		
+		if(this.honorRetryAfter && retryAfterMillis >= 0) {
+			if(retryAfterMillis > this.maxRetryAfterMillis) {
+				return -1;
+			}
+			
+			delay = Math.max(delay, retryAfterMillis);
+		}
+		
+		return delay;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the maxAttempts
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+	
+	/**
+	 * @param maxAttempts the maxAttempts to set
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		if(maxAttempts < 1) {
+			throw new IllegalArgumentException("Max attempts must be greater than zero.");
+		}
+		
+		this.maxAttempts = maxAttempts;
+	}
+	
+	/**
+	 * @return the initialBackoffMillis
+	 */
+	public long getInitialBackoffMillis() {
+		return initialBackoffMillis;
+	}
+	
+	/**
+	 * @param initialBackoffMillis the initialBackoffMillis to set
+	 */
+	public void setInitialBackoffMillis(long initialBackoffMillis) {
+		if(initialBackoffMillis < 0) {
+			throw new IllegalArgumentException("Initial backoff cannot be negative.");
+		}
+		
+		this.initialBackoffMillis = initialBackoffMillis;
+	}
+	
+	/**
+	 * @return the maxBackoffMillis
+	 */
+	public long getMaxBackoffMillis() {
+		return maxBackoffMillis;
+	}
+	
+	/**
+	 * @param maxBackoffMillis the maxBackoffMillis to set
+	 */
+	public void setMaxBackoffMillis(long maxBackoffMillis) {
+		if(maxBackoffMillis < 0) {
+			throw new IllegalArgumentException("Max backoff cannot be negative.");
+		}
+		
+		this.maxBackoffMillis = maxBackoffMillis;
+	}
+	
+	/**
+	 * @return the multiplier
+	 */
+	public double getMultiplier() {
+		return multiplier;
+	}
+	
+	/**
+	 * @param multiplier the multiplier to set
+	 */
+	public void setMultiplier(double multiplier) {
+		if(multiplier < 1) {
+			throw new IllegalArgumentException("Multiplier cannot be less than one.");
+		}
+		
+		this.multiplier = multiplier;
+	}
+	
+	/**
+	 * @return the jitter
+	 */
+	public double getJitter() {
+		return jitter;
+	}
+	
+	/**
+	 * @param jitter the jitter to set
+	 */
+	public void setJitter(double jitter) {
+		if(jitter < 0 || jitter > 1) {
+			throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+		}
+		
+		this.jitter = jitter;
+	}
+	
+	/**
+	 * @return the retryableStatuses
+	 */
+	public Set<Integer> getRetryableStatuses() {
+		return Collections.unmodifiableSet(retryableStatuses);
+	}
+	
+	/**
+	 * @param retryableStatuses the retryableStatuses to set
+	 */
+	public void setRetryableStatuses(Set<Integer> retryableStatuses) {
+		if(retryableStatuses == null) {
+			throw new IllegalArgumentException("Retryable statuses cannot be null.");
+		}
+		
+		this.retryableStatuses = new HashSet<Integer>(retryableStatuses);
+	}
+	
+	/**
+	 * @return the retryOnIOException
+	 */
+	public boolean isRetryOnIOException() {
+		return retryOnIOException;
+	}
+	
+	/**
+	 * @param retryOnIOException the retryOnIOException to set
+	 */
+	public void setRetryOnIOException(boolean retryOnIOException) {
+		this.retryOnIOException = retryOnIOException;
+	}
+	
+	/**
+	 * @return the honorRetryAfter
+	 */
+	public boolean isHonorRetryAfter() {
+		return honorRetryAfter;
+	}
+	
+	/**
+	 * @param honorRetryAfter the honorRetryAfter to set
+	 */
+	public void setHonorRetryAfter(boolean honorRetryAfter) {
+		this.honorRetryAfter = honorRetryAfter;
+	}
+	
+	/**
+	 * @return the maxRetryAfterMillis
+	 */
+	public long getMaxRetryAfterMillis() {
+		return maxRetryAfterMillis;
+	}
+	
+	/**
+	 * @param maxRetryAfterMillis the maxRetryAfterMillis to set
+	 */
+	public void setMaxRetryAfterMillis(long maxRetryAfterMillis) {
+		if(maxRetryAfterMillis < 0) {
+			throw new IllegalArgumentException("Max retry after cannot be negative.");
+		}
+		
+		this.maxRetryAfterMillis = maxRetryAfterMillis;
+	}
+	
+}
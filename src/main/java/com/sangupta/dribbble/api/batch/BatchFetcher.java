@@ -0,0 +1,225 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Looks up a batch of entities by key, with a bounded number of lookups in
+ * flight. Duplicate keys are looked up once. A worker moves on to the next
+ * key as soon as its current lookup completes, and lookups that complete right
+ * away, such as those served from a cache, are handled in a loop without
+ * taking up a request slot.
+ * 
+ * @author sangupta
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the entities
+ */
+public class BatchFetcher<K, V> {
+	
+	/**
+	 * The distinct keys, in the order asked for
+	 */
+	private final List<K> keys;
+	
+	/**
+	 * Starts the lookup of one key
+	 */
+	private final Function<K, CompletableFuture<V>> lookup;
+	
+	/**
+	 * Outcome of each lookup, by the index of its key: the entity, a {@link Failure},
+	 * or <code>null</code> if nothing was returned
+	 */
+	private final AtomicReferenceArray<Object> outcomes;
+	
+	/**
+	 * The next key not yet claimed by a worker
+	 */
+	private final AtomicInteger nextKey = new AtomicInteger();
+	
+	/**
+	 * Number of workers still running
+	 */
+	private final AtomicInteger workers = new AtomicInteger();
+	
+	/**
+	 * The assembled result
+	 */
+	private final CompletableFuture<BatchResult<K, V>> result = new CompletableFuture<BatchResult<K, V>>();
+	
+	private BatchFetcher(Collection<K> keys, Function<K, CompletableFuture<V>> lookup) {
+		this.keys = new ArrayList<K>(new LinkedHashSet<K>(keys));
+		this.lookup = lookup;
+		this.outcomes = new AtomicReferenceArray<Object>(this.keys.size());
+	}
+	
+	/**
+	 * Look up all keys with at most the given number of lookups in flight.
+	 * 
+	 * @param keys
+	 * @param lookup starts the lookup of one key, completing with the entity or
+	 *            <code>null</code> if there is none
+	 * @param parallelism
+	 * @return
+	 */
+	public static <K, V> CompletableFuture<BatchResult<K, V>> fetch(Collection<K> keys, Function<K, CompletableFuture<V>> lookup, int parallelism) {
+		if(keys == null) {
+			throw new IllegalArgumentException("Keys cannot be null.");
+		}
+		
+		if(lookup == null) {
+			throw new IllegalArgumentException("Lookup cannot be null.");
+		}
+		
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be greater than zero.");
+		}
+		
+		BatchFetcher<K, V> fetcher = new BatchFetcher<K, V>(keys, lookup);
+		fetcher.start(parallelism);
+		return fetcher.result;
+	}
+	
+	/**
+	 * Start the workers.
+	 * 
+	 * @param parallelism
+	 */
+	private void start(int parallelism) {
+		int count = Math.min(parallelism, this.keys.size());
+		if(count == 0) {
+			finish();
+			return;
+		}
+		
+		this.workers.set(count);
+		for(int index = 0; index < count; index++) {
+			work();
+		}
+	}
+	
+	/**
+	 * Claim keys and look them up, until a lookup has to be waited for or no key
+	 * is left.
+	 */
+	private void work() {
+		while(true) {
+			final int index = this.nextKey.getAndIncrement();
+			if(index >= this.keys.size()) {
+				if(this.workers.decrementAndGet() == 0) {
+					finish();
+				}
+				
+				return;
+			}
+			
+			CompletableFuture<V> future;
+			try {
+				future = this.lookup.apply(this.keys.get(index));
+			} catch(RuntimeException e) {
+				this.outcomes.set(index, new Failure(e));
+				continue;
+			}
+			
+			if(future.isDone()) {
+				record(index, future);
+				continue;
+			}
+			
+			future.whenComplete((value, error) -> {
+				record(index, future);
+				work();
+			});
+			
+			return;
+		}
+	}
+	
+	/**
+	 * Record the outcome of a completed lookup.
+	 * 
+	 * @param index
+	 * @param future
+	 */
+	private void record(int index, CompletableFuture<V> future) {
+		try {
+			this.outcomes.set(index, future.join());
+		} catch(CompletionException e) {
+			this.outcomes.set(index, new Failure(e.getCause() != null ? e.getCause() : e));
+		} catch(RuntimeException e) {
+			this.outcomes.set(index, new Failure(e));
+		}
+	}
+	
+	/**
+	 * Assemble the result once all lookups are done.
+	 */
+	@SuppressWarnings("unchecked")
+	private void finish() {
+		Map<K, V> results = new LinkedHashMap<K, V>();
+		Map<K, Throwable> failures = new LinkedHashMap<K, Throwable>();
+		Set<K> missing = new LinkedHashSet<K>();
+		
+		for(int index = 0; index < this.keys.size(); index++) {
+			K key = this.keys.get(index);
+			Object outcome = this.outcomes.get(index);
+			
+			if(outcome == null) {
+				missing.add(key);
+			} else if(outcome instanceof Failure) {
+				failures.put(key, ((Failure) outcome).error);
+			} else {
+				results.put(key, (V) outcome);
+			}
+		}
+		
+		this.result.complete(new BatchResult<K, V>(Collections.unmodifiableMap(results), Collections.unmodifiableMap(failures), Collections.unmodifiableSet(missing)));
+	}
+	
+	/**
+	 * Wraps the error a lookup failed with, to tell it apart from an entity.
+	 */
+	private static final class Failure {
+		
+		final Throwable error;
+		
+		Failure(Throwable error) {
+			this.error = error;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,102 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.batch;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The outcome of a batch lookup: the entities found, by the key they were asked
+ * for, the keys whose lookup failed with an error, and the keys for which nothing
+ * was returned, say as there is no such entity.
+ * 
+ * @author sangupta
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the entities
+ */
+public class BatchResult<K, V> {
+	
+	/**
+	 * Entities found, in the order their keys were asked for
+	 */
+	private final Map<K, V> results;
+	
+	/**
+	 * Errors by the key whose lookup they failed
+	 */
+	private final Map<K, Throwable> failures;
+	
+	/**
+	 * Keys for which nothing was returned
+	 */
+	private final Set<K> missing;
+	
+	public BatchResult(Map<K, V> results, Map<K, Throwable> failures, Set<K> missing) {
+		this.results = results;
+		this.failures = failures;
+		this.missing = missing;
+	}
+	
+	/**
+	 * Return the entity found for the key, if any.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public V get(K key) {
+		return this.results.get(key);
+	}
+	
+	/**
+	 * Return whether every key was found.
+	 * 
+	 * @return
+	 */
+	public boolean isComplete() {
+		return this.failures.isEmpty() && this.missing.isEmpty();
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the results
+	 */
+	public Map<K, V> getResults() {
+		return results;
+	}
+	
+	/**
+	 * @return the failures
+	 */
+	public Map<K, Throwable> getFailures() {
+		return failures;
+	}
+	
+	/**
+	 * @return the missing
+	 */
+	public Set<K> getMissing() {
+		return missing;
+	}
+	
+}
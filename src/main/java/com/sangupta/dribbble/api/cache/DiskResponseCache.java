@@ -0,0 +1,973 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.sangupta.dribbble.api.util.DaemonThreadFactory;
+
+/**
+ * A persistent cache of raw response bodies, keyed by request URL, that survives
+ * restarts of the process. Bodies are appended to memory-mapped segment files in a
+ * directory, and an in-memory index pointing into the segments is rebuilt by
+ * scanning them when the cache is opened.
+ * 
+ * Each record carries the key, the charset and the body, which is deflated when
+ * that makes it smaller, along with the time it expires at and a CRC of its
+ * contents. The length of a record is written last, so that a record torn by a
+ * crash is seen as the end of the segment when it is next scanned.
+ * 
+ * A newer record for a key supersedes the older ones, and an invalidation is
+ * recorded as an empty, expired record. Compaction runs in the background and
+ * rewrites the live records of the oldest segments, that are mostly superseded or
+ * expired, at the end of the newest one before deleting them. Segments are always
+ * compacted oldest first, so that an invalidation is never dropped while a record
+ * it supersedes is still on disk.
+ * 
+ * Only one cache may have a directory open at any time, which is enforced using a
+ * file lock.
+ * 
+ * @author sangupta
+ *
+ */
+public class DiskResponseCache implements Closeable {
+	
+	private static final Logger logger = Logger.getLogger(DiskResponseCache.class.getName());
+	
+	/**
+	 * Default size of a segment file
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	
+	/**
+	 * Default time between two background compactions
+	 */
+	public static final long DEFAULT_COMPACTION_MILLIS = TimeUnit.MINUTES.toMillis(5);
+	
+	/**
+	 * Segments whose live records take up less than this share of the segment are
+	 * compacted
+	 */
+	public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+	
+	/**
+	 * Bodies smaller than this are stored as they are
+	 */
+	private static final int DEFLATE_THRESHOLD = 512;
+	
+	/**
+	 * Size of the fixed record header: length, CRC, flags, charset length, key
+	 * length, value length and expiry
+	 */
+	private static final int HEADER_SIZE = 4 + 4 + 1 + 1 + 4 + 4 + 8;
+	
+	/**
+	 * Offset of the part of the record covered by the CRC
+	 */
+	private static final int CRC_START = 8;
+	
+	/**
+	 * Flag for a deflated body
+	 */
+	private static final byte FLAG_DEFLATED = 1;
+	
+	/**
+	 * Name of the lock file in the cache directory
+	 */
+	private static final String LOCK_FILE = "cache.lock";
+	
+	/**
+	 * Names of the segment files
+	 */
+	private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+	
+	/**
+	 * The directory holding the segments
+	 */
+	private final File directory;
+	
+	/**
+	 * Time for which a stored body is fresh, in milliseconds
+	 */
+	private final long ttlMillis;
+	
+	/**
+	 * Size of every segment file
+	 */
+	private final int segmentSize;
+	
+	/**
+	 * Channel to the lock file, held open while the cache is
+	 */
+	private final FileChannel lockChannel;
+	
+	/**
+	 * The lock held on the directory
+	 */
+	private final FileLock directoryLock;
+	
+	/**
+	 * The segments by id, oldest first
+	 */
+	private final TreeMap<Integer, Segment> segments = new TreeMap<Integer, Segment>();
+	
+	/**
+	 * Location of the newest record by key
+	 */
+	private final Map<String, Location> index = new HashMap<String, Location>();
+	
+	/**
+	 * Guards the index and segments: reads share it, and appends and compaction
+	 * hold it exclusively
+	 */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	/**
+	 * Runs the background compaction
+	 */
+	private final ScheduledExecutorService compactor;
+	
+	/**
+	 * The segment records are appended to
+	 */
+	private Segment active;
+	
+	/**
+	 * Whether the cache has been closed
+	 */
+	private boolean closed = false;
+	
+	/**
+	 * Share of a segment below which its live records are compacted
+	 */
+	private volatile double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+	
+	private final AtomicLong hits = new AtomicLong();
+	
+	private final AtomicLong misses = new AtomicLong();
+	
+	private final AtomicLong compactedSegments = new AtomicLong();
+	
+	/**
+	 * Open the cache in the given directory, creating it if need be, with bodies
+	 * staying fresh for the given time.
+	 * 
+	 * @param directory
+	 * @param ttl
+	 * @param unit
+	 * @throws IOException
+	 */
+	public DiskResponseCache(File directory, long ttl, TimeUnit unit) throws IOException {
+		this(directory, ttl, unit, DEFAULT_SEGMENT_SIZE);
+	}
+	
+	/**
+	 * Open the cache in the given directory, creating it if need be, with bodies
+	 * staying fresh for the given time and segment files of the given size.
+	 * 
+	 * @param directory
+	 * @param ttl
+	 * @param unit
+	 * @param segmentSize
+	 * @throws IOException
+	 *             if the directory cannot be created or read, or is held open by
+	 *             another cache, in this process or another
+	 */
+	@SuppressWarnings("resource")
+	public DiskResponseCache(File directory, long ttl, TimeUnit unit, int segmentSize) throws IOException {
+		if(directory == null) {
+			throw new IllegalArgumentException("Directory cannot be null.");
+		}
+		
+		if(ttl <= 0) {
+			throw new IllegalArgumentException("TTL must be greater than zero.");
+		}
+		
+		if(unit == null) {
+			throw new IllegalArgumentException("Unit cannot be null.");
+		}
+		
+		if(segmentSize <= HEADER_SIZE) {
+			throw new IllegalArgumentException("Segment size must be greater than " + HEADER_SIZE + ".");
+		}
+		
+		if(!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Unable to create cache directory: " + directory);
+		}
+		
+		this.directory = directory;
+		this.ttlMillis = unit.toMillis(ttl);
+		this.segmentSize = segmentSize;
+		
+		this.lockChannel = new RandomAccessFile(new File(directory, LOCK_FILE), "rw").getChannel();
+		FileLock directoryLock = null;
+		try {
+			try {
+				directoryLock = this.lockChannel.tryLock();
+			} catch(OverlappingFileLockException e) {
+				// held by another cache within this JVM
+			}
+			
+			if(directoryLock == null) {
+				throw new IOException("Cache directory is in use by another cache: " + directory);
+			}
+			
+			load();
+		} catch(IOException | RuntimeException e) {
+			closeSegments();
+			this.lockChannel.close();
+			throw e;
+		}
+		
+		this.directoryLock = directoryLock;
+		this.compactor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("dribbble-disk-compactor-"));
+		this.compactor.scheduleWithFixedDelay(new Runnable() {
+			
+			public void run() {
+				try {
+					compact();
+				} catch(IOException | RuntimeException e) {
+					logger.log(Level.WARNING, "Unable to compact disk cache: " + DiskResponseCache.this.directory, e);
+				}
+			}
+			
+		}, DEFAULT_COMPACTION_MILLIS, DEFAULT_COMPACTION_MILLIS, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Return the fresh body stored for the given key, if any.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public Entry get(String key) {
+		return get(key, false);
+	}
+	
+	/**
+	 * Return the body stored for the given key, if any, including an expired one if
+	 * asked for. Expired bodies are still of use when the API cannot be reached.
+	 * 
+	 * @param key
+	 * @param includeExpired
+	 * @return
+	 */
+	public Entry get(String key, boolean includeExpired) {
+		if(key == null) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+		
+		Entry entry = null;
+		this.lock.readLock().lock();
+		try {
+			ensureOpen();
+			
+			Location location = this.index.get(key);
+			if(location != null && (includeExpired || location.expiresAt > System.currentTimeMillis())) {
+				entry = read(location);
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		
+		if(entry == null) {
+			this.misses.incrementAndGet();
+		} else {
+			this.hits.incrementAndGet();
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * Store the body for the given key, superseding any stored before. Bodies too
+	 * large to fit a segment are not stored.
+	 * 
+	 * @param key
+	 * @param body
+	 * @param charset
+	 * @return <code>true</code> if the body was stored
+	 * @throws IOException
+	 *             if a new segment file cannot be created
+	 */
+	public boolean put(String key, byte[] body, Charset charset) throws IOException {
+		if(key == null) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+		
+		if(body == null) {
+			throw new IllegalArgumentException("Body cannot be null.");
+		}
+		
+		if(charset == null) {
+			throw new IllegalArgumentException("Charset cannot be null.");
+		}
+		
+		byte[] record = encode(key, body, charset, System.currentTimeMillis() + this.ttlMillis);
+		if(record == null) {
+			return false;
+		}
+		
+		this.lock.writeLock().lock();
+		try {
+			ensureOpen();
+			append(key, record);
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Remove the body stored for the given key, if any.
+	 * 
+	 * @param key
+	 * @throws IOException
+	 *             if a new segment file cannot be created
+	 */
+	public void invalidate(String key) throws IOException {
+		if(key == null) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
+		
+		byte[] record = encode(key, new byte[0], StandardCharsets.UTF_8, 0);
+		
+		this.lock.writeLock().lock();
+		try {
+			ensureOpen();
+			if(this.index.containsKey(key)) {
+				append(key, record);
+				this.index.remove(key);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Compact the oldest segments, whose live records take up less than the
+	 * compaction threshold. Live records are appended to the newest segment, and the
+	 * compacted segment files deleted. Compaction stops at the first segment that is
+	 * still mostly live.
+	 * 
+	 * @return the number of segments compacted
+	 * @throws IOException
+	 */
+	public int compact() throws IOException {
+		this.lock.writeLock().lock();
+		try {
+			ensureOpen();
+			
+			// bytes and locations of the live records by segment
+			long now = System.currentTimeMillis();
+			Map<Integer, Long> liveBytes = new HashMap<Integer, Long>();
+			Map<Integer, List<Map.Entry<String, Location>>> liveRecords = new HashMap<Integer, List<Map.Entry<String, Location>>>();
+			for(Iterator<Map.Entry<String, Location>> iterator = this.index.entrySet().iterator(); iterator.hasNext(); ) {
+				Map.Entry<String, Location> indexed = iterator.next();
+				Location location = indexed.getValue();
+				if(location.expiresAt <= now) {
+					continue;
+				}
+				
+				Long bytes = liveBytes.get(location.segment);
+				liveBytes.put(location.segment, (bytes != null ? bytes : 0) + location.length);
+				
+				List<Map.Entry<String, Location>> records = liveRecords.get(location.segment);
+				if(records == null) {
+					records = new ArrayList<Map.Entry<String, Location>>();
+					liveRecords.put(location.segment, records);
+				}
+				
+				records.add(indexed);
+			}
+			
+			// pick the oldest sealed segments that are mostly dead
+			List<Segment> compactable = new ArrayList<Segment>();
+			for(Segment segment : this.segments.values()) {
+				if(segment == this.active) {
+					break;
+				}
+				
+				Long bytes = liveBytes.get(segment.id);
+				if(bytes != null && bytes >= this.compactionThreshold * this.segmentSize) {
+					break;
+				}
+				
+				compactable.add(segment);
+			}
+			
+			for(Segment segment : compactable) {
+				// drop the expired records of the segment from the index
+				for(Iterator<Location> iterator = this.index.values().iterator(); iterator.hasNext(); ) {
+					Location location = iterator.next();
+					if(location.segment == segment.id && location.expiresAt <= now) {
+						iterator.remove();
+					}
+				}
+				
+				List<Map.Entry<String, Location>> records = liveRecords.get(segment.id);
+				if(records != null) {
+					for(Map.Entry<String, Location> indexed : records) {
+						Location location = indexed.getValue();
+						byte[] record = new byte[location.length];
+						ByteBuffer source = segment.buffer.duplicate();
+						source.position(location.offset);
+						source.get(record);
+						
+						append(indexed.getKey(), record);
+					}
+				}
+				
+				this.segments.remove(segment.id);
+				segment.close();
+				if(!segment.file.delete()) {
+					logger.warning("Unable to delete compacted segment: " + segment.file);
+				}
+				
+				this.compactedSegments.incrementAndGet();
+			}
+			
+			return compactable.size();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Flush the segments to disk, stop the background compaction and release the
+	 * directory.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() throws IOException {
+		this.lock.writeLock().lock();
+		try {
+			if(this.closed) {
+				return;
+			}
+			
+			this.closed = true;
+			this.compactor.shutdownNow();
+			
+			for(Segment segment : this.segments.values()) {
+				segment.buffer.force();
+			}
+			
+			closeSegments();
+			this.directoryLock.release();
+			this.lockChannel.close();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Scan the segment files in the directory, oldest first, and rebuild the index
+	 * from their valid records.
+	 * 
+	 * @throws IOException
+	 */
+	private void load() throws IOException {
+		File[] files = this.directory.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+				if(matcher.matches()) {
+					int id = Integer.parseInt(matcher.group(1));
+					this.segments.put(id, new Segment(id, file, this.segmentSize));
+				}
+			}
+		}
+		
+		for(Segment segment : this.segments.values()) {
+			scan(segment);
+		}
+		
+		if(this.segments.isEmpty()) {
+			this.active = newSegment(0);
+		} else {
+			this.active = this.segments.lastEntry().getValue();
+		}
+	}
+	
+	/**
+	 * Scan the records of the segment into the index, stopping at the first one
+	 * that is torn or corrupt.
+	 * 
+	 * @param segment
+	 */
+	private void scan(Segment segment) {
+		ByteBuffer buffer = segment.buffer.duplicate();
+		CRC32 crc = new CRC32();
+		
+		int position = 0;
+		while(position + HEADER_SIZE <= this.segmentSize) {
+			int length = buffer.getInt(position);
+			if(length < HEADER_SIZE || length > this.segmentSize - position) {
+				break;
+			}
+			
+			crc.reset();
+			buffer.limit(position + length).position(position + CRC_START);
+			crc.update(buffer);
+			buffer.limit(buffer.capacity());
+			if((int) crc.getValue() != buffer.getInt(position + 4)) {
+				logger.warning("Corrupt record in disk cache segment " + segment.file + " at " + position);
+				break;
+			}
+			
+			int charsetLength = buffer.get(position + 9) & 0xff;
+			int keyLength = buffer.getInt(position + 10);
+			long expiresAt = buffer.getLong(position + 18);
+			
+			byte[] key = new byte[keyLength];
+			buffer.position(position + HEADER_SIZE + charsetLength);
+			buffer.get(key);
+			
+			String keyString = new String(key, StandardCharsets.UTF_8);
+			if(expiresAt == 0) {
+				this.index.remove(keyString);
+			} else {
+				this.index.put(keyString, new Location(segment.id, position, length, expiresAt));
+			}
+			
+			position += length;
+		}
+		
+		segment.writePosition = position;
+	}
+	
+	/**
+	 * Append the encoded record to the active segment, moving to a new segment if
+	 * it does not fit, and index it. Callers must hold the write lock.
+	 * 
+	 * @param key
+	 * @param record
+	 * @throws IOException
+	 */
+	private void append(String key, byte[] record) throws IOException {
+		if(this.active.writePosition + record.length > this.segmentSize) {
+			this.active = newSegment(this.active.id + 1);
+		}
+		
+		Segment segment = this.active;
+		int position = segment.writePosition;
+		
+		// write the length last, so that a torn record ends the segment
+		ByteBuffer buffer = segment.buffer.duplicate();
+		buffer.position(position + 4);
+		buffer.put(record, 4, record.length - 4);
+		buffer.putInt(position, record.length);
+		
+		segment.writePosition = position + record.length;
+		
+		long expiresAt = ByteBuffer.wrap(record).getLong(18);
+		if(expiresAt != 0) {
+			this.index.put(key, new Location(segment.id, position, record.length, expiresAt));
+		}
+	}
+	
+	/**
+	 * Create and map the segment file with the given id.
+	 * 
+	 * @param id
+	 * @return
+	 * @throws IOException
+	 */
+	private Segment newSegment(int id) throws IOException {
+		File file = new File(this.directory, String.format("segment-%08d.dat", id));
+		Segment segment = new Segment(id, file, this.segmentSize);
+		this.segments.put(id, segment);
+		return segment;
+	}
+	
+	/**
+	 * Read the entry for the record at the given location.
+	 * 
+	 * @param location
+	 * @return
+	 */
+	private Entry read(Location location) {
+		Segment segment = this.segments.get(location.segment);
+		ByteBuffer buffer = segment.buffer.duplicate();
+		
+		int position = location.offset;
+		byte flags = buffer.get(position + 8);
+		int charsetLength = buffer.get(position + 9) & 0xff;
+		int keyLength = buffer.getInt(position + 10);
+		int valueLength = buffer.getInt(position + 14);
+		
+		byte[] charsetName = new byte[charsetLength];
+		buffer.position(position + HEADER_SIZE);
+		buffer.get(charsetName);
+		
+		byte[] value = new byte[valueLength];
+		buffer.position(position + HEADER_SIZE + charsetLength + keyLength);
+		buffer.get(value);
+		
+		if((flags & FLAG_DEFLATED) != 0) {
+			value = inflate(value);
+			if(value == null) {
+				logger.warning("Corrupt body in disk cache segment " + segment.file + " at " + position);
+				return null;
+			}
+		}
+		
+		return new Entry(value, Charset.forName(new String(charsetName, StandardCharsets.US_ASCII)), location.expiresAt);
+	}
+	
+	/**
+	 * Encode the record for the given key and body, deflating the body if that
+	 * makes it smaller.
+	 * 
+	 * @param key
+	 * @param body
+	 * @param charset
+	 * @param expiresAt
+	 * @return the record, or <code>null</code> if it would not fit a segment
+	 */
+	private byte[] encode(String key, byte[] body, Charset charset, long expiresAt) {
+		byte flags = 0;
+		if(body.length >= DEFLATE_THRESHOLD) {
+			byte[] deflated = deflate(body);
+			if(deflated.length < body.length) {
+				body = deflated;
+				flags |= FLAG_DEFLATED;
+			}
+		}
+		
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		byte[] charsetName = charset.name().getBytes(StandardCharsets.US_ASCII);
+		
+		long length = (long) HEADER_SIZE + charsetName.length + keyBytes.length + body.length;
+		if(length > this.segmentSize || charsetName.length > 0xff) {
+			return null;
+		}
+		
+		ByteBuffer record = ByteBuffer.allocate((int) length);
+		record.putInt((int) length);
+		record.putInt(0);
+		record.put(flags);
+		record.put((byte) charsetName.length);
+		record.putInt(keyBytes.length);
+		record.putInt(body.length);
+		record.putLong(expiresAt);
+		record.put(charsetName);
+		record.put(keyBytes);
+		record.put(body);
+		
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), CRC_START, (int) length - CRC_START);
+		record.putInt(4, (int) crc.getValue());
+		
+		return record.array();
+	}
+	
+	private static byte[] deflate(byte[] bytes) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			
+			ByteArrayOutputStream stream = new ByteArrayOutputStream(bytes.length / 2);
+			byte[] chunk = new byte[4096];
+			while(!deflater.finished()) {
+				stream.write(chunk, 0, deflater.deflate(chunk));
+			}
+			
+			return stream.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+	
+	private static byte[] inflate(byte[] bytes) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(bytes);
+			
+			ByteArrayOutputStream stream = new ByteArrayOutputStream(bytes.length * 4);
+			byte[] chunk = new byte[4096];
+			while(!inflater.finished()) {
+				int inflated = inflater.inflate(chunk);
+				if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					return null;
+				}
+				
+				stream.write(chunk, 0, inflated);
+			}
+			
+			return stream.toByteArray();
+		} catch(DataFormatException e) {
+			return null;
+		} finally {
+			inflater.end();
+		}
+	}
+	
+	private void closeSegments() throws IOException {
+		for(Segment segment : this.segments.values()) {
+			segment.close();
+		}
+	}
+	
+	private void ensureOpen() {
+		if(this.closed) {
+			throw new IllegalStateException("Disk cache has been closed.");
+		}
+	}
+	
+	/**
+	 * @return the number of keys with a stored body, fresh or expired
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.index.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return the number of segment files
+	 */
+	public int getSegmentCount() {
+		this.lock.readLock().lock();
+		try {
+			return this.segments.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the directory
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+	
+	/**
+	 * @return the ttlMillis
+	 */
+	public long getTtlMillis() {
+		return ttlMillis;
+	}
+	
+	/**
+	 * @return the segmentSize
+	 */
+	public int getSegmentSize() {
+		return segmentSize;
+	}
+	
+	/**
+	 * @return the compactionThreshold
+	 */
+	public double getCompactionThreshold() {
+		return compactionThreshold;
+	}
+	
+	/**
+	 * @param compactionThreshold the compactionThreshold to set
+	 */
+	public void setCompactionThreshold(double compactionThreshold) {
+		if(compactionThreshold < 0 || compactionThreshold > 1) {
+			throw new IllegalArgumentException("Compaction threshold must be between zero and one.");
+		}
+		
+		this.compactionThreshold = compactionThreshold;
+	}
+	
+	/**
+	 * @return the hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+	
+	/**
+	 * @return the misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	/**
+	 * @return the number of segments compacted so far
+	 */
+	public long getCompactedSegments() {
+		return compactedSegments.get();
+	}
+	
+	/**
+	 * A body read from the cache, along with its charset and expiry.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	public static final class Entry {
+		
+		private final byte[] body;
+		
+		private final Charset charset;
+		
+		private final long expiresAt;
+		
+		Entry(byte[] body, Charset charset, long expiresAt) {
+			this.body = body;
+			this.charset = charset;
+			this.expiresAt = expiresAt;
+		}
+		
+		/**
+		 * @return whether the body is past its time to live
+		 */
+		public boolean isExpired() {
+			return this.expiresAt <= System.currentTimeMillis();
+		}
+		
+		// Usual accessors follow
+		
+		/**
+		 * @return the body
+		 */
+		public byte[] getBody() {
+			return body;
+		}
+		
+		/**
+		 * @return the charset
+		 */
+		public Charset getCharset() {
+			return charset;
+		}
+		
+		/**
+		 * @return the expiresAt
+		 */
+		public long getExpiresAt() {
+			return expiresAt;
+		}
+		
+	}
+	
+	/**
+	 * Where a record lives within the segments.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class Location {
+		
+		private final int segment;
+		
+		private final int offset;
+		
+		private final int length;
+		
+		private final long expiresAt;
+		
+		Location(int segment, int offset, int length, long expiresAt) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+			this.expiresAt = expiresAt;
+		}
+		
+	}
+	
+	/**
+	 * A segment file mapped in full.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class Segment {
+		
+		private final int id;
+		
+		private final File file;
+		
+		private final FileChannel channel;
+		
+		private final MappedByteBuffer buffer;
+		
+		/**
+		 * Offset the next record is written at
+		 */
+		private int writePosition = 0;
+		
+		@SuppressWarnings("resource")
+		Segment(int id, File file, int size) throws IOException {
+			this.id = id;
+			this.file = file;
+			this.channel = new RandomAccessFile(file, "rw").getChannel();
+			
+			try {
+				this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			} catch(IOException e) {
+				this.channel.close();
+				throw e;
+			}
+		}
+		
+		void close() throws IOException {
+			this.channel.close();
+		}
+		
+	}
+	
+}
@@ -0,0 +1,333 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, concurrent in-memory cache of entities with a time-to-live. Keys are
+ * spread over independently locked segments, each of which evicts its least recently
+ * used entry once full, so that readers of different keys rarely contend. Entries
+ * older than the time-to-live are dropped when next looked up.
+ * 
+ * Cached entities are handed out to every caller asking for the same key and must
+ * therefore be treated as read-only.
+ * 
+ * @author sangupta
+ *
+ * @param <K> the type of key
+ * @param <V> the type of entity
+ */
+public class EntityCache<K, V> {
+	
+	/**
+	 * Number of segments, a power of two
+	 */
+	private static final int SEGMENTS = 16;
+	
+	/**
+	 * The segments holding the entries
+	 */
+	private final Segment<K, V>[] segments;
+	
+	/**
+	 * Time-to-live of an entry in nanoseconds
+	 */
+	private final long ttlNanos;
+	
+	private final LongAdder hitCount = new LongAdder();
+	
+	private final LongAdder missCount = new LongAdder();
+	
+	private final LongAdder evictionCount = new LongAdder();
+	
+	private final LongAdder expiredCount = new LongAdder();
+	
+	/**
+	 * Create a cache holding up to about <code>maxEntries</code> entities for at
+	 * most the given time-to-live.
+	 * 
+	 * @param maxEntries
+	 * @param ttl
+	 * @param unit
+	 */
+	@SuppressWarnings("unchecked")
+	public EntityCache(int maxEntries, long ttl, TimeUnit unit) {
+		if(maxEntries < 1) {
+			throw new IllegalArgumentException("Max entries must be greater than zero.");
+		}
+		
+		if(ttl < 1) {
+			throw new IllegalArgumentException("Time-to-live must be greater than zero.");
+		}
+		
+		this.ttlNanos = unit.toNanos(ttl);
+		
+		int perSegment = (maxEntries + SEGMENTS - 1) / SEGMENTS;
+		this.segments = new Segment[SEGMENTS];
+		for(int index = 0; index < SEGMENTS; index++) {
+			this.segments[index] = new Segment<K, V>(perSegment, this.evictionCount);
+		}
+	}
+	
+	/**
+	 * Return the entity for the given key, or <code>null</code> if it is not cached
+	 * or has expired.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public V get(K key) {
+		if(key == null) {
+			return null;
+		}
+		
+		final long now = System.nanoTime();
+		
+		Segment<K, V> segment = segmentFor(key);
+		synchronized(segment) {
+			CacheEntry<V> entry = segment.get(key);
+			if(entry != null) {
+				if(now - entry.expiresAt < 0) {
+					this.hitCount.increment();
+					return entry.value;
+				}
+				
+				segment.remove(key);
+				this.expiredCount.increment();
+			}
+		}
+		
+		this.missCount.increment();
+		return null;
+	}
+	
+	/**
+	 * Whether an entity is cached for the given key, including an expired one not
+	 * yet removed. Unlike {@link #get(Object)}, this counts as neither a hit nor a
+	 * miss, and does not make the entry the most recently used.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public boolean contains(K key) {
+		if(key == null) {
+			return false;
+		}
+		
+		Segment<K, V> segment = segmentFor(key);
+		synchronized(segment) {
+			return segment.containsKey(key);
+		}
+	}
+	
+	/**
+	 * Cache the entity against the given key. <code>null</code> keys and entities are
+	 * ignored.
+	 * 
+	 * @param key
+	 * @param value
+	 */
+	public void put(K key, V value) {
+		if(key == null || value == null) {
+			return;
+		}
+		
+		CacheEntry<V> entry = new CacheEntry<V>(value, System.nanoTime() + this.ttlNanos);
+		
+		Segment<K, V> segment = segmentFor(key);
+		synchronized(segment) {
+			segment.put(key, entry);
+		}
+	}
+	
+	/**
+	 * Remove the entity for the given key.
+	 * 
+	 * @param key
+	 */
+	public void invalidate(K key) {
+		if(key == null) {
+			return;
+		}
+		
+		Segment<K, V> segment = segmentFor(key);
+		synchronized(segment) {
+			segment.remove(key);
+		}
+	}
+	
+	/**
+	 * Remove all entities.
+	 */
+	public void clear() {
+		for(Segment<K, V> segment : this.segments) {
+			synchronized(segment) {
+				segment.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Remove all expired entities now, rather than when they are next looked up.
+	 */
+	public void cleanUp() {
+		final long now = System.nanoTime();
+		
+		for(Segment<K, V> segment : this.segments) {
+			synchronized(segment) {
+				Iterator<CacheEntry<V>> iterator = segment.values().iterator();
+				while(iterator.hasNext()) {
+					if(now - iterator.next().expiresAt >= 0) {
+						iterator.remove();
+						this.expiredCount.increment();
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of cached entities, including expired ones not yet removed
+	 */
+	public int size() {
+		int size = 0;
+		for(Segment<K, V> segment : this.segments) {
+			synchronized(segment) {
+				size += segment.size();
+			}
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * @return the number of lookups that found a live entity
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+	
+	/**
+	 * @return the number of lookups that found no live entity
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+	
+	/**
+	 * @return the number of entities evicted to keep the cache within its size
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+	
+	/**
+	 * @return the number of entities removed as they outlived the time-to-live
+	 */
+	public long getExpiredCount() {
+		return this.expiredCount.sum();
+	}
+	
+	/**
+	 * @return the ratio of lookups that found a live entity
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		if(total == 0) {
+			return 0;
+		}
+		
+		return (double) hits / total;
+	}
+	
+	/**
+	 * Find the segment for the given key.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	private Segment<K, V> segmentFor(K key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		
+		return this.segments[hash & (SEGMENTS - 1)];
+	}
+	
+	/**
+	 * One cached entity along with its expiry.
+	 * 
+	 * @param <V>
+	 */
+	private static final class CacheEntry<V> {
+		
+		final V value;
+		
+		final long expiresAt;
+		
+		CacheEntry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+		
+	}
+	
+	/**
+	 * A segment of the cache, kept in access order and bounded in size. Guarded by
+	 * its own monitor.
+	 * 
+	 * @param <K>
+	 * @param <V>
+	 */
+	private static final class Segment<K, V> extends LinkedHashMap<K, CacheEntry<V>> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int maxEntries;
+		
+		private final transient LongAdder evictionCount;
+		
+		Segment(int maxEntries, LongAdder evictionCount) {
+			super(16, 0.75f, true);
+			
+			this.maxEntries = maxEntries;
+			this.evictionCount = evictionCount;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+			if(this.size() > this.maxEntries) {
+				this.evictionCount.increment();
+				return true;
+			}
+			
+			return false;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,209 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sangupta.dribbble.api.ResponseParser;
+
+/**
+ * A bounded cache of parsed responses along with their HTTP validators, the
+ * <code>ETag</code> and <code>Last-Modified</code> headers. The invoker uses
+ * the validators to make conditional requests, and serves the parsed object
+ * again when the server answers with <code>304 Not Modified</code>.
+ * 
+ * Cached objects are handed out to every caller asking for the same URL and
+ * must therefore be treated as read-only. The least recently used entry is
+ * evicted once the cache is full.
+ * 
+ * @author sangupta
+ *
+ */
+public class ResponseCache {
+	
+	/**
+	 * The cached entries by URL, in access order
+	 */
+	private final LinkedHashMap<String, Entry> entries;
+	
+	/**
+	 * Number of responses served from the cache after a <code>304</code>
+	 */
+	private final AtomicLong notModifiedCount = new AtomicLong();
+	
+	/**
+	 * Create a cache holding up to <code>maxEntries</code> responses.
+	 * 
+	 * @param maxEntries
+	 */
+	public ResponseCache(final int maxEntries) {
+		if(maxEntries < 1) {
+			throw new IllegalArgumentException("Max entries must be greater than zero.");
+		}
+		
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			
+			private static final long serialVersionUID = 1L;
+
+			// qualified, as a bare Entry in here is the Map.Entry inherited from LinkedHashMap
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ResponseCache.Entry> eldest) {
+				return this.size() > maxEntries;
+			}
+			
+		};
+	}
+	
+	/**
+	 * Return the entry for the given URL if it was parsed using an equal parser.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @return
+	 */
+	public Entry get(String url, ResponseParser<?> parser) {
+		Entry entry;
+		synchronized(this.entries) {
+			entry = this.entries.get(url);
+		}
+		
+		if(entry == null || !entry.parser.equals(parser)) {
+			return null;
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * Store the parsed response for the given URL, provided the server sent at
+	 * least one validator. Otherwise any existing entry is removed, as it can no
+	 * longer be validated.
+	 * 
+	 * @param url
+	 * @param parser
+	 * @param etag
+	 * @param lastModified
+	 * @param value
+	 */
+	public void put(String url, ResponseParser<?> parser, String etag, String lastModified, Object value) {
+		synchronized(this.entries) {
+			if(value == null || (etag == null && lastModified == null)) {
+				this.entries.remove(url);
+				return;
+			}
+			
+			this.entries.put(url, new Entry(parser, etag, lastModified, value));
+		}
+	}
+	
+	/**
+	 * Record that an entry was served after a <code>304</code> response.
+	 */
+	public void notModified() {
+		this.notModifiedCount.incrementAndGet();
+	}
+	
+	/**
+	 * Remove the entry for the given URL.
+	 * 
+	 * @param url
+	 */
+	public void invalidate(String url) {
+		synchronized(this.entries) {
+			this.entries.remove(url);
+		}
+	}
+	
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		synchronized(this.entries) {
+			this.entries.clear();
+		}
+	}
+	
+	/**
+	 * @return the number of cached entries
+	 */
+	public int size() {
+		synchronized(this.entries) {
+			return this.entries.size();
+		}
+	}
+	
+	/**
+	 * @return the number of responses served from the cache after a <code>304</code>
+	 */
+	public long getNotModifiedCount() {
+		return this.notModifiedCount.get();
+	}
+	
+	/**
+	 * One cached response.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	public static class Entry {
+		
+		private final ResponseParser<?> parser;
+		
+		private final String etag;
+		
+		private final String lastModified;
+		
+		private final Object value;
+		
+		Entry(ResponseParser<?> parser, String etag, String lastModified, Object value) {
+			this.parser = parser;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.value = value;
+		}
+		
+		/**
+		 * @return the etag
+		 */
+		public String getEtag() {
+			return etag;
+		}
+		
+		/**
+		 * @return the lastModified
+		 */
+		public String getLastModified() {
+			return lastModified;
+		}
+		
+		/**
+		 * @return the value
+		 */
+		public Object getValue() {
+			return value;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,484 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.columnar;
+
+import java.util.Arrays;
+
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.util.LongIntHashMap;
+
+/**
+ * A columnar store of the numbers of many shots, for analytics that only scan
+ * them. Each field is held in a primitive array of its own, one row per shot, and
+ * the player of each shot as a code into a dictionary of distinct player IDs. The
+ * titles, URLs and players themselves are not kept, so a store takes a fraction of
+ * the memory of the shots, and its scans run over contiguous arrays that the JIT
+ * may vectorize.
+ * 
+ * Rows are numbered from zero in the order shots were added. A store is not
+ * thread-safe while shots are being added.
+ * 
+ * @author sangupta
+ *
+ */
+public class ShotColumns {
+	
+	/**
+	 * Player code of shots without a player
+	 */
+	public static final int NO_PLAYER = -1;
+	
+	private static final int DEFAULT_CAPACITY = 64;
+	
+	private int size = 0;
+	
+	private long[] ids;
+	
+	/**
+	 * The <code>int</code> columns, indexed by {@link ShotColumn#ordinal()}
+	 */
+	private final int[][] columns = new int[ShotColumn.values().length][];
+	
+	/**
+	 * Code of the player of each shot
+	 */
+	private int[] playerCodes;
+	
+	/**
+	 * Player IDs, by code
+	 */
+	private long[] players = new long[DEFAULT_CAPACITY];
+	
+	private int playerCount = 0;
+	
+	/**
+	 * Player codes, by player ID
+	 */
+	private final LongIntHashMap playerDictionary = new LongIntHashMap();
+	
+	public ShotColumns() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public ShotColumns(int initialCapacity) {
+		if(initialCapacity < 1) {
+			throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+		}
+		
+		this.ids = new long[initialCapacity];
+		this.playerCodes = new int[initialCapacity];
+		for(int index = 0; index < this.columns.length; index++) {
+			this.columns[index] = new int[initialCapacity];
+		}
+	}
+	
+	/**
+	 * Create a store holding the given shots.
+	 * 
+	 * @param shots
+	 * @return
+	 */
+	public static ShotColumns of(Iterable<Shot> shots) {
+		ShotColumns columns = new ShotColumns();
+		columns.addAll(shots);
+		return columns;
+	}
+	
+	/**
+	 * Add the shots of the given page.
+	 * 
+	 * @param shotList
+	 */
+	public void addAll(ShotList shotList) {
+		if(shotList != null && shotList.getShots() != null) {
+			addAll(shotList.getShots());
+		}
+	}
+	
+	public void addAll(Iterable<Shot> shots) {
+		for(Shot shot : shots) {
+			add(shot);
+		}
+	}
+	
+	/**
+	 * Add a row for the given shot.
+	 * 
+	 * @param shot
+	 */
+	public void add(Shot shot) {
+		if(shot == null) {
+			throw new IllegalArgumentException("Shot cannot be null.");
+		}
+		
+		if(this.size == this.ids.length) {
+			grow();
+		}
+		
+		int row = this.size++;
+		this.ids[row] = shot.getId();
+		this.columns[ShotColumn.WIDTH.ordinal()][row] = shot.getWidth();
+		this.columns[ShotColumn.HEIGHT.ordinal()][row] = shot.getHeight();
+		this.columns[ShotColumn.VIEWS.ordinal()][row] = shot.getViewsCount();
+		this.columns[ShotColumn.LIKES.ordinal()][row] = shot.getLikesCount();
+		this.columns[ShotColumn.COMMENTS.ordinal()][row] = shot.getCommentsCount();
+		this.columns[ShotColumn.REBOUNDS.ordinal()][row] = shot.getReboundsCount();
+		this.playerCodes[row] = encode(shot.getPlayer());
+	}
+	
+	/**
+	 * Shrink the arrays to the number of rows held.
+	 */
+	public void trimToSize() {
+		this.ids = Arrays.copyOf(this.ids, this.size);
+		this.playerCodes = Arrays.copyOf(this.playerCodes, this.size);
+		for(int index = 0; index < this.columns.length; index++) {
+			this.columns[index] = Arrays.copyOf(this.columns[index], this.size);
+		}
+		
+		this.players = Arrays.copyOf(this.players, this.playerCount);
+	}
+	
+	/**
+	 * Return the sum of the column over all rows.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	public long sum(ShotColumn column) {
+		int[] values = column(column);
+		
+		long sum = 0;
+		for(int row = 0; row < this.size; row++) {
+			sum += values[row];
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Return the sum of the column over the given rows.
+	 * 
+	 * @param column
+	 * @param rows
+	 * @return
+	 */
+	public long sum(ShotColumn column, int[] rows) {
+		int[] values = column(column);
+		
+		long sum = 0;
+		for(int index = 0; index < rows.length; index++) {
+			sum += values[rows[index]];
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Return the mean of the column over all rows, or zero if there are none.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	public double mean(ShotColumn column) {
+		return this.size == 0 ? 0 : (double) sum(column) / this.size;
+	}
+	
+	/**
+	 * Return the smallest value of the column, or zero if there are no rows.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	public int min(ShotColumn column) {
+		if(this.size == 0) {
+			return 0;
+		}
+		
+		int[] values = column(column);
+		
+		int min = Integer.MAX_VALUE;
+		for(int row = 0; row < this.size; row++) {
+			min = Math.min(min, values[row]);
+		}
+		
+		return min;
+	}
+	
+	/**
+	 * Return the largest value of the column, or zero if there are no rows.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	public int max(ShotColumn column) {
+		if(this.size == 0) {
+			return 0;
+		}
+		
+		int[] values = column(column);
+		
+		int max = Integer.MIN_VALUE;
+		for(int row = 0; row < this.size; row++) {
+			max = Math.max(max, values[row]);
+		}
+		
+		return max;
+	}
+	
+	/**
+	 * Count the rows whose value in the column lies between the given bounds, both
+	 * included.
+	 * 
+	 * @param column
+	 * @param min
+	 * @param max
+	 * @return
+	 */
+	public int count(ShotColumn column, int min, int max) {
+		int[] values = column(column);
+		
+		int count = 0;
+		for(int row = 0; row < this.size; row++) {
+			int value = values[row];
+			count += (value >= min & value <= max) ? 1 : 0;
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Return the rows whose value in the column lies between the given bounds,
+	 * both included, in ascending order.
+	 * 
+	 * @param column
+	 * @param min
+	 * @param max
+	 * @return
+	 */
+	public int[] filter(ShotColumn column, int min, int max) {
+		int[] values = column(column);
+		int[] rows = new int[count(column, min, max)];
+		
+		int found = 0;
+		for(int row = 0; row < this.size && found < rows.length; row++) {
+			int value = values[row];
+			if(value >= min && value <= max) {
+				rows[found++] = row;
+			}
+		}
+		
+		return rows;
+	}
+	
+	/**
+	 * Return those of the given rows whose value in the column lies between the
+	 * given bounds, both included, so that filters may be chained.
+	 * 
+	 * @param column
+	 * @param min
+	 * @param max
+	 * @param rows
+	 * @return
+	 */
+	public int[] filter(ShotColumn column, int min, int max, int[] rows) {
+		int[] values = column(column);
+		int[] matches = new int[rows.length];
+		
+		int found = 0;
+		for(int index = 0; index < rows.length; index++) {
+			int value = values[rows[index]];
+			matches[found] = rows[index];
+			found += (value >= min & value <= max) ? 1 : 0;
+		}
+		
+		return Arrays.copyOf(matches, found);
+	}
+	
+	/**
+	 * Return the sum of the column for each player, indexed by player code.
+	 * 
+	 * @param column
+	 * @return
+	 * 
+	 * @see #getPlayerId(int)
+	 */
+	public long[] sumByPlayer(ShotColumn column) {
+		int[] values = column(column);
+		long[] sums = new long[this.playerCount];
+		
+		for(int row = 0; row < this.size; row++) {
+			int code = this.playerCodes[row];
+			if(code != NO_PLAYER) {
+				sums[code] += values[row];
+			}
+		}
+		
+		return sums;
+	}
+	
+	/**
+	 * Return the rows of the shots by the given player, in ascending order.
+	 * 
+	 * @param playerId
+	 * @return
+	 */
+	public int[] rowsOfPlayer(long playerId) {
+		int code = this.playerDictionary.get(playerId, NO_PLAYER);
+		if(code == NO_PLAYER) {
+			return new int[0];
+		}
+		
+		int[] rows = new int[this.size];
+		
+		int count = 0;
+		for(int row = 0; row < this.size; row++) {
+			rows[count] = row;
+			count += this.playerCodes[row] == code ? 1 : 0;
+		}
+		
+		return Arrays.copyOf(rows, count);
+	}
+	
+	/**
+	 * Return a copy of the column, one value per row.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	public int[] getColumn(ShotColumn column) {
+		return Arrays.copyOf(column(column), this.size);
+	}
+	
+	/**
+	 * Return the value of the column in the given row.
+	 * 
+	 * @param column
+	 * @param row
+	 * @return
+	 */
+	public int get(ShotColumn column, int row) {
+		checkRow(row);
+		return column(column)[row];
+	}
+	
+	/**
+	 * Return the ID of the shot in the given row.
+	 * 
+	 * @param row
+	 * @return
+	 */
+	public long getId(int row) {
+		checkRow(row);
+		return this.ids[row];
+	}
+	
+	/**
+	 * Return the code of the player of the shot in the given row, or
+	 * {@link #NO_PLAYER}.
+	 * 
+	 * @param row
+	 * @return
+	 */
+	public int getPlayerCode(int row) {
+		checkRow(row);
+		return this.playerCodes[row];
+	}
+	
+	/**
+	 * Return the ID of the player with the given code.
+	 * 
+	 * @param code
+	 * @return
+	 */
+	public long getPlayerId(int code) {
+		if(code < 0 || code >= this.playerCount) {
+			throw new IndexOutOfBoundsException("No player with code: " + code);
+		}
+		
+		return this.players[code];
+	}
+	
+	/**
+	 * Return the number of rows.
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Return the number of distinct players.
+	 * 
+	 * @return
+	 */
+	public int getPlayerCount() {
+		return this.playerCount;
+	}
+	
+	private int[] column(ShotColumn column) {
+		if(column == null) {
+			throw new IllegalArgumentException("Column cannot be null.");
+		}
+		
+		return this.columns[column.ordinal()];
+	}
+	
+	private void checkRow(int row) {
+		if(row < 0 || row >= this.size) {
+			throw new IndexOutOfBoundsException("Row: " + row + ", size: " + this.size);
+		}
+	}
+	
+	private int encode(Player player) {
+		if(player == null) {
+			return NO_PLAYER;
+		}
+		
+		int code = this.playerDictionary.get(player.getId(), NO_PLAYER);
+		if(code != NO_PLAYER) {
+			return code;
+		}
+		
+		if(this.playerCount == this.players.length) {
+			this.players = Arrays.copyOf(this.players, Math.max(DEFAULT_CAPACITY, this.playerCount * 2));
+		}
+		
+		this.players[this.playerCount] = player.getId();
+		this.playerDictionary.put(player.getId(), this.playerCount);
+		return this.playerCount++;
+	}
+	
+	private void grow() {
+		int capacity = Math.max(DEFAULT_CAPACITY, this.ids.length + (this.ids.length >> 1));
+		
+		this.ids = Arrays.copyOf(this.ids, capacity);
+		this.playerCodes = Arrays.copyOf(this.playerCodes, capacity);
+		for(int index = 0; index < this.columns.length; index++) {
+			this.columns[index] = Arrays.copyOf(this.columns[index], capacity);
+		}
+	}
+	
+}
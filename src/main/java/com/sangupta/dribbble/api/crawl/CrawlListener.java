@@ -0,0 +1,51 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.crawl;
+
+import com.sangupta.dribbble.api.model.Player;
+
+/**
+ * Receives the edges of the social graph as a {@link SocialGraphCrawler} finds
+ * them. Calls are made one at a time, so implementations need not be thread-safe.
+ * 
+ * @author sangupta
+ *
+ */
+public interface CrawlListener {
+	
+	/**
+	 * Called for every player found related to a player being expanded, whether
+	 * or not the related player has been seen before.
+	 * 
+	 * @param playerId
+	 *            the player being expanded
+	 * @param relation
+	 *            how the other player relates to it
+	 * @param other
+	 *            the related player
+	 * @param depth
+	 *            the depth of the related player, one more than that of the
+	 *            player being expanded
+	 */
+	public void onEdge(long playerId, SocialRelation relation, Player other, int depth);
+	
+}
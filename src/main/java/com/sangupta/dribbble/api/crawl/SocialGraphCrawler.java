@@ -0,0 +1,650 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.crawl;
+
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sangupta.dribbble.api.DribbbleApiRateLimitException;
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.PlayerList;
+import com.sangupta.dribbble.api.util.LongHashSet;
+
+/**
+ * Walks the Dribbble social graph outwards from a set of seed players, over the
+ * followers, following and draftees of each, reporting every edge to a
+ * {@link CrawlListener}.
+ * 
+ * Players found are queued on a frontier, which expands the highest scoring
+ * player first - by default the one with the most followers - and each player is
+ * queued only once, as tracked by a {@link LongHashSet} of player IDs rather than
+ * a set of boxed {@link Long}s. Players deeper than {@link #getMaxDepth()} hops
+ * from a seed are reported, but not expanded.
+ * 
+ * Pages are fetched using the non-blocking client, with up to
+ * {@link #getParallelism()} requests in flight. Each request reserves the next
+ * rate-limit permit, however long the wait, and is made as soon as the permit
+ * frees up, so that every permit the rate limiter hands out is put to use. The
+ * pages of a player being expanded are fetched before the next player is taken
+ * off the frontier. Every request counts against the request budget, and the
+ * crawl stops once the budget is spent. A page that cannot be fetched is counted,
+ * and skipped. Should the rate limiter turn a request away nonetheless, its page
+ * is queued again and not counted, and the run ends once the requests in flight
+ * complete, to be resumed with {@link #start()}.
+ * 
+ * A crawl can be paused, upon which no more requests are made and the run ends
+ * once those in flight complete, and resumed later from where it left off. More
+ * seeds and budget may be added in between.
+ * 
+ * @author sangupta
+ *
+ */
+public class SocialGraphCrawler {
+	
+	private static final Logger logger = Logger.getLogger(SocialGraphCrawler.class.getName());
+	
+	/**
+	 * Largest page size the API allows
+	 */
+	private static final int PER_PAGE = 30;
+	
+	/**
+	 * Scores players by their number of followers
+	 */
+	public static final ToDoubleFunction<Player> BY_FOLLOWERS = new ToDoubleFunction<Player>() {
+		
+		public double applyAsDouble(Player player) {
+			return player.getFollowersCount();
+		}
+		
+	};
+	
+	/**
+	 * The client pages are fetched with
+	 */
+	private final DribbbleClient client;
+	
+	/**
+	 * The listener edges are reported to
+	 */
+	private final CrawlListener listener;
+	
+	/**
+	 * The relations walked
+	 */
+	private final EnumSet<SocialRelation> relations;
+	
+	/**
+	 * IDs of the players queued so far
+	 */
+	private final LongHashSet queued = new LongHashSet(1024);
+	
+	/**
+	 * Players queued and not yet expanded, highest score first
+	 */
+	private final PriorityQueue<FrontierEntry> frontier = new PriorityQueue<FrontierEntry>();
+	
+	/**
+	 * Pages of players being expanded, still to be fetched
+	 */
+	private final ArrayDeque<PageTask> pageTasks = new ArrayDeque<PageTask>();
+	
+	/**
+	 * Scores players found, to order the frontier
+	 */
+	private ToDoubleFunction<Player> scorer = BY_FOLLOWERS;
+	
+	/**
+	 * Most hops from a seed of a player that is expanded
+	 */
+	private int maxDepth = 2;
+	
+	/**
+	 * Most pages fetched of one relation of one player
+	 */
+	private int maxPagesPerList = Integer.MAX_VALUE;
+	
+	/**
+	 * Most requests in flight
+	 */
+	private int parallelism = 8;
+	
+	/**
+	 * Most requests made over all runs
+	 */
+	private long requestBudget = Long.MAX_VALUE;
+	
+	private long requestsMade = 0;
+	
+	private long failedRequests = 0;
+	
+	private long expandedPlayers = 0;
+	
+	/**
+	 * Number of requests in flight
+	 */
+	private int inFlight = 0;
+	
+	/**
+	 * Whether the crawler has been asked to pause
+	 */
+	private boolean paused = false;
+	
+	/**
+	 * Whether a request was turned away by the rate limiter during this run
+	 */
+	private boolean throttled = false;
+	
+	/**
+	 * Whether requests are being dispatched, up the stack
+	 */
+	private boolean dispatching = false;
+	
+	/**
+	 * The current run, if any
+	 */
+	private CompletableFuture<Void> run = null;
+	
+	/**
+	 * Create a crawler walking the given relations, or all of them if none are
+	 * given.
+	 * 
+	 * @param client
+	 * @param listener
+	 * @param relations
+	 */
+	public SocialGraphCrawler(DribbbleClient client, CrawlListener listener, SocialRelation... relations) {
+		if(client == null) {
+			throw new IllegalArgumentException("Client cannot be null.");
+		}
+		
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		
+		this.client = client;
+		this.listener = listener;
+		this.relations = EnumSet.allOf(SocialRelation.class);
+		
+		if(relations != null && relations.length > 0) {
+			this.relations.clear();
+			for(SocialRelation relation : relations) {
+				this.relations.add(relation);
+			}
+		}
+	}
+	
+	/**
+	 * Queue the player to be expanded ahead of every player found, unless it has
+	 * been queued already.
+	 * 
+	 * @param playerId
+	 * @return <code>true</code> if the player was queued
+	 */
+	public synchronized boolean addSeed(long playerId) {
+		if(playerId < 1) {
+			throw new IllegalArgumentException("Player ID must be greater than zero.");
+		}
+		
+		if(!this.queued.add(playerId)) {
+			return false;
+		}
+		
+		this.frontier.add(new FrontierEntry(playerId, 0, Double.POSITIVE_INFINITY));
+		return true;
+	}
+	
+	/**
+	 * Start crawling, or resume a paused crawl, without blocking.
+	 * 
+	 * @return future completing once the crawl is done, the budget spent, or the
+	 *         crawler paused and its requests in flight complete
+	 */
+	public CompletableFuture<Void> start() {
+		CompletableFuture<Void> run;
+		CompletableFuture<Void> done;
+		synchronized(this) {
+			this.paused = false;
+			this.throttled = false;
+			if(this.run == null) {
+				this.run = new CompletableFuture<Void>();
+			}
+			
+			run = this.run;
+			dispatch();
+			done = endRunIfIdle();
+		}
+		
+		if(done != null) {
+			done.complete(null);
+		}
+		
+		return run;
+	}
+	
+	/**
+	 * Crawl, blocking till the crawl is done, the budget spent or the crawler
+	 * paused.
+	 * 
+	 */
+	public void crawl() {
+		start().join();
+	}
+	
+	/**
+	 * Stop making requests. The current run completes once the requests in flight
+	 * do, and the crawl may be resumed with {@link #start()}.
+	 * 
+	 */
+	public void pause() {
+		CompletableFuture<Void> done;
+		synchronized(this) {
+			this.paused = true;
+			done = endRunIfIdle();
+		}
+		
+		if(done != null) {
+			done.complete(null);
+		}
+	}
+	
+	/**
+	 * Whether there is nothing left to crawl.
+	 * 
+	 * @return
+	 */
+	public synchronized boolean isFinished() {
+		return this.frontier.isEmpty() && this.pageTasks.isEmpty() && this.inFlight == 0;
+	}
+	
+	/**
+	 * Make requests while there is work, budget, and room for more in flight.
+	 * Callers must hold the lock.
+	 */
+	private void dispatch() {
+		if(this.dispatching) {
+			// a page that completed right away, the loop up the stack goes on
+			return;
+		}
+		
+		this.dispatching = true;
+		try {
+			while(!this.paused && !this.throttled && this.inFlight < this.parallelism && this.requestsMade < this.requestBudget) {
+				PageTask task = this.pageTasks.pollFirst();
+				if(task != null) {
+					fetch(task);
+					continue;
+				}
+				
+				FrontierEntry entry = this.frontier.poll();
+				if(entry == null) {
+					break;
+				}
+				
+				this.expandedPlayers++;
+				for(SocialRelation relation : this.relations) {
+					this.pageTasks.addLast(new PageTask(entry.playerId, relation, 1, entry.depth));
+				}
+			}
+		} finally {
+			this.dispatching = false;
+		}
+	}
+	
+	/**
+	 * Request the page. Callers must hold the lock.
+	 * 
+	 * @param task
+	 */
+	private void fetch(final PageTask task) {
+		this.requestsMade++;
+		this.inFlight++;
+		
+		CompletableFuture<PlayerList> future;
+		try {
+			future = request(task);
+		} catch(RuntimeException e) {
+			future = new CompletableFuture<PlayerList>();
+			future.completeExceptionally(e);
+		}
+		
+		future.whenComplete((playerList, error) -> completed(task, playerList, error));
+	}
+	
+	private CompletableFuture<PlayerList> request(PageTask task) {
+		switch(task.relation) {
+			case FOLLOWERS:
+				return this.client.getPlayerFollowersAsync(task.playerId, task.page, PER_PAGE, DribbbleInvoker.WAIT_FOREVER);
+				
+			case FOLLOWING:
+				return this.client.getPlayerFollowedAsync(task.playerId, task.page, PER_PAGE, DribbbleInvoker.WAIT_FOREVER);
+				
+			case DRAFTEES:
+				return this.client.getPlayerDrafteesAsync(task.playerId, task.page, PER_PAGE, DribbbleInvoker.WAIT_FOREVER);
+				
+			default:
+				throw new IllegalStateException("Unknown relation: " + task.relation);
+		}
+	}
+	
+	/**
+	 * Report the players on the page, queue those not seen before, and carry on.
+	 * 
+	 * @param task
+	 * @param playerList
+	 * @param error
+	 */
+	private void completed(PageTask task, PlayerList playerList, Throwable error) {
+		CompletableFuture<Void> done;
+		synchronized(this) {
+			this.inFlight--;
+			
+			Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+			if(cause instanceof DribbbleApiRateLimitException) {
+				// no permit, the page is still to be fetched
+				this.requestsMade--;
+				this.pageTasks.addFirst(task);
+				this.throttled = true;
+			} else if(error != null || playerList == null) {
+				this.failedRequests++;
+				if(error != null) {
+					logger.log(Level.WARNING, "Unable to fetch page " + task.page + " of " + task.relation + " of player " + task.playerId, error);
+				}
+			} else {
+				addPlayers(task, playerList);
+			}
+			
+			dispatch();
+			done = endRunIfIdle();
+		}
+		
+		if(done != null) {
+			done.complete(null);
+		}
+	}
+	
+	/**
+	 * Report and queue the players on the page, and queue the rest of the pages
+	 * after the first. Callers must hold the lock.
+	 * 
+	 * @param task
+	 * @param playerList
+	 */
+	private void addPlayers(PageTask task, PlayerList playerList) {
+		if(task.page == 1) {
+			// finish this player before taking on another
+			int pages = Math.min(playerList.getPages(), this.maxPagesPerList);
+			for(int page = pages; page > 1; page--) {
+				this.pageTasks.addFirst(new PageTask(task.playerId, task.relation, page, task.depth));
+			}
+		}
+		
+		List<Player> players = playerList.getPlayers();
+		if(players == null) {
+			return;
+		}
+		
+		int depth = task.depth + 1;
+		for(Player player : players) {
+			if(player == null) {
+				continue;
+			}
+			
+			try {
+				this.listener.onEdge(task.playerId, task.relation, player, depth);
+			} catch(RuntimeException e) {
+				logger.log(Level.WARNING, "Crawl listener failed for player " + player.getId(), e);
+			}
+			
+			if(depth <= this.maxDepth && this.queued.add(player.getId())) {
+				this.frontier.add(new FrontierEntry(player.getId(), depth, this.scorer.applyAsDouble(player)));
+			}
+		}
+	}
+	
+	/**
+	 * End the current run if nothing is in flight and no more will be dispatched.
+	 * Callers must hold the lock, and complete the returned future after letting
+	 * go of it.
+	 * 
+	 * @return the run ended, if any
+	 */
+	private CompletableFuture<Void> endRunIfIdle() {
+		if(this.run == null || this.inFlight > 0) {
+			return null;
+		}
+		
+		boolean idle = this.paused || this.throttled || this.requestsMade >= this.requestBudget || (this.frontier.isEmpty() && this.pageTasks.isEmpty());
+		if(!idle) {
+			return null;
+		}
+		
+		CompletableFuture<Void> run = this.run;
+		this.run = null;
+		return run;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the number of players queued so far, seeds included
+	 */
+	public synchronized int getQueuedCount() {
+		return queued.size();
+	}
+	
+	/**
+	 * @return the number of players queued and not yet expanded
+	 */
+	public synchronized int getFrontierSize() {
+		return frontier.size();
+	}
+	
+	/**
+	 * @return the number of players expanded so far
+	 */
+	public synchronized long getExpandedPlayers() {
+		return expandedPlayers;
+	}
+	
+	/**
+	 * @return the requestsMade
+	 */
+	public synchronized long getRequestsMade() {
+		return requestsMade;
+	}
+	
+	/**
+	 * @return the failedRequests
+	 */
+	public synchronized long getFailedRequests() {
+		return failedRequests;
+	}
+	
+	/**
+	 * @return the requestBudget
+	 */
+	public synchronized long getRequestBudget() {
+		return requestBudget;
+	}
+	
+	/**
+	 * @param requestBudget the most requests to make over all runs; raise it to
+	 *            resume a crawl that spent its budget
+	 */
+	public synchronized void setRequestBudget(long requestBudget) {
+		if(requestBudget < 0) {
+			throw new IllegalArgumentException("Request budget cannot be negative.");
+		}
+		
+		this.requestBudget = requestBudget;
+	}
+	
+	/**
+	 * @return the maxDepth
+	 */
+	public synchronized int getMaxDepth() {
+		return maxDepth;
+	}
+	
+	/**
+	 * @param maxDepth the maxDepth to set, zero to expand the seeds alone
+	 */
+	public synchronized void setMaxDepth(int maxDepth) {
+		if(maxDepth < 0) {
+			throw new IllegalArgumentException("Max depth cannot be negative.");
+		}
+		
+		this.maxDepth = maxDepth;
+	}
+	
+	/**
+	 * @return the maxPagesPerList
+	 */
+	public synchronized int getMaxPagesPerList() {
+		return maxPagesPerList;
+	}
+	
+	/**
+	 * @param maxPagesPerList the maxPagesPerList to set
+	 */
+	public synchronized void setMaxPagesPerList(int maxPagesPerList) {
+		if(maxPagesPerList < 1) {
+			throw new IllegalArgumentException("Max pages per list must be greater than zero.");
+		}
+		
+		this.maxPagesPerList = maxPagesPerList;
+	}
+	
+	/**
+	 * @return the parallelism
+	 */
+	public synchronized int getParallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * @param parallelism the parallelism to set
+	 */
+	public synchronized void setParallelism(int parallelism) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be greater than zero.");
+		}
+		
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * @return the scorer
+	 */
+	public synchronized ToDoubleFunction<Player> getScorer() {
+		return scorer;
+	}
+	
+	/**
+	 * @param scorer the scorer to order the frontier by, highest first, for
+	 *            players found from now on
+	 */
+	public synchronized void setScorer(ToDoubleFunction<Player> scorer) {
+		if(scorer == null) {
+			throw new IllegalArgumentException("Scorer cannot be null.");
+		}
+		
+		this.scorer = scorer;
+	}
+	
+	/**
+	 * A player waiting on the frontier.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class FrontierEntry implements Comparable<FrontierEntry> {
+		
+		private final long playerId;
+		
+		private final int depth;
+		
+		private final double score;
+		
+		FrontierEntry(long playerId, int depth, double score) {
+			this.playerId = playerId;
+			this.depth = depth;
+			this.score = score;
+		}
+		
+		/**
+		 * Higher scores first, then shallower players, then lower IDs.
+		 * 
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(FrontierEntry other) {
+			int compare = Double.compare(other.score, this.score);
+			if(compare != 0) {
+				return compare;
+			}
+			
+			compare = Integer.compare(this.depth, other.depth);
+			if(compare != 0) {
+				return compare;
+			}
+			
+			return Long.compare(this.playerId, other.playerId);
+		}
+		
+	}
+	
+	/**
+	 * A page of one relation of a player being expanded.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class PageTask {
+		
+		private final long playerId;
+		
+		private final SocialRelation relation;
+		
+		private final int page;
+		
+		private final int depth;
+		
+		PageTask(long playerId, SocialRelation relation, int page, int depth) {
+			this.playerId = playerId;
+			this.relation = relation;
+			this.page = page;
+			this.depth = depth;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,49 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.feed;
+
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotListType;
+
+/**
+ * Receives the shots a {@link FeedSynchronizer} finds new or changed in a feed.
+ * 
+ * @author sangupta
+ *
+ */
+public interface FeedListener {
+	
+	/**
+	 * Called for every shot new to the feed, oldest first, and then for every shot
+	 * whose counts or details changed since it was last seen.
+	 * 
+	 * @param feed
+	 *            the feed the shot was found in
+	 * @param shot
+	 *            the shot
+	 * @param isNew
+	 *            <code>true</code> if the shot is new, <code>false</code> if it
+	 *            changed
+	 */
+	public void onShot(ShotListType feed, Shot shot, boolean isNew);
+	
+}
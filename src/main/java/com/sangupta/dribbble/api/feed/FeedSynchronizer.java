@@ -0,0 +1,486 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.feed;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.util.DaemonThreadFactory;
+
+/**
+ * Polls {@link ShotListType} feeds and emits to a {@link FeedListener} only the
+ * shots that are new or changed since the last poll, fetching no more pages than
+ * needed to find them.
+ * 
+ * The {@link ShotListType#EVERYONE} and {@link ShotListType#DEBUTS} feeds list the
+ * newest shots first. For these a {@link HighWaterMark} is kept, the newest shot
+ * seen, and a poll pages only as deep as the first page reaching back to it,
+ * however many pages the feed has moved since the last poll. The
+ * {@link ShotListType#POPULAR} feed has no such order, and a poll of it stops at
+ * the first page on which nothing is new or changed. The very first poll of a
+ * feed emits the shots of its first {@link #getInitialPages()} pages.
+ * 
+ * A shot has changed if its counts, title or image differ from when it was last
+ * emitted. Fingerprints of the most recently seen shots of each feed are kept to
+ * tell, up to {@link #getMaxTrackedShots()} a feed.
+ * 
+ * A poll either completes or changes nothing: if a page cannot be fetched,
+ * nothing is emitted and the next poll starts over from the same mark, so that
+ * no shot is ever skipped.
+ * 
+ * @author sangupta
+ *
+ */
+public class FeedSynchronizer implements Closeable {
+	
+	private static final Logger logger = Logger.getLogger(FeedSynchronizer.class.getName());
+	
+	/**
+	 * Largest page size the API allows
+	 */
+	private static final int PER_PAGE = 30;
+	
+	/**
+	 * The client pages are fetched with
+	 */
+	private final DribbbleClient client;
+	
+	/**
+	 * The listener new and changed shots are emitted to
+	 */
+	private final FeedListener listener;
+	
+	/**
+	 * What is known of every feed polled so far
+	 */
+	private final Map<ShotListType, FeedState> feeds = new EnumMap<ShotListType, FeedState>(ShotListType.class);
+	
+	/**
+	 * Number of pages fetched so far
+	 */
+	private final LongAdder pagesFetched = new LongAdder();
+	
+	/**
+	 * Runs the polls started with {@link #start(long, TimeUnit, ShotListType...)}
+	 */
+	private ScheduledExecutorService poller = null;
+	
+	/**
+	 * Number of pages fetched by the first poll of a feed
+	 */
+	private volatile int initialPages = 1;
+	
+	/**
+	 * Most pages fetched by a single poll of the popular feed
+	 */
+	private volatile int maxPages = 10;
+	
+	/**
+	 * Number of shot fingerprints kept for each feed
+	 */
+	private volatile int maxTrackedShots = 1000;
+	
+	public FeedSynchronizer(DribbbleClient client, FeedListener listener) {
+		if(client == null) {
+			throw new IllegalArgumentException("Client cannot be null.");
+		}
+		
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		
+		this.client = client;
+		this.listener = listener;
+	}
+	
+	/**
+	 * Poll the feed once, and emit its new and changed shots to the listener.
+	 * Polls of a synchronizer run one at a time.
+	 * 
+	 * @param feed
+	 * @return the number of shots emitted, or <code>-1</code> if a page could not
+	 *         be fetched
+	 */
+	public synchronized int sync(ShotListType feed) {
+		if(feed == null) {
+			throw new IllegalArgumentException("Feed cannot be null.");
+		}
+		
+		FeedState state = this.feeds.get(feed);
+		if(state == null) {
+			state = new FeedState(this.maxTrackedShots);
+			this.feeds.put(feed, state);
+		}
+		
+		HighWaterMark mark = state.mark;
+		boolean chronological = isChronological(feed);
+		boolean firstPoll = chronological ? mark == null : state.fingerprints.isEmpty();
+		// chronological feeds page back to their mark, however deep it is
+		int pageLimit = firstPoll ? this.initialPages : this.maxPages;
+		
+		List<Shot> added = new ArrayList<Shot>();
+		List<Shot> changed = new ArrayList<Shot>();
+		Map<Long, Long> fingerprints = new LinkedHashMap<Long, Long>();
+		Shot newest = null;
+		
+		int page = 1;
+		while(true) {
+			ShotList shotList = this.client.getShotsList(feed, page, PER_PAGE);
+			this.pagesFetched.increment();
+			
+			if(shotList == null) {
+				logger.warning("Unable to fetch page " + page + " of feed " + feed + ", will retry on next poll");
+				return -1;
+			}
+			
+			List<Shot> shots = shotList.getShots();
+			if(shots == null || shots.isEmpty()) {
+				break;
+			}
+			
+			boolean reachedMark = false;
+			int found = added.size() + changed.size();
+			for(Shot shot : shots) {
+				if(shot == null || fingerprints.containsKey(shot.getId())) {
+					// shifted across pages while we were paging
+					continue;
+				}
+				
+				long fingerprint = fingerprint(shot);
+				fingerprints.put(shot.getId(), fingerprint);
+				
+				if(newest == null || shot.getId() > newest.getId()) {
+					newest = shot;
+				}
+				
+				Long previous = state.fingerprints.get(shot.getId());
+				if(chronological) {
+					if(mark != null && shot.getId() <= mark.getShotId()) {
+						reachedMark = true;
+						if(previous != null && previous != fingerprint) {
+							changed.add(shot);
+						}
+					} else {
+						added.add(shot);
+					}
+				} else if(previous == null) {
+					added.add(shot);
+				} else if(previous != fingerprint) {
+					changed.add(shot);
+				}
+			}
+			
+			boolean done;
+			if(firstPoll) {
+				done = page >= pageLimit;
+			} else if(chronological) {
+				done = reachedMark;
+			} else {
+				// nothing on this page has moved
+				done = added.size() + changed.size() == found;
+			}
+			
+			if(done) {
+				break;
+			}
+			
+			if(page >= shotList.getPages()) {
+				if(chronological && !firstPoll) {
+					logger.warning("Feed " + feed + " no longer lists shot " + mark.getShotId() + ", shots older than page " + page + " are skipped");
+				}
+				
+				break;
+			}
+			
+			if(!chronological && page >= pageLimit) {
+				break;
+			}
+			
+			page++;
+		}
+		
+		// commit, now that every page is in
+		state.fingerprints.putAll(fingerprints);
+		if(chronological && newest != null && (mark == null || newest.getId() > mark.getShotId())) {
+			state.mark = new HighWaterMark(newest.getId(), newest.getCreatedAt());
+		}
+		
+		if(chronological) {
+			// emit the oldest new shot first
+			Collections.reverse(added);
+		}
+		
+		for(Shot shot : added) {
+			emit(feed, shot, true);
+		}
+		
+		for(Shot shot : changed) {
+			emit(feed, shot, false);
+		}
+		
+		return added.size() + changed.size();
+	}
+	
+	/**
+	 * Poll the given feeds every <code>period</code>, until closed. A poll that
+	 * fails is logged and the feed polled again after the next period.
+	 * 
+	 * @param period
+	 * @param unit
+	 * @param feeds
+	 */
+	public synchronized void start(long period, TimeUnit unit, final ShotListType... feeds) {
+		if(period <= 0) {
+			throw new IllegalArgumentException("Period must be greater than zero.");
+		}
+		
+		if(unit == null) {
+			throw new IllegalArgumentException("Unit cannot be null.");
+		}
+		
+		if(feeds == null || feeds.length == 0) {
+			throw new IllegalArgumentException("Feeds cannot be null/empty.");
+		}
+		
+		if(this.poller != null) {
+			throw new IllegalStateException("Synchronizer has already been started.");
+		}
+		
+		this.poller = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("dribbble-feed-sync-"));
+		this.poller.scheduleWithFixedDelay(new Runnable() {
+			
+			public void run() {
+				for(ShotListType feed : feeds) {
+					try {
+						sync(feed);
+					} catch(RuntimeException e) {
+						logger.log(Level.WARNING, "Unable to poll feed " + feed, e);
+					}
+				}
+			}
+			
+		}, 0, period, unit);
+	}
+	
+	/**
+	 * Stop polling.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() {
+		ScheduledExecutorService poller;
+		synchronized(this) {
+			poller = this.poller;
+		}
+		
+		if(poller != null) {
+			poller.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Return the newest shot seen in the given feed, say to persist it across
+	 * restarts.
+	 * 
+	 * @param feed
+	 * @return the mark, or <code>null</code> if the feed has not been polled or
+	 *         is not chronological
+	 */
+	public synchronized HighWaterMark getHighWaterMark(ShotListType feed) {
+		FeedState state = this.feeds.get(feed);
+		return state != null ? state.mark : null;
+	}
+	
+	/**
+	 * Set the newest shot already seen in the given chronological feed, say as
+	 * persisted before a restart. The next poll emits only shots newer than it.
+	 * 
+	 * @param feed
+	 * @param mark
+	 */
+	public synchronized void setHighWaterMark(ShotListType feed, HighWaterMark mark) {
+		if(feed == null) {
+			throw new IllegalArgumentException("Feed cannot be null.");
+		}
+		
+		if(!isChronological(feed)) {
+			throw new IllegalArgumentException("Feed " + feed + " is not in chronological order.");
+		}
+		
+		FeedState state = this.feeds.get(feed);
+		if(state == null) {
+			state = new FeedState(this.maxTrackedShots);
+			this.feeds.put(feed, state);
+		}
+		
+		state.mark = mark;
+	}
+	
+	private void emit(ShotListType feed, Shot shot, boolean isNew) {
+		try {
+			this.listener.onShot(feed, shot, isNew);
+		} catch(RuntimeException e) {
+			logger.log(Level.WARNING, "Feed listener failed for shot " + shot.getId(), e);
+		}
+	}
+	
+	/**
+	 * Whether the feed lists the newest shots first.
+	 * 
+	 * @param feed
+	 * @return
+	 */
+	private static boolean isChronological(ShotListType feed) {
+		return feed != ShotListType.POPULAR;
+	}
+	
+	/**
+	 * Return a fingerprint of the parts of the shot that change over time.
+	 * 
+	 * @param shot
+	 * @return
+	 */
+	private static long fingerprint(Shot shot) {
+		long hash = 1125899906842597L;
+		hash = 31 * hash + shot.getViewsCount();
+		hash = 31 * hash + shot.getLikesCount();
+		hash = 31 * hash + shot.getCommentsCount();
+		hash = 31 * hash + shot.getReboundsCount();
+		hash = 31 * hash + (shot.getTitle() != null ? shot.getTitle().hashCode() : 0);
+		hash = 31 * hash + (shot.getImageUrl() != null ? shot.getImageUrl().hashCode() : 0);
+		return hash;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the number of pages fetched so far
+	 */
+	public long getPagesFetched() {
+		return pagesFetched.sum();
+	}
+	
+	/**
+	 * @return the initialPages
+	 */
+	public int getInitialPages() {
+		return initialPages;
+	}
+	
+	/**
+	 * @param initialPages the initialPages to set
+	 */
+	public void setInitialPages(int initialPages) {
+		if(initialPages < 1) {
+			throw new IllegalArgumentException("Initial pages must be greater than zero.");
+		}
+		
+		this.initialPages = initialPages;
+	}
+	
+	/**
+	 * @return the maxPages
+	 */
+	public int getMaxPages() {
+		return maxPages;
+	}
+	
+	/**
+	 * @param maxPages the maxPages to set, for polls of the popular feed;
+	 *            chronological feeds always page back to their mark
+	 */
+	public void setMaxPages(int maxPages) {
+		if(maxPages < 1) {
+			throw new IllegalArgumentException("Max pages must be greater than zero.");
+		}
+		
+		this.maxPages = maxPages;
+	}
+	
+	/**
+	 * @return the maxTrackedShots
+	 */
+	public int getMaxTrackedShots() {
+		return maxTrackedShots;
+	}
+	
+	/**
+	 * @param maxTrackedShots the maxTrackedShots to set, for feeds polled
+	 *            from now on
+	 */
+	public void setMaxTrackedShots(int maxTrackedShots) {
+		if(maxTrackedShots < 1) {
+			throw new IllegalArgumentException("Max tracked shots must be greater than zero.");
+		}
+		
+		this.maxTrackedShots = maxTrackedShots;
+	}
+	
+	/**
+	 * What is known of one feed.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class FeedState {
+		
+		/**
+		 * Newest shot seen, for a chronological feed
+		 */
+		private HighWaterMark mark = null;
+		
+		/**
+		 * Fingerprints of the shots seen most recently, by ID
+		 */
+		private final Map<Long, Long> fingerprints;
+		
+		FeedState(final int maxTrackedShots) {
+			this.fingerprints = new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+				
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+					return this.size() > maxTrackedShots;
+				}
+				
+			};
+		}
+		
+	}
+	
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.feed;
+
+/**
+ * The newest shot seen in a feed by a {@link FeedSynchronizer}. Shots of a
+ * chronological feed up to and including this one have already been emitted.
+ * 
+ * @author sangupta
+ *
+ */
+public class HighWaterMark {
+	
+	/**
+	 * ID of the newest shot seen
+	 */
+	private final long shotId;
+	
+	/**
+	 * When the newest shot seen was created, as sent by the API
+	 */
+	private final String createdAt;
+	
+	public HighWaterMark(long shotId, String createdAt) {
+		this.shotId = shotId;
+		this.createdAt = createdAt;
+	}
+	
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		
+		if(!(obj instanceof HighWaterMark)) {
+			return false;
+		}
+		
+		HighWaterMark other = (HighWaterMark) obj;
+		if(this.shotId != other.shotId) {
+			return false;
+		}
+		
+		return this.createdAt == null ? other.createdAt == null : this.createdAt.equals(other.createdAt);
+	}
+	
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.shotId);
+	}
+	
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "HighWaterMark [shotId=" + this.shotId + ", createdAt=" + this.createdAt + "]";
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the shotId
+	 */
+	public long getShotId() {
+		return shotId;
+	}
+	
+	/**
+	 * @return the createdAt
+	 */
+	public String getCreatedAt() {
+		return createdAt;
+	}
+	
+}
@@ -0,0 +1,965 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.index;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.sangupta.dribbble.api.columnar.ShotColumn;
+import com.sangupta.dribbble.api.model.Comment;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.util.LongHashSet;
+import com.sangupta.dribbble.api.util.LongIntHashMap;
+import com.sangupta.dribbble.api.util.LongObjectHashMap;
+
+/**
+ * An in-memory index of fetched shots, players and comments, that answers lookups
+ * by ID and queries such as "shots by a player with more than so many likes" or
+ * "shots created in a given week" without scanning every shot.
+ * 
+ * Shots are kept in rows, found by ID through an open-addressing map of primitive
+ * keys. Secondary indexes hold the rows of every player, and sorted arrays of
+ * <code>(value, row)</code> pairs packed into single <code>long</code>s, for the
+ * creation time and for each count column the index is created with, by default
+ * likes and views. Range queries then take a binary search and a walk over the
+ * matches. Comments are kept the same way, by shot and by player, and the players
+ * of the shots and comments added are kept by ID and username.
+ * 
+ * Adding a shot already held replaces it, and moves it within the indexes. The
+ * sorted arrays are merged once per batch added, so ingest shots a page or more
+ * at a time. Queries share a read lock and run concurrently, with one another and
+ * between batches; a batch holds the write lock only while it is applied.
+ * Creation times are indexed to the second.
+ * 
+ * @author sangupta
+ *
+ */
+public class ShotIndex {
+	
+	/**
+	 * Format of the creation times sent by the API
+	 */
+	private static final String CREATED_AT_FORMAT = "yyyy/MM/dd HH:mm:ss Z";
+	
+	/**
+	 * Creation time of a shot whose time is unknown, which is not indexed
+	 */
+	private static final int NO_TIME = Integer.MIN_VALUE;
+	
+	/**
+	 * Guards everything: queries share it, and batches hold it exclusively
+	 */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	/**
+	 * Parses creation times; used only while holding the write lock
+	 */
+	private final SimpleDateFormat createdAtFormat = new SimpleDateFormat(CREATED_AT_FORMAT, Locale.US);
+	
+	/**
+	 * The shots by row
+	 */
+	private Shot[] shots = new Shot[1024];
+	
+	/**
+	 * Creation time of each shot in seconds, by row
+	 */
+	private int[] shotTimes = new int[1024];
+	
+	/**
+	 * Number of shot rows
+	 */
+	private int shotCount = 0;
+	
+	/**
+	 * Shot rows by shot ID
+	 */
+	private final LongIntHashMap shotRows = new LongIntHashMap(1024);
+	
+	/**
+	 * Shot rows by player ID
+	 */
+	private final LongObjectHashMap<IntArray> shotRowsByPlayer = new LongObjectHashMap<IntArray>();
+	
+	/**
+	 * Shot rows sorted by count, for the indexed columns
+	 */
+	private final Map<ShotColumn, SortedIndex> sortedIndexes = new EnumMap<ShotColumn, SortedIndex>(ShotColumn.class);
+	
+	/**
+	 * Shot rows sorted by creation time
+	 */
+	private final SortedIndex timeIndex = new SortedIndex();
+	
+	/**
+	 * The players by ID
+	 */
+	private final LongObjectHashMap<Player> players = new LongObjectHashMap<Player>();
+	
+	/**
+	 * The players by username
+	 */
+	private final Map<String, Player> playersByUsername = new HashMap<String, Player>();
+	
+	/**
+	 * The comments by row
+	 */
+	private Comment[] comments = new Comment[1024];
+	
+	/**
+	 * Number of comment rows
+	 */
+	private int commentCount = 0;
+	
+	/**
+	 * Comment rows by comment ID
+	 */
+	private final LongIntHashMap commentRows = new LongIntHashMap(1024);
+	
+	/**
+	 * Comment rows by shot ID
+	 */
+	private final LongObjectHashMap<IntArray> commentRowsByShot = new LongObjectHashMap<IntArray>();
+	
+	/**
+	 * Comment rows by player ID
+	 */
+	private final LongObjectHashMap<IntArray> commentRowsByPlayer = new LongObjectHashMap<IntArray>();
+	
+	/**
+	 * Create an index sorting shots by likes and views.
+	 * 
+	 */
+	public ShotIndex() {
+		this(ShotColumn.LIKES, ShotColumn.VIEWS);
+	}
+	
+	/**
+	 * Create an index sorting shots by the given columns. Every sorted column adds
+	 * 8 bytes a shot, and a merge to every batch added.
+	 * 
+	 * @param sortedColumns
+	 */
+	public ShotIndex(ShotColumn... sortedColumns) {
+		if(sortedColumns == null) {
+			throw new IllegalArgumentException("Sorted columns cannot be null.");
+		}
+		
+		for(ShotColumn column : sortedColumns) {
+			this.sortedIndexes.put(column, new SortedIndex());
+		}
+	}
+	
+	/**
+	 * Add the shots of the given page.
+	 * 
+	 * @param shotList
+	 */
+	public void addAll(ShotList shotList) {
+		if(shotList != null && shotList.getShots() != null) {
+			addAll(shotList.getShots());
+		}
+	}
+	
+	/**
+	 * Add the shots, and their players, as one batch.
+	 * 
+	 * @param shots
+	 */
+	public void addAll(Iterable<Shot> shots) {
+		if(shots == null) {
+			throw new IllegalArgumentException("Shots cannot be null.");
+		}
+		
+		this.lock.writeLock().lock();
+		try {
+			LongHashSet added = new LongHashSet();
+			for(Shot shot : shots) {
+				if(shot == null) {
+					continue;
+				}
+				
+				if(!added.add(shot.getId())) {
+					// the same shot twice in a batch, make the first one visible
+					flushSortedIndexes();
+				}
+				
+				addShot(shot);
+			}
+			
+			flushSortedIndexes();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Add the shot, and its player.
+	 * 
+	 * @param shot
+	 */
+	public void add(Shot shot) {
+		if(shot == null) {
+			throw new IllegalArgumentException("Shot cannot be null.");
+		}
+		
+		addAll(Collections.singletonList(shot));
+	}
+	
+	/**
+	 * Add the players.
+	 * 
+	 * @param players
+	 */
+	public void addPlayers(Iterable<Player> players) {
+		if(players == null) {
+			throw new IllegalArgumentException("Players cannot be null.");
+		}
+		
+		this.lock.writeLock().lock();
+		try {
+			for(Player player : players) {
+				if(player != null) {
+					addPlayer(player);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Add the comments made on the given shot, and their players.
+	 * 
+	 * @param shotId
+	 * @param comments
+	 */
+	public void addComments(long shotId, Iterable<Comment> comments) {
+		if(comments == null) {
+			throw new IllegalArgumentException("Comments cannot be null.");
+		}
+		
+		this.lock.writeLock().lock();
+		try {
+			for(Comment comment : comments) {
+				if(comment != null) {
+					addComment(shotId, comment);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param shotId
+	 * @return the shot, or <code>null</code> if it is not held
+	 */
+	public Shot getShot(long shotId) {
+		this.lock.readLock().lock();
+		try {
+			int row = this.shotRows.get(shotId, -1);
+			return row < 0 ? null : this.shots[row];
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param playerId
+	 * @return the player, or <code>null</code> if it is not held
+	 */
+	public Player getPlayer(long playerId) {
+		this.lock.readLock().lock();
+		try {
+			return this.players.get(playerId);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param username
+	 * @return the player, or <code>null</code> if it is not held
+	 */
+	public Player getPlayer(String username) {
+		this.lock.readLock().lock();
+		try {
+			return this.playersByUsername.get(username);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param commentId
+	 * @return the comment, or <code>null</code> if it is not held
+	 */
+	public Comment getComment(long commentId) {
+		this.lock.readLock().lock();
+		try {
+			int row = this.commentRows.get(commentId, -1);
+			return row < 0 ? null : this.comments[row];
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return the shots held of the given player, in the order they were added.
+	 * 
+	 * @param playerId
+	 * @return
+	 */
+	public List<Shot> getShotsOfPlayer(long playerId) {
+		this.lock.readLock().lock();
+		try {
+			IntArray rows = this.shotRowsByPlayer.get(playerId);
+			if(rows == null) {
+				return new ArrayList<Shot>();
+			}
+			
+			List<Shot> result = new ArrayList<Shot>(rows.size);
+			for(int index = 0; index < rows.size; index++) {
+				result.add(this.shots[rows.values[index]]);
+			}
+			
+			return result;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return the shots held of the given player whose value of the column lies
+	 * between <code>min</code> and <code>max</code>, both inclusive. The column
+	 * need not be sorted.
+	 * 
+	 * @param playerId
+	 * @param column
+	 * @param min
+	 * @param max
+	 * @return
+	 */
+	public List<Shot> getShotsOfPlayer(long playerId, ShotColumn column, int min, int max) {
+		if(column == null) {
+			throw new IllegalArgumentException("Column cannot be null.");
+		}
+		
+		this.lock.readLock().lock();
+		try {
+			List<Shot> result = new ArrayList<Shot>();
+			IntArray rows = this.shotRowsByPlayer.get(playerId);
+			if(rows == null) {
+				return result;
+			}
+			
+			for(int index = 0; index < rows.size; index++) {
+				Shot shot = this.shots[rows.values[index]];
+				int value = value(shot, column);
+				if(value >= min && value <= max) {
+					result.add(shot);
+				}
+			}
+			
+			return result;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return the shots whose value of the sorted column lies between
+	 * <code>min</code> and <code>max</code>, both inclusive, in ascending order of
+	 * the value.
+	 * 
+	 * @param column
+	 * @param min
+	 * @param max
+	 * @return
+	 */
+	public List<Shot> getShotsInRange(ShotColumn column, int min, int max) {
+		SortedIndex index = sortedIndex(column);
+		
+		this.lock.readLock().lock();
+		try {
+			return shotsInRange(index, min, max);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return up to <code>count</code> shots with the highest values of the sorted
+	 * column, highest first.
+	 * 
+	 * @param column
+	 * @param count
+	 * @return
+	 */
+	public List<Shot> getTopShots(ShotColumn column, int count) {
+		SortedIndex index = sortedIndex(column);
+		if(count < 0) {
+			throw new IllegalArgumentException("Count cannot be negative.");
+		}
+		
+		this.lock.readLock().lock();
+		try {
+			List<Shot> result = new ArrayList<Shot>(Math.min(count, index.size));
+			for(int position = index.size - 1; position >= 0 && result.size() < count; position--) {
+				result.add(this.shots[(int) index.values[position]]);
+			}
+			
+			return result;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return the shots created between the given times, both inclusive, to the
+	 * second, oldest first. Shots whose creation time could not be read are never
+	 * returned.
+	 * 
+	 * @param fromMillis
+	 * @param toMillis
+	 * @return
+	 */
+	public List<Shot> getShotsCreatedBetween(long fromMillis, long toMillis) {
+		long from = Math.max(Integer.MIN_VALUE + 1L, Math.floorDiv(fromMillis, 1000));
+		long to = Math.min(Integer.MAX_VALUE, Math.floorDiv(toMillis, 1000));
+		
+		this.lock.readLock().lock();
+		try {
+			if(from > to) {
+				return new ArrayList<Shot>();
+			}
+			
+			return shotsInRange(this.timeIndex, (int) from, (int) to);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return the comments held of the given shot, in the order they were added.
+	 * 
+	 * @param shotId
+	 * @return
+	 */
+	public List<Comment> getCommentsOfShot(long shotId) {
+		this.lock.readLock().lock();
+		try {
+			return commentsOf(this.commentRowsByShot.get(shotId));
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Return the comments held made by the given player, in the order they were
+	 * added.
+	 * 
+	 * @param playerId
+	 * @return
+	 */
+	public List<Comment> getCommentsOfPlayer(long playerId) {
+		this.lock.readLock().lock();
+		try {
+			return commentsOf(this.commentRowsByPlayer.get(playerId));
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Whether the column is sorted, and may be used in range and top queries.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	public boolean isSorted(ShotColumn column) {
+		return this.sortedIndexes.containsKey(column);
+	}
+	
+	/**
+	 * Add or replace the shot. Callers must hold the write lock, and flush the
+	 * sorted indexes afterwards.
+	 * 
+	 * @param shot
+	 */
+	private void addShot(Shot shot) {
+		int time = parseTime(shot.getCreatedAt());
+		long playerId = shot.getPlayer() != null ? shot.getPlayer().getId() : -1;
+		
+		int row = this.shotRows.get(shot.getId(), -1);
+		if(row < 0) {
+			row = this.shotCount++;
+			if(row == this.shots.length) {
+				this.shots = Arrays.copyOf(this.shots, row * 2);
+				this.shotTimes = Arrays.copyOf(this.shotTimes, row * 2);
+			}
+			
+			this.shotRows.put(shot.getId(), row);
+			addRow(this.shotRowsByPlayer, playerId, row);
+		} else {
+			// take the old shot out of the indexes it moves within
+			Shot old = this.shots[row];
+			for(Map.Entry<ShotColumn, SortedIndex> entry : this.sortedIndexes.entrySet()) {
+				entry.getValue().remove(value(old, entry.getKey()), row);
+			}
+			
+			if(this.shotTimes[row] != NO_TIME) {
+				this.timeIndex.remove(this.shotTimes[row], row);
+			}
+			
+			long oldPlayerId = old.getPlayer() != null ? old.getPlayer().getId() : -1;
+			if(oldPlayerId != playerId) {
+				removeRow(this.shotRowsByPlayer, oldPlayerId, row);
+				addRow(this.shotRowsByPlayer, playerId, row);
+			}
+		}
+		
+		this.shots[row] = shot;
+		this.shotTimes[row] = time;
+		
+		for(Map.Entry<ShotColumn, SortedIndex> entry : this.sortedIndexes.entrySet()) {
+			entry.getValue().add(value(shot, entry.getKey()), row);
+		}
+		
+		if(time != NO_TIME) {
+			this.timeIndex.add(time, row);
+		}
+		
+		if(shot.getPlayer() != null) {
+			addPlayer(shot.getPlayer());
+		}
+	}
+	
+	/**
+	 * Add or replace the comment. Callers must hold the write lock.
+	 * 
+	 * @param shotId
+	 * @param comment
+	 */
+	private void addComment(long shotId, Comment comment) {
+		long playerId = comment.getPlayer() != null ? comment.getPlayer().getId() : -1;
+		
+		int row = this.commentRows.get(comment.getId(), -1);
+		if(row < 0) {
+			row = this.commentCount++;
+			if(row == this.comments.length) {
+				this.comments = Arrays.copyOf(this.comments, row * 2);
+			}
+			
+			this.commentRows.put(comment.getId(), row);
+			addRow(this.commentRowsByShot, shotId, row);
+			addRow(this.commentRowsByPlayer, playerId, row);
+		} else {
+			Comment old = this.comments[row];
+			long oldPlayerId = old.getPlayer() != null ? old.getPlayer().getId() : -1;
+			if(oldPlayerId != playerId) {
+				removeRow(this.commentRowsByPlayer, oldPlayerId, row);
+				addRow(this.commentRowsByPlayer, playerId, row);
+			}
+		}
+		
+		this.comments[row] = comment;
+		
+		if(comment.getPlayer() != null) {
+			addPlayer(comment.getPlayer());
+		}
+	}
+	
+	/**
+	 * Add or replace the player. Callers must hold the write lock.
+	 * 
+	 * @param player
+	 */
+	private void addPlayer(Player player) {
+		Player old = this.players.put(player.getId(), player);
+		if(old != null && old.getUsername() != null && this.playersByUsername.get(old.getUsername()) == old) {
+			this.playersByUsername.remove(old.getUsername());
+		}
+		
+		if(player.getUsername() != null) {
+			this.playersByUsername.put(player.getUsername(), player);
+		}
+	}
+	
+	private void flushSortedIndexes() {
+		for(SortedIndex index : this.sortedIndexes.values()) {
+			index.flush();
+		}
+		
+		this.timeIndex.flush();
+	}
+	
+	private SortedIndex sortedIndex(ShotColumn column) {
+		if(column == null) {
+			throw new IllegalArgumentException("Column cannot be null.");
+		}
+		
+		SortedIndex index = this.sortedIndexes.get(column);
+		if(index == null) {
+			throw new IllegalArgumentException("Column " + column + " is not sorted.");
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * Return the shots with keys in the given range, in order. Callers must hold
+	 * the read lock.
+	 * 
+	 * @param index
+	 * @param min
+	 * @param max
+	 * @return
+	 */
+	private List<Shot> shotsInRange(SortedIndex index, int min, int max) {
+		List<Shot> result = new ArrayList<Shot>();
+		if(min > max) {
+			return result;
+		}
+		
+		int end = index.lowerBound(((long) max << 32) + Integer.MAX_VALUE + 1);
+		for(int position = index.lowerBound((long) min << 32); position < end; position++) {
+			result.add(this.shots[(int) index.values[position]]);
+		}
+		
+		return result;
+	}
+	
+	private List<Comment> commentsOf(IntArray rows) {
+		if(rows == null) {
+			return new ArrayList<Comment>();
+		}
+		
+		List<Comment> result = new ArrayList<Comment>(rows.size);
+		for(int index = 0; index < rows.size; index++) {
+			result.add(this.comments[rows.values[index]]);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Return the creation time in seconds, or {@link #NO_TIME} if it cannot be
+	 * read. Callers must hold the write lock.
+	 * 
+	 * @param createdAt
+	 * @return
+	 */
+	private int parseTime(String createdAt) {
+		if(createdAt == null) {
+			return NO_TIME;
+		}
+		
+		try {
+			long seconds = Math.floorDiv(this.createdAtFormat.parse(createdAt).getTime(), 1000);
+			if(seconds <= NO_TIME || seconds > Integer.MAX_VALUE) {
+				return NO_TIME;
+			}
+			
+			return (int) seconds;
+		} catch(ParseException e) {
+			return NO_TIME;
+		}
+	}
+	
+	private static void addRow(LongObjectHashMap<IntArray> rowsByKey, long key, int row) {
+		IntArray rows = rowsByKey.get(key);
+		if(rows == null) {
+			rows = new IntArray();
+			rowsByKey.put(key, rows);
+		}
+		
+		rows.add(row);
+	}
+	
+	private static void removeRow(LongObjectHashMap<IntArray> rowsByKey, long key, int row) {
+		IntArray rows = rowsByKey.get(key);
+		if(rows != null) {
+			rows.remove(row);
+		}
+	}
+	
+	private static int value(Shot shot, ShotColumn column) {
+		switch(column) {
+			case WIDTH:
+				return shot.getWidth();
+				
+			case HEIGHT:
+				return shot.getHeight();
+				
+			case VIEWS:
+				return shot.getViewsCount();
+				
+			case LIKES:
+				return shot.getLikesCount();
+				
+			case COMMENTS:
+				return shot.getCommentsCount();
+				
+			case REBOUNDS:
+				return shot.getReboundsCount();
+				
+			default:
+				throw new IllegalStateException("Unknown column: " + column);
+		}
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the number of shots held
+	 */
+	public int getShotCount() {
+		this.lock.readLock().lock();
+		try {
+			return shotCount;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return the number of players held
+	 */
+	public int getPlayerCount() {
+		this.lock.readLock().lock();
+		try {
+			return players.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return the number of comments held
+	 */
+	public int getCommentCount() {
+		this.lock.readLock().lock();
+		try {
+			return commentCount;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * A growable array of rows.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class IntArray {
+		
+		private int[] values = new int[4];
+		
+		private int size = 0;
+		
+		void add(int value) {
+			if(this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			
+			this.values[this.size++] = value;
+		}
+		
+		void remove(int value) {
+			for(int index = 0; index < this.size; index++) {
+				if(this.values[index] == value) {
+					System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+					this.size--;
+					
+					if(this.values.length > 4 && this.size < this.values.length >> 2) {
+						this.values = Arrays.copyOf(this.values, Math.max(4, this.size << 1));
+					}
+					
+					return;
+				}
+			}
+		}
+		
+	}
+	
+	/**
+	 * Rows sorted by a key, each pair packed into a <code>long</code> as the key
+	 * in the high and the row in the low 32 bits, so that the pairs sort by key
+	 * and then row. Changes are buffered, and merged in one pass when flushed.
+	 * The arrays grow by half and shrink once no more than a quarter is used.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class SortedIndex {
+		
+		/**
+		 * Smallest capacity the arrays are shrunk to
+		 */
+		private static final int MIN_CAPACITY = 16;
+		
+		/**
+		 * Largest change buffer kept after a flush
+		 */
+		private static final int MAX_BUFFER = 4096;
+		
+		private long[] values = new long[0];
+		
+		private int size = 0;
+		
+		private long[] additions = new long[MIN_CAPACITY];
+		
+		private int additionCount = 0;
+		
+		private long[] removals = new long[MIN_CAPACITY];
+		
+		private int removalCount = 0;
+		
+		void add(int key, int row) {
+			if(this.additionCount == this.additions.length) {
+				this.additions = Arrays.copyOf(this.additions, this.additionCount * 2);
+			}
+			
+			this.additions[this.additionCount++] = pack(key, row);
+		}
+		
+		void remove(int key, int row) {
+			if(this.removalCount == this.removals.length) {
+				this.removals = Arrays.copyOf(this.removals, this.removalCount * 2);
+			}
+			
+			this.removals[this.removalCount++] = pack(key, row);
+		}
+		
+		/**
+		 * Merge the buffered changes into the sorted pairs, in place. Only the
+		 * pairs above the smallest change are moved, so that a batch of the
+		 * newest shots costs little more than the batch itself.
+		 */
+		void flush() {
+			if(this.additionCount == 0 && this.removalCount == 0) {
+				return;
+			}
+			
+			Arrays.sort(this.additions, 0, this.additionCount);
+			Arrays.sort(this.removals, 0, this.removalCount);
+			
+			if(this.removalCount > 0) {
+				// compact forwards over the removed pairs
+				int count = lowerBound(this.removals[0]);
+				int removal = 0;
+				for(int position = count; position < this.size; position++) {
+					long value = this.values[position];
+					while(removal < this.removalCount && this.removals[removal] < value) {
+						removal++;
+					}
+					
+					if(removal < this.removalCount && this.removals[removal] == value) {
+						removal++;
+						continue;
+					}
+					
+					this.values[count++] = value;
+				}
+				
+				this.size = count;
+			}
+			
+			if(this.additionCount > 0) {
+				int required = this.size + this.additionCount;
+				if(required > this.values.length) {
+					this.values = Arrays.copyOf(this.values, Math.max(required, this.values.length + (this.values.length >> 1)));
+				}
+				
+				// merge backwards into the free space at the end
+				int target = required - 1;
+				int position = this.size - 1;
+				int addition = this.additionCount - 1;
+				while(addition >= 0) {
+					if(position >= 0 && this.values[position] > this.additions[addition]) {
+						this.values[target--] = this.values[position--];
+					} else {
+						this.values[target--] = this.additions[addition--];
+					}
+				}
+				
+				this.size = required;
+			}
+			
+			this.additionCount = 0;
+			this.removalCount = 0;
+			
+			if(this.values.length > MIN_CAPACITY && this.size < this.values.length >> 2) {
+				this.values = Arrays.copyOf(this.values, Math.max(MIN_CAPACITY, this.size << 1));
+			}
+			
+			if(this.additions.length > MAX_BUFFER) {
+				this.additions = new long[MIN_CAPACITY];
+			}
+			
+			if(this.removals.length > MAX_BUFFER) {
+				this.removals = new long[MIN_CAPACITY];
+			}
+		}
+		
+		/**
+		 * Return the position of the first pair not less than the given one.
+		 * 
+		 * @param pair
+		 * @return
+		 */
+		int lowerBound(long pair) {
+			int low = 0;
+			int high = this.size;
+			while(low < high) {
+				int middle = (low + high) >>> 1;
+				if(this.values[middle] < pair) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			
+			return low;
+		}
+		
+		private static long pack(int key, int row) {
+			return ((long) key << 32) | row;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,133 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free pool of equally sized byte buffers. Buffers are handed out
+ * from a fixed number of slots, each claimed with a compare-and-set; when all slots
+ * are empty a fresh buffer is allocated, and buffers released into a full pool are
+ * simply dropped for the garbage collector.
+ * 
+ * @author sangupta
+ *
+ */
+public class BufferPool {
+	
+	/**
+	 * The pool shared by all response readers
+	 */
+	public static final BufferPool DEFAULT = new BufferPool(8 * 1024, 64);
+	
+	/**
+	 * Size of each buffer in the pool
+	 */
+	private final int bufferSize;
+	
+	/**
+	 * The slots holding pooled buffers, <code>null</code> when empty
+	 */
+	private final AtomicReferenceArray<byte[]> slots;
+	
+	/**
+	 * Create a pool holding up to <code>maxBuffers</code> buffers of
+	 * <code>bufferSize</code> bytes each.
+	 * 
+	 * @param bufferSize
+	 * @param maxBuffers
+	 */
+	public BufferPool(int bufferSize, int maxBuffers) {
+		if(bufferSize < 1) {
+			throw new IllegalArgumentException("Buffer size must be greater than zero.");
+		}
+		
+		if(maxBuffers < 1) {
+			throw new IllegalArgumentException("Max buffers must be greater than zero.");
+		}
+		
+		this.bufferSize = bufferSize;
+		this.slots = new AtomicReferenceArray<byte[]>(maxBuffers);
+	}
+	
+	/**
+	 * Take a buffer from the pool, allocating one if the pool is empty.
+	 * 
+	 * @return
+	 */
+	public byte[] acquire() {
+		final int length = this.slots.length();
+		final int start = startSlot(length);
+		
+		for(int index = 0; index < length; index++) {
+			int slot = (start + index) % length;
+			
+			byte[] buffer = this.slots.get(slot);
+			if(buffer != null && this.slots.compareAndSet(slot, buffer, null)) {
+				return buffer;
+			}
+		}
+		
+		return new byte[this.bufferSize];
+	}
+	
+	/**
+	 * Return a buffer to the pool. Buffers of a different size, and buffers
+	 * released when the pool is full, are dropped.
+	 * 
+	 * @param buffer
+	 */
+	public void release(byte[] buffer) {
+		if(buffer == null || buffer.length != this.bufferSize) {
+			return;
+		}
+		
+		final int length = this.slots.length();
+		final int start = startSlot(length);
+		
+		for(int index = 0; index < length; index++) {
+			int slot = (start + index) % length;
+			
+			if(this.slots.get(slot) == null && this.slots.compareAndSet(slot, null, buffer)) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * @return the bufferSize
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+	
+	/**
+	 * Spread threads over the slots so that they do not all contend on the first one.
+	 * 
+	 * @param length
+	 * @return
+	 */
+	private static int startSlot(int length) {
+		return (int) (Thread.currentThread().getId() % length);
+	}
+	
+}
@@ -0,0 +1,128 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that keeps a copy of every byte read through it, so that
+ * a body can be parsed as it streams in and still be stored afterwards.
+ * 
+ * @author sangupta
+ *
+ */
+public class CapturingInputStream extends FilterInputStream {
+	
+	/**
+	 * Size of the buffer used to skip and drain
+	 */
+	private static final int CHUNK_SIZE = 4096;
+	
+	/**
+	 * The bytes read so far
+	 */
+	private final ByteArrayOutputStream captured = new ByteArrayOutputStream(CHUNK_SIZE);
+	
+	public CapturingInputStream(InputStream stream) {
+		super(stream);
+	}
+	
+	/**
+	 * @see java.io.FilterInputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		int value = super.read();
+		if(value != -1) {
+			this.captured.write(value);
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * @see java.io.FilterInputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		int read = super.read(bytes, offset, length);
+		if(read > 0) {
+			this.captured.write(bytes, offset, read);
+		}
+		
+		return read;
+	}
+	
+	/**
+	 * Skipped bytes are read, so that they are captured as well.
+	 * 
+	 * @see java.io.FilterInputStream#skip(long)
+	 */
+	@Override
+	public long skip(long count) throws IOException {
+		byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, Math.max(count, 0))];
+		long skipped = 0;
+		while(skipped < count) {
+			int read = read(chunk, 0, (int) Math.min(chunk.length, count - skipped));
+			if(read < 0) {
+				break;
+			}
+			
+			skipped += read;
+		}
+		
+		return skipped;
+	}
+	
+	/**
+	 * Marking is not supported, as a reset would capture bytes twice.
+	 * 
+	 * @see java.io.FilterInputStream#markSupported()
+	 */
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+	
+	/**
+	 * Read the rest of the stream, capturing it, without returning it.
+	 * 
+	 * @throws IOException
+	 */
+	public void drain() throws IOException {
+		byte[] chunk = new byte[CHUNK_SIZE];
+		while(read(chunk, 0, chunk.length) != -1) {
+			// captured as it is read
+		}
+	}
+	
+	/**
+	 * @return a copy of the bytes read so far
+	 */
+	public byte[] toByteArray() {
+		return this.captured.toByteArray();
+	}
+	
+}
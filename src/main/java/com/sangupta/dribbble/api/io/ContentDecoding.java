@@ -0,0 +1,152 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decoding of compressed HTTP response bodies as they stream in, so that the
+ * full decompressed body is never held in memory.
+ * 
+ * @author sangupta
+ *
+ */
+public class ContentDecoding {
+	
+	/**
+	 * Value of the <code>Accept-Encoding</code> header for the encodings
+	 * we know how to decode
+	 */
+	public static final String ACCEPT_ENCODING = "gzip, deflate";
+	
+	/**
+	 * Size of the buffer of compressed bytes fed to the inflater
+	 */
+	private static final int INFLATER_BUFFER_SIZE = 8 * 1024;
+	
+	private ContentDecoding() {
+		// utility class
+	}
+	
+	/**
+	 * Wrap the stream to decode it as per the given <code>Content-Encoding</code>.
+	 * An empty or <code>identity</code> encoding returns the stream as is.
+	 * 
+	 * @param stream
+	 * @param contentEncoding
+	 * @return
+	 * @throws IOException
+	 *             if the encoding is not one we can decode, or the stream does not
+	 *             start as the encoding says
+	 */
+	public static InputStream decode(InputStream stream, String contentEncoding) throws IOException {
+		if(contentEncoding == null) {
+			return stream;
+		}
+		
+		String encoding = contentEncoding.trim().toLowerCase(Locale.ENGLISH);
+		if(encoding.length() == 0 || "identity".equals(encoding)) {
+			return stream;
+		}
+		
+		if("gzip".equals(encoding) || "x-gzip".equals(encoding)) {
+			return new GZIPInputStream(stream, INFLATER_BUFFER_SIZE);
+		}
+		
+		if("deflate".equals(encoding)) {
+			return inflate(stream);
+		}
+		
+		throw new IOException("Unsupported content encoding: " + contentEncoding);
+	}
+	
+	/**
+	 * Inflate a <code>deflate</code> encoded stream. The encoding is meant to be
+	 * zlib-wrapped, but some servers send raw deflate data; tell the two apart
+	 * from the zlib header, if any.
+	 * 
+	 * @param stream
+	 * @return
+	 * @throws IOException
+	 */
+	private static InputStream inflate(InputStream stream) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(stream, 2);
+		
+		byte[] header = new byte[2];
+		int read = 0;
+		while(read < header.length) {
+			int count = pushback.read(header, read, header.length - read);
+			if(count == -1) {
+				break;
+			}
+			
+			read += count;
+		}
+		
+		if(read > 0) {
+			pushback.unread(header, 0, read);
+		}
+		
+		boolean zlib = read == 2 && isZlibHeader(header[0] & 0xff, header[1] & 0xff);
+		return new InflaterStream(pushback, new Inflater(!zlib));
+	}
+	
+	/**
+	 * Check whether the two bytes make a valid zlib header: compression method
+	 * 8 (deflate) and a checksum making the pair a multiple of 31.
+	 * 
+	 * @param cmf
+	 * @param flg
+	 * @return
+	 */
+	private static boolean isZlibHeader(int cmf, int flg) {
+		return (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+	}
+	
+	/**
+	 * An {@link InflaterInputStream} that releases the native memory of its own
+	 * {@link Inflater} when closed.
+	 */
+	private static class InflaterStream extends InflaterInputStream {
+		
+		InflaterStream(InputStream stream, Inflater inflater) {
+			super(stream, inflater, INFLATER_BUFFER_SIZE);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				this.inf.end();
+			}
+		}
+		
+	}
+	
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that counts the bytes read through it.
+ * 
+ * @author sangupta
+ *
+ */
+public class CountingInputStream extends FilterInputStream {
+	
+	/**
+	 * Number of bytes read so far
+	 */
+	private long count = 0;
+	
+	public CountingInputStream(InputStream stream) {
+		super(stream);
+	}
+	
+	/**
+	 * @see java.io.FilterInputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		int value = super.read();
+		if(value != -1) {
+			this.count++;
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * @see java.io.FilterInputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		int read = super.read(bytes, offset, length);
+		if(read > 0) {
+			this.count += read;
+		}
+		
+		return read;
+	}
+	
+	/**
+	 * @see java.io.FilterInputStream#skip(long)
+	 */
+	@Override
+	public long skip(long count) throws IOException {
+		long skipped = super.skip(count);
+		if(skipped > 0) {
+			this.count += skipped;
+		}
+		
+		return skipped;
+	}
+	
+	/**
+	 * Marking is not supported, as a reset would count bytes twice.
+	 * 
+	 * @see java.io.FilterInputStream#markSupported()
+	 */
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+	
+	/**
+	 * @return the number of bytes read so far
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+}
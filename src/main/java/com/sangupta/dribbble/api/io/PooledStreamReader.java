@@ -0,0 +1,238 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link Reader} that decodes an {@link InputStream} straight into the caller's
+ * character array, using a byte buffer borrowed from a {@link BufferPool}. Unlike
+ * {@link java.io.InputStreamReader}, it allocates no buffer of its own, and the
+ * borrowed one is returned to the pool when the reader is closed.
+ * 
+ * Malformed input is replaced, the same way {@link java.io.InputStreamReader} does.
+ * 
+ * @author sangupta
+ *
+ */
+public class PooledStreamReader extends Reader {
+	
+	/**
+	 * The stream being decoded
+	 */
+	private final InputStream stream;
+	
+	/**
+	 * The decoder for the stream charset
+	 */
+	private final CharsetDecoder decoder;
+	
+	/**
+	 * The pool our buffer is returned to
+	 */
+	private final BufferPool pool;
+	
+	/**
+	 * The buffer borrowed from the pool, <code>null</code> once closed
+	 */
+	private byte[] bytes;
+	
+	/**
+	 * View over {@link #bytes}, kept ready for reading by the decoder
+	 */
+	private ByteBuffer input;
+	
+	/**
+	 * Whether the end of the stream has been reached
+	 */
+	private boolean endOfStream = false;
+	
+	/**
+	 * Whether the decoder has been flushed after the end of the stream
+	 */
+	private boolean flushed = false;
+	
+	/**
+	 * Low surrogate left over when a pair was read into a single character, or
+	 * <code>-1</code> if there is none
+	 */
+	private int pending = -1;
+	
+	/**
+	 * Create a reader over the given stream using the default buffer pool.
+	 * 
+	 * @param stream
+	 * @param charset
+	 */
+	public PooledStreamReader(InputStream stream, Charset charset) {
+		this(stream, charset, BufferPool.DEFAULT);
+	}
+	
+	/**
+	 * Create a reader over the given stream borrowing its buffer from the given pool.
+	 * 
+	 * @param stream
+	 * @param charset
+	 * @param pool
+	 */
+	public PooledStreamReader(InputStream stream, Charset charset, BufferPool pool) {
+		this.stream = stream;
+		this.pool = pool;
+		this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		
+		this.bytes = pool.acquire();
+		this.input = ByteBuffer.wrap(this.bytes);
+		this.input.limit(0);
+	}
+	
+	/**
+	 * @see java.io.Reader#read(char[], int, int)
+	 */
+	@Override
+	public int read(char[] chars, int offset, int length) throws IOException {
+		if(this.bytes == null) {
+			throw new IOException("Reader has been closed");
+		}
+		
+		if(length == 0) {
+			return 0;
+		}
+		
+		if(this.pending >= 0) {
+			chars[offset] = (char) this.pending;
+			this.pending = -1;
+			return 1;
+		}
+		
+		CharBuffer output = CharBuffer.wrap(chars, offset, length);
+		while(true) {
+			CoderResult result = this.decoder.decode(this.input, output, this.endOfStream);
+			if(result.isError()) {
+				result.throwException();
+			}
+			
+			int decoded = output.position() - offset;
+			if(decoded > 0) {
+				return decoded;
+			}
+			
+			if(result.isOverflow()) {
+				// a surrogate pair does not fit into a read of one character
+				return readPair(chars, offset);
+			}
+			
+			if(this.endOfStream) {
+				if(!this.flushed) {
+					this.flushed = true;
+					this.decoder.flush(output);
+					
+					decoded = output.position() - offset;
+					if(decoded > 0) {
+						return decoded;
+					}
+				}
+				
+				return -1;
+			}
+			
+			fill();
+		}
+	}
+	
+	/**
+	 * Decode a surrogate pair, return its high half and keep the low one for the
+	 * next read.
+	 * 
+	 * @param chars
+	 * @param offset
+	 * @return
+	 * @throws IOException
+	 */
+	private int readPair(char[] chars, int offset) throws IOException {
+		CharBuffer pair = CharBuffer.allocate(2);
+		
+		CoderResult result = this.decoder.decode(this.input, pair, this.endOfStream);
+		if(result.isError()) {
+			result.throwException();
+		}
+		
+		pair.flip();
+		chars[offset] = pair.get();
+		if(pair.hasRemaining()) {
+			this.pending = pair.get();
+		}
+		
+		return 1;
+	}
+	
+	/**
+	 * Read more bytes from the stream, keeping any undecoded bytes.
+	 * 
+	 * @throws IOException
+	 */
+	private void fill() throws IOException {
+		this.input.compact();
+		if(!this.input.hasRemaining()) {
+			throw new IOException("Buffer too small to decode a single character");
+		}
+		
+		int read = this.stream.read(this.bytes, this.input.position(), this.input.remaining());
+		if(read < 0) {
+			this.endOfStream = true;
+		} else {
+			this.input.position(this.input.position() + read);
+		}
+		
+		this.input.flip();
+	}
+	
+	/**
+	 * Close the underlying stream and return our buffer to the pool.
+	 * 
+	 * @see java.io.Reader#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if(this.bytes == null) {
+			return;
+		}
+		
+		byte[] buffer = this.bytes;
+		this.bytes = null;
+		this.input = null;
+		
+		try {
+			this.stream.close();
+		} finally {
+			this.pool.release(buffer);
+		}
+	}
+	
+}
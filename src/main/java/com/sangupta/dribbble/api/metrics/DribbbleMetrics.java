@@ -0,0 +1,118 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registry of the metrics kept by an invoker, one {@link EndpointMetrics} per
+ * {@link EndpointFamily}. The metrics of a family are created up front, so that
+ * looking them up for an end point does not allocate.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleMetrics {
+	
+	/**
+	 * Metrics by the ordinal of their family
+	 */
+	private final EndpointMetrics[] metrics;
+	
+	public DribbbleMetrics() {
+		EndpointFamily[] families = EndpointFamily.values();
+		
+		this.metrics = new EndpointMetrics[families.length];
+		for(EndpointFamily family : families) {
+			this.metrics[family.ordinal()] = new EndpointMetrics(family);
+		}
+	}
+	
+	/**
+	 * Return the metrics for the family of the given end point.
+	 * 
+	 * @param endPoint
+	 * @return
+	 */
+	public EndpointMetrics forEndpoint(String endPoint) {
+		return get(EndpointFamily.of(endPoint));
+	}
+	
+	/**
+	 * Return the metrics for the given family.
+	 * 
+	 * @param family
+	 * @return
+	 */
+	public EndpointMetrics get(EndpointFamily family) {
+		if(family == null) {
+			throw new IllegalArgumentException("Endpoint family cannot be null.");
+		}
+		
+		return this.metrics[family.ordinal()];
+	}
+	
+	/**
+	 * Take a snapshot of the metrics of all families that have seen any request.
+	 * 
+	 * @return
+	 */
+	public Map<EndpointFamily, EndpointSnapshot> snapshot() {
+		Map<EndpointFamily, EndpointSnapshot> snapshot = new EnumMap<EndpointFamily, EndpointSnapshot>(EndpointFamily.class);
+		for(EndpointMetrics endpoint : this.metrics) {
+			EndpointSnapshot copy = endpoint.snapshot();
+			if(copy.getResponses() > 0 || copy.getErrors() > 0 || copy.getRejections() > 0 || copy.getPermitWait().getCount() > 0) {
+				snapshot.put(endpoint.getFamily(), copy);
+			}
+		}
+		
+		return snapshot;
+	}
+	
+	/**
+	 * @return the response body bytes received so far by all families, before
+	 *         decompression
+	 */
+	public long getCompressedBytes() {
+		long total = 0;
+		for(EndpointMetrics endpoint : this.metrics) {
+			total += endpoint.getCompressedBytes();
+		}
+		
+		return total;
+	}
+	
+	/**
+	 * @return the response body bytes parsed so far by all families, after
+	 *         decompression
+	 */
+	public long getUncompressedBytes() {
+		long total = 0;
+		for(EndpointMetrics endpoint : this.metrics) {
+			total += endpoint.getUncompressedBytes();
+		}
+		
+		return total;
+	}
+	
+}
@@ -0,0 +1,193 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+/**
+ * The families of Dribbble API end points that metrics are kept for. End points
+ * are put into a family by their shape, whatever the shot, player or list they
+ * are for.
+ * 
+ * @author sangupta
+ *
+ */
+public enum EndpointFamily {
+	
+	SHOT("shots/{id}"),
+	
+	SHOTS_LIST("shots/{list}"),
+	
+	SHOT_COMMENTS("shots/{id}/comments"),
+	
+	SHOT_REBOUNDS("shots/{id}/rebounds"),
+	
+	PLAYER("players/{id}"),
+	
+	PLAYER_SHOTS("players/{id}/shots"),
+	
+	PLAYER_SHOTS_FOLLOWING("players/{id}/shots/following"),
+	
+	PLAYER_SHOTS_LIKES("players/{id}/shots/likes"),
+	
+	PLAYER_FOLLOWERS("players/{id}/followers"),
+	
+	PLAYER_FOLLOWING("players/{id}/following"),
+	
+	PLAYER_DRAFTEES("players/{id}/draftees"),
+	
+	OTHER("other");
+	
+	/**
+	 * The shape of the end points in this family
+	 */
+	private final String path;
+	
+	private EndpointFamily(String path) {
+		this.path = path;
+	}
+	
+	/**
+	 * Return the family of the given end point, such as <code>shots/21603/comments</code>.
+	 * The end point is matched in place, without allocating.
+	 * 
+	 * @param endPoint
+	 * @return
+	 */
+	public static EndpointFamily of(String endPoint) {
+		if(endPoint == null) {
+			return OTHER;
+		}
+		
+		int start = endPoint.startsWith("/") ? 1 : 0;
+		
+		if(endPoint.startsWith("shots/", start)) {
+			int idStart = start + 6;
+			int idEnd = segmentEnd(endPoint, idStart);
+			if(idEnd == idStart) {
+				return OTHER;
+			}
+			
+			if(idEnd == endPoint.length()) {
+				return isNumber(endPoint, idStart, idEnd) ? SHOT : SHOTS_LIST;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/comments")) {
+				return SHOT_COMMENTS;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/rebounds")) {
+				return SHOT_REBOUNDS;
+			}
+			
+			return OTHER;
+		}
+		
+		if(endPoint.startsWith("players/", start)) {
+			int idStart = start + 8;
+			int idEnd = segmentEnd(endPoint, idStart);
+			if(idEnd == idStart) {
+				return OTHER;
+			}
+			
+			if(idEnd == endPoint.length()) {
+				return PLAYER;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/shots")) {
+				return PLAYER_SHOTS;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/shots/following")) {
+				return PLAYER_SHOTS_FOLLOWING;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/shots/likes")) {
+				return PLAYER_SHOTS_LIKES;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/followers")) {
+				return PLAYER_FOLLOWERS;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/following")) {
+				return PLAYER_FOLLOWING;
+			}
+			
+			if(endsWith(endPoint, idEnd, "/draftees")) {
+				return PLAYER_DRAFTEES;
+			}
+		}
+		
+		return OTHER;
+	}
+	
+	/**
+	 * Return the index at which the path segment starting at the given index ends.
+	 * 
+	 * @param endPoint
+	 * @param from
+	 * @return
+	 */
+	private static int segmentEnd(String endPoint, int from) {
+		int end = endPoint.indexOf('/', from);
+		return end == -1 ? endPoint.length() : end;
+	}
+	
+	/**
+	 * Check whether the end point ends with the given suffix, starting exactly at
+	 * the given index.
+	 * 
+	 * @param endPoint
+	 * @param from
+	 * @param suffix
+	 * @return
+	 */
+	private static boolean endsWith(String endPoint, int from, String suffix) {
+		return endPoint.length() - from == suffix.length() && endPoint.startsWith(suffix, from);
+	}
+	
+	/**
+	 * Check whether the characters in the given range are all digits.
+	 * 
+	 * @param endPoint
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	private static boolean isNumber(String endPoint, int from, int to) {
+		for(int index = from; index < to; index++) {
+			char c = endPoint.charAt(index);
+			if(c < '0' || c > '9') {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @return the path
+	 */
+	public String getPath() {
+		return path;
+	}
+	
+}
@@ -0,0 +1,194 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics kept for one {@link EndpointFamily}. Times are recorded in microseconds.
+ * All recording methods are thread-safe and do not allocate.
+ * 
+ * @author sangupta
+ *
+ */
+public class EndpointMetrics {
+	
+	/**
+	 * Highest time told apart from others, in microseconds
+	 */
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+	
+	/**
+	 * Status codes counted one by one; others are counted together
+	 */
+	private static final int MAX_STATUS_CODE = 599;
+	
+	/**
+	 * The family these metrics are for
+	 */
+	private final EndpointFamily family;
+	
+	/**
+	 * Time from sending a request to having parsed its response
+	 */
+	private final Histogram latency = new Histogram(HIGHEST_TRACKABLE_MICROS);
+	
+	/**
+	 * Time spent waiting for a rate-limit permit
+	 */
+	private final Histogram permitWait = new Histogram(HIGHEST_TRACKABLE_MICROS);
+	
+	/**
+	 * Time spent parsing response bodies
+	 */
+	private final Histogram parseTime = new Histogram(HIGHEST_TRACKABLE_MICROS);
+	
+	/**
+	 * Number of responses, by status code
+	 */
+	private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS_CODE + 1);
+	
+	/**
+	 * Number of requests that failed without a response
+	 */
+	private final LongAdder errors = new LongAdder();
+	
+	/**
+	 * Number of requests that got no rate-limit permit
+	 */
+	private final LongAdder rejections = new LongAdder();
+	
+	/**
+	 * Number of requests made again after a transient failure
+	 */
+	private final LongAdder retries = new LongAdder();
+	
+	/**
+	 * Number of requests not made as the circuit breaker was open
+	 */
+	private final LongAdder shortCircuits = new LongAdder();
+	
+	/**
+	 * Response body bytes received, before decompression
+	 */
+	private final LongAdder compressedBytes = new LongAdder();
+	
+	/**
+	 * Response body bytes parsed, after decompression
+	 */
+	private final LongAdder uncompressedBytes = new LongAdder();
+	
+	EndpointMetrics(EndpointFamily family) {
+		this.family = family;
+	}
+	
+	public void recordLatency(long nanos) {
+		this.latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+	
+	public void recordPermitWait(long nanos) {
+		this.permitWait.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+	
+	public void recordParseTime(long nanos) {
+		this.parseTime.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+	
+	/**
+	 * Count a response with the given status code. Codes outside the valid range
+	 * are counted under zero.
+	 * 
+	 * @param statusCode
+	 */
+	public void recordStatus(int statusCode) {
+		if(statusCode < 0 || statusCode > MAX_STATUS_CODE) {
+			statusCode = 0;
+		}
+		
+		this.statusCounts.incrementAndGet(statusCode);
+	}
+	
+	public void recordError() {
+		this.errors.increment();
+	}
+	
+	public void recordRejection() {
+		this.rejections.increment();
+	}
+	
+	public void recordRetry() {
+		this.retries.increment();
+	}
+	
+	public void recordShortCircuit() {
+		this.shortCircuits.increment();
+	}
+	
+	public void recordBytes(long compressed, long uncompressed) {
+		this.compressedBytes.add(compressed);
+		this.uncompressedBytes.add(uncompressed);
+	}
+	
+	/**
+	 * Take a snapshot of the metrics recorded so far.
+	 * 
+	 * @return
+	 */
+	public EndpointSnapshot snapshot() {
+		Map<Integer, Long> statuses = new TreeMap<Integer, Long>();
+		for(int statusCode = 0; statusCode <= MAX_STATUS_CODE; statusCode++) {
+			long count = this.statusCounts.get(statusCode);
+			if(count > 0) {
+				statuses.put(statusCode, count);
+			}
+		}
+		
+		return new EndpointSnapshot(this.family, this.latency.snapshot(), this.permitWait.snapshot(), this.parseTime.snapshot(), statuses,
+				this.errors.sum(), this.rejections.sum(), this.retries.sum(), this.shortCircuits.sum(), this.compressedBytes.sum(), this.uncompressedBytes.sum());
+	}
+	
+	/**
+	 * @return the response body bytes received so far, before decompression
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes.sum();
+	}
+	
+	/**
+	 * @return the response body bytes parsed so far, after decompression
+	 */
+	public long getUncompressedBytes() {
+		return uncompressedBytes.sum();
+	}
+	
+	/**
+	 * @return the family
+	 */
+	public EndpointFamily getFamily() {
+		return family;
+	}
+	
+}
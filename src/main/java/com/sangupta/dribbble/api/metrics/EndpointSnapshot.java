@@ -0,0 +1,177 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A point-in-time copy of the {@link EndpointMetrics} of one family. Times are
+ * in microseconds.
+ * 
+ * @author sangupta
+ *
+ */
+public class EndpointSnapshot {
+	
+	private final EndpointFamily family;
+	
+	private final HistogramSnapshot latency;
+	
+	private final HistogramSnapshot permitWait;
+	
+	private final HistogramSnapshot parseTime;
+	
+	private final Map<Integer, Long> statusCounts;
+	
+	private final long errors;
+	
+	private final long rejections;
+	
+	private final long retries;
+	
+	private final long shortCircuits;
+	
+	private final long compressedBytes;
+	
+	private final long uncompressedBytes;
+	
+	EndpointSnapshot(EndpointFamily family, HistogramSnapshot latency, HistogramSnapshot permitWait, HistogramSnapshot parseTime,
+			Map<Integer, Long> statusCounts, long errors, long rejections, long retries, long shortCircuits, long compressedBytes, long uncompressedBytes) {
+		
+		this.family = family;
+		this.latency = latency;
+		this.permitWait = permitWait;
+		this.parseTime = parseTime;
+		this.statusCounts = Collections.unmodifiableMap(statusCounts);
+		this.errors = errors;
+		this.rejections = rejections;
+		this.retries = retries;
+		this.shortCircuits = shortCircuits;
+		this.compressedBytes = compressedBytes;
+		this.uncompressedBytes = uncompressedBytes;
+	}
+	
+	/**
+	 * Return the number of requests that got a response.
+	 * 
+	 * @return
+	 */
+	public long getResponses() {
+		long responses = 0;
+		for(Long count : this.statusCounts.values()) {
+			responses += count;
+		}
+		
+		return responses;
+	}
+	
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.family.getPath() + ": statuses=" + this.statusCounts + ", errors=" + this.errors + ", rejections=" + this.rejections + ", retries=" + this.retries + ", shortCircuits=" + this.shortCircuits
+				+ ", compressedBytes=" + this.compressedBytes + ", uncompressedBytes=" + this.uncompressedBytes
+				+ ", latency=[" + this.latency + "], permitWait=[" + this.permitWait + "], parseTime=[" + this.parseTime + "]";
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the family
+	 */
+	public EndpointFamily getFamily() {
+		return family;
+	}
+	
+	/**
+	 * @return the latency
+	 */
+	public HistogramSnapshot getLatency() {
+		return latency;
+	}
+	
+	/**
+	 * @return the permitWait
+	 */
+	public HistogramSnapshot getPermitWait() {
+		return permitWait;
+	}
+	
+	/**
+	 * @return the parseTime
+	 */
+	public HistogramSnapshot getParseTime() {
+		return parseTime;
+	}
+	
+	/**
+	 * @return the statusCounts
+	 */
+	public Map<Integer, Long> getStatusCounts() {
+		return statusCounts;
+	}
+	
+	/**
+	 * @return the errors
+	 */
+	public long getErrors() {
+		return errors;
+	}
+	
+	/**
+	 * @return the rejections
+	 */
+	public long getRejections() {
+		return rejections;
+	}
+	
+	/**
+	 * @return the retries
+	 */
+	public long getRetries() {
+		return retries;
+	}
+	
+	/**
+	 * @return the shortCircuits
+	 */
+	public long getShortCircuits() {
+		return shortCircuits;
+	}
+	
+	/**
+	 * @return the compressedBytes
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes;
+	}
+	
+	/**
+	 * @return the uncompressedBytes
+	 */
+	public long getUncompressedBytes() {
+		return uncompressedBytes;
+	}
+	
+}
@@ -0,0 +1,155 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A log-linear histogram of non-negative values, in the manner of HdrHistogram.
+ * Each power of two is split into 32 equally wide buckets, so that any recorded
+ * value is known to within about 3%, whatever its magnitude. Values above the
+ * highest trackable value are recorded as that value.
+ * 
+ * Recording is thread-safe, lock-free and does not allocate.
+ * 
+ * @author sangupta
+ *
+ */
+public class Histogram {
+	
+	/**
+	 * Number of bits of a value kept within its power of two
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+	
+	/**
+	 * Number of buckets each power of two is split into
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	
+	/**
+	 * The highest value told apart from others
+	 */
+	private final long highestTrackableValue;
+	
+	/**
+	 * Number of values recorded, by bucket
+	 */
+	private final AtomicLongArray counts;
+	
+	/**
+	 * Sum of the values recorded
+	 */
+	private final LongAdder sum = new LongAdder();
+	
+	/**
+	 * The highest value recorded
+	 */
+	private final AtomicLong max = new AtomicLong();
+	
+	public Histogram(long highestTrackableValue) {
+		if(highestTrackableValue < 1) {
+			throw new IllegalArgumentException("Highest trackable value must be greater than zero.");
+		}
+		
+		this.highestTrackableValue = highestTrackableValue;
+		this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+	}
+	
+	/**
+	 * Record a value.
+	 * 
+	 * @param value
+	 */
+	public void record(long value) {
+		if(value < 0) {
+			value = 0;
+		} else if(value > this.highestTrackableValue) {
+			value = this.highestTrackableValue;
+		}
+		
+		this.counts.incrementAndGet(indexOf(value));
+		this.sum.add(value);
+		
+		long current;
+		while(value > (current = this.max.get())) {
+			if(this.max.compareAndSet(current, value)) {
+				break;
+			}
+		}
+	}
+	
+	/**
+	 * Take a snapshot of the values recorded so far.
+	 * 
+	 * @return
+	 */
+	public HistogramSnapshot snapshot() {
+		long[] copy = new long[this.counts.length()];
+		for(int index = 0; index < copy.length; index++) {
+			copy[index] = this.counts.get(index);
+		}
+		
+		return new HistogramSnapshot(copy, this.sum.sum(), this.max.get());
+	}
+	
+	/**
+	 * Return the index of the bucket for the given value.
+	 * 
+	 * @param value
+	 * @return
+	 */
+	static int indexOf(long value) {
+		if(value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+	}
+	
+	/**
+	 * Return the highest value that falls into the bucket at the given index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	static long highestValueAt(int index) {
+		if(index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		
+		int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+	
+	/**
+	 * @return the highestTrackableValue
+	 */
+	public long getHighestTrackableValue() {
+		return highestTrackableValue;
+	}
+	
+}
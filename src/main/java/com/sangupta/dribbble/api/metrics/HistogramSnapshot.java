@@ -0,0 +1,137 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+/**
+ * A point-in-time copy of a {@link Histogram}.
+ * 
+ * @author sangupta
+ *
+ */
+public class HistogramSnapshot {
+	
+	/**
+	 * Number of values recorded, by bucket
+	 */
+	private final long[] counts;
+	
+	/**
+	 * Number of values recorded
+	 */
+	private final long count;
+	
+	/**
+	 * Sum of the values recorded
+	 */
+	private final long sum;
+	
+	/**
+	 * The highest value recorded
+	 */
+	private final long max;
+	
+	HistogramSnapshot(long[] counts, long sum, long max) {
+		long count = 0;
+		for(long bucket : counts) {
+			count += bucket;
+		}
+		
+		this.counts = counts;
+		this.count = count;
+		this.sum = sum;
+		this.max = max;
+	}
+	
+	/**
+	 * Return the value below which the given percentage of the recorded values
+	 * fall, to within the precision of the histogram.
+	 * 
+	 * @param percentile between 0 and 100
+	 * @return
+	 */
+	public long getPercentile(double percentile) {
+		if(percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+		}
+		
+		if(this.count == 0) {
+			return 0;
+		}
+		
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+		long seen = 0;
+		for(int index = 0; index < this.counts.length; index++) {
+			seen += this.counts[index];
+			if(seen >= target) {
+				return Math.min(Histogram.highestValueAt(index), this.max);
+			}
+		}
+		
+		return this.max;
+	}
+	
+	/**
+	 * Return the mean of the recorded values.
+	 * 
+	 * @return
+	 */
+	public double getMean() {
+		if(this.count == 0) {
+			return 0;
+		}
+		
+		return (double) this.sum / this.count;
+	}
+	
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "count=" + this.count + ", mean=" + Math.round(getMean()) + ", p50=" + getPercentile(50) + ", p90=" + getPercentile(90)
+				+ ", p99=" + getPercentile(99) + ", p999=" + getPercentile(99.9) + ", max=" + this.max;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * @return the sum
+	 */
+	public long getSum() {
+		return sum;
+	}
+	
+	/**
+	 * @return the max
+	 */
+	public long getMax() {
+		return max;
+	}
+	
+}
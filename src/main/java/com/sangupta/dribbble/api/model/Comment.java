@@ -61,7 +61,7 @@ public class Comment implements Comparable<Comment> {
 	 */
 	@Override
 	public int hashCode() {
-		return Long.valueOf(id).hashCode();
+		return Long.hashCode(id);
 	}
 	
 	/**
@@ -80,7 +80,7 @@ public class Comment implements Comparable<Comment> {
 			return -1;
 		}
 		
-		return Long.valueOf(id).compareTo(Long.valueOf(o.id));
+		return Long.compare(id, o.id);
 	}
 
 	// Usual accessors follow
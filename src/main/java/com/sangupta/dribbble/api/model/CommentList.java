@@ -29,7 +29,7 @@ import java.util.List;
  * @author sangupta
  *
  */
-public class CommentList {
+public class CommentList implements PagedList<Comment> {
 	
 	private int page;
 	
@@ -41,6 +41,13 @@ public class CommentList {
 	
 	private List<Comment> comments;
 	
+	/**
+	 * @see com.sangupta.dribbble.api.model.PagedList#getItems()
+	 */
+	public List<Comment> getItems() {
+		return comments;
+	}
+	
 	// Usual accessors follow
 
 	/**
@@ -0,0 +1,60 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.model;
+
+import java.util.List;
+
+/**
+ * One page of a paginated list from Dribbble.com
+ * 
+ * @author sangupta
+ *
+ * @param <T> the type of the items on the page
+ */
+public interface PagedList<T> {
+	
+	/**
+	 * @return the number of this page, starting at one
+	 */
+	public int getPage();
+	
+	/**
+	 * @return the number of pages in the list
+	 */
+	public int getPages();
+	
+	/**
+	 * @return the number of items per page
+	 */
+	public int getPerPage();
+	
+	/**
+	 * @return the number of items in the list
+	 */
+	public long getTotal();
+	
+	/**
+	 * @return the items on this page
+	 */
+	public List<T> getItems();
+	
+}
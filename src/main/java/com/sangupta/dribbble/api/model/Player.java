@@ -89,7 +89,7 @@ public class Player implements Comparable<Player> {
 	 */
 	@Override
 	public int hashCode() {
-		return Long.valueOf(this.id).hashCode();
+		return Long.hashCode(this.id);
 	}
 	
 	/**
@@ -108,7 +108,7 @@ public class Player implements Comparable<Player> {
 			return -1;
 		}
 		
-		return Long.valueOf(this.id).compareTo(Long.valueOf(o.id));
+		return Long.compare(this.id, o.id);
 	}
 	
 	// Usual accessors follow
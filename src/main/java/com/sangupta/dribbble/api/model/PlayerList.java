@@ -29,7 +29,7 @@ import java.util.List;
  * @author sangupta
  *
  */
-public class PlayerList {
+public class PlayerList implements PagedList<Player> {
 	
 	private int page;
 	
@@ -41,6 +41,13 @@ public class PlayerList {
 	
 	private List<Player> players;
 	
+	/**
+	 * @see com.sangupta.dribbble.api.model.PagedList#getItems()
+	 */
+	public List<Player> getItems() {
+		return players;
+	}
+	
 	// Usual accessors follow
 
 	/**
@@ -81,7 +81,7 @@ public class Shot implements Comparable<Shot> {
 	 */
 	@Override
 	public int hashCode() {
-		return Long.valueOf(this.id).hashCode();
+		return Long.hashCode(this.id);
 	}
 	
 	/**
@@ -100,7 +100,7 @@ public class Shot implements Comparable<Shot> {
 			return -1;
 		}
 		
-		return Long.valueOf(this.id).compareTo(o.id);
+		return Long.compare(this.id, o.id);
 	}
 
 	// Usual accessors follow
@@ -29,7 +29,7 @@ import java.util.List;
  * @author sangupta
  *
  */
-public class ShotList {
+public class ShotList implements PagedList<Shot> {
 	
 	private int page;
 	
@@ -41,6 +41,13 @@ public class ShotList {
 	
 	private List<Shot> shots;
 	
+	/**
+	 * @see com.sangupta.dribbble.api.model.PagedList#getItems()
+	 */
+	public List<Shot> getItems() {
+		return shots;
+	}
+	
 	// Usual accessors follow
 
 	/**
@@ -0,0 +1,57 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.paging;
+
+/**
+ * Exception that signifies that a page of a paginated list could not be
+ * fetched, and thus that the items read are not all the list holds.
+ * 
+ * @author sangupta
+ *
+ */
+public class MissingPageException extends RuntimeException {
+	
+	/**
+	 * Generated via Eclipse
+	 */
+	private static final long serialVersionUID = -6127540393614287317L;
+	
+	/**
+	 * The page that could not be fetched
+	 */
+	private final int page;
+	
+	public MissingPageException(int page) {
+		super("Unable to fetch page " + page + ".");
+		this.page = page;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the page that could not be fetched
+	 */
+	public int getPage() {
+		return page;
+	}
+	
+}
@@ -0,0 +1,234 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.paging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.sangupta.dribbble.api.model.PagedList;
+
+/**
+ * Fetches all pages of a paginated Dribbble list concurrently. The first page is
+ * fetched alone to learn the number of pages; the rest are then fetched by a
+ * bounded number of concurrent workers, each moving on to the next unclaimed page
+ * as soon as its current one arrives. Every fetch still draws its permit from the
+ * rate limiter, so the parallelism only bounds how many requests are in flight.
+ * 
+ * The items are merged in page order. Should a page after the first not be
+ * fetched, the pages after it are no longer asked for, and the result fails with
+ * a {@link MissingPageException} rather than hold only some of the items. Should a
+ * fetch fail with an error, the result fails with it. Fetchers should thus wait
+ * for rate-limit permits rather than be turned away.
+ * 
+ * @author sangupta
+ *
+ * @param <T> the type of the items
+ * @param <L> the type of a page
+ */
+public class PageFanOut<T, L extends PagedList<T>> {
+	
+	/**
+	 * Fetches the pages
+	 */
+	private final PageFetcher<L> fetcher;
+	
+	/**
+	 * Number of pages in the list
+	 */
+	private final int pages;
+	
+	/**
+	 * Fetched pages, indexed by page number
+	 */
+	private final AtomicReferenceArray<L> fetched;
+	
+	/**
+	 * The next page not yet claimed by a worker
+	 */
+	private final AtomicInteger nextPage = new AtomicInteger(2);
+	
+	/**
+	 * The first page that could not be fetched, if any
+	 */
+	private final AtomicInteger missingPage = new AtomicInteger(Integer.MAX_VALUE);
+	
+	/**
+	 * Number of workers still running
+	 */
+	private final AtomicInteger workers = new AtomicInteger();
+	
+	/**
+	 * The merged result
+	 */
+	private final CompletableFuture<List<T>> result = new CompletableFuture<List<T>>();
+	
+	private PageFanOut(PageFetcher<L> fetcher, L first) {
+		this.fetcher = fetcher;
+		this.pages = Math.max(1, first.getPages());
+		this.fetched = new AtomicReferenceArray<L>(this.pages + 1);
+		this.fetched.set(1, first);
+	}
+	
+	/**
+	 * Fetch all pages with at most the given number of requests in flight, and
+	 * wait for the merged items.
+	 * 
+	 * @param fetcher
+	 * @param parallelism
+	 * @return the items of all pages in order, or <code>null</code> if the first
+	 *         page could not be fetched
+	 * @throws MissingPageException
+	 *             if a later page could not be fetched
+	 */
+	public static <T, L extends PagedList<T>> List<T> fetchAll(PageFetcher<L> fetcher, int parallelism) {
+		return Pages.await(fetchAllAsync(fetcher, parallelism), "all pages");
+	}
+	
+	/**
+	 * Fetch all pages with at most the given number of requests in flight.
+	 * 
+	 * @param fetcher
+	 * @param parallelism
+	 * @return future completing with the items of all pages in order, with
+	 *         <code>null</code> if the first page could not be fetched, or
+	 *         exceptionally with a {@link MissingPageException} if a later page
+	 *         could not be fetched
+	 */
+	public static <T, L extends PagedList<T>> CompletableFuture<List<T>> fetchAllAsync(final PageFetcher<L> fetcher, final int parallelism) {
+		if(fetcher == null) {
+			throw new IllegalArgumentException("Page fetcher cannot be null.");
+		}
+		
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be greater than zero.");
+		}
+		
+		final CompletableFuture<List<T>> result = new CompletableFuture<List<T>>();
+		fetcher.fetch(1).whenComplete((first, error) -> {
+			if(error != null) {
+				result.completeExceptionally(error);
+				return;
+			}
+			
+			if(first == null) {
+				result.complete(null);
+				return;
+			}
+			
+			PageFanOut<T, L> fanOut = new PageFanOut<T, L>(fetcher, first);
+			fanOut.start(parallelism);
+			fanOut.result.whenComplete((items, failure) -> {
+				if(failure != null) {
+					result.completeExceptionally(failure);
+				} else {
+					result.complete(items);
+				}
+			});
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Start the workers over the remaining pages.
+	 * 
+	 * @param parallelism
+	 */
+	private void start(int parallelism) {
+		int count = Math.min(parallelism, this.pages - 1);
+		if(count < 1) {
+			finish();
+			return;
+		}
+		
+		this.workers.set(count);
+		for(int index = 0; index < count; index++) {
+			fetchNext();
+		}
+	}
+	
+	/**
+	 * Claim the next page and fetch it, or retire the worker when none is left.
+	 */
+	private void fetchNext() {
+		final int page = this.nextPage.getAndIncrement();
+		if(this.result.isDone() || page > this.pages || page > this.missingPage.get()) {
+			if(this.workers.decrementAndGet() == 0) {
+				finish();
+			}
+			
+			return;
+		}
+		
+		CompletableFuture<L> future;
+		try {
+			future = this.fetcher.fetch(page);
+		} catch(RuntimeException e) {
+			this.result.completeExceptionally(e);
+			return;
+		}
+		
+		future.whenComplete((list, error) -> {
+			if(error != null) {
+				this.result.completeExceptionally(error);
+				return;
+			}
+			
+			if(list == null) {
+				this.missingPage.accumulateAndGet(page, Math::min);
+			} else {
+				this.fetched.set(page, list);
+			}
+			
+			fetchNext();
+		});
+	}
+	
+	/**
+	 * Merge the items of the fetched pages in order, or fail if one is missing.
+	 */
+	private void finish() {
+		if(this.result.isDone()) {
+			return;
+		}
+		
+		int missing = this.missingPage.get();
+		if(missing != Integer.MAX_VALUE) {
+			this.result.completeExceptionally(new MissingPageException(missing));
+			return;
+		}
+		
+		List<T> items = new ArrayList<T>();
+		for(int page = 1; page <= this.pages; page++) {
+			L list = this.fetched.get(page);
+			if(list.getItems() != null) {
+				items.addAll(list.getItems());
+			}
+		}
+		
+		this.result.complete(items);
+	}
+	
+}
@@ -0,0 +1,181 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.paging;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.sangupta.dribbble.api.model.PagedList;
+
+/**
+ * An {@link Iterator} over the items of all pages of a paginated Dribbble list.
+ * As soon as a page arrives, the fetch of the next one is started, so that it
+ * comes in while the items of the current page are being consumed. Iteration
+ * stops after the last page, or at an empty page.
+ * 
+ * A page that could not be fetched is not taken for the end of the list: a
+ * {@link MissingPageException} is thrown from {@link #hasNext()} or
+ * {@link #next()} in its place, as are errors raised while fetching a page, such
+ * as a {@link com.sangupta.dribbble.api.DribbbleApiRateLimitException}. Fetchers
+ * should thus wait for rate-limit permits rather than be turned away.
+ * 
+ * Instances are not thread-safe. Close an iterator that is abandoned midway to
+ * cancel its prefetch.
+ * 
+ * @author sangupta
+ *
+ * @param <T> the type of the items
+ */
+public class PageIterator<T> implements Iterator<T>, Closeable {
+	
+	/**
+	 * Fetches the pages
+	 */
+	private final PageFetcher<? extends PagedList<T>> fetcher;
+	
+	/**
+	 * The page being fetched and not yet consumed, if any
+	 */
+	private CompletableFuture<? extends PagedList<T>> pending;
+	
+	/**
+	 * The number of the page being fetched
+	 */
+	private int pendingPage;
+	
+	/**
+	 * Iterator over the items of the current page
+	 */
+	private Iterator<T> items = Collections.<T>emptyList().iterator();
+	
+	/**
+	 * Create an iterator starting at the given page. The first page is asked
+	 * for right away.
+	 * 
+	 * @param fetcher
+	 * @param firstPage
+	 */
+	public PageIterator(PageFetcher<? extends PagedList<T>> fetcher, int firstPage) {
+		if(fetcher == null) {
+			throw new IllegalArgumentException("Page fetcher cannot be null.");
+		}
+		
+		if(firstPage < 1) {
+			throw new IllegalArgumentException("Page number must be greater than zero.");
+		}
+		
+		this.fetcher = fetcher;
+		this.pendingPage = firstPage;
+		this.pending = fetcher.fetch(firstPage);
+	}
+	
+	/**
+	 * Create a sequential, ordered stream over the items of all pages, starting at
+	 * the given page. Closing the stream cancels any prefetch in flight.
+	 * 
+	 * @param fetcher
+	 * @param firstPage
+	 * @return
+	 */
+	public static <T, L extends PagedList<T>> Stream<T> stream(PageFetcher<L> fetcher, int firstPage) {
+		final PageIterator<T> iterator = new PageIterator<T>(fetcher, firstPage);
+		
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+			
+			public void run() {
+				iterator.close();
+			}
+			
+		});
+	}
+	
+	/**
+	 * @see java.util.Iterator#hasNext()
+	 */
+	public boolean hasNext() {
+		while(!this.items.hasNext()) {
+			if(this.pending == null) {
+				return false;
+			}
+			
+			CompletableFuture<? extends PagedList<T>> future = this.pending;
+			this.pending = null;
+			
+			PagedList<T> list = Pages.await(future, "page " + this.pendingPage);
+			
+			if(list == null) {
+				throw new MissingPageException(this.pendingPage);
+			}
+			
+			List<T> pageItems = list.getItems();
+			if(pageItems == null || pageItems.isEmpty()) {
+				return false;
+			}
+			
+			// prefetch the next page while this one is consumed
+			if(this.pendingPage < list.getPages()) {
+				this.pendingPage++;
+				this.pending = this.fetcher.fetch(this.pendingPage);
+			}
+			
+			this.items = pageItems.iterator();
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @see java.util.Iterator#next()
+	 */
+	public T next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		return this.items.next();
+	}
+	
+	/**
+	 * Stop iterating, cancelling the prefetch in flight if any.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() {
+		CompletableFuture<? extends PagedList<T>> future = this.pending;
+		this.pending = null;
+		this.items = Collections.<T>emptyList().iterator();
+		
+		if(future != null) {
+			future.cancel(false);
+		}
+	}
+	
+}
@@ -0,0 +1,67 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.paging;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Helpers shared by the paging classes.
+ * 
+ * @author sangupta
+ *
+ */
+class Pages {
+	
+	private Pages() {
+		// utility class
+	}
+	
+	/**
+	 * Wait for the future to complete, rethrowing the error it failed with.
+	 * 
+	 * @param future
+	 * @param what describes what is waited for, in error messages
+	 * @return
+	 */
+	static <V> V await(CompletableFuture<V> future, String what) {
+		try {
+			return future.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(false);
+			throw new IllegalStateException("Interrupted while waiting for " + what + ".", e);
+		} catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			
+			if(cause instanceof Error) {
+				throw (Error) cause;
+			}
+			
+			throw new IllegalStateException("Unable to fetch " + what + ".", cause);
+		}
+	}
+	
+}
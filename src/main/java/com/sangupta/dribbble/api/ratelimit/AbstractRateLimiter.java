@@ -0,0 +1,176 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Base class for token-bucket rate limiters. The bucket hands out <code>burst</code>
+ * permits immediately and refills the remaining <code>permits - burst</code>
+ * evenly across the period, so that no window of one period ever sees more than
+ * <code>permits</code> requests.
+ * 
+ * The bucket is implemented as the generic cell rate algorithm: the only state is
+ * the theoretical arrival time of the next request. Sub-classes decide where that
+ * state lives and how it is updated atomically, and implement {@link #reserve(long)}
+ * and {@link #refund()} using {@link #waitNanos(long, long)}, {@link #nextArrival(long, long)}
+ * and {@link #refundedArrival(long, long)}.
+ * 
+ * @author sangupta
+ *
+ */
+public abstract class AbstractRateLimiter implements RateLimiter {
+	
+	/**
+	 * Nanoseconds between two permits once the burst has been used up
+	 */
+	protected final long intervalNanos;
+	
+	/**
+	 * How far ahead of the current time the theoretical arrival time may run,
+	 * which is what allows a burst
+	 */
+	protected final long toleranceNanos;
+	
+	/**
+	 * Create a limiter that allows <code>permits</code> requests in any window of
+	 * the given <code>period</code>, <code>burst</code> of which may be used back
+	 * to back.
+	 * 
+	 * @param permits
+	 * @param period
+	 * @param unit
+	 * @param burst
+	 */
+	protected AbstractRateLimiter(int permits, long period, TimeUnit unit, int burst) {
+		if(permits < 2) {
+			throw new IllegalArgumentException("Permits must be greater than one.");
+		}
+		
+		if(period < 1) {
+			throw new IllegalArgumentException("Period must be greater than zero.");
+		}
+		
+		if(burst < 1 || burst >= permits) {
+			throw new IllegalArgumentException("Burst must be between one and permits - 1.");
+		}
+		
+		this.intervalNanos = unit.toNanos(period) / (permits - burst);
+		this.toleranceNanos = this.intervalNanos * (burst - 1);
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#tryAcquire()
+	 */
+	public boolean tryAcquire() {
+		return reserve(0) == 0;
+	}
+	
+	/**
+	 * Returns <code>false</code> right away if the wait would be longer than the
+	 * timeout.
+	 * 
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#tryAcquire(long, java.util.concurrent.TimeUnit)
+	 */
+	public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+		long waitNanos = reserve(unit.toNanos(timeout));
+		if(waitNanos < 0) {
+			return false;
+		}
+		
+		park(waitNanos);
+		return true;
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#acquire()
+	 */
+	public void acquire() throws InterruptedException {
+		park(reserve(Long.MAX_VALUE));
+	}
+	
+	/**
+	 * Compute how long a request arriving at <code>now</code> has to wait given
+	 * the current theoretical arrival time.
+	 * 
+	 * @param arrival
+	 * @param now
+	 * @return
+	 */
+	protected final long waitNanos(long arrival, long now) {
+		long waitNanos = arrival - this.toleranceNanos - now;
+		if(waitNanos < 0) {
+			return 0;
+		}
+		
+		return waitNanos;
+	}
+	
+	/**
+	 * Compute the theoretical arrival time after admitting a request at <code>now</code>.
+	 * 
+	 * @param arrival
+	 * @param now
+	 * @return
+	 */
+	protected final long nextArrival(long arrival, long now) {
+		return Math.max(arrival, now) + this.intervalNanos;
+	}
+	
+	/**
+	 * Compute the theoretical arrival time after refunding a permit at <code>now</code>.
+	 * 
+	 * @param arrival
+	 * @param now
+	 * @return
+	 */
+	protected final long refundedArrival(long arrival, long now) {
+		if(arrival <= now) {
+			// bucket is already full
+			return arrival;
+		}
+		
+		return Math.max(arrival - this.intervalNanos, now);
+	}
+	
+	/**
+	 * Park the current thread for the given nanoseconds.
+	 * 
+	 * @param nanos
+	 * @throws InterruptedException
+	 */
+	private static void park(long nanos) throws InterruptedException {
+		final long deadline = System.nanoTime() + nanos;
+		
+		long remaining = nanos;
+		while(remaining > 0) {
+			LockSupport.parkNanos(remaining);
+			if(Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			
+			remaining = deadline - System.nanoTime();
+		}
+	}
+	
+}
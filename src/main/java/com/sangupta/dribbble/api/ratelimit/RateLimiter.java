@@ -0,0 +1,77 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contract for limiting the rate of requests made to the Dribbble API. A limiter
+ * may be shared by several clients, and implementations must be safe for use by
+ * multiple threads.
+ * 
+ * @author sangupta
+ *
+ */
+public interface RateLimiter {
+	
+	/**
+	 * Acquire a permit if one is available right now.
+	 * 
+	 * @return <code>true</code> if the permit was acquired
+	 */
+	public boolean tryAcquire();
+	
+	/**
+	 * Acquire a permit, waiting up to the given timeout for one to become available.
+	 * 
+	 * @param timeout
+	 * @param unit
+	 * @return <code>true</code> if the permit was acquired
+	 * @throws InterruptedException
+	 */
+	public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException;
+	
+	/**
+	 * Acquire a permit, waiting as long as needed for one to become available.
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void acquire() throws InterruptedException;
+	
+	/**
+	 * Reserve the next permit if it becomes available within the given wait, without
+	 * blocking. The caller owns the permit once the returned number of nanoseconds has
+	 * elapsed.
+	 * 
+	 * @param maxWaitNanos
+	 * @return the nanoseconds to wait before using the permit, or <code>-1</code> if the
+	 *         permit would not be available within <code>maxWaitNanos</code>
+	 */
+	public long reserve(long maxWaitNanos);
+	
+	/**
+	 * Give back a permit that was acquired but, as it turned out, did not count
+	 * against the quota of the API. The bucket never grows beyond its burst.
+	 */
+	public void refund();
+	
+}
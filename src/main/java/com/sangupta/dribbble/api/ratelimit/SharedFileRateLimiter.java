@@ -0,0 +1,224 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.ratelimit;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token-bucket rate limiter whose state lives in a memory-mapped file, so that
+ * several JVMs on one host share a single quota. Every process that uses the same
+ * file, with the same permits, period and burst, draws from the same bucket.
+ * 
+ * The theoretical arrival time is kept in the mapped page and updated while holding
+ * an exclusive {@link FileLock} on it. As {@link System#nanoTime()} is not comparable
+ * across processes, time is measured using the wall clock.
+ * 
+ * As the underlying {@link FileChannel} is closed when a thread is interrupted while
+ * waiting for the file lock, threads using this limiter should not be interrupted.
+ * 
+ * @author sangupta
+ *
+ */
+public class SharedFileRateLimiter extends AbstractRateLimiter implements Closeable {
+	
+	/**
+	 * Marker written at the start of the file once it has been initialized
+	 */
+	private static final long MAGIC = 0x4452424c524c4d31L;
+	
+	/**
+	 * Offset of the theoretical arrival time within the file
+	 */
+	private static final int ARRIVAL_OFFSET = 8;
+	
+	/**
+	 * Size of the mapped region
+	 */
+	private static final int FILE_SIZE = 16;
+	
+	/**
+	 * Monitors by canonical file path. File locks are held on behalf of the whole
+	 * JVM, so threads - and limiter instances - within one JVM must take turns
+	 * before asking for the file lock.
+	 */
+	private static final ConcurrentMap<String, Object> MONITORS = new ConcurrentHashMap<String, Object>();
+	
+	/**
+	 * The monitor for our file
+	 */
+	private final Object monitor;
+	
+	/**
+	 * The channel to the shared file
+	 */
+	private final FileChannel channel;
+	
+	/**
+	 * The mapped contents of the shared file
+	 */
+	private final MappedByteBuffer buffer;
+	
+	/**
+	 * Create a limiter backed by the given file, that allows <code>permits</code>
+	 * requests in any window of the given <code>period</code>, <code>burst</code> of
+	 * which may be used back to back. The file is created if it does not exist.
+	 * 
+	 * @param file
+	 * @param permits
+	 * @param period
+	 * @param unit
+	 * @param burst
+	 * @throws IOException
+	 */
+	@SuppressWarnings("resource")
+	public SharedFileRateLimiter(File file, int permits, long period, TimeUnit unit, int burst) throws IOException {
+		super(permits, period, unit, burst);
+		
+		if(file == null) {
+			throw new IllegalArgumentException("File cannot be null.");
+		}
+		
+		this.monitor = monitorFor(file.getCanonicalPath());
+		this.channel = new RandomAccessFile(file, "rw").getChannel();
+		
+		try {
+			this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+			
+			synchronized(this.monitor) {
+				FileLock lock = this.channel.lock(0, FILE_SIZE, false);
+				try {
+					if(this.buffer.getLong(0) != MAGIC) {
+						this.buffer.putLong(ARRIVAL_OFFSET, 0);
+						this.buffer.putLong(0, MAGIC);
+					}
+				} finally {
+					lock.release();
+				}
+			}
+		} catch(IOException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#reserve(long)
+	 */
+	public long reserve(long maxWaitNanos) {
+		// an interrupted thread would close the channel when locking
+		boolean interrupted = Thread.interrupted();
+		
+		try {
+			synchronized(this.monitor) {
+				FileLock lock = this.channel.lock(0, FILE_SIZE, false);
+				try {
+					final long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+					final long arrival = this.buffer.getLong(ARRIVAL_OFFSET);
+					
+					long waitNanos = waitNanos(arrival, now);
+					if(waitNanos > maxWaitNanos) {
+						return -1;
+					}
+					
+					this.buffer.putLong(ARRIVAL_OFFSET, nextArrival(arrival, now));
+					return waitNanos;
+				} finally {
+					lock.release();
+				}
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException("Unable to access shared rate-limit file", e);
+		} finally {
+			if(interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#refund()
+	 */
+	public void refund() {
+		boolean interrupted = Thread.interrupted();
+		
+		try {
+			synchronized(this.monitor) {
+				FileLock lock = this.channel.lock(0, FILE_SIZE, false);
+				try {
+					final long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+					final long arrival = this.buffer.getLong(ARRIVAL_OFFSET);
+					
+					this.buffer.putLong(ARRIVAL_OFFSET, refundedArrival(arrival, now));
+				} finally {
+					lock.release();
+				}
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException("Unable to access shared rate-limit file", e);
+		} finally {
+			if(interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Close the channel to the shared file. The limiter may not be used afterwards.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	public void close() throws IOException {
+		this.channel.close();
+	}
+	
+	/**
+	 * Return the JVM-wide monitor for the given file path.
+	 * 
+	 * @param path
+	 * @return
+	 */
+	private static Object monitorFor(String path) {
+		Object monitor = MONITORS.get(path);
+		if(monitor != null) {
+			return monitor;
+		}
+		
+		monitor = new Object();
+		Object existing = MONITORS.putIfAbsent(path, monitor);
+		if(existing != null) {
+			return existing;
+		}
+		
+		return monitor;
+	}
+	
+}
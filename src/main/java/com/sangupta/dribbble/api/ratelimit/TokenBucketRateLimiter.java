@@ -0,0 +1,96 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free, in-memory token-bucket rate limiter. The theoretical arrival time
+ * is updated with a single compare-and-set, and callers that need to wait reserve
+ * their slot first and then park outside of any lock, which keeps them in arrival
+ * order.
+ * 
+ * The limiter only governs requests made from this JVM; use {@link SharedFileRateLimiter}
+ * to share the quota between several processes.
+ * 
+ * @author sangupta
+ *
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter {
+	
+	/**
+	 * The theoretical arrival time, in {@link System#nanoTime()} terms, of the
+	 * next conforming request
+	 */
+	private final AtomicLong theoreticalArrival;
+	
+	/**
+	 * Create a limiter that allows <code>permits</code> requests in any window of
+	 * the given <code>period</code>, <code>burst</code> of which may be used back
+	 * to back.
+	 * 
+	 * @param permits
+	 * @param period
+	 * @param unit
+	 * @param burst
+	 */
+	public TokenBucketRateLimiter(int permits, long period, TimeUnit unit, int burst) {
+		super(permits, period, unit, burst);
+		
+		this.theoreticalArrival = new AtomicLong(System.nanoTime());
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#reserve(long)
+	 */
+	public long reserve(long maxWaitNanos) {
+		while(true) {
+			final long now = System.nanoTime();
+			final long arrival = this.theoreticalArrival.get();
+			
+			long waitNanos = waitNanos(arrival, now);
+			if(waitNanos > maxWaitNanos) {
+				return -1;
+			}
+			
+			if(this.theoreticalArrival.compareAndSet(arrival, nextArrival(arrival, now))) {
+				return waitNanos;
+			}
+		}
+	}
+	
+	/**
+	 * @see com.sangupta.dribbble.api.ratelimit.RateLimiter#refund()
+	 */
+	public void refund() {
+		while(true) {
+			final long now = System.nanoTime();
+			final long arrival = this.theoreticalArrival.get();
+			
+			if(arrival <= now || this.theoreticalArrival.compareAndSet(arrival, refundedArrival(arrival, now))) {
+				return;
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,232 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * A response as recorded into an archive: the request it answered, relative to
+ * the base URL of the invoker, when it was made and how long it took, and the
+ * status, headers and body exactly as they came over the wire. The body is kept
+ * in its content encoding, if any.
+ * 
+ * @author sangupta
+ *
+ */
+public class ArchivedResponse {
+	
+	/**
+	 * The end point and parameters requested
+	 */
+	private final String request;
+	
+	/**
+	 * Wall-clock time the request was made at, in milliseconds
+	 */
+	private final long startedAt;
+	
+	/**
+	 * Time taken to receive the whole response, in nanoseconds
+	 */
+	private final long latencyNanos;
+	
+	private final int statusCode;
+	
+	private final String reasonPhrase;
+	
+	private final Header[] headers;
+	
+	/**
+	 * The raw body, or <code>null</code> if there was none
+	 */
+	private final byte[] body;
+	
+	public ArchivedResponse(String request, long startedAt, long latencyNanos, int statusCode, String reasonPhrase, Header[] headers, byte[] body) {
+		if(request == null) {
+			throw new IllegalArgumentException("Request cannot be null.");
+		}
+		
+		if(headers == null) {
+			throw new IllegalArgumentException("Headers cannot be null.");
+		}
+		
+		this.request = request;
+		this.startedAt = startedAt;
+		this.latencyNanos = latencyNanos;
+		this.statusCode = statusCode;
+		this.reasonPhrase = reasonPhrase;
+		this.headers = headers;
+		this.body = body;
+	}
+	
+	/**
+	 * Create the record for the given response, whose body has been read into
+	 * the given bytes.
+	 * 
+	 * @param request
+	 * @param startedAt
+	 * @param latencyNanos
+	 * @param httpResponse
+	 * @param body
+	 * @return
+	 */
+	public static ArchivedResponse of(String request, long startedAt, long latencyNanos, HttpResponse httpResponse, byte[] body) {
+		return new ArchivedResponse(request, startedAt, latencyNanos, httpResponse.getStatusLine().getStatusCode(), httpResponse.getStatusLine().getReasonPhrase(), httpResponse.getAllHeaders(), body);
+	}
+	
+	/**
+	 * Create a fresh response with the recorded status, headers and body.
+	 * 
+	 * @return
+	 */
+	public HttpResponse toHttpResponse() {
+		BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, this.statusCode, this.reasonPhrase);
+		httpResponse.setHeaders(this.headers);
+		
+		if(this.body != null) {
+			ByteArrayEntity entity = new ByteArrayEntity(this.body);
+			entity.setContentType(httpResponse.getFirstHeader(HttpHeaders.CONTENT_TYPE));
+			entity.setContentEncoding(httpResponse.getFirstHeader(HttpHeaders.CONTENT_ENCODING));
+			httpResponse.setEntity(entity);
+		}
+		
+		return httpResponse;
+	}
+	
+	/**
+	 * Write the record in the archive format.
+	 * 
+	 * @param output
+	 * @throws IOException
+	 */
+	void writeTo(DataOutput output) throws IOException {
+		output.writeUTF(this.request);
+		output.writeLong(this.startedAt);
+		output.writeLong(this.latencyNanos);
+		output.writeShort(this.statusCode);
+		output.writeUTF(this.reasonPhrase != null ? this.reasonPhrase : "");
+		
+		output.writeShort(this.headers.length);
+		for(Header header : this.headers) {
+			output.writeUTF(header.getName());
+			output.writeUTF(header.getValue() != null ? header.getValue() : "");
+		}
+		
+		if(this.body == null) {
+			output.writeInt(-1);
+		} else {
+			output.writeInt(this.body.length);
+			output.write(this.body);
+		}
+	}
+	
+	/**
+	 * Read a record written in the archive format.
+	 * 
+	 * @param input
+	 * @return
+	 * @throws IOException
+	 */
+	static ArchivedResponse readFrom(DataInput input) throws IOException {
+		String request = input.readUTF();
+		long startedAt = input.readLong();
+		long latencyNanos = input.readLong();
+		int statusCode = input.readUnsignedShort();
+		String reasonPhrase = input.readUTF();
+		
+		Header[] headers = new Header[input.readUnsignedShort()];
+		for(int index = 0; index < headers.length; index++) {
+			headers[index] = new BasicHeader(input.readUTF(), input.readUTF());
+		}
+		
+		byte[] body = null;
+		int length = input.readInt();
+		if(length >= 0) {
+			body = new byte[length];
+			input.readFully(body);
+		}
+		
+		return new ArchivedResponse(request, startedAt, latencyNanos, statusCode, reasonPhrase, headers, body);
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the request
+	 */
+	public String getRequest() {
+		return request;
+	}
+	
+	/**
+	 * @return the startedAt
+	 */
+	public long getStartedAt() {
+		return startedAt;
+	}
+	
+	/**
+	 * @return the latencyNanos
+	 */
+	public long getLatencyNanos() {
+		return latencyNanos;
+	}
+	
+	/**
+	 * @return the statusCode
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+	
+	/**
+	 * @return the reasonPhrase
+	 */
+	public String getReasonPhrase() {
+		return reasonPhrase;
+	}
+	
+	/**
+	 * @return the headers
+	 */
+	public Header[] getHeaders() {
+		return headers.clone();
+	}
+	
+	/**
+	 * @return the body
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+	
+}
@@ -0,0 +1,200 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import com.sangupta.dribbble.api.util.DaemonThreadFactory;
+
+/**
+ * Writes every response an invoker receives to an archive file, for a
+ * {@link ResponseReplayer} to serve back later without a network. The archive is
+ * a gzipped stream of {@link ArchivedResponse} records, after a header, and ends
+ * with a marker written when the recorder is closed.
+ * 
+ * Responses are compressed and written on a thread of the recorder's own, in the
+ * order they were handed in, so that recording never holds up the thread that
+ * received them, such as the I/O reactor of the non-blocking client.
+ * 
+ * @author sangupta
+ *
+ */
+public class ResponseRecorder implements Closeable {
+	
+	private static final Logger logger = Logger.getLogger(ResponseRecorder.class.getName());
+	
+	/**
+	 * Marker at the start of an archive
+	 */
+	static final int MAGIC = 0x44524241;
+	
+	/**
+	 * Version of the archive format
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * The archive being written
+	 */
+	private final File file;
+	
+	private final DataOutputStream output;
+	
+	/**
+	 * Writes the responses to the archive, one at a time
+	 */
+	private final ExecutorService writer = Executors.newSingleThreadExecutor(new DaemonThreadFactory("dribbble-recorder-"));
+	
+	/**
+	 * The first error writing a response, reported on close
+	 */
+	private volatile IOException failure = null;
+	
+	/**
+	 * Number of responses recorded so far, those still queued included
+	 */
+	private long recordCount = 0;
+	
+	private boolean closed = false;
+	
+	/**
+	 * Create a recorder writing to the given file, replacing any existing one.
+	 * 
+	 * @param file
+	 * @throws IOException
+	 */
+	public ResponseRecorder(File file) throws IOException {
+		if(file == null) {
+			throw new IllegalArgumentException("File cannot be null.");
+		}
+		
+		this.file = file;
+		
+		FileOutputStream stream = new FileOutputStream(file);
+		try {
+			this.output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream, 8192)));
+			this.output.writeInt(MAGIC);
+			this.output.writeInt(VERSION);
+		} catch(IOException e) {
+			stream.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Queue the response to be appended to the archive.
+	 * 
+	 * @param response
+	 * @throws IOException
+	 *             if the recorder has been closed
+	 */
+	public synchronized void record(final ArchivedResponse response) throws IOException {
+		if(response == null) {
+			throw new IllegalArgumentException("Response cannot be null.");
+		}
+		
+		if(this.closed) {
+			throw new IOException("Recorder has been closed.");
+		}
+		
+		this.writer.execute(() -> write(response));
+		this.recordCount++;
+	}
+	
+	/**
+	 * Write every queued response, then the end marker, and close the archive.
+	 * 
+	 * @throws IOException
+	 *             if a response could not be written, or the archive closed
+	 * @see java.io.Closeable#close()
+	 */
+	public synchronized void close() throws IOException {
+		if(this.closed) {
+			return;
+		}
+		
+		this.closed = true;
+		this.writer.shutdown();
+		try {
+			this.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while writing archive: " + this.file);
+		}
+		
+		try {
+			this.output.writeBoolean(false);
+		} finally {
+			this.output.close();
+		}
+		
+		if(this.failure != null) {
+			throw this.failure;
+		}
+	}
+	
+	/**
+	 * Append the response to the archive, on the writer thread.
+	 * 
+	 * @param response
+	 */
+	private void write(ArchivedResponse response) {
+		try {
+			this.output.writeBoolean(true);
+			response.writeTo(this.output);
+		} catch(IOException e) {
+			logger.log(Level.WARNING, "Unable to record response for: " + response.getRequest(), e);
+			if(this.failure == null) {
+				this.failure = e;
+			}
+		}
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the file
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * @return the recordCount
+	 */
+	public synchronized long getRecordCount() {
+		return recordCount;
+	}
+	
+}
@@ -0,0 +1,225 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Serves the responses of an archive written by a {@link ResponseRecorder} back to
+ * an invoker, in place of making requests. Responses are looked up by end point and
+ * parameters, so the archive may be replayed against any base URL. A request made
+ * several times is answered with its recorded responses in order, and with the
+ * last one once they run out.
+ * 
+ * By default responses are served as fast as possible. With original timing,
+ * every response takes as long as it took when recorded.
+ * 
+ * @author sangupta
+ *
+ */
+public class ResponseReplayer {
+	
+	private static final Logger logger = Logger.getLogger(ResponseReplayer.class.getName());
+	
+	/**
+	 * The recorded responses by request
+	 */
+	private final Map<String, Recorded> responses = new HashMap<String, Recorded>();
+	
+	/**
+	 * Number of responses in the archive
+	 */
+	private final int recordCount;
+	
+	/**
+	 * Whether responses take as long as they did when recorded
+	 */
+	private volatile boolean originalTiming = false;
+	
+	private final AtomicLong replayed = new AtomicLong();
+	
+	private final AtomicLong missed = new AtomicLong();
+	
+	/**
+	 * Load the responses of the given archive. An archive cut short, say by a crash
+	 * while recording, is read up to its last complete response.
+	 * 
+	 * @param file
+	 * @throws IOException
+	 *             if the file cannot be read or is not an archive
+	 */
+	public ResponseReplayer(File file) throws IOException {
+		if(file == null) {
+			throw new IllegalArgumentException("File cannot be null.");
+		}
+		
+		int count = 0;
+		FileInputStream stream = new FileInputStream(file);
+		try {
+			DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream, 8192)));
+			if(input.readInt() != ResponseRecorder.MAGIC) {
+				throw new IOException("Not a response archive: " + file);
+			}
+			
+			int version = input.readInt();
+			if(version != ResponseRecorder.VERSION) {
+				throw new IOException("Unsupported response archive version " + version + ": " + file);
+			}
+			
+			try {
+				while(input.readBoolean()) {
+					ArchivedResponse response = ArchivedResponse.readFrom(input);
+					
+					Recorded recorded = this.responses.get(response.getRequest());
+					if(recorded == null) {
+						recorded = new Recorded();
+						this.responses.put(response.getRequest(), recorded);
+					}
+					
+					recorded.responses.add(response);
+					count++;
+				}
+			} catch(EOFException e) {
+				logger.warning("Response archive ends abruptly, after " + count + " responses: " + file);
+			}
+		} finally {
+			stream.close();
+		}
+		
+		this.recordCount = count;
+	}
+	
+	/**
+	 * Return the next recorded response for the given request.
+	 * 
+	 * @param request
+	 *            the end point and parameters, relative to the base URL
+	 * @return the response, or <code>null</code> if none was recorded
+	 */
+	public ArchivedResponse replay(String request) {
+		Recorded recorded = this.responses.get(request);
+		if(recorded == null) {
+			this.missed.incrementAndGet();
+			return null;
+		}
+		
+		this.replayed.incrementAndGet();
+		
+		int index = recorded.cursor.getAndIncrement();
+		return recorded.responses.get(Math.min(index, recorded.responses.size() - 1));
+	}
+	
+	/**
+	 * Return how long to wait before serving the response.
+	 * 
+	 * @param response
+	 * @return the wait in nanoseconds
+	 */
+	public long delayNanos(ArchivedResponse response) {
+		return this.originalTiming ? response.getLatencyNanos() : 0;
+	}
+	
+	/**
+	 * Start serving every request from its first recorded response again.
+	 * 
+	 */
+	public void rewind() {
+		for(Recorded recorded : this.responses.values()) {
+			recorded.cursor.set(0);
+		}
+	}
+	
+	/**
+	 * @return the requests recorded in the archive
+	 */
+	public List<String> getRequests() {
+		List<String> requests = new ArrayList<String>(this.responses.keySet());
+		Collections.sort(requests);
+		return requests;
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the recordCount
+	 */
+	public int getRecordCount() {
+		return recordCount;
+	}
+	
+	/**
+	 * @return the originalTiming
+	 */
+	public boolean isOriginalTiming() {
+		return originalTiming;
+	}
+	
+	/**
+	 * @param originalTiming the originalTiming to set
+	 */
+	public void setOriginalTiming(boolean originalTiming) {
+		this.originalTiming = originalTiming;
+	}
+	
+	/**
+	 * @return the number of requests served from the archive
+	 */
+	public long getReplayed() {
+		return replayed.get();
+	}
+	
+	/**
+	 * @return the number of requests not found in the archive
+	 */
+	public long getMissed() {
+		return missed.get();
+	}
+	
+	/**
+	 * The responses recorded for one request, and the next one to serve.
+	 * 
+	 * @author sangupta
+	 *
+	 */
+	private static final class Recorded {
+		
+		private final List<ArchivedResponse> responses = new ArrayList<ArchivedResponse>(1);
+		
+		private final AtomicInteger cursor = new AtomicInteger();
+		
+	}
+	
+}
@@ -0,0 +1,651 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sangupta.dribbble.api.util.DaemonThreadFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A lightweight, in-process stand-in for the Dribbble API, for integration and
+ * load testing without touching the real API or its quota. It serves the
+ * <code>shots</code>, <code>players</code>, <code>followers</code>,
+ * <code>comments</code> and <code>rebounds</code> end points, and the rest of
+ * those used by <code>DribbbleClient</code>, with {@link SyntheticData}, paginated
+ * the way the API does.
+ * 
+ * Responses carry an <code>ETag</code> and are compressed when the client asks for
+ * <code>gzip</code>. The server may be made to add latency, fail a share of the
+ * requests with a <code>5xx</code> status, and answer <code>429 Too Many
+ * Requests</code> with a <code>Retry-After</code> header, either at random or once a
+ * per-minute quota is used up:
+ * 
+ * <pre>
+ * DribbbleStubServer server = new DribbbleStubServer();
+ * server.setLatencyMillis(50);
+ * server.setErrorRate(0.01);
+ * server.setRequestsPerMinute(60);
+ * server.start();
+ * 
+ * DribbbleClient client = new DribbbleClient(server.getBaseUrl());
+ * ...
+ * client.close();
+ * server.close();
+ * </pre>
+ * 
+ * The JDK server leaves Nagle's algorithm on by default, so that each response
+ * waits on a delayed ACK and takes some 40ms. Run with the JVM-wide system
+ * property <code>sun.net.httpserver.nodelay=true</code>, set before the first
+ * server starts, to measure the client rather than the server. The server does
+ * not set it itself, as it affects every JDK HTTP server in the process.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleStubServer implements Closeable {
+	
+	/**
+	 * My private logger
+	 */
+	private static final Logger logger = Logger.getLogger("com.sangupta.dribbble.api.stub.DribbbleStubServer");
+	
+	private static final Gson GSON = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).create();
+	
+	/**
+	 * Default number of results per page, per the Dribbble API
+	 */
+	private static final int DEFAULT_PER_PAGE = 15;
+	
+	/**
+	 * Maximum number of results per page, per the Dribbble API
+	 */
+	private static final int MAX_PER_PAGE = 30;
+	
+	/**
+	 * Statuses picked from when failing a request
+	 */
+	private static final int[] ERROR_STATUSES = { 500, 502, 503 };
+	
+	private static final byte[] NOT_FOUND = "{\"message\":\"Not found\"}".getBytes(StandardCharsets.UTF_8);
+	
+	private static final byte[] SERVER_ERROR = "{\"message\":\"Internal server error\"}".getBytes(StandardCharsets.UTF_8);
+	
+	private static final byte[] TOO_MANY_REQUESTS = "{\"message\":\"Rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8);
+	
+	private final int port;
+	
+	private final SyntheticData data;
+	
+	private HttpServer server;
+	
+	private ExecutorService executor;
+	
+	/**
+	 * Fixed latency added to each response
+	 */
+	private volatile long latencyMillis = 0;
+	
+	/**
+	 * Upper bound of the random latency added on top of {@link #latencyMillis}
+	 */
+	private volatile long latencyJitterMillis = 0;
+	
+	/**
+	 * Share of the requests, between 0 and 1, failed with a 5xx status
+	 */
+	private volatile double errorRate = 0;
+	
+	/**
+	 * Share of the requests, between 0 and 1, answered with a 429 at random
+	 */
+	private volatile double throttleRate = 0;
+	
+	/**
+	 * Requests served per minute before answering with a 429 till the minute is
+	 * up, or zero for no quota
+	 */
+	private volatile int requestsPerMinute = 0;
+	
+	/**
+	 * Value of the <code>Retry-After</code> header sent with random 429 responses
+	 */
+	private volatile int retryAfterSeconds = 1;
+	
+	/**
+	 * Whether responses are compressed for clients that accept <code>gzip</code>
+	 */
+	private volatile boolean compress = true;
+	
+	private long quotaWindowStart = 0;
+	
+	private int quotaUsed = 0;
+	
+	private final AtomicLong requests = new AtomicLong();
+	
+	private final AtomicLong throttled = new AtomicLong();
+	
+	private final AtomicLong failed = new AtomicLong();
+	
+	/**
+	 * Create a server on an ephemeral port, serving 10,000 shots by 1,000 players.
+	 */
+	public DribbbleStubServer() {
+		this(0, new SyntheticData(10000, 1000));
+	}
+	
+	/**
+	 * Create a server on the given port, zero picking an ephemeral one, serving
+	 * the given data.
+	 * 
+	 * @param port
+	 * @param data
+	 */
+	public DribbbleStubServer(int port, SyntheticData data) {
+		if(port < 0) {
+			throw new IllegalArgumentException("Port cannot be negative.");
+		}
+		
+		if(data == null) {
+			throw new IllegalArgumentException("Data cannot be null.");
+		}
+		
+		this.port = port;
+		this.data = data;
+	}
+	
+	/**
+	 * Run a server from the command line, on the port given as the only argument
+	 * or 8080, till the process is killed.
+	 * 
+	 * @param args
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		// without this the server waits for delayed ACKs, and every request takes 40ms
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		DribbbleStubServer server = new DribbbleStubServer(args.length > 0 ? Integer.parseInt(args[0]) : 8080, new SyntheticData(10000, 1000));
+		server.start();
+		
+		System.out.println("Dribbble stub server listening at " + server.getBaseUrl());
+	}
+	
+	/**
+	 * Start listening on the loopback interface.
+	 * 
+	 * @throws IOException
+	 */
+	public synchronized void start() throws IOException {
+		if(this.server != null) {
+			throw new IllegalStateException("Server has already been started.");
+		}
+		
+		this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory("dribbble-stub-"));
+		
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", this.port), 0);
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					serve(exchange);
+				} catch(RuntimeException e) {
+					logger.log(Level.WARNING, "Unable to serve " + exchange.getRequestURI(), e);
+					send(exchange, 500, SERVER_ERROR);
+				} finally {
+					exchange.close();
+				}
+			}
+			
+		});
+		this.server.start();
+	}
+	
+	/**
+	 * Stop the server, dropping any requests still being served.
+	 */
+	public synchronized void close() {
+		if(this.server == null) {
+			return;
+		}
+		
+		this.server.stop(0);
+		this.executor.shutdownNow();
+		this.server = null;
+	}
+	
+	/**
+	 * Return the URL to hand to a client as its base URL, ending in a slash.
+	 * 
+	 * @return
+	 */
+	public synchronized String getBaseUrl() {
+		if(this.server == null) {
+			throw new IllegalStateException("Server has not been started.");
+		}
+		
+		return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/";
+	}
+	
+	/**
+	 * Serve a single request, after applying the configured faults.
+	 * 
+	 * @param exchange
+	 * @throws IOException
+	 */
+	private void serve(HttpExchange exchange) throws IOException {
+		this.requests.incrementAndGet();
+		
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		
+		// the quota is checked first, as the real API would
+		long retryAfter = useQuota();
+		if(retryAfter < 0 && random.nextDouble() < this.throttleRate) {
+			retryAfter = this.retryAfterSeconds;
+		}
+		
+		if(retryAfter >= 0) {
+			this.throttled.incrementAndGet();
+			exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfter));
+			send(exchange, 429, TOO_MANY_REQUESTS);
+			return;
+		}
+		
+		long latency = this.latencyMillis;
+		if(this.latencyJitterMillis > 0) {
+			latency += random.nextLong(this.latencyJitterMillis + 1);
+		}
+		
+		if(latency > 0) {
+			try {
+				Thread.sleep(latency);
+			} catch(InterruptedException e) {
+				// server is going down
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		
+		if(random.nextDouble() < this.errorRate) {
+			this.failed.incrementAndGet();
+			send(exchange, ERROR_STATUSES[random.nextInt(ERROR_STATUSES.length)], SERVER_ERROR);
+			return;
+		}
+		
+		if(!"GET".equals(exchange.getRequestMethod())) {
+			send(exchange, 405, NOT_FOUND);
+			return;
+		}
+		
+		Object entity = route(exchange.getRequestURI().getPath(), exchange.getRequestURI().getRawQuery());
+		if(entity == null) {
+			send(exchange, 404, NOT_FOUND);
+			return;
+		}
+		
+		byte[] body = GSON.toJson(entity).getBytes(StandardCharsets.UTF_8);
+		
+		String etag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+		exchange.getResponseHeaders().add("ETag", etag);
+		if(etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			// the JDK server takes no further requests on the connection after a response without a body
+			exchange.getResponseHeaders().add("Connection", "close");
+			exchange.sendResponseHeaders(304, -1);
+			return;
+		}
+		
+		String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+		if(this.compress && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+			OutputStream stream = new GZIPOutputStream(compressed);
+			stream.write(body);
+			stream.close();
+			
+			body = compressed.toByteArray();
+			exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+		}
+		
+		send(exchange, 200, body);
+	}
+	
+	/**
+	 * Use up one request of the per-minute quota, if any.
+	 * 
+	 * @return <code>-1</code> if the request may be served, else the seconds till the
+	 *         quota frees up
+	 */
+	private synchronized long useQuota() {
+		if(this.requestsPerMinute <= 0) {
+			return -1;
+		}
+		
+		long now = System.nanoTime();
+		long window = TimeUnit.MINUTES.toNanos(1);
+		if(this.quotaUsed == 0 || now - this.quotaWindowStart >= window) {
+			this.quotaWindowStart = now;
+			this.quotaUsed = 0;
+		}
+		
+		if(this.quotaUsed < this.requestsPerMinute) {
+			this.quotaUsed++;
+			return -1;
+		}
+		
+		long remaining = window - (now - this.quotaWindowStart);
+		return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+	}
+	
+	/**
+	 * Find the entity to serve for the given path, or <code>null</code> if there is
+	 * none.
+	 * 
+	 * @param path
+	 * @param query
+	 * @return
+	 */
+	private Object route(String path, String query) throws IOException {
+		String[] parts = path.substring(1).split("/");
+		if(parts.length < 2) {
+			return null;
+		}
+		
+		int page = 1;
+		int perPage = DEFAULT_PER_PAGE;
+		if(query != null) {
+			for(String pair : query.split("&")) {
+				int index = pair.indexOf('=');
+				if(index < 0) {
+					continue;
+				}
+				
+				String name = pair.substring(0, index);
+				int value = parseInt(URLDecoder.decode(pair.substring(index + 1), "UTF-8"));
+				if("page".equals(name) && value > 0) {
+					page = value;
+				} else if("per_page".equals(name) && value > 0) {
+					perPage = Math.min(value, MAX_PER_PAGE);
+				}
+			}
+		}
+		
+		if("shots".equals(parts[0])) {
+			String id = parts[1];
+			if(parts.length == 2) {
+				if("debuts".equals(id) || "everyone".equals(id) || "popular".equals(id)) {
+					return this.data.shotsList(id, page, perPage);
+				}
+				
+				return this.data.shot(parseInt(id));
+			}
+			
+			if(parts.length != 3 || this.data.shot(parseInt(id)) == null) {
+				return null;
+			}
+			
+			if("comments".equals(parts[2])) {
+				return this.data.comments(parseInt(id), page, perPage);
+			}
+			
+			if("rebounds".equals(parts[2])) {
+				return this.data.rebounds(parseInt(id), page, perPage);
+			}
+			
+			return null;
+		}
+		
+		if("players".equals(parts[0])) {
+			long id = this.data.playerId(parts[1]);
+			if(id < 0) {
+				return null;
+			}
+			
+			if(parts.length == 2) {
+				return this.data.player(id);
+			}
+			
+			String what = parts[2];
+			if(parts.length == 3) {
+				if("shots".equals(what)) {
+					return this.data.shotsOfPlayer(id, page, perPage);
+				}
+				
+				if("followers".equals(what)) {
+					return this.data.followers(id, page, perPage);
+				}
+				
+				if("following".equals(what)) {
+					return this.data.following(id, page, perPage);
+				}
+				
+				if("draftees".equals(what)) {
+					return this.data.draftees(id, page, perPage);
+				}
+				
+				return null;
+			}
+			
+			if(parts.length == 4 && "shots".equals(what)) {
+				if("following".equals(parts[3])) {
+					return this.data.shotsAround(id, 41, page, perPage);
+				}
+				
+				if("likes".equals(parts[3])) {
+					return this.data.shotsAround(id, 43, page, perPage);
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+		
+		OutputStream stream = exchange.getResponseBody();
+		stream.write(body);
+		stream.close();
+	}
+	
+	private static int parseInt(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch(NumberFormatException e) {
+			return -1;
+		}
+	}
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the data
+	 */
+	public SyntheticData getData() {
+		return data;
+	}
+	
+	/**
+	 * @return the number of requests received
+	 */
+	public long getRequestCount() {
+		return this.requests.get();
+	}
+	
+	/**
+	 * @return the number of requests answered with a 429
+	 */
+	public long getThrottledCount() {
+		return this.throttled.get();
+	}
+	
+	/**
+	 * @return the number of requests failed with a 5xx status
+	 */
+	public long getFailedCount() {
+		return this.failed.get();
+	}
+	
+	/**
+	 * @return the latencyMillis
+	 */
+	public long getLatencyMillis() {
+		return latencyMillis;
+	}
+	
+	/**
+	 * @param latencyMillis the latencyMillis to set
+	 */
+	public void setLatencyMillis(long latencyMillis) {
+		if(latencyMillis < 0) {
+			throw new IllegalArgumentException("Latency cannot be negative.");
+		}
+		
+		this.latencyMillis = latencyMillis;
+	}
+	
+	/**
+	 * @return the latencyJitterMillis
+	 */
+	public long getLatencyJitterMillis() {
+		return latencyJitterMillis;
+	}
+	
+	/**
+	 * @param latencyJitterMillis the latencyJitterMillis to set
+	 */
+	public void setLatencyJitterMillis(long latencyJitterMillis) {
+		if(latencyJitterMillis < 0) {
+			throw new IllegalArgumentException("Latency jitter cannot be negative.");
+		}
+		
+		this.latencyJitterMillis = latencyJitterMillis;
+	}
+	
+	/**
+	 * @return the errorRate
+	 */
+	public double getErrorRate() {
+		return errorRate;
+	}
+	
+	/**
+	 * @param errorRate the errorRate to set
+	 */
+	public void setErrorRate(double errorRate) {
+		if(errorRate < 0 || errorRate > 1) {
+			throw new IllegalArgumentException("Error rate must be between 0 and 1.");
+		}
+		
+		this.errorRate = errorRate;
+	}
+	
+	/**
+	 * @return the throttleRate
+	 */
+	public double getThrottleRate() {
+		return throttleRate;
+	}
+	
+	/**
+	 * @param throttleRate the throttleRate to set
+	 */
+	public void setThrottleRate(double throttleRate) {
+		if(throttleRate < 0 || throttleRate > 1) {
+			throw new IllegalArgumentException("Throttle rate must be between 0 and 1.");
+		}
+		
+		this.throttleRate = throttleRate;
+	}
+	
+	/**
+	 * @return the requestsPerMinute
+	 */
+	public int getRequestsPerMinute() {
+		return requestsPerMinute;
+	}
+	
+	/**
+	 * @param requestsPerMinute the requestsPerMinute to set, zero for no quota
+	 */
+	public synchronized void setRequestsPerMinute(int requestsPerMinute) {
+		if(requestsPerMinute < 0) {
+			throw new IllegalArgumentException("Requests per minute cannot be negative.");
+		}
+		
+		this.requestsPerMinute = requestsPerMinute;
+		this.quotaUsed = 0;
+	}
+	
+	/**
+	 * @return the retryAfterSeconds
+	 */
+	public int getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+	
+	/**
+	 * @param retryAfterSeconds the retryAfterSeconds to set
+	 */
+	public void setRetryAfterSeconds(int retryAfterSeconds) {
+		if(retryAfterSeconds < 0) {
+			throw new IllegalArgumentException("Retry after cannot be negative.");
+		}
+		
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+	
+	/**
+	 * @return the compress
+	 */
+	public boolean isCompress() {
+		return compress;
+	}
+	
+	/**
+	 * @param compress the compress to set
+	 */
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+	
+}
@@ -0,0 +1,399 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sangupta.dribbble.api.model.Comment;
+import com.sangupta.dribbble.api.model.CommentList;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.PlayerList;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+
+/**
+ * Synthetic, but realistically shaped, Dribbble data. Every shot, player and
+ * comment is derived from its ID alone, so the same data is served on every run
+ * and by every server without being held in memory.
+ * 
+ * Shot <code>n</code> is by player <code>(n - 1) % players + 1</code>, and
+ * player <code>n</code> goes by the username <code>player{n}</code>.
+ * 
+ * @author sangupta
+ *
+ */
+public class SyntheticData {
+	
+	/**
+	 * Number of shots in each of the shot lists
+	 */
+	private static final int LIST_SIZE = 750;
+	
+	private final int shotCount;
+	
+	private final int playerCount;
+	
+	public SyntheticData(int shotCount, int playerCount) {
+		if(playerCount < 1 || shotCount < playerCount) {
+			throw new IllegalArgumentException("Need at least one player, and at least one shot per player.");
+		}
+		
+		this.shotCount = shotCount;
+		this.playerCount = playerCount;
+	}
+	
+	/**
+	 * Return the player with the given ID or username, or <code>null</code> if
+	 * there is none.
+	 * 
+	 * @param idOrUsername
+	 * @return
+	 */
+	public Player player(String idOrUsername) {
+		long id = playerId(idOrUsername);
+		return id > 0 ? player(id) : null;
+	}
+	
+	/**
+	 * Return the ID of the player with the given ID or username, or <code>-1</code>
+	 * if there is none.
+	 * 
+	 * @param idOrUsername
+	 * @return
+	 */
+	public long playerId(String idOrUsername) {
+		String id = idOrUsername.startsWith("player") ? idOrUsername.substring(6) : idOrUsername;
+		
+		long value = parseId(id);
+		return value <= this.playerCount ? value : -1;
+	}
+	
+	public Player player(long id) {
+		Player player = new Player();
+		player.setId(id);
+		player.setName("Player " + id);
+		player.setUsername("player" + id);
+		player.setUrl("http://dribbble.com/player" + id);
+		player.setAvatarUrl("http://dribbble.com/system/users/" + id + "/avatars/original/avatar.png");
+		player.setLocation(LOCATIONS[(int) (id % LOCATIONS.length)]);
+		player.setTwitterScreenName("player" + id);
+		player.setShotsCount(shotsOfPlayer(id));
+		player.setDrafteesCount((int) (id % 5));
+		player.setFollowersCount(followerCount(id));
+		player.setFollowingCount(followingCount(id));
+		player.setCommentsCount((int) (id * 13 % 1200));
+		player.setCommentsReceivedCount((int) (id * 17 % 2400));
+		player.setLikesCount((int) (id * 19 % 1500));
+		player.setLikesReceivedCount((int) (id * 23 % 9000));
+		player.setReboundsCount((int) (id % 12));
+		player.setReboundsReceivedCount((int) (id % 48));
+		player.setCreatedAt(timestamp(id));
+		
+		if(id > 1) {
+			player.setDraftedByPlayerId(String.valueOf((id - 1) / 5 + 1));
+		}
+		
+		return player;
+	}
+	
+	/**
+	 * Return the shot with the given ID, or <code>null</code> if there is none.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public Shot shot(long id) {
+		if(id < 1 || id > this.shotCount) {
+			return null;
+		}
+		
+		Shot shot = new Shot();
+		shot.setId(id);
+		shot.setTitle(TITLES[(int) (id % TITLES.length)] + " " + id);
+		shot.setUrl("http://dribbble.com/shots/" + id);
+		shot.setShortUrl("http://drbl.in/" + Long.toString(id, 36));
+		shot.setImageUrl("http://dribbble.com/system/users/1/screenshots/" + id + "/shot.png");
+		shot.setImageTeaserUrl("http://dribbble.com/system/users/1/screenshots/" + id + "/shot_teaser.png");
+		shot.setWidth(400);
+		shot.setHeight(300);
+		shot.setViewsCount((int) (id * 7919 % 25000));
+		shot.setLikesCount((int) (id * 104729 % 900));
+		shot.setCommentsCount(commentCount(id));
+		shot.setReboundsCount(reboundCount(id));
+		shot.setCreatedAt(timestamp(id));
+		shot.setPlayer(player(playerOfShot(id)));
+		
+		if(id % 11 == 0 && id > 1) {
+			shot.setReboundSourceId((int) (id / 11));
+		}
+		
+		return shot;
+	}
+	
+	public Comment comment(long shotId, int index) {
+		long id = shotId * 100 + index;
+		
+		Comment comment = new Comment();
+		comment.setId(id);
+		comment.setBody(COMMENTS[(int) (id % COMMENTS.length)]);
+		comment.setLikesCount((int) (id % 7));
+		comment.setCreatedAt(timestamp(id));
+		comment.setPlayer(player(id % this.playerCount + 1));
+		return comment;
+	}
+	
+	/**
+	 * Return a page of the named shot list: <code>debuts</code>, <code>everyone</code>
+	 * or <code>popular</code>.
+	 * 
+	 * @param list
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public ShotList shotsList(String list, int page, int perPage) {
+		int total = Math.min(LIST_SIZE, this.shotCount);
+		
+		List<Shot> shots = new ArrayList<Shot>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			long id;
+			if("popular".equals(list)) {
+				id = (index * 7919L) % this.shotCount + 1;
+			} else if("debuts".equals(list)) {
+				id = (long) index * this.playerCount % this.shotCount + 1;
+			} else {
+				id = this.shotCount - index;
+			}
+			
+			shots.add(shot(id));
+		}
+		
+		return shotList(shots, page, perPage, total);
+	}
+	
+	public ShotList rebounds(long shotId, int page, int perPage) {
+		int total = reboundCount(shotId);
+		
+		List<Shot> shots = new ArrayList<Shot>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			shots.add(shot((shotId + index) % this.shotCount + 1));
+		}
+		
+		return shotList(shots, page, perPage, total);
+	}
+	
+	public CommentList comments(long shotId, int page, int perPage) {
+		int total = commentCount(shotId);
+		
+		List<Comment> comments = new ArrayList<Comment>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			comments.add(comment(shotId, index));
+		}
+		
+		CommentList list = new CommentList();
+		list.setPage(page);
+		list.setPerPage(perPage);
+		list.setTotal(total);
+		list.setPages(pages(total, perPage));
+		list.setComments(comments);
+		return list;
+	}
+	
+	/**
+	 * Return a page of the shots by the player.
+	 * 
+	 * @param playerId
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public ShotList shotsOfPlayer(long playerId, int page, int perPage) {
+		int total = shotsOfPlayer(playerId);
+		
+		List<Shot> shots = new ArrayList<Shot>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			shots.add(shot(playerId + (long) index * this.playerCount));
+		}
+		
+		return shotList(shots, page, perPage, total);
+	}
+	
+	/**
+	 * Return a page of the shots by the players the player follows, or that the
+	 * player likes.
+	 * 
+	 * @param playerId
+	 * @param salt
+	 * @param page
+	 * @param perPage
+	 * @return
+	 */
+	public ShotList shotsAround(long playerId, int salt, int page, int perPage) {
+		int total = Math.min(LIST_SIZE, (int) (playerId * salt % 400) + 20);
+		
+		List<Shot> shots = new ArrayList<Shot>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			shots.add(shot((playerId * salt + index * 7919L) % this.shotCount + 1));
+		}
+		
+		return shotList(shots, page, perPage, total);
+	}
+	
+	public PlayerList followers(long playerId, int page, int perPage) {
+		return players(playerId, 31, followerCount(playerId), page, perPage);
+	}
+	
+	public PlayerList following(long playerId, int page, int perPage) {
+		return players(playerId, 37, followingCount(playerId), page, perPage);
+	}
+	
+	public PlayerList draftees(long playerId, int page, int perPage) {
+		int total = (int) Math.max(0, Math.min(5, this.playerCount - (playerId - 1) * 5 - 1));
+		
+		List<Player> players = new ArrayList<Player>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			players.add(player((playerId - 1) * 5 + index + 2));
+		}
+		
+		return playerList(players, page, perPage, total);
+	}
+	
+	private PlayerList players(long playerId, int salt, int total, int page, int perPage) {
+		List<Player> players = new ArrayList<Player>();
+		for(int index = firstIndex(page, perPage); index < lastIndex(page, perPage, total); index++) {
+			players.add(player((playerId * salt + index * 7L) % this.playerCount + 1));
+		}
+		
+		return playerList(players, page, perPage, total);
+	}
+	
+	private int shotsOfPlayer(long playerId) {
+		return (int) ((this.shotCount - playerId) / this.playerCount + 1);
+	}
+	
+	private long playerOfShot(long shotId) {
+		return (shotId - 1) % this.playerCount + 1;
+	}
+	
+	private int followerCount(long playerId) {
+		// a few popular players, and a long tail
+		return (int) Math.min(this.playerCount - 1, playerId % 50 == 1 ? this.playerCount : 5000 / (playerId + 10));
+	}
+	
+	private int followingCount(long playerId) {
+		return (int) Math.min(this.playerCount - 1, playerId * 3 % 150);
+	}
+	
+	private static int commentCount(long shotId) {
+		return (int) (shotId % 40);
+	}
+	
+	private static int reboundCount(long shotId) {
+		return (int) (shotId % 7);
+	}
+	
+	private static ShotList shotList(List<Shot> shots, int page, int perPage, int total) {
+		ShotList list = new ShotList();
+		list.setPage(page);
+		list.setPerPage(perPage);
+		list.setTotal(total);
+		list.setPages(pages(total, perPage));
+		list.setShots(shots);
+		return list;
+	}
+	
+	private static PlayerList playerList(List<Player> players, int page, int perPage, int total) {
+		PlayerList list = new PlayerList();
+		list.setPage(page);
+		list.setPerPage(perPage);
+		list.setTotal(total);
+		list.setPages(pages(total, perPage));
+		list.setPlayers(players);
+		return list;
+	}
+	
+	private static int pages(int total, int perPage) {
+		return (total + perPage - 1) / perPage;
+	}
+	
+	private static int firstIndex(int page, int perPage) {
+		return (page - 1) * perPage;
+	}
+	
+	private static int lastIndex(int page, int perPage, int total) {
+		return (int) Math.min(total, (long) page * perPage);
+	}
+	
+	private static String timestamp(long id) {
+		long day = id % 28 + 1;
+		long hour = id % 24;
+		return "2012/0" + (id % 9 + 1) + "/" + (day < 10 ? "0" : "") + day + " " + (hour < 10 ? "0" : "") + hour + ":15:00 -0400";
+	}
+	
+	private static long parseId(String id) {
+		if(id.length() == 0 || id.length() > 9) {
+			return -1;
+		}
+		
+		long value = 0;
+		for(int index = 0; index < id.length(); index++) {
+			char c = id.charAt(index);
+			if(c < '0' || c > '9') {
+				return -1;
+			}
+			
+			value = value * 10 + (c - '0');
+		}
+		
+		return value > 0 ? value : -1;
+	}
+	
+	private static final String[] LOCATIONS = { "Salem, MA", "San Francisco, CA", "Brooklyn, NY", "London, UK", "Berlin, Germany", "Bangalore, India" };
+	
+	private static final String[] TITLES = { "Dashboard", "Logo Concept", "Icon Set", "Landing Page", "Illustration", "Type Study", "Mobile App" };
+	
+	private static final String[] COMMENTS = {
+		"Love the colours on this one.",
+		"Great attention to detail, the shadows are spot on.",
+		"Nice! What typeface is that?",
+		"This is fantastic, would love to see the full thing.",
+		"Really clean. The spacing works so well."
+	};
+	
+	// Usual accessors follow
+	
+	/**
+	 * @return the shotCount
+	 */
+	public int getShotCount() {
+		return shotCount;
+	}
+	
+	/**
+	 * @return the playerCount
+	 */
+	public int getPlayerCount() {
+		return playerCount;
+	}
+	
+}
@@ -0,0 +1,53 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ThreadFactory} for daemon threads named with a given prefix, so that
+ * the background threads of the client never hold the JVM from exiting.
+ * 
+ * @author sangupta
+ *
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+	
+	private final String prefix;
+	
+	private final AtomicInteger threadCount = new AtomicInteger();
+	
+	public DaemonThreadFactory(String prefix) {
+		this.prefix = prefix;
+	}
+	
+	/**
+	 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+	 */
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, this.prefix + this.threadCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+	
+}
@@ -0,0 +1,228 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive <code>long</code> values, kept in a single open-addressing
+ * array with linear probing. It takes about 16 bytes a value at most, against
+ * more than 50 for a {@link java.util.HashSet} of boxed {@link Long}s, and never
+ * allocates on a lookup.
+ * 
+ * Zero cannot mark a free slot and its own, so it is tracked apart. Values cannot
+ * be removed. Instances are not thread-safe.
+ * 
+ * @author sangupta
+ *
+ */
+public class LongHashSet {
+	
+	/**
+	 * Largest share of slots in use before the table is doubled
+	 */
+	private static final double MAX_LOAD = 0.5;
+	
+	/**
+	 * The slots, where zero marks a free one
+	 */
+	private long[] table;
+	
+	/**
+	 * Mask for an index into the table
+	 */
+	private int mask;
+	
+	/**
+	 * Number of values held, zero included
+	 */
+	private int size = 0;
+	
+	/**
+	 * Whether zero is held
+	 */
+	private boolean hasZero = false;
+	
+	public LongHashSet() {
+		this(16);
+	}
+	
+	/**
+	 * Create a set that holds the expected number of values without growing.
+	 * 
+	 * @param expectedSize
+	 */
+	public LongHashSet(int expectedSize) {
+		if(expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size cannot be negative.");
+		}
+		
+		int capacity = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(4, (long) Math.ceil(expectedSize / MAX_LOAD))) * 2 - 1);
+		this.table = new long[capacity];
+		this.mask = capacity - 1;
+	}
+	
+	/**
+	 * Add the value to the set.
+	 * 
+	 * @param value
+	 * @return <code>true</code> if the value was not held already
+	 */
+	public boolean add(long value) {
+		if(value == 0) {
+			if(this.hasZero) {
+				return false;
+			}
+			
+			this.hasZero = true;
+			this.size++;
+			return true;
+		}
+		
+		int index = mix(value) & this.mask;
+		while(true) {
+			long slot = this.table[index];
+			if(slot == 0) {
+				break;
+			}
+			
+			if(slot == value) {
+				return false;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+		
+		this.table[index] = value;
+		this.size++;
+		
+		if(this.size > this.table.length * MAX_LOAD) {
+			grow();
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Whether the set holds the value.
+	 * 
+	 * @param value
+	 * @return
+	 */
+	public boolean contains(long value) {
+		if(value == 0) {
+			return this.hasZero;
+		}
+		
+		int index = mix(value) & this.mask;
+		while(true) {
+			long slot = this.table[index];
+			if(slot == value) {
+				return true;
+			}
+			
+			if(slot == 0) {
+				return false;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+	}
+	
+	/**
+	 * Remove all values, keeping the table.
+	 */
+	public void clear() {
+		Arrays.fill(this.table, 0);
+		this.hasZero = false;
+		this.size = 0;
+	}
+	
+	/**
+	 * @return the values held, in no particular order
+	 */
+	public long[] toArray() {
+		long[] values = new long[this.size];
+		int count = 0;
+		if(this.hasZero) {
+			values[count++] = 0;
+		}
+		
+		for(long slot : this.table) {
+			if(slot != 0) {
+				values[count++] = slot;
+			}
+		}
+		
+		return values;
+	}
+	
+	/**
+	 * Double the table and insert every value again.
+	 */
+	private void grow() {
+		if(this.table.length == 1 << 30) {
+			throw new IllegalStateException("Set cannot grow any further.");
+		}
+		
+		long[] old = this.table;
+		this.table = new long[old.length * 2];
+		this.mask = this.table.length - 1;
+		
+		for(long value : old) {
+			if(value != 0) {
+				int index = mix(value) & this.mask;
+				while(this.table[index] != 0) {
+					index = (index + 1) & this.mask;
+				}
+				
+				this.table[index] = value;
+			}
+		}
+	}
+	
+	/**
+	 * Spread the bits of the value, so that sequential IDs do not cluster.
+	 * 
+	 * @param value
+	 * @return
+	 */
+	static int mix(long value) {
+		long hash = value * 0x9e3779b97f4a7c15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+	
+	/**
+	 * @return the number of values held
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return whether no value is held
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+}
@@ -0,0 +1,239 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive <code>long</code> keys to primitive <code>int</code>
+ * values, kept in open-addressing arrays with linear probing, so that nothing is
+ * boxed. Zero cannot mark a free slot and its own, so its value is kept apart.
+ * 
+ * Entries cannot be removed, but their values may be replaced. Instances are not
+ * thread-safe.
+ * 
+ * @author sangupta
+ *
+ */
+public class LongIntHashMap {
+	
+	/**
+	 * Largest share of slots in use before the table is doubled
+	 */
+	private static final double MAX_LOAD = 0.5;
+	
+	/**
+	 * The keys, where zero marks a free slot
+	 */
+	private long[] keys;
+	
+	/**
+	 * The values, by slot
+	 */
+	private int[] values;
+	
+	/**
+	 * Mask for an index into the table
+	 */
+	private int mask;
+	
+	/**
+	 * Whether key zero is held
+	 */
+	private boolean hasZero = false;
+	
+	/**
+	 * The value for key zero
+	 */
+	private int zeroValue;
+	
+	/**
+	 * Number of entries, that of zero included
+	 */
+	private int size = 0;
+	
+	public LongIntHashMap() {
+		this(16);
+	}
+	
+	/**
+	 * Create a map that holds the expected number of entries without growing.
+	 * 
+	 * @param expectedSize
+	 */
+	public LongIntHashMap(int expectedSize) {
+		if(expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size cannot be negative.");
+		}
+		
+		int capacity = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(4, (long) Math.ceil(expectedSize / MAX_LOAD))) * 2 - 1);
+		this.keys = new long[capacity];
+		this.values = new int[capacity];
+		this.mask = capacity - 1;
+	}
+	
+	/**
+	 * Return the value for the key, or the given default if there is none.
+	 * 
+	 * @param key
+	 * @param defaultValue
+	 * @return
+	 */
+	public int get(long key, int defaultValue) {
+		if(key == 0) {
+			return this.hasZero ? this.zeroValue : defaultValue;
+		}
+		
+		int index = LongHashSet.mix(key) & this.mask;
+		while(true) {
+			long slot = this.keys[index];
+			if(slot == key) {
+				return this.values[index];
+			}
+			
+			if(slot == 0) {
+				return defaultValue;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+	}
+	
+	/**
+	 * Whether the map holds a value for the key.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public boolean containsKey(long key) {
+		if(key == 0) {
+			return this.hasZero;
+		}
+		
+		int index = LongHashSet.mix(key) & this.mask;
+		while(true) {
+			long slot = this.keys[index];
+			if(slot == key) {
+				return true;
+			}
+			
+			if(slot == 0) {
+				return false;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+	}
+	
+	/**
+	 * Set the value for the key.
+	 * 
+	 * @param key
+	 * @param value
+	 */
+	public void put(long key, int value) {
+		if(key == 0) {
+			if(!this.hasZero) {
+				this.hasZero = true;
+				this.size++;
+			}
+			
+			this.zeroValue = value;
+			return;
+		}
+		
+		int index = LongHashSet.mix(key) & this.mask;
+		while(true) {
+			long slot = this.keys[index];
+			if(slot == key) {
+				this.values[index] = value;
+				return;
+			}
+			
+			if(slot == 0) {
+				break;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+		
+		this.keys[index] = key;
+		this.values[index] = value;
+		this.size++;
+		
+		if(this.size > this.keys.length * MAX_LOAD) {
+			grow();
+		}
+	}
+	
+	/**
+	 * Remove all entries, keeping the table.
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, 0);
+		this.hasZero = false;
+		this.size = 0;
+	}
+	
+	/**
+	 * Double the table and insert every entry again.
+	 */
+	private void grow() {
+		if(this.keys.length == 1 << 30) {
+			throw new IllegalStateException("Map cannot grow any further.");
+		}
+		
+		long[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		this.keys = new long[oldKeys.length * 2];
+		this.values = new int[oldKeys.length * 2];
+		this.mask = this.keys.length - 1;
+		
+		for(int slot = 0; slot < oldKeys.length; slot++) {
+			long key = oldKeys[slot];
+			if(key != 0) {
+				int index = LongHashSet.mix(key) & this.mask;
+				while(this.keys[index] != 0) {
+					index = (index + 1) & this.mask;
+				}
+				
+				this.keys[index] = key;
+				this.values[index] = oldValues[slot];
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return whether there are no entries
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+}
@@ -0,0 +1,229 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive <code>long</code> keys to objects, kept in open-addressing
+ * arrays with linear probing, so that neither keys nor lookups are boxed. Zero
+ * cannot mark a free slot and its own, so its value is kept apart.
+ * 
+ * Null values cannot be stored. Entries cannot be removed, but their values may
+ * be replaced. Instances are not thread-safe.
+ * 
+ * @author sangupta
+ *
+ * @param <V> the type of the values
+ */
+public class LongObjectHashMap<V> {
+	
+	/**
+	 * Largest share of slots in use before the table is doubled
+	 */
+	private static final double MAX_LOAD = 0.5;
+	
+	/**
+	 * The keys, where zero marks a free slot
+	 */
+	private long[] keys;
+	
+	/**
+	 * The values, by slot
+	 */
+	private Object[] values;
+	
+	/**
+	 * Mask for an index into the table
+	 */
+	private int mask;
+	
+	/**
+	 * The value for key zero, if any
+	 */
+	private V zeroValue = null;
+	
+	/**
+	 * Number of entries, that of zero included
+	 */
+	private int size = 0;
+	
+	public LongObjectHashMap() {
+		this(16);
+	}
+	
+	/**
+	 * Create a map that holds the expected number of entries without growing.
+	 * 
+	 * @param expectedSize
+	 */
+	public LongObjectHashMap(int expectedSize) {
+		if(expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size cannot be negative.");
+		}
+		
+		int capacity = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(4, (long) Math.ceil(expectedSize / MAX_LOAD))) * 2 - 1);
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+	}
+	
+	/**
+	 * Return the value for the key.
+	 * 
+	 * @param key
+	 * @return the value, or <code>null</code> if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if(key == 0) {
+			return this.zeroValue;
+		}
+		
+		int index = LongHashSet.mix(key) & this.mask;
+		while(true) {
+			long slot = this.keys[index];
+			if(slot == key) {
+				return (V) this.values[index];
+			}
+			
+			if(slot == 0) {
+				return null;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+	}
+	
+	/**
+	 * Whether the map holds a value for the key.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+	
+	/**
+	 * Set the value for the key.
+	 * 
+	 * @param key
+	 * @param value
+	 * @return the previous value, or <code>null</code> if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if(value == null) {
+			throw new IllegalArgumentException("Value cannot be null.");
+		}
+		
+		if(key == 0) {
+			V previous = this.zeroValue;
+			if(previous == null) {
+				this.size++;
+			}
+			
+			this.zeroValue = value;
+			return previous;
+		}
+		
+		int index = LongHashSet.mix(key) & this.mask;
+		while(true) {
+			long slot = this.keys[index];
+			if(slot == key) {
+				V previous = (V) this.values[index];
+				this.values[index] = value;
+				return previous;
+			}
+			
+			if(slot == 0) {
+				break;
+			}
+			
+			index = (index + 1) & this.mask;
+		}
+		
+		this.keys[index] = key;
+		this.values[index] = value;
+		this.size++;
+		
+		if(this.size > this.keys.length * MAX_LOAD) {
+			grow();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Remove all entries, keeping the table.
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, 0);
+		Arrays.fill(this.values, null);
+		this.zeroValue = null;
+		this.size = 0;
+	}
+	
+	/**
+	 * Double the table and insert every entry again.
+	 */
+	private void grow() {
+		if(this.keys.length == 1 << 30) {
+			throw new IllegalStateException("Map cannot grow any further.");
+		}
+		
+		long[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		this.keys = new long[oldKeys.length * 2];
+		this.values = new Object[oldKeys.length * 2];
+		this.mask = this.keys.length - 1;
+		
+		for(int slot = 0; slot < oldKeys.length; slot++) {
+			long key = oldKeys[slot];
+			if(key != 0) {
+				int index = LongHashSet.mix(key) & this.mask;
+				while(this.keys[index] != 0) {
+					index = (index + 1) & this.mask;
+				}
+				
+				this.keys[index] = key;
+				this.values[index] = oldValues[slot];
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return whether there are no entries
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+}
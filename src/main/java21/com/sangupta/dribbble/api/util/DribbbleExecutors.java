@@ -0,0 +1,61 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors the client runs its blocking requests on. This is the
+ * version for Java 21 and later, which starts a virtual thread per task, so that
+ * thousands of requests may block at once without sizing a thread pool.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleExecutors {
+	
+	private DribbbleExecutors() {
+		// no instances
+	}
+	
+	/**
+	 * Return whether executors created here run tasks on virtual threads.
+	 * 
+	 * @return
+	 */
+	public static boolean isVirtual() {
+		return true;
+	}
+	
+	/**
+	 * Create an executor that runs each task on a virtual thread of its own, named
+	 * with the given prefix. Shut it down once done with it.
+	 * 
+	 * @param prefix
+	 * @return
+	 */
+	public static ExecutorService newRequestExecutor(String prefix) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+	}
+	
+}
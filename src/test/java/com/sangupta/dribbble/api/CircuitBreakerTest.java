@@ -0,0 +1,261 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.cache.ResponseCache;
+import com.sangupta.dribbble.api.metrics.EndpointFamily;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+
+/**
+ * Tests for {@link CircuitBreaker}.
+ * 
+ * @author sangupta
+ *
+ */
+public class CircuitBreakerTest extends TestCase {
+	
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	private static final long SLOW = TimeUnit.SECONDS.toNanos(10);
+	
+	public void testFailureRate() {
+		CircuitBreaker breaker = new CircuitBreaker(10);
+		breaker.setMinimumCalls(10);
+		
+		// too few calls to tell
+		for(int index = 0; index < 4; index++) {
+			call(breaker, FAST, true);
+		}
+		
+		for(int index = 0; index < 6; index++) {
+			call(breaker, FAST, false);
+		}
+		
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(0.4, breaker.getFailureRate());
+		
+		// older failures slide out of the window
+		for(int index = 0; index < 4; index++) {
+			call(breaker, FAST, false);
+		}
+		
+		assertEquals(0.0, breaker.getFailureRate());
+		
+		for(int index = 0; index < 4; index++) {
+			call(breaker, FAST, true);
+		}
+		
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		
+		call(breaker, FAST, true);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+		assertEquals(1, breaker.getRejectedCalls());
+	}
+	
+	public void testSlowCallRate() {
+		CircuitBreaker breaker = new CircuitBreaker(5);
+		breaker.setMinimumCalls(5);
+		breaker.setSlowCallRateThreshold(0.6);
+		
+		call(breaker, SLOW, false);
+		call(breaker, SLOW, false);
+		call(breaker, FAST, false);
+		call(breaker, FAST, false);
+		call(breaker, SLOW, false);
+		
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+	
+	public void testHalfOpen() throws Exception {
+		CircuitBreaker breaker = new CircuitBreaker(4);
+		breaker.setMinimumCalls(2);
+		breaker.setOpenMillis(20);
+		breaker.setHalfOpenCalls(2);
+		
+		call(breaker, FAST, true);
+		call(breaker, FAST, true);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		
+		// a failed trial opens the breaker again
+		Thread.sleep(30);
+		long trial = breaker.tryAcquire();
+		assertTrue(trial != CircuitBreaker.NO_PERMIT);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		breaker.record(trial, FAST, true);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		
+		// as many successful trials as allowed close it
+		Thread.sleep(30);
+		long first = breaker.tryAcquire();
+		long second = breaker.tryAcquire();
+		assertTrue(first != CircuitBreaker.NO_PERMIT);
+		assertTrue(second != CircuitBreaker.NO_PERMIT);
+		assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+		breaker.record(first, FAST, false);
+		breaker.record(second, FAST, false);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(0.0, breaker.getFailureRate());
+		assertEquals(2, breaker.getOpenings());
+	}
+	
+	/**
+	 * Calls permitted before the breaker opened do not count as trials once it is
+	 * half-open, nor in the window once it has closed again.
+	 * 
+	 * @throws Exception
+	 */
+	public void testStaleCalls() throws Exception {
+		CircuitBreaker breaker = new CircuitBreaker(4);
+		breaker.setMinimumCalls(2);
+		breaker.setOpenMillis(20);
+		breaker.setHalfOpenCalls(2);
+		
+		long slowFirst = breaker.tryAcquire();
+		long slowSecond = breaker.tryAcquire();
+		call(breaker, FAST, true);
+		call(breaker, FAST, true);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		
+		Thread.sleep(30);
+		long trial = breaker.tryAcquire();
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		
+		// successes of calls made while closed close nothing
+		breaker.record(slowFirst, FAST, false);
+		breaker.record(slowSecond, FAST, false);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		
+		breaker.record(trial, FAST, false);
+		call(breaker, FAST, false);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		
+		// nor does a late trial failure count once closed
+		breaker.record(trial, FAST, true);
+		assertEquals(0.0, breaker.getFailureRate());
+	}
+	
+	/**
+	 * A request that cannot even be built takes no trial permit, so that it does
+	 * not leave the breaker half-open for good.
+	 * 
+	 * @throws Exception
+	 */
+	public void testUnbuildableRequest() throws Exception {
+		DribbbleStubServer server = new DribbbleStubServer();
+		server.start();
+		
+		DribbbleInvoker invoker = new DribbbleInvoker(server.getBaseUrl(), new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100));
+		try {
+			CircuitBreaker breaker = new CircuitBreaker(2);
+			breaker.setMinimumCalls(1);
+			breaker.setOpenMillis(20);
+			breaker.setHalfOpenCalls(1);
+			invoker.setCircuitBreaker(breaker);
+			
+			call(breaker, FAST, true);
+			assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+			Thread.sleep(30);
+			
+			try {
+				invoker.invoke("shots/foo bar", null, true, 0);
+				fail("The URL is not valid");
+			} catch(IllegalArgumentException e) {
+				// expected
+			}
+			
+			try {
+				invoker.invokeAsync("shots/foo bar", null, true, 0).get(5, TimeUnit.SECONDS);
+				fail("The URL is not valid");
+			} catch(ExecutionException e) {
+				assertTrue(e.getCause() instanceof IllegalArgumentException);
+			}
+			
+			DribbbleClient client = new DribbbleClient(invoker);
+			assertNotNull(client.getShot(1));
+			assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		} finally {
+			invoker.close();
+			server.close();
+		}
+	}
+	
+	/**
+	 * While open, the invoker makes no calls, and serves what it has cached.
+	 * 
+	 * @throws Exception
+	 */
+	public void testInvoker() throws Exception {
+		DribbbleStubServer server = new DribbbleStubServer();
+		server.start();
+		
+		DribbbleInvoker invoker = new DribbbleInvoker(server.getBaseUrl(), new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100));
+		try {
+			CircuitBreaker breaker = new CircuitBreaker(10);
+			breaker.setMinimumCalls(5);
+			invoker.setCircuitBreaker(breaker);
+			invoker.setResponseCache(new ResponseCache(10));
+			
+			DribbbleClient client = new DribbbleClient(invoker);
+			Shot shot = client.getShot(1);
+			assertNotNull(shot);
+			
+			server.setErrorRate(1);
+			for(int index = 2; index <= 5; index++) {
+				assertNull(client.getShot(index));
+			}
+			
+			assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+			assertEquals(5, server.getRequestCount());
+			
+			assertNull(client.getShot(6));
+			assertSame(shot, client.getShotAsync(1).get(5, TimeUnit.SECONDS));
+			assertEquals(5, server.getRequestCount());
+			assertEquals(2, invoker.getMetrics().get(EndpointFamily.SHOT).snapshot().getShortCircuits());
+		} finally {
+			invoker.close();
+			server.close();
+		}
+	}
+	
+	/**
+	 * Make a call through the breaker, which must permit it, and record its
+	 * outcome.
+	 * 
+	 * @param breaker
+	 * @param durationNanos
+	 * @param failed
+	 */
+	private static void call(CircuitBreaker breaker, long durationNanos, boolean failed) {
+		long permit = breaker.tryAcquire();
+		assertTrue(permit != CircuitBreaker.NO_PERMIT);
+		breaker.record(permit, durationNanos, failed);
+	}
+	
+}
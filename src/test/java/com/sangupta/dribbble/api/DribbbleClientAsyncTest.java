@@ -0,0 +1,138 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.PlayerList;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+
+/**
+ * Tests for the asynchronous methods of {@link DribbbleClient}, against a
+ * local stand-in for the Dribbble API.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleClientAsyncTest extends TestCase {
+	
+	private DribbbleStubServer server;
+	
+	@Override
+	protected void setUp() throws Exception {
+		this.server = new DribbbleStubServer();
+		this.server.start();
+	}
+	
+	@Override
+	protected void tearDown() throws Exception {
+		this.server.close();
+	}
+	
+	public void testSuccess() throws Exception {
+		DribbbleClient client = newClient(new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100));
+		try {
+			Shot shot = client.getShotAsync(1234).get(5, TimeUnit.SECONDS);
+			assertEquals(1234, shot.getId());
+			
+			Player player = client.getPlayerAsync("player234").get(5, TimeUnit.SECONDS);
+			assertEquals(234, player.getId());
+			assertEquals(234, client.getPlayerAsync(234).get(5, TimeUnit.SECONDS).getId());
+			
+			ShotList shots = client.getShotsListAsync(ShotListType.EVERYONE, 2, 30).get(5, TimeUnit.SECONDS);
+			assertEquals(30, shots.getShots().size());
+			
+			PlayerList followers = client.getPlayerFollowersAsync(234, 1, 10).get(5, TimeUnit.SECONDS);
+			assertNotNull(followers);
+			
+			assertNull(client.getShotAsync(10001).get(5, TimeUnit.SECONDS));
+		} finally {
+			client.getInvoker().close();
+		}
+	}
+	
+	/**
+	 * A request that cannot be made completes its future exceptionally, whether
+	 * it is made right away or once a permit frees up.
+	 * 
+	 * @throws Exception
+	 */
+	public void testFailure() throws Exception {
+		DribbbleClient client = newClient(new TokenBucketRateLimiter(10, 1, TimeUnit.SECONDS, 1));
+		try {
+			for(int index = 0; index < 3; index++) {
+				try {
+					client.getPlayerAsync("foo bar").get(5, TimeUnit.SECONDS);
+					fail("The username makes no valid URL");
+				} catch(ExecutionException e) {
+					assertTrue(e.getCause() instanceof IllegalArgumentException);
+				}
+			}
+			
+			// the server failing is not an exception
+			this.server.setErrorRate(1);
+			assertNull(client.getShotAsync(1).get(5, TimeUnit.SECONDS));
+		} finally {
+			client.getInvoker().close();
+		}
+	}
+	
+	/**
+	 * A request that gets no permit in time fails, or yields nothing, as the
+	 * client is set up to.
+	 * 
+	 * @throws Exception
+	 */
+	public void testRejection() throws Exception {
+		TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, 1, TimeUnit.HOURS, 1);
+		DribbbleClient client = newClient(rateLimiter);
+		try {
+			client.setRateLimitWaitMillis(0);
+			assertNotNull(client.getShotAsync(1).get(5, TimeUnit.SECONDS));
+			
+			try {
+				client.getShotAsync(2).get(5, TimeUnit.SECONDS);
+				fail("No permit was available");
+			} catch(ExecutionException e) {
+				assertTrue(e.getCause() instanceof DribbbleApiRateLimitException);
+			}
+			
+			assertNull(client.getInvoker().invokeAsync("shots/3", null, false, 0).get(5, TimeUnit.SECONDS));
+			assertEquals(1, this.server.getRequestCount());
+		} finally {
+			client.getInvoker().close();
+		}
+	}
+	
+	private DribbbleClient newClient(TokenBucketRateLimiter rateLimiter) {
+		return new DribbbleClient(new DribbbleInvoker(this.server.getBaseUrl(), rateLimiter));
+	}
+	
+}
@@ -0,0 +1,397 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.metrics.EndpointFamily;
+import com.sangupta.dribbble.api.metrics.EndpointSnapshot;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.util.DribbbleExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link DribbbleInvoker}, against a local stand-in for the
+ * Dribbble API.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleInvokerTest extends TestCase {
+	
+	private static final ResponseParser<String> STRING_PARSER = new ResponseParser<String>() {
+		
+		public String parse(Reader reader) throws IOException {
+			char[] chars = new char[64];
+			return new String(chars, 0, reader.read(chars));
+		}
+		
+	};
+	
+	private HttpServer server;
+	
+	private final AtomicInteger requests = new AtomicInteger();
+	
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	/**
+	 * Number of requests to <code>shots/flaky</code> still to be failed
+	 */
+	private final AtomicInteger failures = new AtomicInteger();
+	
+	@Override
+	protected void setUp() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		this.server.setExecutor(Executors.newCachedThreadPool());
+		this.server.createContext("/shots/popular", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				
+				byte[] body = "{\"page\":1}".getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream stream = exchange.getResponseBody();
+				stream.write(body);
+				stream.close();
+			}
+			
+		});
+		
+		this.server.createContext("/shots/flaky", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				
+				byte[] body = "{\"page\":1}".getBytes(StandardCharsets.UTF_8);
+				if(failures.getAndDecrement() > 0) {
+					exchange.getResponseHeaders().add("Retry-After", "0");
+					// the JDK server takes no further requests on the connection after a response without a body
+					exchange.getResponseHeaders().add("Connection", "close");
+					exchange.sendResponseHeaders(503, -1);
+					exchange.close();
+					return;
+				}
+				
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream stream = exchange.getResponseBody();
+				stream.write(body);
+				stream.close();
+			}
+			
+		});
+		
+		this.server.createContext("/shots/dropped", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				exchange.close();
+			}
+			
+		});
+		
+		this.server.start();
+	}
+	
+	@Override
+	protected void tearDown() {
+		this.server.stop(0);
+	}
+	
+	/**
+	 * Identical requests made while one is in flight attach to it, and use up
+	 * neither a permit nor a request of their own.
+	 * 
+	 * @throws Exception
+	 */
+	public void testCoalescing() throws Exception {
+		final DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(2, 1, TimeUnit.HOURS, 1));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for(int index = 0; index < 8; index++) {
+				results.add(executor.submit(new Callable<String>() {
+					
+					public String call() {
+						return invoker.invoke("shots/popular", "page=1", true, 0);
+					}
+					
+				}));
+			}
+			
+			CompletableFuture<String> async = invoker.invokeAsync("shots/popular", "page=1", true, 0);
+			
+			// let the callers attach before the response comes in
+			while(invoker.getCoalescedRequests() < 8) {
+				Thread.sleep(5);
+			}
+			
+			this.release.countDown();
+			
+			for(Future<String> result : results) {
+				assertEquals("{\"page\":1}", result.get(5, TimeUnit.SECONDS));
+			}
+			
+			assertEquals("{\"page\":1}", async.get(5, TimeUnit.SECONDS));
+			assertEquals(1, this.requests.get());
+		} finally {
+			executor.shutdownNow();
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * A caller attached to a request that waits for a permit for longer than the
+	 * caller may gives up when its own wait is over.
+	 * 
+	 * @throws Exception
+	 */
+	public void testCoalescedWaitIsBounded() throws Exception {
+		this.release.countDown();
+		
+		final DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(2, 1, TimeUnit.HOURS, 1));
+		assertTrue(invoker.getRateLimiter().tryAcquire());
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(new Callable<String>() {
+				
+				public String call() {
+					return invoker.invoke("shots/popular", "page=1", true, DribbbleInvoker.WAIT_FOREVER);
+				}
+				
+			});
+			
+			// let the leader take its place in flight
+			Thread.sleep(100);
+			
+			long start = System.nanoTime();
+			assertNull(invoker.invoke("shots/popular", "page=1", false, 200));
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+			
+			try {
+				invoker.invoke("shots/popular", "page=1", true, 0);
+				fail("No permit was available");
+			} catch(DribbbleApiRateLimitException e) {
+				// expected
+			}
+			
+			assertEquals(2, invoker.getCoalescedRequests());
+			assertEquals(0, this.requests.get());
+		} finally {
+			executor.shutdownNow();
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * An asynchronous request that fails before it is made lands its flight, so
+	 * that an identical request made later does not attach to it forever.
+	 * 
+	 * @throws Exception
+	 */
+	public void testFailedFlightLands() throws Exception {
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		try {
+			for(int index = 0; index < 2; index++) {
+				try {
+					invoker.invokeAsync("players/foo bar", null, true, 0).get(5, TimeUnit.SECONDS);
+					fail("The URL is not valid");
+				} catch(ExecutionException e) {
+					assertTrue(e.getCause() instanceof IllegalArgumentException);
+				}
+			}
+			
+			assertEquals(0, invoker.getCoalescedRequests());
+		} finally {
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * Responses of the non-blocking client are parsed away from its I/O reactor.
+	 * 
+	 * @throws Exception
+	 */
+	public void testParsedOffReactor() throws Exception {
+		this.release.countDown();
+		
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		try {
+			String thread = invoker.invokeAsync("shots/popular", "page=1", true, 0, new ResponseParser<String>() {
+				
+				public String parse(Reader reader) throws IOException {
+					return Thread.currentThread().getName();
+				}
+				
+			}).get(5, TimeUnit.SECONDS);
+			
+			assertTrue(thread, thread.startsWith("dribbble-response-"));
+		} finally {
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * Requests with different parameters are not coalesced.
+	 * 
+	 * @throws Exception
+	 */
+	public void testDistinctRequests() throws Exception {
+		this.release.countDown();
+		
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		try {
+			CompletableFuture<String> first = invoker.invokeAsync("shots/popular", "page=1", true, 0);
+			CompletableFuture<String> second = invoker.invokeAsync("shots/popular", "page=2", true, 0);
+			
+			assertNotNull(first.get(5, TimeUnit.SECONDS));
+			assertNotNull(second.get(5, TimeUnit.SECONDS));
+			assertEquals(2, this.requests.get());
+			assertEquals(0, invoker.getCoalescedRequests());
+			
+			EndpointSnapshot metrics = invoker.getMetrics().snapshot().get(EndpointFamily.SHOTS_LIST);
+			assertEquals(Long.valueOf(2), metrics.getStatusCounts().get(200));
+			assertEquals(2, metrics.getLatency().getCount());
+			assertEquals(2, metrics.getParseTime().getCount());
+			assertEquals(20, metrics.getUncompressedBytes());
+			assertEquals(0, metrics.getRejections());
+		} finally {
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * Transient failures are retried, each retry using up a permit, till the
+	 * request succeeds or runs out of attempts or permits.
+	 * 
+	 * @throws Exception
+	 */
+	public void testRetries() throws Exception {
+		RetryPolicy retryPolicy = new RetryPolicy();
+		retryPolicy.setMaxAttempts(3);
+		retryPolicy.setInitialBackoffMillis(10);
+		
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(7, 1, TimeUnit.HOURS, 6));
+		try {
+			this.failures.set(2);
+			assertEquals("{\"page\":1}", invoker.invoke("shots/flaky", null, true, 0, STRING_PARSER, retryPolicy));
+			assertEquals(3, this.requests.get());
+			
+			this.failures.set(2);
+			retryPolicy.setMaxAttempts(2);
+			assertNull(invoker.invokeAsync("shots/flaky", "page=2", true, 0, STRING_PARSER, retryPolicy).get(5, TimeUnit.SECONDS));
+			assertEquals(5, this.requests.get());
+			
+			// one permit left, for the first attempt only
+			this.failures.set(1);
+			assertNull(invoker.invoke("shots/flaky", "page=3", true, 0, STRING_PARSER, retryPolicy));
+			assertEquals(6, this.requests.get());
+			
+			EndpointSnapshot metrics = invoker.getMetrics().snapshot().get(EndpointFamily.SHOTS_LIST);
+			assertEquals(3, metrics.getRetries());
+			assertEquals(1, metrics.getRejections());
+			assertEquals(Long.valueOf(5), metrics.getStatusCounts().get(503));
+		} finally {
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * A connection dropped without a response is not re-sent behind the back of
+	 * the rate limiter and the retry policy.
+	 * 
+	 * @throws Exception
+	 */
+	public void testNoAutomaticRetries() throws Exception {
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		try {
+			assertNull(invoker.invoke("shots/dropped", null, true, 0, STRING_PARSER));
+			assertEquals(1, this.requests.get());
+			
+			assertNull(invoker.invokeAsync("shots/dropped", "page=2", true, 0, STRING_PARSER).get(5, TimeUnit.SECONDS));
+			assertEquals(2, this.requests.get());
+		} finally {
+			invoker.close();
+		}
+	}
+	
+	/**
+	 * Asynchronous requests may be made with the blocking client on an executor.
+	 * 
+	 * @throws Exception
+	 */
+	public void testBlockingExecutor() throws Exception {
+		this.release.countDown();
+		
+		ExecutorService executor = DribbbleExecutors.newRequestExecutor("dribbble-request-");
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		try {
+			invoker.setBlockingExecutor(executor);
+			
+			List<CompletableFuture<String>> results = new ArrayList<CompletableFuture<String>>();
+			for(int page = 1; page <= 20; page++) {
+				results.add(invoker.invokeAsync("shots/popular", "page=" + page, true, DribbbleInvoker.WAIT_FOREVER));
+			}
+			
+			for(CompletableFuture<String> result : results) {
+				assertEquals("{\"page\":1}", result.get(5, TimeUnit.SECONDS));
+			}
+			
+			assertEquals(20, this.requests.get());
+		} finally {
+			executor.shutdownNow();
+			invoker.close();
+		}
+	}
+	
+	private String baseUrl() {
+		return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/";
+	}
+	
+}
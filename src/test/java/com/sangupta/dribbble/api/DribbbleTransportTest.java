@@ -0,0 +1,181 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.util.EntityUtils;
+
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+
+/**
+ * Tests for {@link DribbbleTransport}, {@link DribbbleTransportConfig} and
+ * closing the transport along with a {@link DribbbleClient}.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleTransportTest extends TestCase {
+	
+	private DribbbleStubServer server;
+	
+	@Override
+	protected void setUp() throws Exception {
+		this.server = new DribbbleStubServer();
+		this.server.start();
+	}
+	
+	@Override
+	protected void tearDown() throws Exception {
+		this.server.close();
+	}
+	
+	public void testInvalidConfig() {
+		assertInvalid(null);
+		
+		DribbbleTransportConfig config = new DribbbleTransportConfig();
+		config.setMaxConnections(0);
+		assertInvalid(config);
+		
+		config = new DribbbleTransportConfig();
+		config.setMaxConnectionsPerRoute(0);
+		assertInvalid(config);
+		
+		config = new DribbbleTransportConfig();
+		config.setIoThreads(0);
+		assertInvalid(config);
+	}
+	
+	public void testPoolBound() throws Exception {
+		DribbbleTransportConfig config = new DribbbleTransportConfig();
+		config.setMaxConnectionsPerRoute(1);
+		config.setConnectionRequestTimeoutMillis(200);
+		
+		DribbbleTransport transport = new DribbbleTransport(config);
+		try {
+			assertSame(config, transport.getConfig());
+			
+			CloseableHttpResponse held = transport.execute(new HttpGet(this.server.getBaseUrl() + "shots/1"));
+			assertEquals(200, held.getStatusLine().getStatusCode());
+			
+			// the only connection is leased until the response is consumed
+			try {
+				transport.execute(new HttpGet(this.server.getBaseUrl() + "shots/2"));
+				fail("Connection should not have been leased");
+			} catch(ConnectionPoolTimeoutException e) {
+				// expected
+			}
+			
+			EntityUtils.consume(held.getEntity());
+			
+			CloseableHttpResponse response = transport.execute(new HttpGet(this.server.getBaseUrl() + "shots/2"));
+			assertEquals(200, response.getStatusLine().getStatusCode());
+			EntityUtils.consume(response.getEntity());
+			
+			HttpResponse async = transport.execute(new HttpGet(this.server.getBaseUrl() + "shots/3"), null).get(5, TimeUnit.SECONDS);
+			assertEquals(200, async.getStatusLine().getStatusCode());
+		} finally {
+			transport.close();
+		}
+	}
+	
+	public void testClose() throws Exception {
+		DribbbleTransport transport = new DribbbleTransport();
+		transport.close();
+		
+		// closing again is a no-op
+		transport.close();
+		
+		try {
+			transport.execute(new HttpGet(this.server.getBaseUrl() + "shots/1"), null);
+			fail("Closed transport should not execute requests");
+		} catch(IllegalStateException e) {
+			// expected
+		}
+	}
+	
+	public void testClientClosesOwnInvoker() throws Exception {
+		DribbbleTransportConfig config = new DribbbleTransportConfig();
+		config.setMaxConnectionsPerRoute(2);
+		
+		DribbbleInvoker owned;
+		System.setProperty(DribbbleInvoker.BASE_URL_PROPERTY, this.server.getBaseUrl());
+		try(DribbbleClient client = new DribbbleClient(config)) {
+			owned = client.getInvoker();
+			assertSame(config, owned.getTransport().getConfig());
+			assertEquals(1234, client.getShot(1234).getId());
+		} finally {
+			System.clearProperty(DribbbleInvoker.BASE_URL_PROPERTY);
+		}
+		
+		assertClosed(owned);
+		
+		DribbbleClient client = new DribbbleClient(this.server.getBaseUrl());
+		assertEquals(1234, client.getShot(1234).getId());
+		client.close();
+		assertClosed(client.getInvoker());
+	}
+	
+	public void testClientLeavesGivenInvokerOpen() throws Exception {
+		DribbbleInvoker invoker = new DribbbleInvoker(this.server.getBaseUrl(), new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100));
+		try {
+			DribbbleClient client = new DribbbleClient(invoker);
+			assertEquals(1234, client.getShot(1234).getId());
+			client.close();
+			
+			// the invoker may be shared, so another client can still use it
+			assertEquals(1235, new DribbbleClient(invoker).getShot(1235).getId());
+		} finally {
+			invoker.close();
+		}
+		
+		// nor is the default invoker closed
+		new DribbbleClient().close();
+		DribbbleInvoker.getDefault().getTransport().execute(new HttpGet(this.server.getBaseUrl() + "shots/1"), null).get(5, TimeUnit.SECONDS);
+	}
+	
+	private static void assertInvalid(DribbbleTransportConfig config) {
+		try {
+			new DribbbleTransport(config);
+			fail("Configuration should have been rejected");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	private void assertClosed(DribbbleInvoker invoker) {
+		try {
+			invoker.getTransport().execute(new HttpGet(this.server.getBaseUrl() + "shots/1"), null);
+			fail("Transport should have been closed");
+		} catch(IllegalStateException e) {
+			// expected
+		}
+	}
+	
+}
@@ -0,0 +1,128 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.sangupta.dribbble.api.model.CommentList;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+import com.sangupta.dribbble.api.stub.SyntheticData;
+
+/**
+ * Tests for {@link PlayerCanonicalizer}.
+ * 
+ * @author sangupta
+ *
+ */
+public class PlayerCanonicalizerTest extends TestCase {
+	
+	private static final Gson PLAIN = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).create();
+	
+	private final SyntheticData data = new SyntheticData(1000, 10);
+	
+	public void testWithinResponse() {
+		PlayerCanonicalizer canonicalizer = new PlayerCanonicalizer();
+		Gson gson = newGson(canonicalizer);
+		
+		String json = PLAIN.toJson(this.data.shotsOfPlayer(3, 1, 30));
+		
+		ShotList first = canonicalizer.parse(gson, new JsonReader(new StringReader(json)), ShotList.class);
+		assertEquals(30, first.getShots().size());
+		for(Shot shot : first.getShots()) {
+			assertSame(first.getShots().get(0).getPlayer(), shot.getPlayer());
+		}
+		
+		assertEquals(29, canonicalizer.getDeduplicated());
+		
+		// not shared across responses
+		ShotList second = canonicalizer.parse(gson, new JsonReader(new StringReader(json)), ShotList.class);
+		assertNotSame(first.getShots().get(0).getPlayer(), second.getShots().get(0).getPlayer());
+		assertEquals(first.getShots().get(0).getPlayer(), second.getShots().get(0).getPlayer());
+		assertEquals(0, canonicalizer.getCanonicalCount());
+	}
+	
+	public void testAcrossResponses() {
+		PlayerCanonicalizer canonicalizer = new PlayerCanonicalizer(true);
+		Gson gson = newGson(canonicalizer);
+		
+		ShotList shots = canonicalizer.parse(gson, new JsonReader(new StringReader(PLAIN.toJson(this.data.shotsList("everyone", 1, 30)))), ShotList.class);
+		CommentList comments = canonicalizer.parse(gson, new JsonReader(new StringReader(PLAIN.toJson(this.data.comments(39, 1, 30)))), CommentList.class);
+		
+		assertEquals(10, canonicalizer.getCanonicalCount());
+		assertSame(shots.getShots().get(0).getPlayer(), comments.getComments().get(9).getPlayer());
+	}
+	
+	public void testFreshPlayer() {
+		PlayerCanonicalizer canonicalizer = new PlayerCanonicalizer(true);
+		Gson gson = newGson(canonicalizer);
+		
+		ShotList shots = canonicalizer.parse(gson, new JsonReader(new StringReader(PLAIN.toJson(this.data.shotsOfPlayer(3, 1, 10)))), ShotList.class);
+		Player embedded = shots.getShots().get(0).getPlayer();
+		
+		// a player fetched on its own is the fresh one read, not the canonical one
+		Player player = this.data.player(3);
+		player.setFollowersCount(embedded.getFollowersCount() + 100);
+		Player fetched = canonicalizer.parse(gson, new JsonReader(new StringReader(PLAIN.toJson(player))), Player.class);
+		assertNotSame(embedded, fetched);
+		assertEquals(embedded.getFollowersCount() + 100, fetched.getFollowersCount());
+		assertEquals(1, canonicalizer.getCanonicalCount());
+		
+		// and replaces it for the players embedded in later responses
+		ShotList later = canonicalizer.parse(gson, new JsonReader(new StringReader(PLAIN.toJson(this.data.shotsOfPlayer(3, 2, 10)))), ShotList.class);
+		assertSame(fetched, later.getShots().get(0).getPlayer());
+		assertSame(embedded, shots.getShots().get(9).getPlayer());
+	}
+	
+	public void testClient() throws Exception {
+		DribbbleStubServer server = new DribbbleStubServer();
+		server.start();
+		
+		DribbbleClient client = new DribbbleClient(new DribbbleInvoker(server.getBaseUrl(), new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100)));
+		try {
+			ShotList plain = client.getShotsForPlayer(5, 1, 10);
+			assertNotSame(plain.getShots().get(0).getPlayer(), plain.getShots().get(1).getPlayer());
+			
+			client.setPlayerCanonicalizer(new PlayerCanonicalizer());
+			ShotList shots = client.getShotsForPlayer(5, 1, 10);
+			assertSame(shots.getShots().get(0).getPlayer(), shots.getShots().get(9).getPlayer());
+		} finally {
+			client.getInvoker().close();
+			server.close();
+		}
+	}
+	
+	private static Gson newGson(PlayerCanonicalizer canonicalizer) {
+		return new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).registerTypeAdapterFactory(canonicalizer).create();
+	}
+	
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleApiRateLimitException;
+
+/**
+ * Tests for {@link BatchFetcher}.
+ * 
+ * @author sangupta
+ *
+ */
+public class BatchFetcherTest extends TestCase {
+	
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	
+	private final AtomicInteger lookups = new AtomicInteger();
+	
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	
+	@Override
+	protected void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	/**
+	 * Duplicates are looked up once; found, missing and failed keys are told apart.
+	 * 
+	 * @throws Exception
+	 */
+	public void testOutcomes() throws Exception {
+		List<Long> keys = Arrays.asList(5L, 3L, 5L, 13L, 7L, 3L, 11L, 2L);
+		BatchResult<Long, String> result = BatchFetcher.fetch(keys, key -> lookup(key), 2).get(5, TimeUnit.SECONDS);
+		
+		assertEquals(6, this.lookups.get());
+		assertTrue(this.maxInFlight.get() <= 2);
+		
+		assertEquals("[5, 3, 2]", result.getResults().keySet().toString());
+		assertEquals("shot-5", result.get(5L));
+		assertEquals("[7, 11]", result.getMissing().toString());
+		assertEquals("[13]", result.getFailures().keySet().toString());
+		assertTrue(result.getFailures().get(13L) instanceof DribbbleApiRateLimitException);
+		assertFalse(result.isComplete());
+	}
+	
+	/**
+	 * Lookups that complete right away, as from a cache, do not pile up on the stack.
+	 * 
+	 * @throws Exception
+	 */
+	public void testCompletedLookups() throws Exception {
+		List<Integer> keys = new ArrayList<Integer>();
+		for(int index = 0; index < 100000; index++) {
+			keys.add(index);
+		}
+		
+		BatchResult<Integer, Integer> result = BatchFetcher.fetch(keys, key -> CompletableFuture.completedFuture(key), 4).get(5, TimeUnit.SECONDS);
+		assertEquals(100000, result.getResults().size());
+		assertTrue(result.isComplete());
+	}
+	
+	public void testEmpty() throws Exception {
+		assertTrue(BatchFetcher.fetch(new ArrayList<Long>(), key -> lookup(key), 4).get(5, TimeUnit.SECONDS).isComplete());
+	}
+	
+	/**
+	 * Finds even keys and fails on the key 13, after a short delay.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	private CompletableFuture<String> lookup(final long key) {
+		this.lookups.incrementAndGet();
+		this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+		
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				Thread.sleep(5);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			
+			this.inFlight.decrementAndGet();
+			if(key == 13) {
+				throw new DribbbleApiRateLimitException("slow down");
+			}
+			
+			return key % 2 == 0 || key == 5 || key == 3 ? "shot-" + key : null;
+		}, this.executor);
+	}
+	
+}
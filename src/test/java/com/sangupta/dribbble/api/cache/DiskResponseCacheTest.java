@@ -0,0 +1,248 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+
+/**
+ * Tests for {@link DiskResponseCache}.
+ * 
+ * @author sangupta
+ *
+ */
+public class DiskResponseCacheTest extends TestCase {
+	
+	private File directory;
+	
+	@Override
+	protected void setUp() throws IOException {
+		this.directory = Files.createTempDirectory("dribbble-disk-cache").toFile();
+	}
+	
+	@Override
+	protected void tearDown() {
+		File[] files = this.directory.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		
+		this.directory.delete();
+	}
+	
+	/**
+	 * Bodies, small and deflated, are read back as stored, and survive the cache
+	 * being closed and opened again.
+	 * 
+	 * @throws Exception
+	 */
+	public void testReopen() throws Exception {
+		byte[] large = new byte[10000];
+		Arrays.fill(large, (byte) 'a');
+		
+		DiskResponseCache cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 64 * 1024);
+		try {
+			assertTrue(cache.put("shots/1", bytes("{\"id\":1}"), StandardCharsets.UTF_8));
+			assertTrue(cache.put("shots/2", large, StandardCharsets.ISO_8859_1));
+			assertTrue(cache.put("shots/1", bytes("{\"id\":11}"), StandardCharsets.UTF_8));
+			cache.invalidate("shots/2");
+			assertTrue(cache.put("shots/3", large, StandardCharsets.UTF_8));
+			
+			assertEquals("{\"id\":11}", text(cache.get("shots/1")));
+			assertNull(cache.get("shots/2"));
+			assertTrue(Arrays.equals(large, cache.get("shots/3").getBody()));
+			assertEquals(2, cache.getHits());
+			assertEquals(1, cache.getMisses());
+		} finally {
+			cache.close();
+		}
+		
+		cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 64 * 1024);
+		try {
+			assertEquals(2, cache.size());
+			assertEquals("{\"id\":11}", text(cache.get("shots/1")));
+			assertNull(cache.get("shots/2"));
+			
+			DiskResponseCache.Entry entry = cache.get("shots/3");
+			assertTrue(Arrays.equals(large, entry.getBody()));
+			assertEquals(StandardCharsets.UTF_8, entry.getCharset());
+		} finally {
+			cache.close();
+		}
+	}
+	
+	/**
+	 * Expired bodies are only served when asked for.
+	 * 
+	 * @throws Exception
+	 */
+	public void testExpiry() throws Exception {
+		DiskResponseCache cache = new DiskResponseCache(this.directory, 50, TimeUnit.MILLISECONDS, 64 * 1024);
+		try {
+			cache.put("shots/1", bytes("{\"id\":1}"), StandardCharsets.UTF_8);
+			assertNotNull(cache.get("shots/1"));
+			
+			Thread.sleep(100);
+			
+			assertNull(cache.get("shots/1"));
+			DiskResponseCache.Entry entry = cache.get("shots/1", true);
+			assertTrue(entry.isExpired());
+			assertEquals("{\"id\":1}", text(entry));
+		} finally {
+			cache.close();
+		}
+	}
+	
+	/**
+	 * Only one cache may have a directory open.
+	 * 
+	 * @throws Exception
+	 */
+	public void testDirectoryLock() throws Exception {
+		DiskResponseCache cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 64 * 1024);
+		try {
+			new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 64 * 1024);
+			fail("Directory should be locked");
+		} catch(IOException e) {
+			// expected
+		} finally {
+			cache.close();
+		}
+	}
+	
+	/**
+	 * Compaction drops superseded and invalidated records from the oldest segments,
+	 * keeps the live ones, and the result survives a reopen.
+	 * 
+	 * @throws Exception
+	 */
+	public void testCompaction() throws Exception {
+		DiskResponseCache cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 4096);
+		try {
+			for(int round = 0; round < 20; round++) {
+				for(int id = 0; id < 10; id++) {
+					cache.put("shots/" + id, bytes("{\"id\":" + id + ",\"round\":" + round + "}"), StandardCharsets.UTF_8);
+				}
+			}
+			
+			cache.invalidate("shots/9");
+			
+			int segments = cache.getSegmentCount();
+			assertTrue(segments > 2);
+			assertTrue(cache.compact() > 0);
+			assertTrue(cache.getSegmentCount() < segments);
+			
+			// the segments left, and the lock file
+			assertEquals(cache.getSegmentCount() + 1, this.directory.listFiles().length);
+		} finally {
+			cache.close();
+		}
+		
+		cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 4096);
+		try {
+			assertEquals(9, cache.size());
+			for(int id = 0; id < 9; id++) {
+				assertEquals("{\"id\":" + id + ",\"round\":19}", text(cache.get("shots/" + id)));
+			}
+			
+			assertNull(cache.get("shots/9"));
+		} finally {
+			cache.close();
+		}
+	}
+	
+	/**
+	 * A fresh body stored on disk is served without a request, even by an invoker
+	 * started afterwards.
+	 * 
+	 * @throws Exception
+	 */
+	public void testInvoker() throws Exception {
+		DribbbleStubServer server = new DribbbleStubServer();
+		server.start();
+		try {
+			DiskResponseCache cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 64 * 1024);
+			DribbbleClient client = newClient(server, cache);
+			try {
+				Shot shot = client.getShot(1234);
+				assertEquals(1234, shot.getId());
+				assertEquals(1, server.getRequestCount());
+				
+				assertEquals(shot, client.getShot(1234));
+				assertEquals(1, server.getRequestCount());
+				
+				// list pages are always requested
+				assertNotNull(client.getShotsList(ShotListType.EVERYONE, 1, 30));
+				assertNotNull(client.getShotsList(ShotListType.EVERYONE, 1, 30));
+				assertEquals(3, server.getRequestCount());
+				assertEquals(1, cache.size());
+			} finally {
+				client.getInvoker().close();
+				cache.close();
+			}
+			
+			// as after a restart
+			cache = new DiskResponseCache(this.directory, 1, TimeUnit.HOURS, 64 * 1024);
+			client = newClient(server, cache);
+			try {
+				assertEquals(1234, client.getShot(1234).getId());
+				assertEquals(3, server.getRequestCount());
+				assertEquals(1, cache.getHits());
+			} finally {
+				client.getInvoker().close();
+				cache.close();
+			}
+		} finally {
+			server.close();
+		}
+	}
+	
+	private static DribbbleClient newClient(DribbbleStubServer server, DiskResponseCache cache) {
+		DribbbleInvoker invoker = new DribbbleInvoker(server.getBaseUrl(), new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100));
+		invoker.setDiskCache(cache);
+		return new DribbbleClient(invoker);
+	}
+	
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private static String text(DiskResponseCache.Entry entry) {
+		return new String(entry.getBody(), entry.getCharset());
+	}
+	
+}
@@ -0,0 +1,71 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link EntityCache}.
+ * 
+ * @author sangupta
+ *
+ */
+public class EntityCacheTest extends TestCase {
+	
+	/**
+	 * Entries are counted as hits and misses, and the cache stays within its size.
+	 */
+	public void testSizeBound() {
+		EntityCache<Long, String> cache = new EntityCache<Long, String>(32, 1, TimeUnit.HOURS);
+		for(long id = 0; id < 1000; id++) {
+			cache.put(id, "shot-" + id);
+		}
+		
+		assertTrue(cache.size() <= 32);
+		assertEquals(1000 - cache.size(), cache.getEvictionCount());
+		
+		assertEquals("shot-999", cache.get(999L));
+		assertNull(cache.get(0L));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+	
+	/**
+	 * Entries are not served beyond their time-to-live.
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void testExpiry() throws InterruptedException {
+		EntityCache<Long, String> cache = new EntityCache<Long, String>(10, 20, TimeUnit.MILLISECONDS);
+		cache.put(1L, "shot");
+		assertEquals("shot", cache.get(1L));
+		
+		Thread.sleep(40);
+		
+		assertNull(cache.get(1L));
+		assertEquals(1, cache.getExpiredCount());
+		assertEquals(0, cache.size());
+	}
+	
+}
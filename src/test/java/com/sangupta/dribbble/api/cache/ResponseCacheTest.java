@@ -0,0 +1,138 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for conditional requests made using {@link ResponseCache}, against a
+ * local stand-in for the Dribbble API.
+ * 
+ * @author sangupta
+ *
+ */
+public class ResponseCacheTest extends TestCase {
+	
+	private static final String ETAG = "\"shot-1-v1\"";
+	
+	private HttpServer server;
+	
+	private final AtomicInteger requests = new AtomicInteger();
+	
+	private final AtomicInteger conditionalRequests = new AtomicInteger();
+	
+	@Override
+	protected void setUp() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		this.server.createContext("/shots/1", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				
+				if(ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					conditionalRequests.incrementAndGet();
+					// the JDK server takes no further requests on the connection after a response without a body
+					exchange.getResponseHeaders().add("Connection", "close");
+					exchange.sendResponseHeaders(304, -1);
+					exchange.close();
+					return;
+				}
+				
+				byte[] body = "{\"id\":1,\"title\":\"Shot\",\"likes_count\":7}".getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("ETag", ETAG);
+				exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream stream = exchange.getResponseBody();
+				stream.write(body);
+				stream.close();
+			}
+			
+		});
+		
+		this.server.start();
+	}
+	
+	@Override
+	protected void tearDown() {
+		this.server.stop(0);
+	}
+	
+	/**
+	 * The second fetch is conditional and serves the already parsed object.
+	 * 
+	 * @throws Exception
+	 */
+	public void testNotModified() throws Exception {
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		ResponseCache cache = new ResponseCache(10);
+		invoker.setResponseCache(cache);
+		
+		DribbbleClient client = new DribbbleClient(invoker);
+		
+		Shot first = client.getShot(1);
+		assertEquals(7, first.getLikesCount());
+		
+		assertSame(first, client.getShot(1));
+		assertSame(first, client.getShotAsync(1).get(5, TimeUnit.SECONDS));
+		
+		assertEquals(3, this.requests.get());
+		assertEquals(2, this.conditionalRequests.get());
+		assertEquals(2, cache.getNotModifiedCount());
+	}
+	
+	/**
+	 * When asked, responses that were not modified do not use up the quota.
+	 */
+	public void testRefundNotModified() {
+		DribbbleInvoker invoker = new DribbbleInvoker(baseUrl(), new TokenBucketRateLimiter(10, 1, TimeUnit.HOURS, 2));
+		invoker.setResponseCache(new ResponseCache(10));
+		invoker.setRefundNotModified(true);
+		
+		DribbbleClient client = new DribbbleClient(invoker);
+		for(int index = 0; index < 5; index++) {
+			assertNotNull(client.getShot(1));
+		}
+		
+		assertEquals(4, this.conditionalRequests.get());
+	}
+	
+	private String baseUrl() {
+		return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/";
+	}
+	
+}
@@ -0,0 +1,99 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.columnar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.stub.SyntheticData;
+
+/**
+ * Tests for {@link ShotColumns}.
+ * 
+ * @author sangupta
+ *
+ */
+public class ShotColumnsTest extends TestCase {
+	
+	public void testAggregates() {
+		SyntheticData data = new SyntheticData(1000, 25);
+		
+		List<Shot> shots = new ArrayList<Shot>();
+		ShotColumns columns = new ShotColumns(4);
+		for(int page = 1; page <= 10; page++) {
+			columns.addAll(data.shotsList("popular", page, 30));
+			shots.addAll(data.shotsList("popular", page, 30).getShots());
+		}
+		
+		assertEquals(300, columns.size());
+		assertEquals(25, columns.getPlayerCount());
+		
+		long views = 0;
+		int maxLikes = 0;
+		int popular = 0;
+		long popularComments = 0;
+		for(Shot shot : shots) {
+			views += shot.getViewsCount();
+			maxLikes = Math.max(maxLikes, shot.getLikesCount());
+			if(shot.getViewsCount() >= 10000 && shot.getLikesCount() >= 450) {
+				popular++;
+				popularComments += shot.getCommentsCount();
+			}
+		}
+		
+		assertEquals(views, columns.sum(ShotColumn.VIEWS));
+		assertEquals((double) views / 300, columns.mean(ShotColumn.VIEWS));
+		assertEquals(maxLikes, columns.max(ShotColumn.LIKES));
+		assertEquals(400, columns.min(ShotColumn.WIDTH));
+		
+		int[] rows = columns.filter(ShotColumn.LIKES, 450, Integer.MAX_VALUE, columns.filter(ShotColumn.VIEWS, 10000, Integer.MAX_VALUE));
+		assertEquals(popular, rows.length);
+		assertEquals(popularComments, columns.sum(ShotColumn.COMMENTS, rows));
+		assertEquals(columns.filter(ShotColumn.VIEWS, 10000, Integer.MAX_VALUE).length, columns.count(ShotColumn.VIEWS, 10000, Integer.MAX_VALUE));
+		
+		// per player
+		long[] likesByPlayer = columns.sumByPlayer(ShotColumn.LIKES);
+		long total = 0;
+		for(int code = 0; code < likesByPlayer.length; code++) {
+			long likes = 0;
+			for(int row : columns.rowsOfPlayer(columns.getPlayerId(code))) {
+				assertEquals(columns.getPlayerId(code), shots.get(row).getPlayer().getId());
+				likes += columns.get(ShotColumn.LIKES, row);
+			}
+			
+			assertEquals(likes, likesByPlayer[code]);
+			total += likes;
+		}
+		
+		assertEquals(columns.sum(ShotColumn.LIKES), total);
+		
+		columns.trimToSize();
+		assertEquals(shots.get(299).getId(), columns.getId(299));
+		columns.add(shots.get(0));
+		assertEquals(301, columns.size());
+		assertEquals(0, columns.rowsOfPlayer(-5).length);
+	}
+	
+}
@@ -0,0 +1,181 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.crawl;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+import com.sangupta.dribbble.api.stub.SyntheticData;
+
+/**
+ * Tests for {@link SocialGraphCrawler}, against a local stand-in server.
+ * 
+ * @author sangupta
+ *
+ */
+public class SocialGraphCrawlerTest extends TestCase {
+	
+	private SyntheticData data;
+	
+	private DribbbleStubServer server;
+	
+	private DribbbleClient client;
+	
+	private final Set<String> edges = new HashSet<String>();
+	
+	private final CrawlListener listener = new CrawlListener() {
+		
+		public void onEdge(long playerId, SocialRelation relation, Player other, int depth) {
+			assertTrue("Duplicate edge", edges.add(playerId + " " + relation + " " + other.getId()));
+		}
+		
+	};
+	
+	@Override
+	protected void setUp() throws Exception {
+		this.data = new SyntheticData(2000, 400);
+		this.server = new DribbbleStubServer(0, this.data);
+		this.server.start();
+		
+		this.client = new DribbbleClient(new DribbbleInvoker(this.server.getBaseUrl(), new TokenBucketRateLimiter(100000, 1, TimeUnit.SECONDS, 1000)));
+	}
+	
+	@Override
+	protected void tearDown() throws Exception {
+		this.client.getInvoker().close();
+		this.server.close();
+	}
+	
+	/**
+	 * Every edge of every player within the depth limit is reported once, and
+	 * every player found within it expanded once.
+	 * 
+	 * @throws Exception
+	 */
+	public void testCrawl() throws Exception {
+		SocialGraphCrawler crawler = new SocialGraphCrawler(this.client, this.listener);
+		crawler.setMaxDepth(1);
+		assertTrue(crawler.addSeed(51));
+		assertFalse(crawler.addSeed(51));
+		
+		crawler.crawl();
+		
+		assertTrue(crawler.isFinished());
+		assertEquals(0, crawler.getFailedRequests());
+		assertEquals(this.server.getRequestCount(), crawler.getRequestsMade());
+		assertEquals(crawler.getQueuedCount(), crawler.getExpandedPlayers());
+		
+		// every relation of the seed is reported
+		Set<Long> neighbours = new HashSet<Long>();
+		for(Player player : this.data.followers(51, 1, 1000).getPlayers()) {
+			assertTrue(this.edges.contains("51 FOLLOWERS " + player.getId()));
+			neighbours.add(player.getId());
+		}
+		
+		for(Player player : this.data.following(51, 1, 1000).getPlayers()) {
+			assertTrue(this.edges.contains("51 FOLLOWING " + player.getId()));
+			neighbours.add(player.getId());
+		}
+		
+		for(Player player : this.data.draftees(51, 1, 1000).getPlayers()) {
+			assertTrue(this.edges.contains("51 DRAFTEES " + player.getId()));
+			neighbours.add(player.getId());
+		}
+		
+		neighbours.add(51L);
+		assertEquals(neighbours.size(), crawler.getQueuedCount());
+	}
+	
+	/**
+	 * Against a quota of 60 requests with a burst of 3, requests wait for their
+	 * permits, even on a client that fails its own requests right away, and no
+	 * page is dropped.
+	 * 
+	 * @throws Exception
+	 */
+	public void testRateLimited() throws Exception {
+		DribbbleClient limited = new DribbbleClient(new DribbbleInvoker(this.server.getBaseUrl(), new TokenBucketRateLimiter(60, 3, TimeUnit.SECONDS, 3)));
+		try {
+			limited.setRateLimitWaitMillis(0);
+			
+			SocialGraphCrawler crawler = new SocialGraphCrawler(limited, this.listener);
+			crawler.setMaxDepth(0);
+			crawler.addSeed(51);
+			crawler.crawl();
+			
+			assertTrue(crawler.isFinished());
+			assertEquals(0, crawler.getFailedRequests());
+			assertTrue(crawler.getRequestsMade() > 3);
+			assertEquals(this.server.getRequestCount(), crawler.getRequestsMade());
+			
+			int edges = this.data.followers(51, 1, 1000).getPlayers().size() + this.data.following(51, 1, 1000).getPlayers().size() + this.data.draftees(51, 1, 1000).getPlayers().size();
+			assertEquals(edges, this.edges.size());
+		} finally {
+			limited.getInvoker().close();
+		}
+	}
+	
+	/**
+	 * A crawl stops once its budget is spent and when paused, and picks up where
+	 * it left off, ending up with the same graph as one crawl would.
+	 * 
+	 * @throws Exception
+	 */
+	public void testBudgetAndPause() throws Exception {
+		SocialGraphCrawler full = new SocialGraphCrawler(this.client, this.listener, SocialRelation.FOLLOWERS, SocialRelation.DRAFTEES);
+		full.addSeed(3);
+		full.crawl();
+		
+		Set<String> expected = new HashSet<String>(this.edges);
+		this.edges.clear();
+		
+		SocialGraphCrawler crawler = new SocialGraphCrawler(this.client, this.listener, SocialRelation.FOLLOWERS, SocialRelation.DRAFTEES);
+		crawler.setParallelism(3);
+		crawler.setRequestBudget(10);
+		crawler.addSeed(3);
+		crawler.crawl();
+		
+		assertEquals(10, crawler.getRequestsMade());
+		assertFalse(crawler.isFinished());
+		
+		crawler.setRequestBudget(Long.MAX_VALUE);
+		CompletableFuture<Void> run = crawler.start();
+		crawler.pause();
+		run.get(5, TimeUnit.SECONDS);
+		assertFalse(crawler.isFinished());
+		
+		crawler.crawl();
+		assertTrue(crawler.isFinished());
+		assertEquals(full.getRequestsMade(), crawler.getRequestsMade());
+		assertEquals(expected, this.edges);
+	}
+	
+}
@@ -0,0 +1,229 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.feed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+import com.sangupta.dribbble.api.stub.SyntheticData;
+
+/**
+ * Tests for {@link FeedSynchronizer}, against a local stand-in server whose
+ * feeds move between polls.
+ * 
+ * @author sangupta
+ *
+ */
+public class FeedSynchronizerTest extends TestCase {
+	
+	private MovingFeeds data;
+	
+	private DribbbleStubServer server;
+	
+	private DribbbleClient client;
+	
+	private final List<Shot> added = new ArrayList<Shot>();
+	
+	private final List<Shot> changed = new ArrayList<Shot>();
+	
+	private FeedSynchronizer synchronizer;
+	
+	@Override
+	protected void setUp() throws Exception {
+		this.data = new MovingFeeds();
+		this.server = new DribbbleStubServer(0, this.data);
+		this.server.start();
+		
+		this.client = new DribbbleClient(new DribbbleInvoker(this.server.getBaseUrl(), new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100)));
+		this.synchronizer = new FeedSynchronizer(this.client, new FeedListener() {
+			
+			public void onShot(ShotListType feed, Shot shot, boolean isNew) {
+				(isNew ? added : changed).add(shot);
+			}
+			
+		});
+	}
+	
+	@Override
+	protected void tearDown() throws Exception {
+		this.synchronizer.close();
+		this.client.getInvoker().close();
+		this.server.close();
+	}
+	
+	/**
+	 * A chronological feed is paged only down to the previous mark, and only the
+	 * shots above it are emitted, oldest first.
+	 * 
+	 * @throws Exception
+	 */
+	public void testChronologicalFeed() throws Exception {
+		assertEquals(30, this.synchronizer.sync(ShotListType.EVERYONE));
+		assertEquals(1000, this.added.get(0).getId() + 29);
+		assertEquals(new HighWaterMark(1000, this.added.get(29).getCreatedAt()), this.synchronizer.getHighWaterMark(ShotListType.EVERYONE));
+		assertEquals(1, this.synchronizer.getPagesFetched());
+		
+		// nothing new costs a single page
+		this.added.clear();
+		assertEquals(0, this.synchronizer.sync(ShotListType.EVERYONE));
+		assertEquals(2, this.synchronizer.getPagesFetched());
+		
+		// 40 new shots span two pages
+		this.data.newest = 1040;
+		assertEquals(40, this.synchronizer.sync(ShotListType.EVERYONE));
+		assertEquals(4, this.synchronizer.getPagesFetched());
+		for(int index = 0; index < 40; index++) {
+			assertEquals(1001 + index, this.added.get(index).getId());
+		}
+		
+		assertEquals(1040, this.synchronizer.getHighWaterMark(ShotListType.EVERYONE).getShotId());
+		assertTrue(this.changed.isEmpty());
+	}
+	
+	/**
+	 * A chronological feed that moved more than the page limit since the last
+	 * poll is still paged back to its mark, skipping no shot.
+	 * 
+	 * @throws Exception
+	 */
+	public void testFeedMovedPastMaxPages() throws Exception {
+		this.synchronizer.setMaxPages(2);
+		this.synchronizer.sync(ShotListType.EVERYONE);
+		this.added.clear();
+		
+		// 100 new shots span four pages
+		this.data.newest = 1100;
+		assertEquals(100, this.synchronizer.sync(ShotListType.EVERYONE));
+		assertEquals(5, this.synchronizer.getPagesFetched());
+		for(int index = 0; index < 100; index++) {
+			assertEquals(1001 + index, this.added.get(index).getId());
+		}
+		
+		assertEquals(1100, this.synchronizer.getHighWaterMark(ShotListType.EVERYONE).getShotId());
+	}
+	
+	/**
+	 * A mark set from an earlier run is carried on from.
+	 * 
+	 * @throws Exception
+	 */
+	public void testRestoredMark() throws Exception {
+		this.synchronizer.setHighWaterMark(ShotListType.EVERYONE, new HighWaterMark(995, null));
+		assertEquals(5, this.synchronizer.sync(ShotListType.EVERYONE));
+		assertEquals(996, this.added.get(0).getId());
+		assertEquals(1, this.synchronizer.getPagesFetched());
+	}
+	
+	/**
+	 * A feed in no particular order is paged till a page with nothing new or
+	 * changed, and changed shots are emitted as such.
+	 * 
+	 * @throws Exception
+	 */
+	public void testPopularFeed() throws Exception {
+		this.synchronizer.setInitialPages(2);
+		assertEquals(60, this.synchronizer.sync(ShotListType.POPULAR));
+		assertEquals(2, this.synchronizer.getPagesFetched());
+		
+		this.added.clear();
+		assertEquals(0, this.synchronizer.sync(ShotListType.POPULAR));
+		assertEquals(3, this.synchronizer.getPagesFetched());
+		
+		this.data.liked = this.data.shotsList("popular", 1, 30).getShots().get(5).getId();
+		assertEquals(1, this.synchronizer.sync(ShotListType.POPULAR));
+		assertEquals(5, this.synchronizer.getPagesFetched());
+		assertEquals(this.data.liked, this.changed.get(0).getId());
+		assertTrue(this.added.isEmpty());
+	}
+	
+	/**
+	 * A poll that cannot fetch a page changes nothing.
+	 * 
+	 * @throws Exception
+	 */
+	public void testFailedPoll() throws Exception {
+		this.synchronizer.sync(ShotListType.EVERYONE);
+		this.added.clear();
+		
+		this.data.newest = 1040;
+		this.server.setErrorRate(1);
+		assertEquals(-1, this.synchronizer.sync(ShotListType.EVERYONE));
+		assertTrue(this.added.isEmpty());
+		assertEquals(1000, this.synchronizer.getHighWaterMark(ShotListType.EVERYONE).getShotId());
+		
+		this.server.setErrorRate(0);
+		assertEquals(40, this.synchronizer.sync(ShotListType.EVERYONE));
+	}
+	
+	/**
+	 * Synthetic data whose <code>everyone</code> feed starts at a movable newest
+	 * shot, and one of whose <code>popular</code> shots may gain a like.
+	 * 
+	 */
+	private static class MovingFeeds extends SyntheticData {
+		
+		volatile long newest = 1000;
+		
+		volatile long liked = -1;
+		
+		MovingFeeds() {
+			super(2000, 100);
+		}
+		
+		@Override
+		public ShotList shotsList(String list, int page, int perPage) {
+			ShotList shotList = super.shotsList(list, page, perPage);
+			if("popular".equals(list)) {
+				for(Shot shot : shotList.getShots()) {
+					if(shot.getId() == this.liked) {
+						shot.setLikesCount(shot.getLikesCount() + 1);
+					}
+				}
+				
+				return shotList;
+			}
+			
+			List<Shot> shots = new ArrayList<Shot>();
+			long total = this.newest;
+			for(long index = (long) (page - 1) * perPage; index < Math.min(total, (long) page * perPage); index++) {
+				shots.add(shot(this.newest - index));
+			}
+			
+			shotList.setShots(shots);
+			shotList.setTotal(total);
+			shotList.setPages((int) ((total + perPage - 1) / perPage));
+			return shotList;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,228 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.index;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.columnar.ShotColumn;
+import com.sangupta.dribbble.api.model.Comment;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.stub.SyntheticData;
+
+/**
+ * Tests for {@link ShotIndex}.
+ * 
+ * @author sangupta
+ *
+ */
+public class ShotIndexTest extends TestCase {
+	
+	public void testQueries() throws Exception {
+		SyntheticData data = new SyntheticData(1000, 25);
+		
+		ShotIndex index = new ShotIndex();
+		List<Shot> shots = new ArrayList<Shot>();
+		for(int page = 1; page <= 10; page++) {
+			index.addAll(data.shotsList("everyone", page, 30));
+			shots.addAll(data.shotsList("everyone", page, 30).getShots());
+		}
+		
+		assertEquals(300, index.getShotCount());
+		assertEquals(25, index.getPlayerCount());
+		assertEquals(shots.get(17).getTitle(), index.getShot(shots.get(17).getId()).getTitle());
+		assertNull(index.getShot(5000));
+		assertEquals("player3", index.getPlayer(3).getUsername());
+		assertEquals(3, index.getPlayer("player3").getId());
+		
+		assertEquals(ids(brute(shots, 3, ShotColumn.LIKES, 0, Integer.MAX_VALUE)), ids(index.getShotsOfPlayer(3)));
+		assertEquals(ids(brute(shots, 3, ShotColumn.VIEWS, 5000, 15000)), ids(index.getShotsOfPlayer(3, ShotColumn.VIEWS, 5000, 15000)));
+		
+		List<Shot> liked = index.getShotsInRange(ShotColumn.LIKES, 200, 400);
+		assertEquals(ids(brute(shots, -1, ShotColumn.LIKES, 200, 400)), ids(liked));
+		for(int position = 1; position < liked.size(); position++) {
+			assertTrue(liked.get(position - 1).getLikesCount() <= liked.get(position).getLikesCount());
+		}
+		
+		List<Shot> top = index.getTopShots(ShotColumn.VIEWS, 10);
+		assertEquals(10, top.size());
+		int[] views = new int[shots.size()];
+		for(int row = 0; row < views.length; row++) {
+			views[row] = shots.get(row).getViewsCount();
+		}
+		
+		Arrays.sort(views);
+		for(int position = 0; position < 10; position++) {
+			assertEquals(views[views.length - 1 - position], top.get(position).getViewsCount());
+		}
+		
+		try {
+			index.getShotsInRange(ShotColumn.WIDTH, 0, 1000);
+			fail("Width is not sorted");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+		
+		// created in march 2012
+		SimpleDateFormat format = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss Z", Locale.US);
+		long from = format.parse("2012/03/01 00:00:00 -0400").getTime();
+		long to = format.parse("2012/03/31 23:59:59 -0400").getTime();
+		Set<Long> march = new HashSet<Long>();
+		for(Shot shot : shots) {
+			if(shot.getCreatedAt().startsWith("2012/03/")) {
+				march.add(shot.getId());
+			}
+		}
+		
+		List<Shot> created = index.getShotsCreatedBetween(from, to);
+		assertEquals(march, ids(created));
+		assertEquals(march.size(), created.size());
+		for(int position = 1; position < created.size(); position++) {
+			assertTrue(format.parse(created.get(position - 1).getCreatedAt()).getTime() <= format.parse(created.get(position).getCreatedAt()).getTime());
+		}
+		
+		assertTrue(index.getShotsCreatedBetween(to, from).isEmpty());
+	}
+	
+	public void testUpdates() {
+		SyntheticData data = new SyntheticData(1000, 25);
+		
+		ShotIndex index = new ShotIndex();
+		index.addAll(data.shotsList("everyone", 1, 30));
+		
+		Shot shot = data.shot(990);
+		assertEquals(shot.getLikesCount(), index.getShot(990).getLikesCount());
+		
+		// the shot moves within the sorted likes, and to another player
+		shot.setLikesCount(5000);
+		shot.setPlayer(data.player(20));
+		shot.setCreatedAt("not a time");
+		index.add(shot);
+		
+		assertEquals(30, index.getShotCount());
+		assertSame(shot, index.getShot(990));
+		assertEquals(990, index.getTopShots(ShotColumn.LIKES, 1).get(0).getId());
+		assertEquals(1, index.getShotsInRange(ShotColumn.LIKES, 1000, Integer.MAX_VALUE).size());
+		assertTrue(ids(index.getShotsOfPlayer(20)).contains(990L));
+		assertFalse(ids(index.getShotsOfPlayer(data.shot(990).getPlayer().getId())).contains(990L));
+		assertFalse(ids(index.getShotsCreatedBetween(Long.MIN_VALUE, Long.MAX_VALUE)).contains(990L));
+		assertEquals(29, index.getShotsCreatedBetween(Long.MIN_VALUE, Long.MAX_VALUE).size());
+		
+		// the same shot twice in a batch keeps the last
+		Shot first = data.shot(991);
+		first.setLikesCount(7000);
+		Shot second = data.shot(991);
+		second.setLikesCount(6000);
+		index.addAll(Arrays.asList(first, second));
+		
+		assertSame(second, index.getShot(991));
+		assertEquals(30, index.getShotsInRange(ShotColumn.LIKES, Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+		assertEquals(1, index.getShotsInRange(ShotColumn.LIKES, 6000, 6000).size());
+		assertEquals(0, index.getShotsInRange(ShotColumn.LIKES, 7000, 7000).size());
+	}
+	
+	public void testManyBatches() {
+		SyntheticData data = new SyntheticData(1000, 25);
+		
+		ShotIndex index = new ShotIndex();
+		for(int page = 1; page <= 20; page++) {
+			index.addAll(data.shotsList("everyone", page, 30));
+		}
+		
+		// move every tenth shot to the top of the likes
+		for(long id = 500; id < 1000; id += 10) {
+			Shot shot = data.shot(id);
+			shot.setLikesCount(10000 + (int) id);
+			index.add(shot);
+		}
+		
+		List<Shot> liked = index.getShotsInRange(ShotColumn.LIKES, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		assertEquals(600, liked.size());
+		for(int position = 1; position < liked.size(); position++) {
+			assertTrue(liked.get(position - 1).getLikesCount() <= liked.get(position).getLikesCount());
+		}
+		
+		assertEquals(50, index.getShotsInRange(ShotColumn.LIKES, 10000, Integer.MAX_VALUE).size());
+		assertEquals(990, index.getTopShots(ShotColumn.LIKES, 1).get(0).getId());
+	}
+	
+	public void testComments() {
+		SyntheticData data = new SyntheticData(1000, 25);
+		
+		ShotIndex index = new ShotIndex(ShotColumn.COMMENTS);
+		assertTrue(index.isSorted(ShotColumn.COMMENTS));
+		assertFalse(index.isSorted(ShotColumn.LIKES));
+		
+		int count = 0;
+		for(long shotId = 1; shotId <= 20; shotId++) {
+			index.addComments(shotId, data.comments(shotId, 1, 30).getComments());
+			count += data.comments(shotId, 1, 30).getComments().size();
+		}
+		
+		assertEquals(count, index.getCommentCount());
+		assertEquals(data.comments(7, 1, 30).getComments().size(), index.getCommentsOfShot(7).size());
+		assertEquals(0, index.getCommentsOfShot(900).size());
+		assertNotNull(index.getComment(702));
+		assertNull(index.getComment(-1));
+		
+		long playerId = data.comment(7, 0).getPlayer().getId();
+		assertTrue(index.getCommentsOfPlayer(playerId).size() > 0);
+		for(Comment comment : index.getCommentsOfPlayer(playerId)) {
+			assertEquals(playerId, comment.getPlayer().getId());
+		}
+		
+		assertNotNull(index.getPlayer(playerId));
+		
+		// added again, nothing changes
+		index.addComments(7, data.comments(7, 1, 30).getComments());
+		assertEquals(count, index.getCommentCount());
+	}
+	
+	private static List<Shot> brute(List<Shot> shots, long playerId, ShotColumn column, int min, int max) {
+		List<Shot> result = new ArrayList<Shot>();
+		for(Shot shot : shots) {
+			int value = column == ShotColumn.LIKES ? shot.getLikesCount() : shot.getViewsCount();
+			if((playerId < 0 || shot.getPlayer().getId() == playerId) && value >= min && value <= max) {
+				result.add(shot);
+			}
+		}
+		
+		return result;
+	}
+	
+	private static Set<Long> ids(List<Shot> shots) {
+		Set<Long> ids = new HashSet<Long>();
+		for(Shot shot : shots) {
+			ids.add(shot.getId());
+		}
+		
+		return ids;
+	}
+	
+}
@@ -0,0 +1,159 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link ContentDecoding}, and for compressed responses read
+ * through the invoker.
+ * 
+ * @author sangupta
+ *
+ */
+public class ContentDecodingTest extends TestCase {
+	
+	private static final String TEXT;
+	
+	static {
+		StringBuilder builder = new StringBuilder("[");
+		for(int index = 0; index < 500; index++) {
+			builder.append("{\"id\":").append(index).append(",\"title\":\"Shot ").append(index).append("\"},");
+		}
+		
+		builder.setLength(builder.length() - 1);
+		TEXT = builder.append("]").toString();
+	}
+	
+	public void testIdentity() throws IOException {
+		byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		assertEquals(TEXT, read(ContentDecoding.decode(new ByteArrayInputStream(bytes), null)));
+		assertEquals(TEXT, read(ContentDecoding.decode(new ByteArrayInputStream(bytes), "identity")));
+	}
+	
+	public void testGzip() throws IOException {
+		assertEquals(TEXT, read(ContentDecoding.decode(new ByteArrayInputStream(gzip(TEXT)), "gzip")));
+	}
+	
+	public void testDeflate() throws IOException {
+		assertEquals(TEXT, read(ContentDecoding.decode(new ByteArrayInputStream(deflate(TEXT, false)), "deflate")));
+		assertEquals(TEXT, read(ContentDecoding.decode(new ByteArrayInputStream(deflate(TEXT, true)), "Deflate")));
+	}
+	
+	public void testUnsupported() {
+		try {
+			ContentDecoding.decode(new ByteArrayInputStream(new byte[0]), "br");
+			fail("Unsupported encoding was accepted");
+		} catch(IOException e) {
+			// expected
+		}
+	}
+	
+	/**
+	 * Compressed responses are parsed by both transports, and counted before
+	 * and after decompression.
+	 * 
+	 * @throws Exception
+	 */
+	public void testCompressedResponse() throws Exception {
+		final byte[] body = gzip(TEXT);
+		
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/shots", new HttpHandler() {
+			
+			public void handle(HttpExchange exchange) throws IOException {
+				String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+				assertTrue(accepted != null && accepted.contains("gzip"));
+				
+				exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+				exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream stream = exchange.getResponseBody();
+				stream.write(body);
+				stream.close();
+			}
+			
+		});
+		server.start();
+		
+		DribbbleInvoker invoker = new DribbbleInvoker("http://127.0.0.1:" + server.getAddress().getPort(), new TokenBucketRateLimiter(100, 1, TimeUnit.SECONDS, 50));
+		try {
+			assertEquals(TEXT, invoker.invoke("shots", null, true, 0));
+			assertEquals(TEXT, invoker.invokeAsync("shots", null, true, 0).get(5, TimeUnit.SECONDS));
+			
+			assertEquals(2L * body.length, invoker.getCompressedBytes());
+			assertEquals(2L * TEXT.length(), invoker.getUncompressedBytes());
+		} finally {
+			invoker.close();
+			server.stop(0);
+		}
+	}
+	
+	private static byte[] gzip(String text) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OutputStream stream = new GZIPOutputStream(bytes);
+		stream.write(text.getBytes(StandardCharsets.UTF_8));
+		stream.close();
+		return bytes.toByteArray();
+	}
+	
+	private static byte[] deflate(String text, boolean raw) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OutputStream stream = new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, raw));
+		stream.write(text.getBytes(StandardCharsets.UTF_8));
+		stream.close();
+		return bytes.toByteArray();
+	}
+	
+	private static String read(InputStream stream) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		
+		int read;
+		while((read = stream.read(buffer)) != -1) {
+			bytes.write(buffer, 0, read);
+		}
+		
+		stream.close();
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+	
+}
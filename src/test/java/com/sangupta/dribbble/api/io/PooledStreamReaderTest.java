@@ -0,0 +1,81 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link PooledStreamReader}.
+ * 
+ * @author sangupta
+ *
+ */
+public class PooledStreamReaderTest extends TestCase {
+	
+	private static final String TEXT = "{\"title\":\"café ☃ 🎨 shots\"}";
+	
+	/**
+	 * Multi-byte characters split across buffer refills decode correctly.
+	 * 
+	 * @throws IOException
+	 */
+	public void testSmallBuffer() throws IOException {
+		BufferPool pool = new BufferPool(4, 1);
+		PooledStreamReader reader = new PooledStreamReader(new ByteArrayInputStream(TEXT.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, pool);
+		
+		StringBuilder builder = new StringBuilder();
+		char[] chars = new char[5];
+		int read;
+		while((read = reader.read(chars)) != -1) {
+			builder.append(chars, 0, read);
+		}
+		
+		reader.close();
+		assertEquals(TEXT, builder.toString());
+		
+		// the buffer went back to the pool
+		assertEquals(4, pool.acquire().length);
+	}
+	
+	/**
+	 * Surrogate pairs survive reads of a single character.
+	 * 
+	 * @throws IOException
+	 */
+	public void testSingleCharReads() throws IOException {
+		PooledStreamReader reader = new PooledStreamReader(new ByteArrayInputStream(TEXT.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+		
+		StringBuilder builder = new StringBuilder();
+		int read;
+		while((read = reader.read()) != -1) {
+			builder.append((char) read);
+		}
+		
+		reader.close();
+		assertEquals(TEXT, builder.toString());
+	}
+	
+}
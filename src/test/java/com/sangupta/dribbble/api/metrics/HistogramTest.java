@@ -0,0 +1,85 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.metrics;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link Histogram} and {@link EndpointFamily}.
+ * 
+ * @author sangupta
+ *
+ */
+public class HistogramTest extends TestCase {
+	
+	/**
+	 * Buckets are contiguous, and every value falls into a bucket whose
+	 * highest value is within about 3% of it.
+	 */
+	public void testBuckets() {
+		int previous = -1;
+		for(long value = 0; value < 1000000; value++) {
+			int index = Histogram.indexOf(value);
+			assertTrue(index == previous || index == previous + 1);
+			previous = index;
+			
+			long highest = Histogram.highestValueAt(index);
+			assertTrue(highest >= value);
+			assertTrue(highest - value <= Math.max(1, value / 32));
+		}
+	}
+	
+	public void testPercentiles() {
+		Histogram histogram = new Histogram(1000000);
+		for(long value = 1; value <= 10000; value++) {
+			histogram.record(value);
+		}
+		
+		histogram.record(5000000);
+		
+		HistogramSnapshot snapshot = histogram.snapshot();
+		assertEquals(10001, snapshot.getCount());
+		assertEquals(1000000, snapshot.getMax());
+		assertEquals(5000, snapshot.getPercentile(50), 5000 / 32);
+		assertEquals(9900, snapshot.getPercentile(99), 9900 / 32);
+		assertEquals(1000000, snapshot.getPercentile(100));
+		assertEquals(0, new Histogram(10).snapshot().getPercentile(99));
+	}
+	
+	public void testEndpointFamilies() {
+		assertEquals(EndpointFamily.SHOT, EndpointFamily.of("shots/21603"));
+		assertEquals(EndpointFamily.SHOTS_LIST, EndpointFamily.of("shots/popular"));
+		assertEquals(EndpointFamily.SHOT_COMMENTS, EndpointFamily.of("shots/21603/comments"));
+		assertEquals(EndpointFamily.SHOT_REBOUNDS, EndpointFamily.of("/shots/21603/rebounds"));
+		assertEquals(EndpointFamily.PLAYER, EndpointFamily.of("players/simplebits"));
+		assertEquals(EndpointFamily.PLAYER_SHOTS, EndpointFamily.of("players/1/shots"));
+		assertEquals(EndpointFamily.PLAYER_SHOTS_FOLLOWING, EndpointFamily.of("players/simplebits/shots/following"));
+		assertEquals(EndpointFamily.PLAYER_SHOTS_LIKES, EndpointFamily.of("players/simplebits/shots/likes"));
+		assertEquals(EndpointFamily.PLAYER_FOLLOWERS, EndpointFamily.of("players/simplebits/followers"));
+		assertEquals(EndpointFamily.PLAYER_FOLLOWING, EndpointFamily.of("players/simplebits/following"));
+		assertEquals(EndpointFamily.PLAYER_DRAFTEES, EndpointFamily.of("players/simplebits/draftees"));
+		assertEquals(EndpointFamily.OTHER, EndpointFamily.of("players/"));
+		assertEquals(EndpointFamily.OTHER, EndpointFamily.of("shots/1/likes"));
+		assertEquals(EndpointFamily.OTHER, EndpointFamily.of("projects/1"));
+	}
+	
+}
@@ -0,0 +1,159 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.paging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleApiRateLimitException;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.PlayerList;
+
+/**
+ * Tests for {@link PageFanOut}.
+ * 
+ * @author sangupta
+ *
+ */
+public class PageFanOutTest extends TestCase {
+	
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	
+	@Override
+	protected void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	/**
+	 * Pages arriving out of order are merged in page order, with no more than
+	 * the given number of requests in flight.
+	 */
+	public void testMergesInPageOrder() {
+		List<Player> players = PageFanOut.fetchAll(new Pages(12, 3, -1, -1), 4);
+		
+		assertEquals(36, players.size());
+		for(int index = 0; index < players.size(); index++) {
+			assertEquals(index + 1, players.get(index).getId());
+		}
+		
+		assertTrue(this.maxInFlight.get() <= 4);
+	}
+	
+	public void testSinglePage() {
+		assertEquals(3, PageFanOut.fetchAll(new Pages(1, 3, -1, -1), 4).size());
+	}
+	
+	/**
+	 * A page that could not be fetched fails the result, rather than cut it
+	 * short unnoticed.
+	 */
+	public void testMissingPage() {
+		try {
+			PageFanOut.fetchAll(new Pages(10, 3, 5, -1), 3);
+			fail("Missing page was not thrown for");
+		} catch(MissingPageException e) {
+			assertEquals(5, e.getPage());
+		}
+		
+		assertNull(PageFanOut.fetchAll(new Pages(10, 3, 1, -1), 3));
+	}
+	
+	public void testError() {
+		try {
+			PageFanOut.fetchAll(new Pages(10, 3, -1, 7), 3);
+			fail("Error was not thrown");
+		} catch(DribbbleApiRateLimitException e) {
+			// expected
+		}
+	}
+	
+	/**
+	 * Serves pages of players with sequential IDs after a delay that shrinks
+	 * with the page number, so that later pages tend to arrive first.
+	 */
+	private class Pages implements PageFetcher<PlayerList> {
+		
+		private final int pages;
+		
+		private final int perPage;
+		
+		private final int missingPage;
+		
+		private final int failingPage;
+		
+		Pages(int pages, int perPage, int missingPage, int failingPage) {
+			this.pages = pages;
+			this.perPage = perPage;
+			this.missingPage = missingPage;
+			this.failingPage = failingPage;
+		}
+		
+		public CompletableFuture<PlayerList> fetch(final int page) {
+			int current = inFlight.incrementAndGet();
+			maxInFlight.accumulateAndGet(current, Math::max);
+			
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					Thread.sleep(Math.max(1, 20 - page));
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				
+				inFlight.decrementAndGet();
+				if(page == this.failingPage) {
+					throw new DribbbleApiRateLimitException("slow down");
+				}
+				
+				if(page == this.missingPage) {
+					return null;
+				}
+				
+				PlayerList list = new PlayerList();
+				list.setPage(page);
+				list.setPages(this.pages);
+				list.setPerPage(this.perPage);
+				
+				List<Player> players = new ArrayList<Player>();
+				for(int index = 1; index <= this.perPage; index++) {
+					Player player = new Player();
+					player.setId((page - 1) * this.perPage + index);
+					players.add(player);
+				}
+				
+				list.setPlayers(players);
+				return list;
+			}, executor);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,150 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.paging;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleApiRateLimitException;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+
+/**
+ * Tests for {@link PageIterator}.
+ * 
+ * @author sangupta
+ *
+ */
+public class PageIteratorTest extends TestCase {
+	
+	private final List<Integer> fetched = new ArrayList<Integer>();
+	
+	/**
+	 * Items of all pages come out in order, and the next page is asked
+	 * for before the current one has been consumed.
+	 */
+	public void testIteratesAllPages() {
+		Iterator<Shot> iterator = new PageIterator<Shot>(new Pages(3, 2, -1), 1);
+		assertEquals(1, this.fetched.size());
+		
+		assertEquals(1, iterator.next().getId());
+		assertEquals(2, this.fetched.size());
+		
+		List<Long> ids = new ArrayList<Long>();
+		while(iterator.hasNext()) {
+			ids.add(iterator.next().getId());
+		}
+		
+		assertEquals("[2, 3, 4, 5, 6]", ids.toString());
+		assertEquals("[1, 2, 3]", this.fetched.toString());
+	}
+	
+	public void testStream() {
+		List<Long> ids = PageIterator.stream(new Pages(4, 3, -1), 2).map(shot -> shot.getId()).collect(Collectors.toList());
+		assertEquals("[4, 5, 6, 7, 8, 9, 10, 11, 12]", ids.toString());
+	}
+	
+	/**
+	 * A page that could not be fetched is thrown for, once the items before it
+	 * have been read.
+	 */
+	public void testThrowsAtMissingPage() {
+		Iterator<Shot> iterator = new PageIterator<Shot>(new Pages(5, 2, 3), 1);
+		for(int index = 0; index < 4; index++) {
+			iterator.next();
+		}
+		
+		try {
+			iterator.hasNext();
+			fail("Missing page was not thrown for");
+		} catch(MissingPageException e) {
+			assertEquals(3, e.getPage());
+		}
+	}
+	
+	public void testErrorIsThrown() {
+		Iterator<Shot> iterator = new PageIterator<Shot>(new PageFetcher<ShotList>() {
+			
+			public CompletableFuture<ShotList> fetch(int page) {
+				CompletableFuture<ShotList> future = new CompletableFuture<ShotList>();
+				future.completeExceptionally(new DribbbleApiRateLimitException("slow down"));
+				return future;
+			}
+			
+		}, 1);
+		
+		try {
+			iterator.hasNext();
+			fail("Error was not thrown");
+		} catch(DribbbleApiRateLimitException e) {
+			// expected
+		}
+	}
+	
+	/**
+	 * Serves pages of shots with sequential IDs, failing to serve one page if asked.
+	 */
+	private class Pages implements PageFetcher<ShotList> {
+		
+		private final int pages;
+		
+		private final int perPage;
+		
+		private final int missingPage;
+		
+		Pages(int pages, int perPage, int missingPage) {
+			this.pages = pages;
+			this.perPage = perPage;
+			this.missingPage = missingPage;
+		}
+		
+		public CompletableFuture<ShotList> fetch(int page) {
+			fetched.add(page);
+			if(page == this.missingPage) {
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			ShotList list = new ShotList();
+			list.setPage(page);
+			list.setPages(this.pages);
+			list.setPerPage(this.perPage);
+			list.setTotal(this.pages * this.perPage);
+			
+			List<Shot> shots = new ArrayList<Shot>();
+			for(int index = 1; index <= this.perPage; index++) {
+				Shot shot = new Shot();
+				shot.setId((page - 1) * this.perPage + index);
+				shots.add(shot);
+			}
+			
+			list.setShots(shots);
+			return CompletableFuture.supplyAsync(() -> list);
+		}
+		
+	}
+	
+}
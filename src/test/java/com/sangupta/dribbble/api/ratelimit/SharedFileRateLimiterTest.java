@@ -0,0 +1,71 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.ratelimit;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link SharedFileRateLimiter}.
+ * 
+ * @author sangupta
+ *
+ */
+public class SharedFileRateLimiterTest extends TestCase {
+
+	/**
+	 * Two limiters on the same file draw from one bucket, as two processes would.
+	 * 
+	 * @throws IOException
+	 */
+	public void testSharedBucket() throws IOException {
+		File file = File.createTempFile("dribbble-rate-limit", ".bin");
+		file.deleteOnExit();
+		
+		SharedFileRateLimiter first = new SharedFileRateLimiter(file, 100, 10, TimeUnit.SECONDS, 4);
+		SharedFileRateLimiter second = new SharedFileRateLimiter(file, 100, 10, TimeUnit.SECONDS, 4);
+		try {
+			assertTrue(first.tryAcquire());
+			assertTrue(second.tryAcquire());
+			assertTrue(first.tryAcquire());
+			assertTrue(second.tryAcquire());
+			
+			assertFalse(first.tryAcquire());
+			assertFalse(second.tryAcquire());
+		} finally {
+			first.close();
+			second.close();
+		}
+		
+		// state survives re-opening the file
+		SharedFileRateLimiter third = new SharedFileRateLimiter(file, 100, 10, TimeUnit.SECONDS, 4);
+		try {
+			assertFalse(third.tryAcquire());
+		} finally {
+			third.close();
+		}
+	}
+	
+}
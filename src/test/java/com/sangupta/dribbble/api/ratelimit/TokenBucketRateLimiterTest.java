@@ -0,0 +1,86 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link TokenBucketRateLimiter}.
+ * 
+ * @author sangupta
+ *
+ */
+public class TokenBucketRateLimiterTest extends TestCase {
+
+	/**
+	 * The burst is available immediately, the next permit is not.
+	 */
+	public void testBurst() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 10, TimeUnit.SECONDS, 5);
+		
+		for(int index = 0; index < 5; index++) {
+			assertTrue(limiter.tryAcquire());
+		}
+		
+		assertFalse(limiter.tryAcquire());
+	}
+	
+	/**
+	 * A caller willing to wait gets the permit once it refills, one that is not
+	 * willing to wait long enough is turned away without waiting.
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void testWaitForPermit() throws InterruptedException {
+		// refills one permit every 50 millis
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(21, 1, TimeUnit.SECONDS, 1);
+		assertTrue(limiter.tryAcquire());
+		
+		long start = System.nanoTime();
+		assertFalse(limiter.tryAcquire(1, TimeUnit.MILLISECONDS));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 40);
+		
+		assertTrue(limiter.tryAcquire(1, TimeUnit.SECONDS));
+		limiter.acquire();
+		
+		// three permits spaced at 50 millis
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+	}
+	
+	/**
+	 * Reservations hand out increasing waits so that waiting callers stay in order.
+	 */
+	public void testReserve() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(11, 1, TimeUnit.SECONDS, 1);
+		
+		assertEquals(0, limiter.reserve(0));
+		assertEquals(-1, limiter.reserve(0));
+		
+		long first = limiter.reserve(Long.MAX_VALUE);
+		long second = limiter.reserve(Long.MAX_VALUE);
+		assertTrue(first > 0);
+		assertTrue(second > first);
+	}
+	
+}
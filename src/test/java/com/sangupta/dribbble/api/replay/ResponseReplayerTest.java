@@ -0,0 +1,157 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.apache.http.Header;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+import com.sangupta.dribbble.api.stub.DribbbleStubServer;
+
+/**
+ * Tests for {@link ResponseRecorder} and {@link ResponseReplayer}, recording
+ * responses of a local stand-in server and replaying them with it gone.
+ * 
+ * @author sangupta
+ *
+ */
+public class ResponseReplayerTest extends TestCase {
+	
+	/**
+	 * Base URL nothing listens on
+	 */
+	private static final String DEAD_BASE_URL = "http://127.0.0.1:1/";
+	
+	private File archive;
+	
+	@Override
+	protected void setUp() throws IOException {
+		this.archive = File.createTempFile("dribbble-archive", ".gz");
+	}
+	
+	@Override
+	protected void tearDown() {
+		this.archive.delete();
+	}
+	
+	/**
+	 * Recorded responses, of either client, are served back in place of requests,
+	 * as fast as possible or with their original latency.
+	 * 
+	 * @throws Exception
+	 */
+	public void testRecordAndReplay() throws Exception {
+		Shot shot;
+		ShotList shots;
+		
+		DribbbleStubServer server = new DribbbleStubServer();
+		server.setLatencyMillis(50);
+		server.start();
+		
+		ResponseRecorder recorder = new ResponseRecorder(this.archive);
+		DribbbleClient client = newClient(server.getBaseUrl());
+		try {
+			client.getInvoker().setRecorder(recorder);
+			
+			shot = client.getShot(1234);
+			shots = client.getShotsList(ShotListType.POPULAR, 2, 10);
+			assertNull(client.getShot(10001));
+			assertEquals(1235, client.getShotAsync(1235).get(5, TimeUnit.SECONDS).getId());
+			assertEquals(4, recorder.getRecordCount());
+		} finally {
+			client.getInvoker().close();
+			recorder.close();
+			server.close();
+		}
+		
+		ResponseReplayer replayer = new ResponseReplayer(this.archive);
+		assertEquals(4, replayer.getRecordCount());
+		
+		client = newClient(DEAD_BASE_URL);
+		try {
+			client.getInvoker().setReplayer(replayer);
+			
+			assertEquals(shot, client.getShot(1234));
+			assertEquals(shot.getTitle(), client.getShot(1234).getTitle());
+			assertEquals(shots.getShots(), client.getShotsList(ShotListType.POPULAR, 2, 10).getShots());
+			assertNull(client.getShot(10001));
+			assertEquals(1235, client.getShotAsync(1235).get(5, TimeUnit.SECONDS).getId());
+			assertEquals(0, replayer.getMissed());
+			
+			// never recorded
+			assertNull(client.getShot(1));
+			assertNull(client.getShotAsync(2).get(5, TimeUnit.SECONDS));
+			assertEquals(2, replayer.getMissed());
+			
+			// with the original latency of the stand-in server
+			replayer.setOriginalTiming(true);
+			long start = System.nanoTime();
+			client.getShot(1234);
+			client.getShotAsync(1235).get(5, TimeUnit.SECONDS);
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+		} finally {
+			client.getInvoker().close();
+		}
+	}
+	
+	/**
+	 * An archive cut short is read up to its last complete response.
+	 * 
+	 * @throws Exception
+	 */
+	public void testTruncatedArchive() throws Exception {
+		ResponseRecorder recorder = new ResponseRecorder(this.archive);
+		for(int index = 0; index < 100; index++) {
+			recorder.record(new ArchivedResponse("shots/" + index, 0, 0, 200, "OK", new Header[0], new byte[100]));
+		}
+		
+		recorder.close();
+		
+		RandomAccessFile file = new RandomAccessFile(this.archive, "rw");
+		try {
+			file.setLength(file.length() - 20);
+		} finally {
+			file.close();
+		}
+		
+		ResponseReplayer replayer = new ResponseReplayer(this.archive);
+		assertTrue(replayer.getRecordCount() > 0);
+		assertTrue(replayer.getRecordCount() < 100);
+		assertEquals(200, replayer.replay("shots/0").getStatusCode());
+	}
+	
+	private static DribbbleClient newClient(String baseUrl) {
+		return new DribbbleClient(new DribbbleInvoker(baseUrl, new TokenBucketRateLimiter(1000, 1, TimeUnit.SECONDS, 100)));
+	}
+	
+}
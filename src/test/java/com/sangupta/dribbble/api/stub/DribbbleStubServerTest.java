@@ -0,0 +1,168 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.stub;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.sangupta.dribbble.api.DribbbleClient;
+import com.sangupta.dribbble.api.DribbbleInvoker;
+import com.sangupta.dribbble.api.cache.EntityCache;
+import com.sangupta.dribbble.api.model.CommentList;
+import com.sangupta.dribbble.api.model.Player;
+import com.sangupta.dribbble.api.model.Shot;
+import com.sangupta.dribbble.api.model.ShotList;
+import com.sangupta.dribbble.api.model.ShotListType;
+import com.sangupta.dribbble.api.ratelimit.TokenBucketRateLimiter;
+
+/**
+ * Tests for {@link DribbbleStubServer}, through a client pointed at it.
+ * 
+ * @author sangupta
+ *
+ */
+public class DribbbleStubServerTest extends TestCase {
+	
+	private DribbbleStubServer server;
+	
+	private DribbbleClient client;
+	
+	@Override
+	protected void setUp() throws Exception {
+		this.server = new DribbbleStubServer();
+		this.server.start();
+		
+		this.client = new DribbbleClient(new DribbbleInvoker(this.server.getBaseUrl(), new TokenBucketRateLimiter(1000000, 1, TimeUnit.SECONDS, 1000)));
+	}
+	
+	@Override
+	protected void tearDown() throws Exception {
+		this.client.getInvoker().close();
+		this.server.close();
+	}
+	
+	public void testEntities() {
+		Shot shot = this.client.getShot(1234);
+		assertNotNull(shot);
+		assertEquals(1234, shot.getId());
+		assertEquals(234, shot.getPlayer().getId());
+		assertEquals(shot, this.client.getShot(1234));
+		
+		Player player = this.client.getPlayer("player234");
+		assertEquals(234, player.getId());
+		assertEquals(player, this.client.getPlayer(234));
+		
+		assertNull(this.client.getShot(10001));
+		assertNull(this.client.getPlayer("nobody"));
+	}
+	
+	public void testPlayerCache() {
+		EntityCache<Long, Player> cache = new EntityCache<Long, Player>(100, 1, TimeUnit.HOURS);
+		this.client.setPlayerCache(cache);
+		
+		Player player = this.client.getPlayer("player234");
+		assertSame(player, this.client.getPlayer(234));
+		assertSame(player, this.client.getPlayer("player234"));
+		assertEquals(1, this.server.getRequestCount());
+		
+		// one entry, however the player was looked up
+		assertEquals(1, cache.size());
+		
+		cache.clear();
+		assertNotSame(player, this.client.getPlayer("player234"));
+		assertEquals(2, this.server.getRequestCount());
+	}
+	
+	public void testPagination() {
+		CommentList first = this.client.getShotComments(39, 1, 15);
+		assertEquals(39, first.getTotal());
+		assertEquals(3, first.getPages());
+		assertEquals(15, first.getComments().size());
+		
+		CommentList last = this.client.getShotComments(39, 3, 15);
+		assertEquals(9, last.getComments().size());
+		assertFalse(first.getComments().get(0).equals(last.getComments().get(0)));
+		
+		ShotList popular = this.client.getShotsList(ShotListType.POPULAR, 2, 100);
+		assertEquals(30, popular.getPerPage());
+		assertEquals(30, popular.getShots().size());
+		
+		Player player = this.client.getPlayer(1);
+		List<Player> followers = this.client.getAllPlayerFollowers(1, 30);
+		assertEquals(player.getFollowersCount(), followers.size());
+		
+		List<Shot> shots = this.client.getAllShotsForPlayer(7, 30);
+		assertEquals(this.client.getPlayer(7).getShotsCount(), shots.size());
+		for(Shot shot : shots) {
+			assertEquals(7, shot.getPlayer().getId());
+		}
+	}
+	
+	public void testFaults() throws Exception {
+		this.server.setRequestsPerMinute(2);
+		assertNotNull(this.client.getShot(1));
+		assertNotNull(this.client.getShot(2));
+		assertNull(this.client.getShot(3));
+		assertEquals(1, this.server.getThrottledCount());
+		
+		HttpURLConnection connection = (HttpURLConnection) new URL(this.server.getBaseUrl() + "shots/3").openConnection();
+		assertEquals(429, connection.getResponseCode());
+		assertTrue(Integer.parseInt(connection.getHeaderField("Retry-After")) > 0);
+		connection.disconnect();
+		
+		this.server.setRequestsPerMinute(0);
+		this.server.setErrorRate(1);
+		assertNull(this.client.getShot(4));
+		assertEquals(1, this.server.getFailedCount());
+		
+		this.server.setErrorRate(0);
+		this.server.setLatencyMillis(100);
+		long start = System.nanoTime();
+		assertNotNull(this.client.getShot(5));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+		
+		assertEquals(6, this.server.getRequestCount());
+	}
+	
+	/**
+	 * Streamed and fanned out pages wait for rate-limit permits, even for a
+	 * client that fails its own requests right away.
+	 */
+	public void testPagingWaitsForPermits() throws Exception {
+		DribbbleClient limited = new DribbbleClient(new DribbbleInvoker(this.server.getBaseUrl(), new TokenBucketRateLimiter(50, 1, TimeUnit.SECONDS, 2)));
+		try {
+			limited.setRateLimitWaitMillis(0);
+			
+			Player player = this.client.getPlayer(1);
+			assertTrue(player.getFollowersCount() > 5 * 5);
+			assertEquals(player.getFollowersCount(), limited.streamPlayerFollowers(1, 5).count());
+			assertEquals(player.getFollowersCount(), limited.getAllPlayerFollowers(1, 5).size());
+		} finally {
+			limited.getInvoker().close();
+		}
+	}
+	
+}
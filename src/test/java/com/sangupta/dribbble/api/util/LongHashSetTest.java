@@ -0,0 +1,69 @@
+/**
+ *
+ * dribbble-java-client: Java Client for Dribbble.com API
+ * Copyright (c) 2012, Sandeep Gupta
+ * 
+ * http://www.sangupta/projects/dribbble-java-client
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+
+package com.sangupta.dribbble.api.util;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link LongHashSet}.
+ * 
+ * @author sangupta
+ *
+ */
+public class LongHashSetTest extends TestCase {
+	
+	/**
+	 * The set agrees with a {@link HashSet} over many values, zero and negative
+	 * ones included, as it grows.
+	 */
+	public void testAgainstHashSet() {
+		LongHashSet set = new LongHashSet(4);
+		Set<Long> expected = new HashSet<Long>();
+		
+		Random random = new Random(42);
+		for(int index = 0; index < 100000; index++) {
+			long value = index % 3 == 0 ? random.nextLong() : random.nextInt(50000) - 100;
+			assertEquals(expected.add(value), set.add(value));
+		}
+		
+		assertEquals(expected.size(), set.size());
+		for(long value = -200; value < 60000; value++) {
+			assertEquals(expected.contains(value), set.contains(value));
+		}
+		
+		long[] values = set.toArray();
+		assertEquals(expected.size(), values.length);
+		for(long value : values) {
+			assertTrue(expected.contains(value));
+		}
+		
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(0));
+		assertFalse(set.contains(values[0]));
+	}
+	
+}